@@ -0,0 +1,97 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.decoding.BodyReader;
+import org.example.decoding.Envelope;
+import org.example.decoding.MessageDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the tree-based parsing consumers used to do with the typed readers from
+ * {@link MessageDecoder} on an EventBridge event delivered to SQS.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecodeBenchmark {
+    public record Order(String orderId, String customer, double amount, String currency, List<Line> lines) {
+    }
+
+    public record Line(String sku, String description, int quantity, double price) {
+    }
+
+    public record OrderRef(String orderId, double amount) {
+    }
+
+    @Param({"2", "200"})
+    public int lines;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final MessageDecoder decoder = new MessageDecoder();
+    private BodyReader<Order> fullReader;
+    private BodyReader<OrderRef> partialReader;
+    private BodyReader<String> pointerReader;
+    private Message message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder detail = new StringBuilder("{\"orderId\":\"ORDER-001\",\"customer\":\"Test User\","
+                + "\"amount\":100.0,\"currency\":\"USD\",\"lines\":[");
+        for (int i = 0; i < lines; i++) {
+            detail.append(i == 0 ? "" : ",")
+                    .append("{\"sku\":\"SKU-").append(i)
+                    .append("\",\"description\":\"Line item number ").append(i)
+                    .append("\",\"quantity\":").append(i % 5 + 1)
+                    .append(",\"price\":").append(i * 1.25).append('}');
+        }
+        detail.append("]}");
+        String event = "{\"version\":\"0\",\"id\":\"4b9f3c2e\",\"detail-type\":\"order created\","
+                + "\"source\":\"com.example.app\",\"account\":\"000000000000\",\"time\":\"2024-01-01T00:00:00Z\","
+                + "\"region\":\"us-east-1\",\"resources\":[],\"detail\":" + detail + "}";
+        message = Message.builder().messageId("bench").body(event).build();
+        fullReader = decoder.reader(Order.class, Envelope.EVENTBRIDGE_DETAIL);
+        partialReader = decoder.reader(OrderRef.class, Envelope.EVENTBRIDGE_DETAIL);
+        pointerReader = decoder.reader(String.class, Envelope.EVENTBRIDGE_DETAIL, "/orderId");
+    }
+
+    @Benchmark
+    public String jsonTree() throws IOException {
+        JsonNode tree = mapper.readTree(message.body());
+        return tree.get("detail").get("orderId").asText();
+    }
+
+    @Benchmark
+    public Order typedFull() {
+        return fullReader.read(message);
+    }
+
+    @Benchmark
+    public OrderRef typedPartial() {
+        return partialReader.read(message);
+    }
+
+    @Benchmark
+    public String typedPointer() {
+        return pointerReader.read(message);
+    }
+}
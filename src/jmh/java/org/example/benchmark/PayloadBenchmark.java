@@ -0,0 +1,58 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirrors the payload work done per event in {@code Main} and the rule pattern
+ * formatting in {@code EventBridgeService.putEventWith*Target}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadBenchmark {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String source = "com.example.app";
+    private final String detailType = "sns event";
+    private final String ruleName = "sqs-target-rule";
+
+    @Benchmark
+    public String objectNodeToString() {
+        ObjectNode eventDetail = mapper.createObjectNode();
+        eventDetail.put("orderId", "ORDER-001");
+        eventDetail.put("customer", "Test User");
+        eventDetail.put("amount", 100.0);
+        eventDetail.put("currency", "USD");
+        return eventDetail.toString();
+    }
+
+    @Benchmark
+    public String snsTargetPattern() {
+        return String.format(
+                "{\"source\":[\"%s\"],\"detail-type\":[\"%s\"]}",
+                source, detailType
+        );
+    }
+
+    @Benchmark
+    public String sqsTargetPattern() {
+        return String.format(
+                "{\"source\":[\"com.example.app\"],\"detail-type\":[\"%s\"]}",
+                ruleName.replace("-", " ")
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.benchmark;
+
+import org.example.lifecycle.LifecycleManager;
+import org.example.logging.HotPathLogging;
+import org.example.metrics.PipelineLatencyTracker;
+import org.example.resilience.ServiceGuards;
+import org.example.service.EventBridgeService;
+import org.example.service.SnsService;
+import org.example.service.SqsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublishPathBenchmark {
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/bench-queue";
+    private static final String TOPIC_ARN = "arn:aws:sns:us-east-1:000000000000:bench-topic";
+    private static final String EVENT_BUS = "bench-bus";
+    private static final String BODY = "{\"type\":\"direct-sqs\",\"content\":\"Hello directly to SQS!\"}";
+
+    private ServiceGuards guards;
+    private SqsService sqsService;
+    private SnsService snsService;
+    private EventBridgeService eventBridgeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubLocalStackConfig config = new StubLocalStackConfig();
+        guards = ServiceGuards.withDefaults();
+        HotPathLogging hotPath = HotPathLogging.verbose();
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        sqsService = new SqsService(config, guards, new PipelineLatencyTracker(), hotPath, lifecycle);
+        snsService = new SnsService(config, guards, hotPath, lifecycle);
+        eventBridgeService = new EventBridgeService(config, guards, hotPath, lifecycle);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        guards.close();
+    }
+
+    @Benchmark
+    public String sqsSendMessage() {
+        return sqsService.sendMessage(QUEUE_URL, BODY).join();
+    }
+
+    @Benchmark
+    public String snsPublishMessage() {
+        return snsService.publishMessage(TOPIC_ARN, BODY).join();
+    }
+
+    @Benchmark
+    public Void eventBridgeSendEvent() {
+        return eventBridgeService.sendEventToEventBridge(EVENT_BUS, "com.example.app", "sqs-target-rule", BODY).join();
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.benchmark;
+
+import org.example.config.LocalStackConfig;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.PublishRequest;
+import software.amazon.awssdk.services.sns.model.PublishResponse;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands the services async clients that complete immediately with a canned response,
+ * so benchmarks measure request building, guarding and tracing without any transport.
+ */
+class StubLocalStackConfig extends LocalStackConfig {
+    private final SqsAsyncClient sqs = new StubSqsClient();
+    private final SnsAsyncClient sns = new StubSnsClient();
+    private final EventBridgeAsyncClient eventBridge = new StubEventBridgeClient();
+
+    StubLocalStackConfig() {
+        super("http://localhost:4566", "us-east-1", "test", "test");
+    }
+
+    @Override
+    public SqsAsyncClient getSqsAsyncClient() {
+        return sqs;
+    }
+
+    @Override
+    public SnsAsyncClient getSnsAsyncClient() {
+        return sns;
+    }
+
+    @Override
+    public EventBridgeAsyncClient getEventBridgeAsyncClient() {
+        return eventBridge;
+    }
+
+    private static final class StubSqsClient implements SqsAsyncClient {
+        private final CompletableFuture<SendMessageResponse> response =
+                CompletableFuture.completedFuture(SendMessageResponse.builder().messageId("stub-message").build());
+
+        @Override
+        public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+            return response;
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class StubSnsClient implements SnsAsyncClient {
+        private final CompletableFuture<PublishResponse> response =
+                CompletableFuture.completedFuture(PublishResponse.builder().messageId("stub-message").build());
+
+        @Override
+        public CompletableFuture<PublishResponse> publish(PublishRequest request) {
+            return response;
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class StubEventBridgeClient implements EventBridgeAsyncClient {
+        private final CompletableFuture<PutEventsResponse> response =
+                CompletableFuture.completedFuture(PutEventsResponse.builder()
+                        .failedEntryCount(0)
+                        .entries(PutEventsResultEntry.builder().eventId("stub-event").build())
+                        .build());
+
+        @Override
+        public CompletableFuture<PutEventsResponse> putEvents(PutEventsRequest request) {
+            return response;
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.example.composition.root.CompositionRoot;
+import org.example.config.LocalStackConfig;
+import org.example.config.WarmUpSettings;
+import org.example.lifecycle.LifecycleManager;
+import org.example.load.LoadReport;
+import org.example.load.LoadSettings;
+import org.example.load.LoadTestRunner;
+import org.example.outbox.OutboxService;
+import org.example.service.EventBridgeService;
+import org.example.service.SnsService;
+import org.example.service.SqsService;
+
+public class LoadTestMain {
+    public static void main(String[] args) {
+        Injector injector = Guice.createInjector(new CompositionRoot());
+        LocalStackConfig config = injector.getInstance(LocalStackConfig.class);
+        LifecycleManager lifecycle = injector.getInstance(LifecycleManager.class);
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+
+        try {
+            config.warmUp(injector.getInstance(WarmUpSettings.class)).join();
+
+            LoadTestRunner runner = new LoadTestRunner(
+                    injector.getInstance(SqsService.class),
+                    injector.getInstance(SnsService.class),
+                    injector.getInstance(EventBridgeService.class),
+                    settings.outbox() ? injector.getInstance(OutboxService.class) : null,
+                    settings
+            );
+            System.out.println("Load test: " + settings);
+            LoadReport report = runner.run();
+            report.print(System.out);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Load test interrupted");
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            lifecycle.shutdown();
+        }
+    }
+}
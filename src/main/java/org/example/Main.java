@@ -4,36 +4,62 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.sun.net.httpserver.HttpServer;
 import org.example.composition.root.CompositionRoot;
 import org.example.config.LocalStackConfig;
+import org.example.config.WarmUpSettings;
 import org.example.dto.IntegrationInfo;
 import org.example.dto.QueueInfo;
+import org.example.execution.BlockingCallDetector;
+import org.example.lifecycle.LifecycleManager;
+import org.example.metrics.PrometheusExporter;
+import org.example.monitoring.QueueHealthMonitor;
+import org.example.orchestration.DagExecutor;
+import org.example.orchestration.Step;
+import org.example.orchestration.StepGraph;
 import org.example.service.EventBridgeService;
 import org.example.service.SnsService;
 import org.example.service.SqsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 public class Main {
+    private static final Logger logger = LoggerFactory.getLogger(Main.class);
+    private static final int DEMO_CONCURRENCY = 4;
+    private static final int ROUTED_MESSAGES = 2;
+    private static final Duration ROUTED_MESSAGES_TIMEOUT = Duration.ofSeconds(10);
+
     public static void main(String[] args) {
         Injector injector = Guice.createInjector(new CompositionRoot());
         LocalStackConfig config = injector.getInstance(LocalStackConfig.class);
+        LifecycleManager lifecycle = injector.getInstance(LifecycleManager.class);
         EventBridgeService eventBridgeService = injector.getInstance(EventBridgeService.class);
         SnsService snsService = injector.getInstance(SnsService.class);
         SqsService sqsService = injector.getInstance(SqsService.class);
+        Runtime.getRuntime().addShutdownHook(new Thread(lifecycle::shutdown, "lifecycle-shutdown"));
+        injector.getInstance(BlockingCallDetector.class).start();
 
         ObjectMapper mapper = new ObjectMapper();
 
+        HttpServer metricsServer = null;
         try {
+            String metricsPort = System.getProperty("METRICS_PORT");
+            if (metricsPort != null) {
+                metricsServer = injector.getInstance(PrometheusExporter.class)
+                        .startHttpServer(Integer.parseInt(metricsPort));
+                injector.getInstance(QueueHealthMonitor.class).start();
+            }
+            config.warmUp(injector.getInstance(WarmUpSettings.class)).join();
+
             demonstrateAllServices(eventBridgeService, snsService, sqsService, mapper)
-                    .thenRun(() -> {
-                        System.out.println("\nAll services demonstration completed");
-                        config.shutdown();
-                    })
+                    .thenRun(() -> System.out.println("\nAll services demonstration completed"))
                     .exceptionally(throwable -> {
                         System.err.println("Error in demonstration: " + throwable.getMessage());
-                        config.shutdown();
                         return null;
                     })
                     .get();
@@ -41,7 +67,11 @@ public class Main {
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
-            config.shutdown();
+        } finally {
+            lifecycle.shutdown();
+            if (metricsServer != null) {
+                metricsServer.stop(0);
+            }
         }
     }
 
@@ -51,59 +81,58 @@ public class Main {
             SqsService sqs,
             ObjectMapper mapper) {
 
-        CompletableFuture<String> queueFuture = sqs.createQueue("demo-queue", Map.of())
+        StepGraph graph = new StepGraph();
+
+        Step<String> queue = graph.step("create-queue", ctx -> sqs.createQueue("demo-queue", Map.of())
                 .thenApply(queueUrl -> {
                     System.out.println("1. Queue created: " + queueUrl);
                     return queueUrl;
-                });
+                }));
 
-        CompletableFuture<QueueInfo> queueArnFuture = queueFuture.thenCompose(queueUrl ->
-                sqs.getQueueArn(queueUrl)
+        Step<QueueInfo> queueInfo = graph.step("queue-arn", List.of(queue), ctx ->
+                sqs.getQueueArn(ctx.get(queue))
                         .thenApply(queueArn -> {
                             System.out.println("   Queue ARN: " + queueArn);
-                            return new QueueInfo(queueUrl, queueArn);
-                        })
-        );
+                            return new QueueInfo(ctx.get(queue), queueArn);
+                        }));
 
-        CompletableFuture<String> topicFuture = sns.createTopic("demo-topic")
+        Step<String> topic = graph.step("create-topic", ctx -> sns.createTopic("demo-topic")
                 .thenApply(topicArn -> {
                     System.out.println("\n2. Topic created: " + topicArn);
                     return topicArn;
-                });
+                }));
 
-        CompletableFuture<IntegrationInfo> subscriptionFuture = queueArnFuture.thenCombine(topicFuture, (queueInfo, topicArn) -> {
+        Step<IntegrationInfo> subscription = graph.step("subscribe-queue", List.of(queueInfo, topic), ctx -> {
             System.out.println("\n3. Subscribing SQS to SNS");
-            return sns.subscribeSqsToTopic(topicArn, queueInfo.arn())
+            return sns.subscribeSqsToTopic(ctx.get(topic), ctx.get(queueInfo).arn())
                     .thenAccept(subArn -> System.out.println("   Subscription created: " + subArn))
-                    .thenApply(v -> new IntegrationInfo(queueInfo, topicArn));
-        }).thenCompose(future -> future);
+                    .thenApply(v -> new IntegrationInfo(ctx.get(queueInfo), ctx.get(topic)));
+        });
 
-        CompletableFuture<Void> eventBusFuture = ebs.createEventBus("demo-bus")
-                .thenRun(() -> System.out.println("\n4. Event Bus created"));
+        Step<Void> eventBus = graph.step("create-event-bus", ctx -> ebs.createEventBus("demo-bus")
+                .thenRun(() -> System.out.println("\n4. Event Bus created")));
 
-        CompletableFuture<Void> ruleSnsFuture = subscriptionFuture.thenCombine(eventBusFuture, (integrationInfo, v) -> {
+        Step<Void> ruleSns = graph.step("rule-sns-target", List.of(topic, eventBus), ctx -> {
             System.out.println("\n5. Creating EventBridge rule with SNS target");
             return ebs.putEventWithSnsTarget(
                     "demo-bus",
                     "sns-target-rule",
-                    integrationInfo.topicArn(),
+                    ctx.get(topic),
                     "com.example.app",
                     "sns event"
             ).thenRun(() -> System.out.println("   Rule with SNS target created"));
-        }).thenCompose(future -> future);
-
-        CompletableFuture<Void> ruleSqsFuture = queueArnFuture.thenCompose(queueInfo ->
-                ruleSnsFuture.thenCompose(v -> {
-                    System.out.println("\n6. Creating EventBridge rule with SQS target");
-                    return ebs.putEventWithSqsTarget(
-                            "demo-bus",
-                            "sqs-target-rule",
-                            queueInfo.arn()
-                    ).thenRun(() -> System.out.println("   Rule with SQS target created"));
-                })
-        );
-
-        CompletableFuture<Void> sendEventToSnsFuture = ruleSqsFuture.thenCompose(v -> {
+        });
+
+        Step<Void> ruleSqs = graph.step("rule-sqs-target", List.of(queueInfo, eventBus), ctx -> {
+            System.out.println("\n6. Creating EventBridge rule with SQS target");
+            return ebs.putEventWithSqsTarget(
+                    "demo-bus",
+                    "sqs-target-rule",
+                    ctx.get(queueInfo).arn()
+            ).thenRun(() -> System.out.println("   Rule with SQS target created"));
+        });
+
+        Step<Void> sendEventToSns = graph.step("send-event-for-sns", List.of(ruleSns, subscription), ctx -> {
             System.out.println("\n7. Sending event to EventBridge (for SNS rule)");
 
             ObjectNode eventDetail = mapper.createObjectNode();
@@ -120,7 +149,7 @@ public class Main {
             ).thenRun(() -> System.out.println("   Event sent (for SNS)"));
         });
 
-        CompletableFuture<Void> sendEventToSqsFuture = sendEventToSnsFuture.thenCompose(v -> {
+        Step<Void> sendEventToSqs = graph.step("send-event-for-sqs", List.of(ruleSqs), ctx -> {
             System.out.println("\n8. Sending event to EventBridge (for SQS rule)");
 
             ObjectNode eventDetail = mapper.createObjectNode();
@@ -135,65 +164,59 @@ public class Main {
             ).thenRun(() -> System.out.println("   Event sent (for SQS)"));
         });
 
-        CompletableFuture<Void> checkMessagesFuture = queueArnFuture.thenCompose(queueInfo ->
-                sendEventToSqsFuture.thenCompose(v -> {
+        Step<Void> checkMessages = graph.step("process-routed-messages",
+                List.of(queue, sendEventToSns, sendEventToSqs), ctx -> {
                     System.out.println("\n9. Waiting for messages");
-                    return CompletableFuture.runAsync(() -> {
-                        try {
-                            Thread.sleep(2000);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }).thenCompose(ignored -> {
-                        System.out.println("   Checking SQS for messages");
-                        return sqs.processMessages(queueInfo.url());
-                    });
-                })
-        );
-
-        CompletableFuture<Void> directSnsWithoutSubjectFuture = topicFuture.thenCompose(topicArn ->
-                checkMessagesFuture.thenCompose(v -> {
+                    return sqs.awaitMessages(ctx.get(queue), ROUTED_MESSAGES, ROUTED_MESSAGES_TIMEOUT)
+                            .thenCompose(messages -> {
+                                System.out.println("   Checking SQS for messages");
+                                return sqs.processMessages(ctx.get(queue), messages);
+                            })
+                            .exceptionallyCompose(throwable -> {
+                                System.out.println("   Not all routed messages arrived: " + throwable.getMessage());
+                                return sqs.processMessages(ctx.get(queue));
+                            });
+                });
+
+        Step<Void> directSnsWithoutSubject = graph.step("publish-without-subject",
+                List.of(topic, checkMessages), ctx -> {
                     System.out.println("\n10. Sending direct message to SNS (without subject)");
 
                     ObjectNode snsMessage = mapper.createObjectNode();
                     snsMessage.put("type", "direct");
                     snsMessage.put("message", "Hello from SNS without subject!");
 
-                    return sns.publishMessage(topicArn, snsMessage.toString())
+                    return sns.publishMessage(ctx.get(topic), snsMessage.toString())
                             .thenAccept(messageId -> System.out.println("   Direct message sent, ID: " + messageId));
-                })
-        );
+                });
 
-        CompletableFuture<Void> directSnsWithSubjectFuture = topicFuture.thenCompose(topicArn ->
-                directSnsWithoutSubjectFuture.thenCompose(v -> {
+        Step<Void> directSnsWithSubject = graph.step("publish-with-subject",
+                List.of(topic, checkMessages), ctx -> {
                     System.out.println("\n11. Sending direct message to SNS (with subject)");
 
                     ObjectNode snsMessage = mapper.createObjectNode();
                     snsMessage.put("type", "direct-with-subject");
                     snsMessage.put("message", "Hello from SNS with subject!");
 
-                    return sns.publishMessage(topicArn, "Test Subject", snsMessage.toString())
+                    return sns.publishMessage(ctx.get(topic), "Test Subject", snsMessage.toString())
                             .thenAccept(messageId -> System.out.println("   Direct message sent, ID: " + messageId));
-                })
-        );
+                });
 
-        CompletableFuture<Void> directSqsFuture = queueArnFuture.thenCompose(queueInfo ->
-                directSnsWithSubjectFuture.thenCompose(v -> {
-                    System.out.println("\n12. Sending direct message to SQS");
+        Step<Void> directSqs = graph.step("send-direct-sqs", List.of(queue, checkMessages), ctx -> {
+            System.out.println("\n12. Sending direct message to SQS");
 
-                    ObjectNode sqsMessage = mapper.createObjectNode();
-                    sqsMessage.put("type", "direct-sqs");
-                    sqsMessage.put("content", "Hello directly to SQS!");
+            ObjectNode sqsMessage = mapper.createObjectNode();
+            sqsMessage.put("type", "direct-sqs");
+            sqsMessage.put("content", "Hello directly to SQS!");
 
-                    return sqs.sendMessage(queueInfo.url(), sqsMessage.toString())
-                            .thenAccept(messageId -> System.out.println("   Direct SQS message sent, ID: " + messageId));
-                })
-        );
+            return sqs.sendMessage(ctx.get(queue), sqsMessage.toString())
+                    .thenAccept(messageId -> System.out.println("   Direct SQS message sent, ID: " + messageId));
+        });
 
-        CompletableFuture<Void> receiveWithSettingsFuture = queueArnFuture.thenCompose(queueInfo ->
-                directSqsFuture.thenCompose(v -> {
+        Step<Void> receiveWithSettings = graph.step("receive-with-settings",
+                List.of(queue, directSnsWithoutSubject, directSnsWithSubject, directSqs), ctx -> {
                     System.out.println("\n13. Receiving messages with custom settings");
-                    return sqs.receiveMessages(queueInfo.url(), 5, 10)
+                    return sqs.receiveMessages(ctx.get(queue), 5, 10)
                             .thenAccept(messages -> {
                                 System.out.println("   Received " + messages.size() + " messages");
                                 messages.forEach(message -> {
@@ -201,13 +224,12 @@ public class Main {
                                     System.out.println("     Body: " + message.body());
                                 });
                             });
-                })
-        );
+                });
 
-        CompletableFuture<Void> deleteIndividualMessagesFuture = queueArnFuture.thenCompose(queueInfo ->
-                receiveWithSettingsFuture.thenCompose(v -> {
+        Step<Void> deleteIndividualMessages = graph.step("delete-individual-messages",
+                List.of(queue, receiveWithSettings), ctx -> {
                     System.out.println("\n14. Deleting individual messages");
-                    return sqs.receiveMessages(queueInfo.url(), 2, 5)
+                    return sqs.receiveMessages(ctx.get(queue), 2, 5)
                             .thenCompose(messages -> {
                                 if (messages.isEmpty()) {
                                     System.out.println("   No messages to delete");
@@ -218,22 +240,19 @@ public class Main {
                                         messages.stream()
                                                 .map(message -> {
                                                     System.out.println("   Deleting message: " + message.messageId());
-                                                    return sqs.deleteMessage(queueInfo.url(), message.receiptHandle());
+                                                    return sqs.deleteMessage(ctx.get(queue), message.receiptHandle());
                                                 })
                                                 .toArray(CompletableFuture[]::new)
                                 );
                             });
-                })
-        );
+                });
 
-        CompletableFuture<Void> listSnsSubscriptionsFuture = topicFuture.thenCompose(topicArn ->
-                deleteIndividualMessagesFuture.thenCompose(v -> {
-                    System.out.println("\n15. Listing SNS subscriptions");
-                    return sns.listSubscriptions(topicArn);
-                })
-        );
+        graph.step("list-subscriptions", List.of(topic, subscription), ctx -> {
+            System.out.println("\n15. Listing SNS subscriptions");
+            return sns.listSubscriptions(ctx.get(topic));
+        });
 
-        CompletableFuture<Void> listResourcesFuture = listSnsSubscriptionsFuture.thenCompose(v -> {
+        graph.step("list-resources", List.of(queue, topic, ruleSns, ruleSqs), ctx -> {
             System.out.println("\n16. Listing all resources");
 
             CompletableFuture<Void> listQueues = sqs.listQueues();
@@ -243,10 +262,16 @@ public class Main {
             return CompletableFuture.allOf(listQueues, listTopics, listRules);
         });
 
-        return listResourcesFuture.thenCompose(v -> queueArnFuture.thenCompose(queueInfo -> {
+        graph.step("purge-queue", List.of(queue, deleteIndividualMessages), ctx -> {
             System.out.println("\n17. Cleaning up");
-            return sqs.purgeQueue(queueInfo.url())
+            return sqs.purgeQueue(ctx.get(queue))
                     .thenRun(() -> System.out.println("   Queue purged"));
-        }));
+        });
+
+        return new DagExecutor(DEMO_CONCURRENCY).execute(graph)
+                .thenAccept(report -> {
+                    report.log(logger);
+                    report.throwIfFailed();
+                });
     }
-}
\ No newline at end of file
+}
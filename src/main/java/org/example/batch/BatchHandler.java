@@ -0,0 +1,16 @@
+package org.example.batch;
+
+import org.example.decoding.TypedMessage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+public interface BatchHandler<T> {
+
+    /**
+     * Handles a whole batch and reports which messages failed. A failed or exceptionally completed
+     * future counts as every message in the batch failing.
+     */
+    CompletableFuture<BatchResult> handle(List<TypedMessage<T>> batch);
+}
@@ -0,0 +1,8 @@
+package org.example.batch;
+
+public record BatchOutcome(int received, int succeeded, int failed) {
+
+    public static BatchOutcome empty() {
+        return new BatchOutcome(0, 0, 0);
+    }
+}
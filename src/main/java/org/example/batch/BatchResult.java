@@ -0,0 +1,23 @@
+package org.example.batch;
+
+import java.util.Collection;
+import java.util.Set;
+
+public record BatchResult(Set<String> failedMessageIds) {
+
+    public BatchResult {
+        failedMessageIds = Set.copyOf(failedMessageIds);
+    }
+
+    public static BatchResult success() {
+        return new BatchResult(Set.of());
+    }
+
+    public static BatchResult failed(Collection<String> messageIds) {
+        return new BatchResult(Set.copyOf(messageIds));
+    }
+
+    public boolean succeeded(String messageId) {
+        return !failedMessageIds.contains(messageId);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.batch;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+/**
+ * @param maxBatchSize messages accumulated across receives before the handler is called
+ * @param maxWait      how long to keep receiving before handing over a partial batch; SQS long-poll
+ *                     waits are whole seconds, so the first receive always waits at least one second
+ */
+public record BatchSettings(int maxBatchSize, Duration maxWait) {
+
+    public BatchSettings {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be > 0");
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait must be >= 0");
+        }
+    }
+
+    public static BatchSettings defaults() {
+        return new BatchSettings(10, Duration.ofSeconds(20));
+    }
+
+    public static BatchSettings fromSystemProperties() {
+        BatchSettings defaults = defaults();
+        return new BatchSettings(
+                intProperty("BATCH_MAX_SIZE", defaults.maxBatchSize()),
+                durationProperty("BATCH_MAX_WAIT_MS", defaults.maxWait())
+        );
+    }
+}
@@ -1,19 +1,186 @@
 package org.example.composition.root;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import org.example.config.HttpClientSettings;
 import org.example.config.LocalStackConfig;
+import org.example.config.WarmUpSettings;
+import org.example.execution.BlockingDetectorSettings;
+import org.example.execution.CompletionExecutors;
+import org.example.inmemory.InMemoryAws;
+import org.example.jfr.JfrEventInterceptor;
+import org.example.lifecycle.LifecycleManager;
+import org.example.lifecycle.ShutdownSettings;
+import org.example.logging.HotPathLogSettings;
+import org.example.metrics.MetricsInterceptor;
+import org.example.metrics.MetricsRegistry;
+import org.example.monitoring.QueueMonitorSettings;
+import org.example.outbox.OutboxSettings;
+import org.example.provisioning.ProvisioningSettings;
+import org.example.resilience.CircuitBreakerSettings;
+import org.example.resilience.ConcurrencyLimiterSettings;
+import org.example.resilience.RateLimitSettings;
+import org.example.resilience.RetrySettings;
+import org.example.resilience.ServiceGuards;
+import org.example.scheduling.SendSchedulerSettings;
+import org.example.topology.TopologySettings;
+
+import java.util.List;
 
 public class CompositionRoot extends AbstractModule {
+    public static final String IN_MEMORY_BACKEND = "in-memory";
+
     @Override
     public void configure() {
-        bind(LocalStackConfig.class).toProvider(() -> {
-            String endpoint = System.getProperty("LOCALSTACK_ENDPOINT",
-                    "http://localhost:4566");
-            String region = System.getProperty("AWS_REGION", "us-east-1");
-            String accessKey = System.getProperty("AWS_ACCESS_KEY", "test");
-            String secretKey = System.getProperty("AWS_SECRET_KEY", "test");
+    }
+
+    @Provides
+    @Singleton
+    HttpClientSettings provideHttpClientSettings() {
+        return HttpClientSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    ConcurrencyLimiterSettings provideConcurrencyLimiterSettings(HttpClientSettings httpClientSettings) {
+        return ConcurrencyLimiterSettings.fromSystemProperties(httpClientSettings.maxConcurrency());
+    }
+
+    @Provides
+    @Singleton
+    RateLimitSettings provideRateLimitSettings() {
+        return RateLimitSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    CircuitBreakerSettings provideCircuitBreakerSettings() {
+        return CircuitBreakerSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    RetrySettings provideRetrySettings() {
+        return RetrySettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    WarmUpSettings provideWarmUpSettings() {
+        return WarmUpSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    HotPathLogSettings provideHotPathLogSettings() {
+        return HotPathLogSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    ShutdownSettings provideShutdownSettings() {
+        return ShutdownSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    OutboxSettings provideOutboxSettings() {
+        return OutboxSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    SendSchedulerSettings provideSendSchedulerSettings() {
+        return SendSchedulerSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    QueueMonitorSettings provideQueueMonitorSettings() {
+        return QueueMonitorSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    TopologySettings provideTopologySettings() {
+        return TopologySettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    ProvisioningSettings provideProvisioningSettings() {
+        return ProvisioningSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    CompletionExecutors provideCompletionExecutors(LifecycleManager lifecycle) {
+        CompletionExecutors executors = CompletionExecutors.fromSystemProperties();
+        lifecycle.onShutdown("completion-executors", executors);
+        return executors;
+    }
+
+    @Provides
+    @Singleton
+    BlockingDetectorSettings provideBlockingDetectorSettings() {
+        return BlockingDetectorSettings.fromSystemProperties();
+    }
+
+    @Provides
+    @Singleton
+    InMemoryAws provideInMemoryAws(LifecycleManager lifecycle) {
+        InMemoryAws backend = new InMemoryAws(region());
+        lifecycle.onShutdown("in-memory-backend", backend);
+        return backend;
+    }
+
+    @Provides
+    @Singleton
+    LocalStackConfig provideLocalStackConfig(HttpClientSettings httpClientSettings, MetricsRegistry metricsRegistry,
+                                             Provider<InMemoryAws> inMemoryAws, LifecycleManager lifecycle) {
+        LocalStackConfig config;
+        if (IN_MEMORY_BACKEND.equalsIgnoreCase(System.getProperty("AWS_BACKEND", "localstack"))) {
+            InMemoryAws backend = inMemoryAws.get();
+            config = LocalStackConfig.withClients(region(), backend::eventBridge, backend::sns, backend::sqs);
+        } else {
+            config = createLocalStackConfig(httpClientSettings, metricsRegistry);
+        }
+        lifecycle.onShutdown("aws-clients", config::shutdown);
+        return config;
+    }
+
+    /**
+     * {@code clientsClosedAfterGuards} is never read. Injecting it makes Guice build the clients,
+     * and register their shutdown, before the guards register theirs; the lifecycle closes in
+     * reverse order, so the guards close first and no retry they scheduled can fire against a
+     * client that is already closed.
+     */
+    @Provides
+    @Singleton
+    ServiceGuards provideServiceGuards(ConcurrencyLimiterSettings limiterSettings, RateLimitSettings rateLimitSettings,
+                                       CircuitBreakerSettings circuitBreakerSettings, RetrySettings retrySettings,
+                                       MetricsRegistry metricsRegistry, CompletionExecutors completionExecutors,
+                                       LocalStackConfig clientsClosedAfterGuards, LifecycleManager lifecycle) {
+        ServiceGuards guards = new ServiceGuards(limiterSettings, rateLimitSettings, circuitBreakerSettings,
+                retrySettings, metricsRegistry, completionExecutors);
+        lifecycle.onShutdown("service-guards", guards);
+        return guards;
+    }
+
+    private static LocalStackConfig createLocalStackConfig(HttpClientSettings httpClientSettings,
+                                                           MetricsRegistry metricsRegistry) {
+        String endpoint = System.getProperty("LOCALSTACK_ENDPOINT",
+                "http://localhost:4566");
+        String accessKey = System.getProperty("AWS_ACCESS_KEY", "test");
+        String secretKey = System.getProperty("AWS_SECRET_KEY", "test");
+
+        return new LocalStackConfig(endpoint, region(), accessKey, secretKey, httpClientSettings,
+                List.of(new MetricsInterceptor(metricsRegistry), new JfrEventInterceptor()));
+    }
 
-            return new LocalStackConfig(endpoint, region, accessKey, secretKey);
-        });
+    private static String region() {
+        return System.getProperty("AWS_REGION", "us-east-1");
     }
-}
\ No newline at end of file
+}
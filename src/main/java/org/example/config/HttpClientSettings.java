@@ -0,0 +1,56 @@
+package org.example.config;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.booleanProperty;
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+public record HttpClientSettings(int eventLoopThreads,
+                                 int maxConcurrency,
+                                 int maxPendingConnectionAcquires,
+                                 Duration connectionTimeout,
+                                 Duration connectionAcquisitionTimeout,
+                                 Duration connectionTimeToLive,
+                                 Duration connectionMaxIdleTime,
+                                 boolean useIdleConnectionReaper) {
+
+    public HttpClientSettings {
+        if (eventLoopThreads < 0) {
+            throw new IllegalArgumentException("eventLoopThreads must be >= 0 (0 = Netty default)");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be > 0");
+        }
+        if (maxPendingConnectionAcquires <= 0) {
+            throw new IllegalArgumentException("maxPendingConnectionAcquires must be > 0");
+        }
+    }
+
+    public static HttpClientSettings defaults() {
+        return new HttpClientSettings(
+                Math.max(2, Runtime.getRuntime().availableProcessors()),
+                100,
+                1_000,
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(10),
+                Duration.ofMinutes(5),
+                Duration.ofSeconds(30),
+                true
+        );
+    }
+
+    public static HttpClientSettings fromSystemProperties() {
+        HttpClientSettings defaults = defaults();
+        return new HttpClientSettings(
+                intProperty("HTTP_EVENT_LOOP_THREADS", defaults.eventLoopThreads()),
+                intProperty("HTTP_MAX_CONCURRENCY", defaults.maxConcurrency()),
+                intProperty("HTTP_MAX_PENDING_ACQUIRES", defaults.maxPendingConnectionAcquires()),
+                durationProperty("HTTP_CONNECTION_TIMEOUT_MS", defaults.connectionTimeout()),
+                durationProperty("HTTP_ACQUIRE_TIMEOUT_MS", defaults.connectionAcquisitionTimeout()),
+                durationProperty("HTTP_CONNECTION_TTL_MS", defaults.connectionTimeToLive()),
+                durationProperty("HTTP_CONNECTION_MAX_IDLE_MS", defaults.connectionMaxIdleTime()),
+                booleanProperty("HTTP_IDLE_REAPER", defaults.useIdleConnectionReaper())
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.config;
+
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.util.function.Supplier;
+
+final class LazyClient<T extends SdkAutoCloseable> {
+    private final Supplier<T> factory;
+    private volatile T instance;
+
+    LazyClient(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    T get() {
+        T current = instance;
+        if (current == null) {
+            synchronized (this) {
+                current = instance;
+                if (current == null) {
+                    current = factory.get();
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    boolean isInitialized() {
+        return instance != null;
+    }
+
+    synchronized void closeIfInitialized() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+}
@@ -1,45 +1,184 @@
 package org.example.config;
 
 import com.google.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.model.ListEventBusesRequest;
 import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.ListTopicsRequest;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 @Singleton
 public class LocalStackConfig {
+    private static final Logger logger = LoggerFactory.getLogger(LocalStackConfig.class);
     private final String LOCALSTACK_ENDPOINT;
     private final String REGION;
     private final String ACCESS_KEY;
     private final String SECRET_KEY;
-    private final EventBridgeAsyncClient eventBridgeAsyncClient;
-    private final SnsAsyncClient snsAsyncClient;
-    private final SqsAsyncClient sqsAsyncClient;
+    private final HttpClientSettings httpClientSettings;
+    private final List<ExecutionInterceptor> interceptors;
+    private final StartupTimings startupTimings = new StartupTimings();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final LazyClient<SdkAsyncHttpClient> httpClient;
+    private final LazyClient<EventBridgeAsyncClient> eventBridgeAsyncClient;
+    private final LazyClient<SnsAsyncClient> snsAsyncClient;
+    private final LazyClient<SqsAsyncClient> sqsAsyncClient;
 
     public LocalStackConfig(String localstackEndpoint, String region, String accessKey, String secretKey) {
+        this(localstackEndpoint, region, accessKey, secretKey, HttpClientSettings.defaults());
+    }
+
+    public LocalStackConfig(String localstackEndpoint, String region, String accessKey, String secretKey,
+                            HttpClientSettings httpClientSettings) {
+        this(localstackEndpoint, region, accessKey, secretKey, httpClientSettings, List.of());
+    }
+
+    public LocalStackConfig(String localstackEndpoint, String region, String accessKey, String secretKey,
+                            HttpClientSettings httpClientSettings, List<ExecutionInterceptor> interceptors) {
+        this(localstackEndpoint, region, accessKey, secretKey, httpClientSettings, interceptors, null, null, null);
+    }
+
+    private LocalStackConfig(String localstackEndpoint, String region, String accessKey, String secretKey,
+                             HttpClientSettings httpClientSettings, List<ExecutionInterceptor> interceptors,
+                             Supplier<EventBridgeAsyncClient> eventBridgeFactory,
+                             Supplier<SnsAsyncClient> snsFactory,
+                             Supplier<SqsAsyncClient> sqsFactory) {
         this.LOCALSTACK_ENDPOINT = localstackEndpoint;
         this.REGION = region;
         this.ACCESS_KEY = accessKey;
         this.SECRET_KEY = secretKey;
-        this.eventBridgeAsyncClient = createEventBridgeAsyncClient();
-        this.snsAsyncClient = createSnsAsyncClient();
-        this.sqsAsyncClient = createSqsAsyncClient();
+        this.httpClientSettings = httpClientSettings;
+        this.interceptors = List.copyOf(interceptors);
+        this.httpClient = lazy("http-client", () -> createHttpClient(httpClientSettings));
+        this.eventBridgeAsyncClient = lazy("eventbridge-client",
+                eventBridgeFactory != null ? eventBridgeFactory : this::createEventBridgeAsyncClient);
+        this.snsAsyncClient = lazy("sns-client", snsFactory != null ? snsFactory : this::createSnsAsyncClient);
+        this.sqsAsyncClient = lazy("sqs-client", sqsFactory != null ? sqsFactory : this::createSqsAsyncClient);
+    }
+
+    public static LocalStackConfig withClients(String region,
+                                               Supplier<EventBridgeAsyncClient> eventBridgeFactory,
+                                               Supplier<SnsAsyncClient> snsFactory,
+                                               Supplier<SqsAsyncClient> sqsFactory) {
+        return new LocalStackConfig("in-process", region, "test", "test", HttpClientSettings.defaults(), List.of(),
+                eventBridgeFactory, snsFactory, sqsFactory);
+    }
+
+    private <T extends SdkAutoCloseable> LazyClient<T> lazy(String phase, Supplier<T> factory) {
+        return new LazyClient<>(() -> {
+            if (closed.get()) {
+                throw new IllegalStateException("LocalStackConfig has been shut down");
+            }
+            return startupTimings.time(phase, factory);
+        });
     }
 
     public EventBridgeAsyncClient getEventBridgeAsyncClient() {
-        return eventBridgeAsyncClient;
+        return eventBridgeAsyncClient.get();
     }
 
     public SnsAsyncClient getSnsAsyncClient() {
-        return snsAsyncClient;
+        return snsAsyncClient.get();
     }
 
     public SqsAsyncClient getSqsAsyncClient() {
-        return sqsAsyncClient;
+        return sqsAsyncClient.get();
+    }
+
+    public StartupTimings getStartupTimings() {
+        return startupTimings;
+    }
+
+    public CompletableFuture<Void> warmUp(WarmUpSettings settings) {
+        if (!settings.enabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<CompletableFuture<Void>> phases = new ArrayList<>();
+        if (sqsAsyncClient.isInitialized()) {
+            phases.add(warmUp("sqs", settings, () -> sqsAsyncClient.get()
+                    .listQueues(ListQueuesRequest.builder().maxResults(1).build())));
+        }
+        if (snsAsyncClient.isInitialized()) {
+            phases.add(warmUp("sns", settings, () -> snsAsyncClient.get()
+                    .listTopics(ListTopicsRequest.builder().build())));
+        }
+        if (eventBridgeAsyncClient.isInitialized()) {
+            phases.add(warmUp("eventbridge", settings, () -> eventBridgeAsyncClient.get()
+                    .listEventBuses(ListEventBusesRequest.builder().limit(1).build())));
+        }
+
+        return CompletableFuture.allOf(phases.toArray(CompletableFuture[]::new))
+                .thenRun(() -> startupTimings.log(logger));
+    }
+
+    private CompletableFuture<Void> warmUp(String service, WarmUpSettings settings,
+                                           Supplier<CompletableFuture<?>> cheapCall) {
+        long start = System.nanoTime();
+        CompletableFuture<?>[] calls = IntStream.range(0, settings.connectionsPerClient())
+                .mapToObj(i -> cheapCall.get())
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(calls)
+                .orTimeout(settings.timeout().toMillis(), TimeUnit.MILLISECONDS)
+                .handle((ignored, throwable) -> {
+                    startupTimings.record(service + "-warm-up", Duration.ofNanos(System.nanoTime() - start));
+                    if (throwable != null) {
+                        logger.warn("Warm-up of {} client failed: {}", service, throwable.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    public HttpClientSettings getHttpClientSettings() {
+        return httpClientSettings;
+    }
+
+    private static SdkAsyncHttpClient createHttpClient(HttpClientSettings settings) {
+        SdkEventLoopGroup.Builder eventLoop = SdkEventLoopGroup.builder();
+        if (settings.eventLoopThreads() > 0) {
+            eventLoop.numberOfThreads(settings.eventLoopThreads());
+        }
+
+        return NettyNioAsyncHttpClient.builder()
+                .eventLoopGroupBuilder(eventLoop)
+                .maxConcurrency(settings.maxConcurrency())
+                .maxPendingConnectionAcquires(settings.maxPendingConnectionAcquires())
+                .connectionTimeout(settings.connectionTimeout())
+                .connectionAcquisitionTimeout(settings.connectionAcquisitionTimeout())
+                .connectionTimeToLive(settings.connectionTimeToLive())
+                .connectionMaxIdleTime(settings.connectionMaxIdleTime())
+                .useIdleConnectionReaper(settings.useIdleConnectionReaper())
+                .build();
+    }
+
+    private ClientOverrideConfiguration clientOverrideConfiguration() {
+        return ClientOverrideConfiguration.builder()
+                .retryPolicy(RetryPolicy.none())
+                .executionInterceptors(interceptors)
+                .build();
     }
 
     private EventBridgeAsyncClient createEventBridgeAsyncClient() {
@@ -49,6 +188,8 @@ public class LocalStackConfig {
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)
                 ))
+                .httpClient(httpClient.get())
+                .overrideConfiguration(clientOverrideConfiguration())
                 .build();
     }
 
@@ -59,6 +200,8 @@ public class LocalStackConfig {
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)
                 ))
+                .httpClient(httpClient.get())
+                .overrideConfiguration(clientOverrideConfiguration())
                 .build();
     }
 
@@ -69,18 +212,18 @@ public class LocalStackConfig {
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)
                 ))
+                .httpClient(httpClient.get())
+                .overrideConfiguration(clientOverrideConfiguration())
                 .build();
     }
 
     public void shutdown() {
-        if (eventBridgeAsyncClient != null) {
-            eventBridgeAsyncClient.close();
-        }
-        if (snsAsyncClient != null) {
-            snsAsyncClient.close();
-        }
-        if (sqsAsyncClient != null) {
-            sqsAsyncClient.close();
+        if (!closed.compareAndSet(false, true)) {
+            return;
         }
+        eventBridgeAsyncClient.closeIfInitialized();
+        snsAsyncClient.closeIfInitialized();
+        sqsAsyncClient.closeIfInitialized();
+        httpClient.closeIfInitialized();
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.example.config;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class StartupTimings {
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+
+    public <T> T time(String phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    public synchronized void record(String phase, Duration duration) {
+        phases.put(phase, duration);
+    }
+
+    public synchronized Map<String, Duration> snapshot() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    public void log(Logger logger) {
+        Map<String, Duration> snapshot = snapshot();
+        logger.info("Startup timing breakdown:");
+        snapshot.forEach((phase, duration) ->
+                logger.info("  {}: {} ms", phase, String.format("%.2f", duration.toNanos() / 1_000_000.0)));
+    }
+}
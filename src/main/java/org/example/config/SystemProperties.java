@@ -0,0 +1,33 @@
+package org.example.config;
+
+import java.time.Duration;
+
+public final class SystemProperties {
+    private SystemProperties() {
+    }
+
+    public static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static long longProperty(String name, long defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    public static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    public static boolean booleanProperty(String name, boolean defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public static Duration durationProperty(String name, Duration defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Duration.ofMillis(Long.parseLong(value.trim()));
+    }
+}
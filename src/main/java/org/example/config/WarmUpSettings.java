@@ -0,0 +1,29 @@
+package org.example.config;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.booleanProperty;
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+public record WarmUpSettings(boolean enabled, int connectionsPerClient, Duration timeout) {
+
+    public WarmUpSettings {
+        if (connectionsPerClient <= 0) {
+            throw new IllegalArgumentException("connectionsPerClient must be > 0");
+        }
+    }
+
+    public static WarmUpSettings disabled() {
+        return new WarmUpSettings(false, 4, Duration.ofSeconds(10));
+    }
+
+    public static WarmUpSettings fromSystemProperties() {
+        WarmUpSettings defaults = disabled();
+        return new WarmUpSettings(
+                booleanProperty("WARMUP_ENABLED", defaults.enabled()),
+                intProperty("WARMUP_CONNECTIONS", defaults.connectionsPerClient()),
+                durationProperty("WARMUP_TIMEOUT_MS", defaults.timeout())
+        );
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.consumer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deficit round robin over one FIFO lane per queue, with every item costing one unit. When the
+ * cursor reaches a backlogged lane it earns its weight in credit and is served until the credit
+ * or the lane runs out; an emptied lane forfeits its credit so idle queues cannot bank service.
+ * Over any busy period each lane gets a share of dispatches proportional to its weight. Not
+ * thread-safe; callers serialise access.
+ */
+final class DeficitRoundRobin<T> {
+    private final Lane<T>[] lanes;
+    private int cursor;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    DeficitRoundRobin(List<Integer> weights) {
+        this.lanes = (Lane<T>[]) new Lane<?>[weights.size()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane<>(weights.get(i));
+        }
+    }
+
+    void add(int lane, T item) {
+        lanes[lane].items.add(item);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int size(int lane) {
+        return lanes[lane].items.size();
+    }
+
+    /**
+     * @return the next item, or {@code null} when every lane is empty
+     */
+    T poll() {
+        if (size == 0) {
+            return null;
+        }
+        while (true) {
+            Lane<T> lane = lanes[cursor];
+            if (!lane.visited && !lane.items.isEmpty()) {
+                lane.deficit += lane.weight;
+                lane.visited = true;
+            }
+            if (!lane.items.isEmpty() && lane.deficit >= 1) {
+                lane.deficit--;
+                size--;
+                return lane.items.poll();
+            }
+            if (lane.items.isEmpty()) {
+                lane.deficit = 0;
+            }
+            lane.visited = false;
+            cursor = (cursor + 1) % lanes.length;
+        }
+    }
+
+    List<T> clear() {
+        List<T> drained = new ArrayList<>(size);
+        for (Lane<T> lane : lanes) {
+            drained.addAll(lane.items);
+            lane.items.clear();
+            lane.deficit = 0;
+            lane.visited = false;
+        }
+        size = 0;
+        return drained;
+    }
+
+    private static final class Lane<T> {
+        private final int weight;
+        private final ArrayDeque<T> items = new ArrayDeque<>();
+        private int deficit;
+        private boolean visited;
+
+        private Lane(int weight) {
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.consumer;
+
+import static org.example.config.SystemProperties.intProperty;
+
+/**
+ * @param handlerThreads   size of the handler pool shared by all queues
+ * @param bufferPerQueue   received-but-undispatched messages held per queue before its polls pause
+ * @param maxPollsInFlight receive slots shared out by weight among queues with a backlog; an idle queue
+ *                         keeps a single long poll
+ */
+public record FairConsumerSettings(int handlerThreads, int bufferPerQueue, int maxPollsInFlight) {
+
+    public FairConsumerSettings {
+        if (handlerThreads <= 0) {
+            throw new IllegalArgumentException("handlerThreads must be > 0");
+        }
+        if (bufferPerQueue <= 0) {
+            throw new IllegalArgumentException("bufferPerQueue must be > 0");
+        }
+        if (maxPollsInFlight <= 0) {
+            throw new IllegalArgumentException("maxPollsInFlight must be > 0");
+        }
+    }
+
+    public static FairConsumerSettings defaults() {
+        return new FairConsumerSettings(8, 20, 6);
+    }
+
+    public static FairConsumerSettings fromSystemProperties() {
+        FairConsumerSettings defaults = defaults();
+        return new FairConsumerSettings(
+                intProperty("FAIR_CONSUMER_HANDLER_THREADS", defaults.handlerThreads()),
+                intProperty("FAIR_CONSUMER_BUFFER_PER_QUEUE", defaults.bufferPerQueue()),
+                intProperty("FAIR_CONSUMER_MAX_POLLS", defaults.maxPollsInFlight())
+        );
+    }
+}
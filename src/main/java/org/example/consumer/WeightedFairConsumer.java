@@ -0,0 +1,293 @@
+package org.example.consumer;
+
+import org.example.service.SqsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Consumes several queues into one shared handler pool. Each queue long-polls into its own bounded
+ * buffer and a deficit round robin picks the next message whenever a handler is free, so handler
+ * time is split by weight while every backlogged queue keeps making progress.
+ * <p>
+ * Receive capacity is split the same way. Every queue keeps one long poll open; while its receives
+ * keep returning messages it also gets extra short-poll slots, shared out by weight, and the first
+ * empty receive takes it back to the single long poll. An idle queue therefore never pins more than
+ * one connection, and a queue stops polling while its buffer is full, so a flooded low-weight queue
+ * leaves its backlog in SQS instead of crowding out receives or memory for the others.
+ */
+public class WeightedFairConsumer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WeightedFairConsumer.class);
+    private static final int MAX_MESSAGES_PER_RECEIVE = 10;
+    private static final int WAIT_TIME_SECONDS = 20;
+    private static final long RETRY_DELAY_MILLIS = 1_000L;
+    private static final long HANDLER_DRAIN_SECONDS = 30L;
+
+    private final SqsService sqsService;
+    private final BiConsumer<WeightedQueue, Message> handler;
+    private final Lane[] lanes;
+    private final int bufferPerQueue;
+    private final DeficitRoundRobin<Pending> scheduler;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private final Semaphore handlerSlots;
+    private final ExecutorService handlers;
+    private final Thread dispatcher;
+    private boolean running;
+    private boolean closed;
+
+    public WeightedFairConsumer(SqsService sqsService, List<WeightedQueue> queues, FairConsumerSettings settings,
+                                BiConsumer<WeightedQueue, Message> handler) {
+        if (queues.isEmpty()) {
+            throw new IllegalArgumentException("queues must not be empty");
+        }
+        this.sqsService = sqsService;
+        this.handler = handler;
+        this.bufferPerQueue = settings.bufferPerQueue();
+        this.scheduler = new DeficitRoundRobin<>(queues.stream().map(WeightedQueue::weight).toList());
+
+        int totalWeight = queues.stream().mapToInt(WeightedQueue::weight).sum();
+        this.lanes = new Lane[queues.size()];
+        for (int i = 0; i < lanes.length; i++) {
+            WeightedQueue queue = queues.get(i);
+            int share = (int) Math.round((double) settings.maxPollsInFlight() * queue.weight() / totalWeight);
+            lanes[i] = new Lane(i, queue, Math.max(1, share));
+        }
+
+        this.handlerSlots = new Semaphore(settings.handlerThreads());
+        this.handlers = Executors.newFixedThreadPool(settings.handlerThreads(), daemonThreads("fair-consumer-handler"));
+        this.dispatcher = daemonThreads("fair-consumer-dispatcher").newThread(this::dispatch);
+    }
+
+    public WeightedFairConsumer(SqsService sqsService, List<WeightedQueue> queues,
+                                BiConsumer<WeightedQueue, Message> handler) {
+        this(sqsService, queues, FairConsumerSettings.fromSystemProperties(), handler);
+    }
+
+    public void start() {
+        lock.lock();
+        try {
+            if (running || closed) {
+                return;
+            }
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        dispatcher.start();
+        for (Lane lane : lanes) {
+            fill(lane);
+        }
+        logger.info("Fair consumer started on {} queues", lanes.length);
+    }
+
+    public Map<String, Long> handledCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Lane lane : lanes) {
+            counts.put(lane.queue.queueUrl(), lane.handled.sum());
+        }
+        return counts;
+    }
+
+    private void fill(Lane lane) {
+        List<Receive> receives = new ArrayList<>(lane.share);
+        lock.lock();
+        try {
+            int slots = lane.hot ? lane.share : 1;
+            while (running && lane.polling < slots) {
+                int room = bufferPerQueue - scheduler.size(lane.index) - lane.requested;
+                if (room <= 0) {
+                    break;
+                }
+                int maxMessages = Math.min(room, MAX_MESSAGES_PER_RECEIVE);
+                receives.add(new Receive(maxMessages, lane.polling == 0 ? WAIT_TIME_SECONDS : 0));
+                lane.polling++;
+                lane.requested += maxMessages;
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Receive receive : receives) {
+            sqsService.receiveMessages(lane.queue.queueUrl(), receive.maxMessages(), receive.waitTimeSeconds())
+                    .whenComplete((messages, throwable) ->
+                            received(lane, receive.maxMessages(), messages, throwable));
+        }
+    }
+
+    private void received(Lane lane, int maxMessages, List<Message> messages, Throwable throwable) {
+        boolean accepted;
+        lock.lock();
+        try {
+            lane.polling--;
+            lane.requested -= maxMessages;
+            accepted = running && throwable == null;
+            if (accepted) {
+                lane.hot = !messages.isEmpty();
+                for (Message message : messages) {
+                    scheduler.add(lane.index, new Pending(lane, message));
+                }
+                if (!messages.isEmpty()) {
+                    ready.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (throwable != null) {
+            if (isRunning()) {
+                logger.warn("Receive from {} failed, retrying in {}ms: {}", lane.queue.queueUrl(), RETRY_DELAY_MILLIS,
+                        throwable.getMessage());
+                CompletableFuture.runAsync(() -> fill(lane),
+                        CompletableFuture.delayedExecutor(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+            }
+        } else if (accepted) {
+            fill(lane);
+        } else {
+            release(messages.stream().map(message -> new Pending(lane, message)).toList());
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (true) {
+                handlerSlots.acquire();
+                Pending next = null;
+                lock.lock();
+                try {
+                    while (running && (next = scheduler.poll()) == null) {
+                        ready.await();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (next == null) {
+                    handlerSlots.release();
+                    return;
+                }
+                fill(next.lane());
+                Pending pending = next;
+                handlers.execute(() -> handle(pending));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(Pending pending) {
+        String queueUrl = pending.lane().queue.queueUrl();
+        Message message = pending.message();
+        try {
+            handler.accept(pending.lane().queue, message);
+            pending.lane().handled.increment();
+            sqsService.deleteMessage(queueUrl, message.receiptHandle())
+                    .exceptionally(throwable -> {
+                        logger.warn("Could not delete message {} from {}: {}", message.messageId(), queueUrl,
+                                throwable.getMessage());
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            logger.warn("Handler failed for message {} from {}, leaving it for redelivery: {}",
+                    message.messageId(), queueUrl, e.getMessage());
+        } finally {
+            handlerSlots.release();
+        }
+    }
+
+    private boolean isRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Pending> buffered;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = false;
+            buffered = scheduler.clear();
+            ready.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(HANDLER_DRAIN_SECONDS));
+            handlers.shutdown();
+            if (!handlers.awaitTermination(HANDLER_DRAIN_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Fair consumer handlers still busy after {}s", HANDLER_DRAIN_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        release(buffered).join();
+        logger.info("Fair consumer stopped, released {} buffered messages", buffered.size());
+    }
+
+    private CompletableFuture<Void> release(List<Pending> pending) {
+        return CompletableFuture.allOf(pending.stream()
+                .map(entry -> sqsService.changeMessageVisibility(entry.lane().queue.queueUrl(),
+                                entry.message().receiptHandle(), 0)
+                        .exceptionally(throwable -> {
+                            logger.warn("Could not release message {}: {}", entry.message().messageId(),
+                                    throwable.getMessage());
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Lane {
+        private final int index;
+        private final WeightedQueue queue;
+        private final int share;
+        private final LongAdder handled = new LongAdder();
+        private int polling;
+        private int requested;
+        private boolean hot = true;
+
+        private Lane(int index, WeightedQueue queue, int share) {
+            this.index = index;
+            this.queue = queue;
+            this.share = share;
+        }
+    }
+
+    private record Pending(Lane lane, Message message) {
+    }
+
+    private record Receive(int maxMessages, int waitTimeSeconds) {
+    }
+}
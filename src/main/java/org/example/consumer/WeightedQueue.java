@@ -0,0 +1,13 @@
+package org.example.consumer;
+
+public record WeightedQueue(String queueUrl, int weight) {
+
+    public WeightedQueue {
+        if (queueUrl == null || queueUrl.isBlank()) {
+            throw new IllegalArgumentException("queueUrl must not be blank");
+        }
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight must be > 0");
+        }
+    }
+}
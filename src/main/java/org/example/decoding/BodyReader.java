@@ -0,0 +1,48 @@
+package org.example.decoding;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.IOException;
+
+public final class BodyReader<T> {
+    private final Class<T> type;
+    private final ObjectReader reader;
+    private final ObjectReader snsMessageReader;
+
+    BodyReader(Class<T> type, ObjectReader reader, ObjectReader snsMessageReader) {
+        this.type = type;
+        this.reader = reader;
+        this.snsMessageReader = snsMessageReader;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public T read(Message message) {
+        return decode(message.body(), message.messageId());
+    }
+
+    public T read(String body) {
+        return decode(body, null);
+    }
+
+    private T decode(String body, String messageId) {
+        if (body == null) {
+            throw new MessageDecodingException(messageId, "No body to decode as " + type.getSimpleName(), null);
+        }
+        T value;
+        try {
+            String payload = snsMessageReader == null ? body : snsMessageReader.readValue(body);
+            value = payload == null ? null : reader.readValue(payload);
+        } catch (IOException e) {
+            throw new MessageDecodingException(messageId,
+                    "Could not decode body as " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+        if (value == null) {
+            throw new MessageDecodingException(messageId, "Body has no " + type.getSimpleName() + " value", null);
+        }
+        return value;
+    }
+}
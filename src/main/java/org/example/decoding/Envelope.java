@@ -0,0 +1,10 @@
+package org.example.decoding;
+
+public enum Envelope {
+    /** The SQS body is the payload itself. */
+    RAW,
+    /** The body is an SNS notification whose {@code Message} field holds the payload as a JSON string. */
+    SNS_NOTIFICATION,
+    /** The body is a full EventBridge event delivered by an SQS target; the payload is {@code detail}. */
+    EVENTBRIDGE_DETAIL
+}
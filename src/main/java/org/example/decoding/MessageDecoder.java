@@ -0,0 +1,68 @@
+package org.example.decoding;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Binds message bodies straight to records or POJOs through cached {@link ObjectReader}s, so
+ * consumers never build a {@code JsonNode} tree. The streaming parser skips properties the
+ * target type does not declare, which makes a type with only a few fields a partial decode,
+ * and a JSON pointer restricts binding to one subtree, such as {@code /detail} of an
+ * EventBridge event, without materialising the rest. Bodies are parsed from the SDK's
+ * {@code String} through Jackson's recycled buffers rather than copied to bytes first.
+ */
+@Singleton
+public class MessageDecoder {
+    private final ObjectMapper mapper;
+    private final ObjectReader snsMessageReader;
+    private final ConcurrentMap<ReaderKey, BodyReader<?>> readers = new ConcurrentHashMap<>();
+
+    @Inject
+    public MessageDecoder() {
+        this(new ObjectMapper());
+    }
+
+    public MessageDecoder(ObjectMapper mapper) {
+        this.mapper = mapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.snsMessageReader = this.mapper.readerFor(String.class).at("/Message");
+    }
+
+    public <T> BodyReader<T> reader(Class<T> type) {
+        return reader(type, Envelope.RAW, "");
+    }
+
+    public <T> BodyReader<T> reader(Class<T> type, Envelope envelope) {
+        return reader(type, envelope, "");
+    }
+
+    public <T> BodyReader<T> reader(Class<T> type, String pointer) {
+        return reader(type, Envelope.RAW, pointer);
+    }
+
+    /**
+     * @param pointer JSON pointer into the payload once the envelope is removed; empty binds the whole payload
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BodyReader<T> reader(Class<T> type, Envelope envelope, String pointer) {
+        return (BodyReader<T>) readers.computeIfAbsent(new ReaderKey(type, envelope, pointer),
+                key -> createReader(type, envelope, pointer));
+    }
+
+    private <T> BodyReader<T> createReader(Class<T> type, Envelope envelope, String pointer) {
+        String path = envelope == Envelope.EVENTBRIDGE_DETAIL ? "/detail" + pointer : pointer;
+        ObjectReader reader = mapper.readerFor(type);
+        if (!path.isEmpty()) {
+            reader = reader.at(path);
+        }
+        return new BodyReader<>(type, reader, envelope == Envelope.SNS_NOTIFICATION ? snsMessageReader : null);
+    }
+
+    private record ReaderKey(Class<?> type, Envelope envelope, String pointer) {
+    }
+}
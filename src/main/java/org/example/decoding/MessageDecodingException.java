@@ -0,0 +1,14 @@
+package org.example.decoding;
+
+public class MessageDecodingException extends RuntimeException {
+    private final String messageId;
+
+    public MessageDecodingException(String messageId, String message, Throwable cause) {
+        super(message, cause);
+        this.messageId = messageId;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.decoding;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+public record TypedMessage<T>(Message message, T body) {
+
+    public String messageId() {
+        return message.messageId();
+    }
+
+    public String receiptHandle() {
+        return message.receiptHandle();
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.execution;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.lifecycle.LifecycleManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples the SDK's I/O threads and flags any that is parked, waiting or blocked while
+ * application code is on its stack: a callback that joined a future, slept or took a lock
+ * on a thread that should only be moving bytes. Idle I/O threads wait inside SDK or Netty
+ * code only and are not flagged. Each blocking episode is reported once.
+ */
+@Singleton
+public class BlockingCallDetector implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BlockingCallDetector.class);
+    private static final String APPLICATION_PACKAGE = "org.example.";
+
+    private final BlockingDetectorSettings settings;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicLong violations = new AtomicLong();
+    private final Map<Long, StackTraceElement> blocked = new HashMap<>();
+
+    @Inject
+    public BlockingCallDetector(BlockingDetectorSettings settings, LifecycleManager lifecycle) {
+        this.settings = settings;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "blocking-call-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lifecycle.onShutdown("blocking-call-detector", this);
+    }
+
+    public void start() {
+        if (settings.enabled() && started.compareAndSet(false, true)) {
+            long intervalMillis = settings.scanInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::scan, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public long violations() {
+        return violations.get();
+    }
+
+    /** Takes one sample and returns the number of new blocking episodes it found. */
+    public synchronized int scan() {
+        Map<Long, StackTraceElement> stillBlocked = new HashMap<>();
+        int found = 0;
+        for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+            Thread thread = entry.getKey();
+            if (!isIoThread(thread.getName()) || !isWaiting(thread.getState())) {
+                continue;
+            }
+            StackTraceElement[] stack = entry.getValue();
+            StackTraceElement caller = applicationFrame(stack);
+            if (caller == null) {
+                continue;
+            }
+            stillBlocked.put(thread.getId(), caller);
+            if (!caller.equals(blocked.get(thread.getId()))) {
+                found++;
+                violations.incrementAndGet();
+                logger.warn("Blocking call on I/O thread {} ({}): {} from {}", thread.getName(), thread.getState(),
+                        stack.length > 0 ? stack[0] : "unknown", caller);
+            }
+        }
+        blocked.clear();
+        blocked.putAll(stillBlocked);
+        return found;
+    }
+
+    boolean isIoThread(String threadName) {
+        for (String prefix : settings.ioThreadPrefixes()) {
+            if (threadName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWaiting(Thread.State state) {
+        return state == Thread.State.BLOCKED || state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING;
+    }
+
+    private static StackTraceElement applicationFrame(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith(APPLICATION_PACKAGE)) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
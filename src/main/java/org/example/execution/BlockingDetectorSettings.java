@@ -0,0 +1,42 @@
+package org.example.execution;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.example.config.SystemProperties.booleanProperty;
+import static org.example.config.SystemProperties.durationProperty;
+
+/**
+ * @param enabled          sample I/O threads at all; off by default because every sample walks all
+ *                         thread stacks, and switched on by the {@code run} and {@code test} tasks
+ * @param scanInterval     time between samples
+ * @param ioThreadPrefixes name prefixes of the threads that must never block
+ */
+public record BlockingDetectorSettings(boolean enabled, Duration scanInterval, List<String> ioThreadPrefixes) {
+
+    public BlockingDetectorSettings {
+        if (scanInterval.toMillis() <= 0) {
+            throw new IllegalArgumentException("scanInterval must be >= 1ms");
+        }
+        ioThreadPrefixes = List.copyOf(ioThreadPrefixes);
+    }
+
+    public static BlockingDetectorSettings defaults() {
+        return new BlockingDetectorSettings(false, Duration.ofSeconds(1),
+                List.of("aws-java-sdk-NettyEventLoop", "sdk-async-response"));
+    }
+
+    public static BlockingDetectorSettings fromSystemProperties() {
+        BlockingDetectorSettings defaults = defaults();
+        String prefixes = System.getProperty("BLOCKING_DETECTOR_THREADS");
+        return new BlockingDetectorSettings(
+                booleanProperty("BLOCKING_DETECTOR_ENABLED", defaults.enabled()),
+                durationProperty("BLOCKING_DETECTOR_INTERVAL_MS", defaults.scanInterval()),
+                prefixes == null ? defaults.ioThreadPrefixes() : Arrays.stream(prefixes.split(","))
+                        .map(String::trim)
+                        .filter(prefix -> !prefix.isEmpty())
+                        .toList()
+        );
+    }
+}
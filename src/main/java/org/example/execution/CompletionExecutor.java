@@ -0,0 +1,102 @@
+package org.example.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the continuations of one service's SDK calls, so that logging and user callbacks never
+ * occupy the SDK's response threads. A saturated platform pool runs the callback on the
+ * completing thread rather than dropping it, and counts it.
+ */
+public final class CompletionExecutor implements Executor, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CompletionExecutor.class);
+
+    private final String name;
+    private final CompletionSettings.Mode mode;
+    private final ExecutorService pool;
+    private final AtomicLong inline = new AtomicLong();
+
+    public CompletionExecutor(String name, CompletionSettings settings) {
+        this.name = name;
+        ExecutorService virtual = settings.mode() == CompletionSettings.Mode.VIRTUAL ? virtualThreads(name) : null;
+        if (virtual != null) {
+            this.mode = CompletionSettings.Mode.VIRTUAL;
+            this.pool = virtual;
+        } else if (settings.mode() == CompletionSettings.Mode.CALLER_RUNS) {
+            this.mode = CompletionSettings.Mode.CALLER_RUNS;
+            this.pool = null;
+        } else {
+            this.mode = CompletionSettings.Mode.PLATFORM;
+            this.pool = platformThreads(name, settings);
+        }
+    }
+
+    public static CompletionExecutor callerRuns(String name) {
+        return new CompletionExecutor(name, CompletionSettings.callerRuns());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CompletionSettings.Mode getMode() {
+        return mode;
+    }
+
+    /** Callbacks that ran on the completing thread because the pool was saturated or shut down. */
+    public long inlineCount() {
+        return inline.get();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (pool == null) {
+            command.run();
+            return;
+        }
+        try {
+            pool.execute(command);
+        } catch (RejectedExecutionException e) {
+            inline.incrementAndGet();
+            command.run();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private static ExecutorService platformThreads(String name, CompletionSettings settings) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(settings.threads(), settings.threads(),
+                30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(settings.queueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-completion-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService virtualThreads(String name) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Virtual threads need Java 21+, {} callbacks use a platform pool instead", name);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.execution;
+
+public class CompletionExecutors implements AutoCloseable {
+    private final CompletionExecutor sqs;
+    private final CompletionExecutor sns;
+    private final CompletionExecutor eventBridge;
+
+    public CompletionExecutors(CompletionSettings sqs, CompletionSettings sns, CompletionSettings eventBridge) {
+        this.sqs = new CompletionExecutor("sqs", sqs);
+        this.sns = new CompletionExecutor("sns", sns);
+        this.eventBridge = new CompletionExecutor("eventbridge", eventBridge);
+    }
+
+    public static CompletionExecutors withDefaults() {
+        CompletionSettings defaults = CompletionSettings.defaults();
+        return new CompletionExecutors(defaults, defaults, defaults);
+    }
+
+    public static CompletionExecutors fromSystemProperties() {
+        return new CompletionExecutors(CompletionSettings.fromSystemProperties("sqs"),
+                CompletionSettings.fromSystemProperties("sns"),
+                CompletionSettings.fromSystemProperties("eventbridge"));
+    }
+
+    public CompletionExecutor sqs() {
+        return sqs;
+    }
+
+    public CompletionExecutor sns() {
+        return sns;
+    }
+
+    public CompletionExecutor eventBridge() {
+        return eventBridge;
+    }
+
+    @Override
+    public void close() {
+        sqs.close();
+        sns.close();
+        eventBridge.close();
+    }
+}
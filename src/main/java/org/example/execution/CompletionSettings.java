@@ -0,0 +1,52 @@
+package org.example.execution;
+
+import java.util.Locale;
+
+import static org.example.config.SystemProperties.intProperty;
+
+/**
+ * @param mode          where continuations of a service's calls run
+ * @param threads       pool size in {@link Mode#PLATFORM} mode
+ * @param queueCapacity callbacks queued in {@link Mode#PLATFORM} mode before they run on the completing thread
+ */
+public record CompletionSettings(Mode mode, int threads, int queueCapacity) {
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL,
+        CALLER_RUNS
+    }
+
+    public CompletionSettings {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be >= 1");
+        }
+    }
+
+    public static CompletionSettings defaults() {
+        return new CompletionSettings(Mode.PLATFORM, Math.max(4, Runtime.getRuntime().availableProcessors()), 10_000);
+    }
+
+    public static CompletionSettings callerRuns() {
+        CompletionSettings defaults = defaults();
+        return new CompletionSettings(Mode.CALLER_RUNS, defaults.threads(), defaults.queueCapacity());
+    }
+
+    /**
+     * Reads {@code <SERVICE>_COMPLETION_MODE}, {@code _THREADS} and {@code _QUEUE}, falling back
+     * to the unprefixed {@code COMPLETION_*} properties shared by every service.
+     */
+    public static CompletionSettings fromSystemProperties(String service) {
+        CompletionSettings defaults = defaults();
+        String prefix = service.toUpperCase(Locale.ROOT) + "_";
+        String mode = System.getProperty(prefix + "COMPLETION_MODE", System.getProperty("COMPLETION_MODE"));
+        return new CompletionSettings(
+                mode == null ? defaults.mode() : Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)),
+                intProperty(prefix + "COMPLETION_THREADS", intProperty("COMPLETION_THREADS", defaults.threads())),
+                intProperty(prefix + "COMPLETION_QUEUE", intProperty("COMPLETION_QUEUE", defaults.queueCapacity()))
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.inmemory;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.util.concurrent.CompletableFuture;
+
+final class AwsErrors {
+    private AwsErrors() {
+    }
+
+    static <T> CompletableFuture<T> failed(AwsServiceException.Builder builder, String serviceName,
+                                           String errorCode, String message) {
+        AwsServiceException exception = builder
+                .message(message)
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .serviceName(serviceName)
+                        .errorCode(errorCode)
+                        .errorMessage(message)
+                        .build())
+                .build();
+        return CompletableFuture.failedFuture(exception);
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.inmemory;
+
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the SQS, SNS and EventBridge operations used by the services.
+ * All three clients share one set of queues, topics and buses, so SNS to SQS fan-out and
+ * EventBridge rule routing behave end to end without Docker or a network hop. Standard
+ * queues only; FIFO ordering, deduplication and subscription filter policies are not modelled.
+ */
+public class InMemoryAws implements AutoCloseable {
+    public static final String ACCOUNT_ID = "000000000000";
+    public static final String DEFAULT_EVENT_BUS = "default";
+    private static final long TICK_MILLIS = 20L;
+
+    private final String region;
+    private final ConcurrentMap<String, InMemoryQueue> queuesByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, InMemoryQueue> queuesByArn = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final InMemorySqsClient sqs;
+    private final InMemorySnsClient sns;
+    private final InMemoryEventBridgeClient eventBridge;
+
+    public InMemoryAws(String region) {
+        this.region = region;
+        this.executor = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), daemonThreads("in-memory-aws"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("in-memory-aws-timer"));
+        this.sqs = new InMemorySqsClient(this);
+        this.sns = new InMemorySnsClient(this);
+        this.eventBridge = new InMemoryEventBridgeClient(this);
+        scheduler.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public SqsAsyncClient sqs() {
+        return sqs;
+    }
+
+    public SnsAsyncClient sns() {
+        return sns;
+    }
+
+    public EventBridgeAsyncClient eventBridge() {
+        return eventBridge;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    String region() {
+        return region;
+    }
+
+    String arn(String service, String resource) {
+        return "arn:aws:" + service + ":" + region + ":" + ACCOUNT_ID + ":" + resource;
+    }
+
+    InMemoryQueue createQueue(String name, Map<QueueAttributeName, String> attributes) {
+        return queuesByName.computeIfAbsent(name, ignored -> {
+            InMemoryQueue queue = new InMemoryQueue(name,
+                    "http://sqs." + region + ".in-memory/" + ACCOUNT_ID + "/" + name,
+                    arn("sqs", name), attributes, queuesByArn::get, executor, scheduler);
+            queuesByArn.put(queue.arn(), queue);
+            return queue;
+        });
+    }
+
+    InMemoryQueue queueByName(String name) {
+        return queuesByName.get(name);
+    }
+
+    InMemoryQueue queueByUrl(String queueUrl) {
+        if (queueUrl == null) {
+            return null;
+        }
+        return queuesByName.get(queueUrl.substring(queueUrl.lastIndexOf('/') + 1));
+    }
+
+    InMemoryQueue queueByArn(String arn) {
+        return queuesByArn.get(arn);
+    }
+
+    boolean deleteQueue(InMemoryQueue queue) {
+        queuesByArn.remove(queue.arn(), queue);
+        return queuesByName.remove(queue.name(), queue);
+    }
+
+    Collection<InMemoryQueue> queues() {
+        return queuesByName.values();
+    }
+
+    InMemorySnsClient snsClient() {
+        return sns;
+    }
+
+    static String newId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong() & 0xffffffffffff0fffL | 0x4000L,
+                random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L).toString();
+    }
+
+    private void tick() {
+        for (InMemoryQueue queue : queuesByName.values()) {
+            queue.tick();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,290 @@
+package org.example.inmemory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.topology.EventPatternMatcher;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.model.CreateEventBusRequest;
+import software.amazon.awssdk.services.eventbridge.model.CreateEventBusResponse;
+import software.amazon.awssdk.services.eventbridge.model.EventBus;
+import software.amazon.awssdk.services.eventbridge.model.InvalidEventPatternException;
+import software.amazon.awssdk.services.eventbridge.model.ListEventBusesRequest;
+import software.amazon.awssdk.services.eventbridge.model.ListEventBusesResponse;
+import software.amazon.awssdk.services.eventbridge.model.ListRulesRequest;
+import software.amazon.awssdk.services.eventbridge.model.ListRulesResponse;
+import software.amazon.awssdk.services.eventbridge.model.ListTargetsByRuleRequest;
+import software.amazon.awssdk.services.eventbridge.model.ListTargetsByRuleResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutRuleRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutRuleResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutTargetsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutTargetsResponse;
+import software.amazon.awssdk.services.eventbridge.model.ResourceAlreadyExistsException;
+import software.amazon.awssdk.services.eventbridge.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.eventbridge.model.Rule;
+import software.amazon.awssdk.services.eventbridge.model.RuleState;
+import software.amazon.awssdk.services.eventbridge.model.Target;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Event buses whose rules route matching events to SQS queues and SNS topics. Targets
+ * receive the full event envelope, or the {@code $.detail} subtree / constant input when
+ * the target sets {@code InputPath} / {@code Input}.
+ */
+final class InMemoryEventBridgeClient implements EventBridgeAsyncClient {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String DETAIL_PATH = "$.detail";
+
+    private final InMemoryAws backend;
+    private final ConcurrentMap<String, Bus> busesByName = new ConcurrentHashMap<>();
+
+    InMemoryEventBridgeClient(InMemoryAws backend) {
+        this.backend = backend;
+        busesByName.put(InMemoryAws.DEFAULT_EVENT_BUS, new Bus(InMemoryAws.DEFAULT_EVENT_BUS,
+                backend.arn("events", "event-bus/" + InMemoryAws.DEFAULT_EVENT_BUS)));
+    }
+
+    @Override
+    public CompletableFuture<CreateEventBusResponse> createEventBus(CreateEventBusRequest request) {
+        String arn = backend.arn("events", "event-bus/" + request.name());
+        if (busesByName.putIfAbsent(request.name(), new Bus(request.name(), arn)) != null) {
+            return AwsErrors.failed(ResourceAlreadyExistsException.builder(), SERVICE_NAME,
+                    "ResourceAlreadyExistsException", "Event bus " + request.name() + " already exists.");
+        }
+        return CompletableFuture.completedFuture(CreateEventBusResponse.builder().eventBusArn(arn).build());
+    }
+
+    @Override
+    public CompletableFuture<ListEventBusesResponse> listEventBuses(ListEventBusesRequest request) {
+        int limit = request.limit() != null ? request.limit() : 100;
+        List<EventBus> buses = busesByName.values().stream()
+                .filter(bus -> request.namePrefix() == null || bus.name.startsWith(request.namePrefix()))
+                .sorted((left, right) -> left.name.compareTo(right.name))
+                .limit(limit)
+                .map(bus -> EventBus.builder().name(bus.name).arn(bus.arn).build())
+                .toList();
+        return CompletableFuture.completedFuture(ListEventBusesResponse.builder().eventBuses(buses).build());
+    }
+
+    @Override
+    public CompletableFuture<PutRuleResponse> putRule(PutRuleRequest request) {
+        Bus bus = bus(request.eventBusName());
+        if (bus == null) {
+            return busNotFound(request.eventBusName());
+        }
+        JsonNode pattern;
+        try {
+            pattern = request.eventPattern() == null ? MAPPER.createObjectNode() : MAPPER.readTree(request.eventPattern());
+        } catch (JsonProcessingException e) {
+            return AwsErrors.failed(InvalidEventPatternException.builder(), SERVICE_NAME,
+                    "InvalidEventPatternException", "Event pattern is not valid JSON: " + e.getOriginalMessage());
+        }
+        String arn = backend.arn("events", "rule/" + bus.name + "/" + request.name());
+        RuleState state = request.state() != null ? request.state() : RuleState.ENABLED;
+        bus.rules.compute(request.name(), (name, existing) -> {
+            RuleEntry rule = new RuleEntry(name, arn, request.eventPattern(), pattern, state);
+            if (existing != null) {
+                rule.targets.putAll(existing.targets);
+            }
+            return rule;
+        });
+        return CompletableFuture.completedFuture(PutRuleResponse.builder().ruleArn(arn).build());
+    }
+
+    @Override
+    public CompletableFuture<PutTargetsResponse> putTargets(PutTargetsRequest request) {
+        Bus bus = bus(request.eventBusName());
+        if (bus == null) {
+            return busNotFound(request.eventBusName());
+        }
+        RuleEntry rule = bus.rules.get(request.rule());
+        if (rule == null) {
+            return AwsErrors.failed(ResourceNotFoundException.builder(), SERVICE_NAME,
+                    "ResourceNotFoundException", "Rule " + request.rule() + " does not exist.");
+        }
+        for (Target target : request.targets()) {
+            rule.targets.put(target.id(), target);
+        }
+        return CompletableFuture.completedFuture(PutTargetsResponse.builder().failedEntryCount(0).build());
+    }
+
+    @Override
+    public CompletableFuture<ListRulesResponse> listRules(ListRulesRequest request) {
+        Bus bus = bus(request.eventBusName());
+        if (bus == null) {
+            return busNotFound(request.eventBusName());
+        }
+        List<Rule> rules = bus.rules.values().stream()
+                .filter(rule -> request.namePrefix() == null || rule.name.startsWith(request.namePrefix()))
+                .sorted((left, right) -> left.name.compareTo(right.name))
+                .map(rule -> Rule.builder()
+                        .name(rule.name)
+                        .arn(rule.arn)
+                        .eventBusName(bus.name)
+                        .eventPattern(rule.patternText)
+                        .state(rule.state)
+                        .build())
+                .toList();
+        return CompletableFuture.completedFuture(ListRulesResponse.builder().rules(rules).build());
+    }
+
+    @Override
+    public CompletableFuture<ListTargetsByRuleResponse> listTargetsByRule(ListTargetsByRuleRequest request) {
+        Bus bus = bus(request.eventBusName());
+        if (bus == null) {
+            return busNotFound(request.eventBusName());
+        }
+        RuleEntry rule = bus.rules.get(request.rule());
+        if (rule == null) {
+            return AwsErrors.failed(ResourceNotFoundException.builder(), SERVICE_NAME,
+                    "ResourceNotFoundException", "Rule " + request.rule() + " does not exist.");
+        }
+        List<Target> targets = rule.targets.values().stream()
+                .sorted((left, right) -> left.id().compareTo(right.id()))
+                .toList();
+        return CompletableFuture.completedFuture(ListTargetsByRuleResponse.builder().targets(targets).build());
+    }
+
+    @Override
+    public CompletableFuture<PutEventsResponse> putEvents(PutEventsRequest request) {
+        List<PutEventsResultEntry> results = new ArrayList<>(request.entries().size());
+        int failed = 0;
+        for (PutEventsRequestEntry entry : request.entries()) {
+            PutEventsResultEntry result = put(entry);
+            if (result.errorCode() != null) {
+                failed++;
+            }
+            results.add(result);
+        }
+        return CompletableFuture.completedFuture(PutEventsResponse.builder()
+                .failedEntryCount(failed)
+                .entries(results)
+                .build());
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private PutEventsResultEntry put(PutEventsRequestEntry entry) {
+        Bus bus = bus(entry.eventBusName());
+        if (bus == null) {
+            return failedEntry("ResourceNotFoundException", "Event bus " + entry.eventBusName() + " does not exist.");
+        }
+        if (entry.source() == null || entry.detailType() == null || entry.detail() == null) {
+            return failedEntry("InvalidArgument", "Source, DetailType and Detail are required.");
+        }
+        JsonNode detail;
+        try {
+            detail = MAPPER.readTree(entry.detail());
+        } catch (JsonProcessingException e) {
+            return failedEntry("MalformedDetail", "Detail is malformed.");
+        }
+        if (!detail.isObject()) {
+            return failedEntry("MalformedDetail", "Detail is malformed.");
+        }
+
+        String eventId = InMemoryAws.newId();
+        ObjectNode event = MAPPER.createObjectNode();
+        event.put("version", "0");
+        event.put("id", eventId);
+        event.put("detail-type", entry.detailType());
+        event.put("source", entry.source());
+        event.put("account", InMemoryAws.ACCOUNT_ID);
+        event.put("time", (entry.time() != null ? entry.time() : Instant.now()).toString());
+        event.put("region", backend.region());
+        event.set("resources", MAPPER.valueToTree(entry.resources()));
+        event.set("detail", detail);
+
+        String envelope = null;
+        for (RuleEntry rule : bus.rules.values()) {
+            if (rule.state != RuleState.ENABLED || !EventPatternMatcher.matches(rule.pattern, event)) {
+                continue;
+            }
+            for (Target target : rule.targets.values()) {
+                String input;
+                if (target.input() != null) {
+                    input = target.input();
+                } else if (DETAIL_PATH.equals(target.inputPath())) {
+                    input = entry.detail();
+                } else {
+                    if (envelope == null) {
+                        envelope = event.toString();
+                    }
+                    input = envelope;
+                }
+                deliver(target.arn(), input);
+            }
+        }
+        return PutEventsResultEntry.builder().eventId(eventId).build();
+    }
+
+    private void deliver(String targetArn, String input) {
+        if (targetArn.startsWith("arn:aws:sqs:")) {
+            InMemoryQueue queue = backend.queueByArn(targetArn);
+            if (queue != null) {
+                InMemorySqsClient.send(queue, input, Map.of(), null);
+            }
+        } else if (targetArn.startsWith("arn:aws:sns:")) {
+            backend.snsClient().publish(targetArn, input);
+        }
+    }
+
+    private Bus bus(String name) {
+        return busesByName.get(name == null ? InMemoryAws.DEFAULT_EVENT_BUS : name);
+    }
+
+    private static PutEventsResultEntry failedEntry(String code, String message) {
+        return PutEventsResultEntry.builder().errorCode(code).errorMessage(message).build();
+    }
+
+    private static <T> CompletableFuture<T> busNotFound(String name) {
+        return AwsErrors.failed(ResourceNotFoundException.builder(), SERVICE_NAME,
+                "ResourceNotFoundException", "Event bus " + name + " does not exist.");
+    }
+
+    private static final class Bus {
+        private final String name;
+        private final String arn;
+        private final ConcurrentMap<String, RuleEntry> rules = new ConcurrentHashMap<>();
+
+        private Bus(String name, String arn) {
+            this.name = name;
+            this.arn = arn;
+        }
+    }
+
+    private static final class RuleEntry {
+        private final String name;
+        private final String arn;
+        private final String patternText;
+        private final JsonNode pattern;
+        private final RuleState state;
+        private final ConcurrentMap<String, Target> targets = new ConcurrentHashMap<>();
+
+        private RuleEntry(String name, String arn, String patternText, JsonNode pattern, RuleState state) {
+            this.name = name;
+            this.arn = arn;
+            this.patternText = patternText;
+            this.pattern = pattern;
+            this.state = state;
+        }
+    }
+}
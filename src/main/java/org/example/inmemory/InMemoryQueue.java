@@ -0,0 +1,369 @@
+package org.example.inmemory;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * One standard (non-FIFO) queue. Messages move between three places under a single lock:
+ * {@code ready} (visible), {@code pending} (delayed sends and received-but-not-deleted
+ * messages, ordered by when they become visible again) and {@code inFlight} (keyed by the
+ * receipt handle of the latest receive). Long polls park as waiters that are completed on
+ * the backend executor, never on the sender's thread.
+ */
+final class InMemoryQueue {
+    static final int DEFAULT_VISIBILITY_TIMEOUT_SECONDS = 30;
+
+    private final String name;
+    private final String url;
+    private final String arn;
+    private final long createdAtMillis = System.currentTimeMillis();
+    private final Map<QueueAttributeName, String> attributes = new ConcurrentHashMap<>();
+    private final Function<String, InMemoryQueue> queuesByArn;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong receiptSequence = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<StoredMessage> ready = new ArrayDeque<>();
+    private final PriorityQueue<PendingEntry> pending =
+            new PriorityQueue<>(Comparator.comparingLong(PendingEntry::visibleAtMillis));
+    private final Map<String, StoredMessage> inFlight = new HashMap<>();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private int delayedCount;
+    private volatile RedrivePolicy redrivePolicy;
+
+    InMemoryQueue(String name, String url, String arn, Map<QueueAttributeName, String> attributes,
+                  Function<String, InMemoryQueue> queuesByArn, Executor executor,
+                  ScheduledExecutorService scheduler) {
+        this.name = name;
+        this.url = url;
+        this.arn = arn;
+        this.attributes.putAll(attributes);
+        this.redrivePolicy = RedrivePolicy.parse(attributes.get(QueueAttributeName.REDRIVE_POLICY));
+        this.queuesByArn = queuesByArn;
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    String name() {
+        return name;
+    }
+
+    String url() {
+        return url;
+    }
+
+    String arn() {
+        return arn;
+    }
+
+    void setAttributes(Map<QueueAttributeName, String> updates) {
+        attributes.putAll(updates);
+        if (updates.containsKey(QueueAttributeName.REDRIVE_POLICY)) {
+            redrivePolicy = RedrivePolicy.parse(updates.get(QueueAttributeName.REDRIVE_POLICY));
+        }
+    }
+
+    void send(StoredMessage message) {
+        List<Completion> completions;
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (message.visibleAtMillis > now) {
+                pending.add(new PendingEntry(message, null, message.visibleAtMillis));
+                delayedCount++;
+                return;
+            }
+            ready.addLast(message);
+            completions = serveWaiters(now);
+        } finally {
+            lock.unlock();
+        }
+        complete(completions);
+    }
+
+    CompletableFuture<List<Message>> receive(ReceiveOptions options) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            promoteDue(now);
+            if (!ready.isEmpty() || options.waitTimeMillis() <= 0L) {
+                return CompletableFuture.completedFuture(take(options, now));
+            }
+            Waiter waiter = new Waiter(options, new CompletableFuture<>());
+            waiters.addLast(waiter);
+            scheduler.schedule(() -> expire(waiter), options.waitTimeMillis(), TimeUnit.MILLISECONDS);
+            return waiter.future();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean delete(String receiptHandle) {
+        lock.lock();
+        try {
+            return inFlight.remove(receiptHandle) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean changeVisibility(String receiptHandle, int visibilityTimeoutSeconds) {
+        List<Completion> completions = List.of();
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            StoredMessage message = inFlight.get(receiptHandle);
+            if (message == null) {
+                return false;
+            }
+            message.visibleAtMillis = now + TimeUnit.SECONDS.toMillis(visibilityTimeoutSeconds);
+            pending.add(new PendingEntry(message, receiptHandle, message.visibleAtMillis));
+            if (visibilityTimeoutSeconds == 0) {
+                promoteDue(now);
+                completions = serveWaiters(now);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+            complete(completions);
+        }
+    }
+
+    void purge() {
+        lock.lock();
+        try {
+            ready.clear();
+            pending.clear();
+            inFlight.clear();
+            delayedCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns messages whose delay or visibility timeout has elapsed and hands them to
+     * parked long polls. Called periodically by the backend so waiters are woken without
+     * a new send.
+     */
+    void tick() {
+        List<Completion> completions;
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (pending.isEmpty() || pending.peek().visibleAtMillis() > now) {
+                return;
+            }
+            promoteDue(now);
+            completions = serveWaiters(now);
+        } finally {
+            lock.unlock();
+        }
+        complete(completions);
+    }
+
+    Map<QueueAttributeName, String> attributes(Collection<QueueAttributeName> requested) {
+        Map<QueueAttributeName, String> values = new EnumMap<>(QueueAttributeName.class);
+        lock.lock();
+        try {
+            promoteDue(System.currentTimeMillis());
+            values.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, Integer.toString(ready.size()));
+            values.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, Integer.toString(inFlight.size()));
+            values.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED, Integer.toString(delayedCount));
+        } finally {
+            lock.unlock();
+        }
+        values.put(QueueAttributeName.QUEUE_ARN, arn);
+        values.put(QueueAttributeName.CREATED_TIMESTAMP, Long.toString(createdAtMillis / 1_000L));
+        values.put(QueueAttributeName.VISIBILITY_TIMEOUT, Integer.toString(visibilityTimeoutSeconds()));
+        attributes.forEach(values::putIfAbsent);
+
+        if (requested.isEmpty() || requested.contains(QueueAttributeName.ALL)) {
+            return values;
+        }
+        Map<QueueAttributeName, String> selected = new EnumMap<>(QueueAttributeName.class);
+        for (QueueAttributeName name : requested) {
+            String value = values.get(name);
+            if (value != null) {
+                selected.put(name, value);
+            }
+        }
+        return selected;
+    }
+
+    int visibilityTimeoutSeconds() {
+        String value = attributes.get(QueueAttributeName.VISIBILITY_TIMEOUT);
+        return value == null ? DEFAULT_VISIBILITY_TIMEOUT_SECONDS : Integer.parseInt(value);
+    }
+
+    int delaySeconds() {
+        String value = attributes.get(QueueAttributeName.DELAY_SECONDS);
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+    private void expire(Waiter waiter) {
+        lock.lock();
+        try {
+            if (!waiters.remove(waiter)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        executor.execute(() -> waiter.future().complete(List.of()));
+    }
+
+    private List<Completion> serveWaiters(long now) {
+        if (waiters.isEmpty() || ready.isEmpty()) {
+            return List.of();
+        }
+        List<Completion> completions = new ArrayList<>();
+        while (!waiters.isEmpty() && !ready.isEmpty()) {
+            Waiter waiter = waiters.pollFirst();
+            completions.add(new Completion(waiter.future(), take(waiter.options(), now)));
+        }
+        return completions;
+    }
+
+    private void complete(List<Completion> completions) {
+        for (Completion completion : completions) {
+            executor.execute(() -> completion.future().complete(completion.messages()));
+        }
+    }
+
+    private List<Message> take(ReceiveOptions options, long now) {
+        int count = Math.min(options.maxMessages(), ready.size());
+        if (count == 0) {
+            return List.of();
+        }
+        int visibilityTimeout = options.visibilityTimeoutSeconds() >= 0
+                ? options.visibilityTimeoutSeconds()
+                : visibilityTimeoutSeconds();
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StoredMessage message = ready.pollFirst();
+            message.receiveCount++;
+            if (message.firstReceivedAtMillis == 0L) {
+                message.firstReceivedAtMillis = now;
+            }
+            message.receiptHandle = message.messageId + "#" + receiptSequence.incrementAndGet();
+            message.visibleAtMillis = now + TimeUnit.SECONDS.toMillis(visibilityTimeout);
+            inFlight.put(message.receiptHandle, message);
+            pending.add(new PendingEntry(message, message.receiptHandle, message.visibleAtMillis));
+            messages.add(toMessage(message, options));
+        }
+        return messages;
+    }
+
+    private void promoteDue(long now) {
+        PendingEntry entry;
+        while ((entry = pending.peek()) != null && entry.visibleAtMillis() <= now) {
+            pending.poll();
+            StoredMessage message = entry.message();
+            if (entry.receiptHandle() == null) {
+                delayedCount--;
+                ready.addLast(message);
+                continue;
+            }
+            if (message.visibleAtMillis != entry.visibleAtMillis()
+                    || inFlight.get(entry.receiptHandle()) != message) {
+                continue;
+            }
+            inFlight.remove(entry.receiptHandle());
+            InMemoryQueue deadLetterQueue = deadLetterQueueFor(message);
+            if (deadLetterQueue != null) {
+                executor.execute(() -> deadLetterQueue.send(new StoredMessage(message.messageId, message.body,
+                        message.messageAttributes, message.sentAtMillis, 0L)));
+            } else {
+                ready.addLast(message);
+            }
+        }
+    }
+
+    private InMemoryQueue deadLetterQueueFor(StoredMessage message) {
+        RedrivePolicy policy = redrivePolicy;
+        if (policy == null || message.receiveCount < policy.maxReceiveCount()) {
+            return null;
+        }
+        return queuesByArn.apply(policy.deadLetterTargetArn());
+    }
+
+    private static Message toMessage(StoredMessage message, ReceiveOptions options) {
+        Message.Builder builder = Message.builder()
+                .messageId(message.messageId)
+                .receiptHandle(message.receiptHandle)
+                .body(message.body);
+
+        Set<String> systemAttributes = options.systemAttributes();
+        if (!systemAttributes.isEmpty()) {
+            Map<MessageSystemAttributeName, String> values = new EnumMap<>(MessageSystemAttributeName.class);
+            boolean all = systemAttributes.contains("All");
+            if (all || systemAttributes.contains("SentTimestamp")) {
+                values.put(MessageSystemAttributeName.SENT_TIMESTAMP, Long.toString(message.sentAtMillis));
+            }
+            if (all || systemAttributes.contains("ApproximateReceiveCount")) {
+                values.put(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT,
+                        Integer.toString(message.receiveCount));
+            }
+            if (all || systemAttributes.contains("ApproximateFirstReceiveTimestamp")) {
+                values.put(MessageSystemAttributeName.APPROXIMATE_FIRST_RECEIVE_TIMESTAMP,
+                        Long.toString(message.firstReceivedAtMillis));
+            }
+            builder.attributes(values);
+        }
+
+        Set<String> messageAttributeNames = options.messageAttributeNames();
+        if (!messageAttributeNames.isEmpty() && !message.messageAttributes.isEmpty()) {
+            if (messageAttributeNames.contains("All") || messageAttributeNames.contains(".*")) {
+                builder.messageAttributes(message.messageAttributes);
+            } else {
+                Map<String, MessageAttributeValue> selected = new HashMap<>();
+                message.messageAttributes.forEach((key, value) -> {
+                    if (messageAttributeNames.contains(key)) {
+                        selected.put(key, value);
+                    }
+                });
+                builder.messageAttributes(selected);
+            }
+        }
+        return builder.build();
+    }
+
+    record ReceiveOptions(int maxMessages,
+                          long waitTimeMillis,
+                          int visibilityTimeoutSeconds,
+                          Set<String> systemAttributes,
+                          Set<String> messageAttributeNames) {
+    }
+
+    private record PendingEntry(StoredMessage message, String receiptHandle, long visibleAtMillis) {
+    }
+
+    private record Waiter(ReceiveOptions options, CompletableFuture<List<Message>> future) {
+    }
+
+    private record Completion(CompletableFuture<List<Message>> future, List<Message> messages) {
+    }
+}
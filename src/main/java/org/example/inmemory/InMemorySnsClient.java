@@ -0,0 +1,237 @@
+package org.example.inmemory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.CreateTopicRequest;
+import software.amazon.awssdk.services.sns.model.CreateTopicResponse;
+import software.amazon.awssdk.services.sns.model.InvalidParameterException;
+import software.amazon.awssdk.services.sns.model.ListSubscriptionsByTopicRequest;
+import software.amazon.awssdk.services.sns.model.ListSubscriptionsByTopicResponse;
+import software.amazon.awssdk.services.sns.model.ListTopicsRequest;
+import software.amazon.awssdk.services.sns.model.ListTopicsResponse;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+import software.amazon.awssdk.services.sns.model.PublishRequest;
+import software.amazon.awssdk.services.sns.model.PublishResponse;
+import software.amazon.awssdk.services.sns.model.SubscribeRequest;
+import software.amazon.awssdk.services.sns.model.SubscribeResponse;
+import software.amazon.awssdk.services.sns.model.Subscription;
+import software.amazon.awssdk.services.sns.model.Topic;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Topics with SQS subscriptions. Publishing fans out synchronously to every subscribed
+ * queue, wrapped in the standard notification envelope unless the subscription has
+ * {@code RawMessageDelivery} set.
+ */
+final class InMemorySnsClient implements SnsAsyncClient {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final InMemoryAws backend;
+    private final ConcurrentMap<String, TopicState> topicsByArn = new ConcurrentHashMap<>();
+
+    InMemorySnsClient(InMemoryAws backend) {
+        this.backend = backend;
+    }
+
+    @Override
+    public CompletableFuture<CreateTopicResponse> createTopic(CreateTopicRequest request) {
+        String arn = backend.arn("sns", request.name());
+        topicsByArn.computeIfAbsent(arn, TopicState::new);
+        return CompletableFuture.completedFuture(CreateTopicResponse.builder().topicArn(arn).build());
+    }
+
+    @Override
+    public CompletableFuture<SubscribeResponse> subscribe(SubscribeRequest request) {
+        TopicState topic = topicsByArn.get(request.topicArn());
+        if (topic == null) {
+            return topicNotFound(request.topicArn());
+        }
+        if (!"sqs".equals(request.protocol())) {
+            return AwsErrors.failed(InvalidParameterException.builder(),
+                    SERVICE_NAME, "InvalidParameter", "Only the sqs protocol is supported in memory");
+        }
+        boolean raw = "true".equalsIgnoreCase(request.attributes().get("RawMessageDelivery"));
+        SubscriptionState subscription;
+        synchronized (topic) {
+            subscription = topic.subscriptions.stream()
+                    .filter(existing -> existing.protocol().equals(request.protocol())
+                            && existing.endpoint().equals(request.endpoint()))
+                    .findFirst()
+                    .orElse(null);
+            if (subscription == null) {
+                subscription = new SubscriptionState(request.topicArn() + ":" + InMemoryAws.newId(),
+                        request.protocol(), request.endpoint(), raw);
+                topic.subscriptions.add(subscription);
+            }
+        }
+        return CompletableFuture.completedFuture(SubscribeResponse.builder()
+                .subscriptionArn(subscription.arn())
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<PublishResponse> publish(PublishRequest request) {
+        TopicState topic = topicsByArn.get(request.topicArn());
+        if (topic == null) {
+            return topicNotFound(request.topicArn());
+        }
+        String messageId = publish(topic, request.message(), request.subject(), request.messageAttributes());
+        return CompletableFuture.completedFuture(PublishResponse.builder().messageId(messageId).build());
+    }
+
+    @Override
+    public CompletableFuture<PublishBatchResponse> publishBatch(PublishBatchRequest request) {
+        TopicState topic = topicsByArn.get(request.topicArn());
+        if (topic == null) {
+            return topicNotFound(request.topicArn());
+        }
+        List<PublishBatchResultEntry> successful = new ArrayList<>(request.publishBatchRequestEntries().size());
+        for (PublishBatchRequestEntry entry : request.publishBatchRequestEntries()) {
+            String messageId = publish(topic, entry.message(), entry.subject(), entry.messageAttributes());
+            successful.add(PublishBatchResultEntry.builder().id(entry.id()).messageId(messageId).build());
+        }
+        return CompletableFuture.completedFuture(PublishBatchResponse.builder()
+                .successful(successful)
+                .failed(List.of())
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<ListTopicsResponse> listTopics(ListTopicsRequest request) {
+        List<Topic> topics = topicsByArn.keySet().stream()
+                .sorted()
+                .map(arn -> Topic.builder().topicArn(arn).build())
+                .toList();
+        return CompletableFuture.completedFuture(ListTopicsResponse.builder().topics(topics).build());
+    }
+
+    @Override
+    public CompletableFuture<ListSubscriptionsByTopicResponse> listSubscriptionsByTopic(
+            ListSubscriptionsByTopicRequest request) {
+        TopicState topic = topicsByArn.get(request.topicArn());
+        if (topic == null) {
+            return topicNotFound(request.topicArn());
+        }
+        List<Subscription> subscriptions = topic.subscriptions.stream()
+                .map(subscription -> Subscription.builder()
+                        .subscriptionArn(subscription.arn())
+                        .topicArn(topic.arn)
+                        .protocol(subscription.protocol())
+                        .endpoint(subscription.endpoint())
+                        .owner(InMemoryAws.ACCOUNT_ID)
+                        .build())
+                .toList();
+        return CompletableFuture.completedFuture(ListSubscriptionsByTopicResponse.builder()
+                .subscriptions(subscriptions)
+                .build());
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    boolean publish(String topicArn, String message) {
+        TopicState topic = topicsByArn.get(topicArn);
+        if (topic == null) {
+            return false;
+        }
+        publish(topic, message, null, Map.of());
+        return true;
+    }
+
+    private String publish(TopicState topic, String message, String subject,
+                           Map<String, MessageAttributeValue> attributes) {
+        String messageId = InMemoryAws.newId();
+        String envelope = null;
+        Map<String, software.amazon.awssdk.services.sqs.model.MessageAttributeValue> rawAttributes = null;
+        for (SubscriptionState subscription : topic.subscriptions) {
+            InMemoryQueue queue = backend.queueByArn(subscription.endpoint());
+            if (queue == null) {
+                continue;
+            }
+            if (subscription.raw()) {
+                if (rawAttributes == null) {
+                    rawAttributes = toSqsAttributes(attributes);
+                }
+                InMemorySqsClient.send(queue, message, rawAttributes, null);
+            } else {
+                if (envelope == null) {
+                    envelope = envelope(topic.arn, messageId, message, subject, attributes);
+                }
+                InMemorySqsClient.send(queue, envelope, Map.of(), null);
+            }
+        }
+        return messageId;
+    }
+
+    private static String envelope(String topicArn, String messageId, String message, String subject,
+                                   Map<String, MessageAttributeValue> attributes) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("Type", "Notification");
+        node.put("MessageId", messageId);
+        node.put("TopicArn", topicArn);
+        if (subject != null) {
+            node.put("Subject", subject);
+        }
+        node.put("Message", message);
+        node.put("Timestamp", Instant.now().toString());
+        node.put("SignatureVersion", "1");
+        if (!attributes.isEmpty()) {
+            ObjectNode messageAttributes = node.putObject("MessageAttributes");
+            attributes.forEach((name, value) -> messageAttributes.putObject(name)
+                    .put("Type", value.dataType())
+                    .put("Value", value.stringValue()));
+        }
+        return node.toString();
+    }
+
+    private static Map<String, software.amazon.awssdk.services.sqs.model.MessageAttributeValue> toSqsAttributes(
+            Map<String, MessageAttributeValue> attributes) {
+        Map<String, software.amazon.awssdk.services.sqs.model.MessageAttributeValue> converted =
+                new HashMap<>(attributes.size());
+        attributes.forEach((name, value) -> converted.put(name,
+                software.amazon.awssdk.services.sqs.model.MessageAttributeValue.builder()
+                        .dataType(value.dataType())
+                        .stringValue(value.stringValue())
+                        .binaryValue(value.binaryValue())
+                        .build()));
+        return converted;
+    }
+
+    private static <T> CompletableFuture<T> topicNotFound(String topicArn) {
+        return AwsErrors.failed(NotFoundException.builder(), SERVICE_NAME, "NotFound",
+                "Topic does not exist: " + topicArn);
+    }
+
+    private static final class TopicState {
+        private final String arn;
+        private final List<SubscriptionState> subscriptions = new CopyOnWriteArrayList<>();
+
+        private TopicState(String arn) {
+            this.arn = arn;
+        }
+    }
+
+    private record SubscriptionState(String arn, String protocol, String endpoint, boolean raw) {
+    }
+}
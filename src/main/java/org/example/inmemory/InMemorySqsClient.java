@@ -0,0 +1,270 @@
+package org.example.inmemory;
+
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueRequest;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+import software.amazon.awssdk.services.sqs.model.ReceiptHandleIsInvalidException;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+final class InMemorySqsClient implements SqsAsyncClient {
+    private static final int MAX_WAIT_TIME_SECONDS = 20;
+
+    private final InMemoryAws backend;
+
+    InMemorySqsClient(InMemoryAws backend) {
+        this.backend = backend;
+    }
+
+    @Override
+    public CompletableFuture<CreateQueueResponse> createQueue(CreateQueueRequest request) {
+        InMemoryQueue queue = backend.createQueue(request.queueName(), request.attributes());
+        return CompletableFuture.completedFuture(CreateQueueResponse.builder().queueUrl(queue.url()).build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        InMemoryQueue queue = backend.queueByName(request.queueName());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueName());
+        }
+        return CompletableFuture.completedFuture(GetQueueUrlResponse.builder().queueUrl(queue.url()).build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        return CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                .attributes(queue.attributes(request.attributeNames()))
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<SetQueueAttributesResponse> setQueueAttributes(SetQueueAttributesRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        queue.setAttributes(request.attributes());
+        return CompletableFuture.completedFuture(SetQueueAttributesResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        String messageId = send(queue, request.messageBody(), request.messageAttributes(), request.delaySeconds());
+        return CompletableFuture.completedFuture(SendMessageResponse.builder().messageId(messageId).build());
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            String messageId = send(queue, entry.messageBody(), entry.messageAttributes(), entry.delaySeconds());
+            successful.add(SendMessageBatchResultEntry.builder().id(entry.id()).messageId(messageId).build());
+        }
+        return CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                .successful(successful)
+                .failed(List.of())
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        int waitTimeSeconds = request.waitTimeSeconds() != null
+                ? Math.min(request.waitTimeSeconds(), MAX_WAIT_TIME_SECONDS)
+                : 0;
+        InMemoryQueue.ReceiveOptions options = new InMemoryQueue.ReceiveOptions(
+                request.maxNumberOfMessages() != null ? Math.max(1, request.maxNumberOfMessages()) : 1,
+                TimeUnit.SECONDS.toMillis(waitTimeSeconds),
+                request.visibilityTimeout() != null ? request.visibilityTimeout() : -1,
+                asSet(request.attributeNamesAsStrings()),
+                asSet(request.messageAttributeNames()));
+        return queue.receive(options)
+                .thenApply(messages -> ReceiveMessageResponse.builder().messages(messages).build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        queue.delete(request.receiptHandle());
+        return CompletableFuture.completedFuture(DeleteMessageResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+        for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+            queue.delete(entry.receiptHandle());
+            successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+        }
+        return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder()
+                .successful(successful)
+                .failed(List.<BatchResultErrorEntry>of())
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(
+            ChangeMessageVisibilityRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        if (!queue.changeVisibility(request.receiptHandle(), request.visibilityTimeout())) {
+            return AwsErrors.failed(ReceiptHandleIsInvalidException.builder(), SERVICE_NAME,
+                    "ReceiptHandleIsInvalid", "The receipt handle is not in flight: " + request.receiptHandle());
+        }
+        return CompletableFuture.completedFuture(ChangeMessageVisibilityResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+            ChangeMessageVisibilityBatchRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        List<ChangeMessageVisibilityBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (ChangeMessageVisibilityBatchRequestEntry entry : request.entries()) {
+            if (queue.changeVisibility(entry.receiptHandle(), entry.visibilityTimeout())) {
+                successful.add(ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build());
+            } else {
+                failed.add(BatchResultErrorEntry.builder()
+                        .id(entry.id())
+                        .code("ReceiptHandleIsInvalid")
+                        .senderFault(true)
+                        .message("The receipt handle is not in flight: " + entry.receiptHandle())
+                        .build());
+            }
+        }
+        return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder()
+                .successful(successful)
+                .failed(failed)
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<PurgeQueueResponse> purgeQueue(PurgeQueueRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        queue.purge();
+        return CompletableFuture.completedFuture(PurgeQueueResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteQueueResponse> deleteQueue(DeleteQueueRequest request) {
+        InMemoryQueue queue = backend.queueByUrl(request.queueUrl());
+        if (queue == null || !backend.deleteQueue(queue)) {
+            return queueDoesNotExist(request.queueUrl());
+        }
+        return CompletableFuture.completedFuture(DeleteQueueResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<ListQueuesResponse> listQueues(ListQueuesRequest request) {
+        String prefix = request.queueNamePrefix();
+        int limit = request.maxResults() != null ? request.maxResults() : 1_000;
+        List<String> urls = backend.queues().stream()
+                .filter(queue -> prefix == null || queue.name().startsWith(prefix))
+                .map(InMemoryQueue::url)
+                .sorted()
+                .limit(limit)
+                .toList();
+        return CompletableFuture.completedFuture(ListQueuesResponse.builder().queueUrls(urls).build());
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    static String send(InMemoryQueue queue, String body, Map<String, MessageAttributeValue> attributes,
+                               Integer delaySeconds) {
+        long now = System.currentTimeMillis();
+        int delay = delaySeconds != null ? delaySeconds : queue.delaySeconds();
+        String messageId = InMemoryAws.newId();
+        queue.send(new StoredMessage(messageId, body, attributes == null ? Map.of() : attributes, now,
+                now + TimeUnit.SECONDS.toMillis(delay)));
+        return messageId;
+    }
+
+    private static Set<String> asSet(List<String> values) {
+        return values == null || values.isEmpty() ? Set.of() : new HashSet<>(values);
+    }
+
+    private static <T> CompletableFuture<T> queueDoesNotExist(String queue) {
+        return AwsErrors.failed(QueueDoesNotExistException.builder(), SERVICE_NAME,
+                "AWS.SimpleQueueService.NonExistentQueue", "The specified queue does not exist: " + queue);
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.inmemory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+record RedrivePolicy(String deadLetterTargetArn, int maxReceiveCount) {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static RedrivePolicy parse(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = MAPPER.readTree(json);
+            String target = node.path("deadLetterTargetArn").asText(null);
+            int maxReceiveCount = node.path("maxReceiveCount").asInt(0);
+            return target == null || maxReceiveCount <= 0 ? null : new RedrivePolicy(target, maxReceiveCount);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid RedrivePolicy: " + json, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.inmemory;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.util.Map;
+
+final class StoredMessage {
+    final String messageId;
+    final String body;
+    final Map<String, MessageAttributeValue> messageAttributes;
+    final long sentAtMillis;
+    long visibleAtMillis;
+    long firstReceivedAtMillis;
+    int receiveCount;
+    String receiptHandle;
+
+    StoredMessage(String messageId, String body, Map<String, MessageAttributeValue> messageAttributes,
+                  long sentAtMillis, long visibleAtMillis) {
+        this.messageId = messageId;
+        this.body = body;
+        this.messageAttributes = messageAttributes;
+        this.sentAtMillis = sentAtMillis;
+        this.visibleAtMillis = visibleAtMillis;
+    }
+}
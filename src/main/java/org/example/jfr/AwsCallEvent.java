@@ -0,0 +1,39 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.AwsCall")
+@Label("AWS Call")
+@Category({"AWS", "Client"})
+@Description("One SDK execution against SQS, SNS or EventBridge")
+@StackTrace(false)
+public class AwsCallEvent extends jdk.jfr.Event {
+    @Label("Service")
+    public String service;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Resource")
+    @Description("Queue URL, topic ARN or event bus name")
+    public String resource;
+
+    @Label("Request Size")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Attempts")
+    public int attempts;
+
+    @Label("Failed")
+    public boolean failed;
+}
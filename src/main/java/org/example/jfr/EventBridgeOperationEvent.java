@@ -0,0 +1,31 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.EventBridgeOperation")
+@Label("EventBridge Operation")
+@Category({"AWS", "EventBridge"})
+@Description("One EventBridgeService method, which may span several AWS calls")
+@StackTrace(false)
+public class EventBridgeOperationEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Event Bus")
+    public String eventBusName;
+
+    @Label("Rule")
+    public String ruleName;
+
+    @Label("Detail Size")
+    @DataAmount
+    public long detailBytes;
+
+    @Label("Failed")
+    public boolean failed;
+}
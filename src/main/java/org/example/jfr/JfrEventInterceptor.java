@@ -0,0 +1,76 @@
+package org.example.jfr;
+
+import org.example.metrics.MetricsInterceptor;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+public class JfrEventInterceptor implements ExecutionInterceptor {
+    private static final ExecutionAttribute<AwsCallEvent> EVENT = new ExecutionAttribute<>("JfrAwsCallEvent");
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        AwsCallEvent event = new AwsCallEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            attributes.putAttribute(EVENT, event);
+        }
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes attributes) {
+        AwsCallEvent event = attributes.getAttribute(EVENT);
+        if (event != null) {
+            event.attempts++;
+            event.requestBytes = context.httpRequest().firstMatchingHeader("Content-Length")
+                    .map(JfrEventInterceptor::parseLength)
+                    .orElse(0L);
+        }
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes attributes) {
+        AwsCallEvent event = attributes.getAttribute(EVENT);
+        if (event != null) {
+            event.responseBytes = context.httpResponse().firstMatchingHeader("Content-Length")
+                    .map(JfrEventInterceptor::parseLength)
+                    .orElse(0L);
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        commit(context.request(), attributes, false);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+        commit(context.request(), attributes, true);
+    }
+
+    private static void commit(SdkRequest request, ExecutionAttributes attributes, boolean failed) {
+        AwsCallEvent event = attributes.getAttribute(EVENT);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.service = attributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME);
+            event.operation = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+            event.resource = MetricsInterceptor.resourceOf(request);
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    private static long parseLength(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.MessageAcked")
+@Label("Message Acked")
+@Category({"AWS", "Message Lifecycle"})
+@Description("Spans the delete call that acknowledges a consumed message")
+@StackTrace(false)
+public class MessageAckedEvent extends jdk.jfr.Event {
+    @Label("Queue")
+    public String queueUrl;
+
+    @Label("Message Id")
+    public String messageId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,23 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.MessageHandled")
+@Label("Message Handled")
+@Category({"AWS", "Message Lifecycle"})
+@Description("Spans handler start to handler end for one consumed message")
+@StackTrace(false)
+public class MessageHandledEvent extends jdk.jfr.Event {
+    @Label("Queue")
+    public String queueUrl;
+
+    @Label("Message Id")
+    public String messageId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,23 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.MessageReceived")
+@Label("Message Received")
+@Category({"AWS", "Message Lifecycle"})
+@StackTrace(false)
+public class MessageReceivedEvent extends jdk.jfr.Event {
+    @Label("Queue")
+    public String queueUrl;
+
+    @Label("Message Id")
+    public String messageId;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bodyBytes;
+}
@@ -0,0 +1,15 @@
+package org.example.lifecycle;
+
+import java.time.Duration;
+
+public record InFlightOperation(long id, String service, String operation, String resource, long startedAtNanos) {
+
+    public Duration age(long nowNanos) {
+        return Duration.ofNanos(nowNanos - startedAtNanos);
+    }
+
+    @Override
+    public String toString() {
+        return resource == null ? service + " " + operation : service + " " + operation + " " + resource;
+    }
+}
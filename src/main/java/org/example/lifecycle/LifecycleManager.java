@@ -0,0 +1,143 @@
+package org.example.lifecycle;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Tracks every operation started through the services so shutdown can stop admitting new work,
+ * wait up to {@link ShutdownSettings#drainTimeout()} for what is already in flight, and only then
+ * close the registered resources in reverse registration order. An operation is registered
+ * before the admission check, so anything admitted is always visible to the drain.
+ */
+@Singleton
+public class LifecycleManager {
+    private static final Logger logger = LoggerFactory.getLogger(LifecycleManager.class);
+
+    private final ShutdownSettings settings;
+    private final ConcurrentMap<Long, InFlightOperation> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final CompletableFuture<Void> drained = new CompletableFuture<>();
+    private final Deque<Closeable> closeables = new ArrayDeque<>();
+    private volatile boolean accepting = true;
+    private ShutdownReport report;
+
+    @Inject
+    public LifecycleManager(ShutdownSettings settings) {
+        this.settings = settings;
+    }
+
+    public static LifecycleManager withDefaults() {
+        return new LifecycleManager(ShutdownSettings.defaults());
+    }
+
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public <T> CompletableFuture<T> track(String service, String operation, String resource,
+                                          Supplier<CompletableFuture<T>> work) {
+        long id = ids.incrementAndGet();
+        inFlight.put(id, new InFlightOperation(id, service, operation, resource, System.nanoTime()));
+        if (!accepting) {
+            complete(id);
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Shutting down, rejected " + service + " " + operation));
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = work.get();
+        } catch (RuntimeException e) {
+            complete(id);
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((value, throwable) -> complete(id));
+    }
+
+    private void complete(long id) {
+        inFlight.remove(id);
+        if (!accepting && inFlight.isEmpty()) {
+            drained.complete(null);
+        }
+    }
+
+    public synchronized void onShutdown(String name, AutoCloseable resource) {
+        if (report != null) {
+            throw new IllegalStateException("Lifecycle already shut down, cannot register " + name);
+        }
+        closeables.push(new Closeable(name, resource));
+    }
+
+    public synchronized ShutdownReport shutdown() {
+        if (report != null) {
+            return report;
+        }
+
+        long start = System.nanoTime();
+        accepting = false;
+        int inFlightAtShutdown = inFlight.size();
+        if (inFlight.isEmpty()) {
+            drained.complete(null);
+        }
+        if (inFlightAtShutdown > 0) {
+            logger.info("Draining {} in-flight operations (deadline {} ms)",
+                    inFlightAtShutdown, settings.drainTimeout().toMillis());
+        }
+
+        awaitDrain();
+        long now = System.nanoTime();
+        List<InFlightOperation> abandoned = new ArrayList<>(inFlight.values());
+        abandoned.sort(Comparator.comparingLong(InFlightOperation::startedAtNanos));
+
+        List<String> closeFailures = new ArrayList<>();
+        while (!closeables.isEmpty()) {
+            Closeable closeable = closeables.pop();
+            try {
+                closeable.resource().close();
+            } catch (Exception e) {
+                logger.warn("Failed to close {}: {}", closeable.name(), e.getMessage());
+                closeFailures.add(closeable.name() + ": " + e.getMessage());
+            }
+        }
+
+        report = new ShutdownReport(Math.max(inFlightAtShutdown, abandoned.size()), List.copyOf(abandoned),
+                Duration.ofNanos(now - start), List.copyOf(closeFailures));
+        report.log(logger);
+        return report;
+    }
+
+    private void awaitDrain() {
+        try {
+            drained.get(settings.drainTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // whatever is still registered is reported as abandoned
+        }
+    }
+
+    private record Closeable(String name, AutoCloseable resource) {
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.lifecycle;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+
+public record ShutdownReport(int inFlightAtShutdown, List<InFlightOperation> abandoned, Duration drainTime,
+                             List<String> closeFailures) {
+
+    public boolean isClean() {
+        return abandoned.isEmpty() && closeFailures.isEmpty();
+    }
+
+    public int drained() {
+        return inFlightAtShutdown - abandoned.size();
+    }
+
+    public void log(Logger logger) {
+        logger.info("Shutdown drained {} of {} in-flight operations in {} ms",
+                drained(), inFlightAtShutdown, drainTime.toMillis());
+        long now = System.nanoTime();
+        for (InFlightOperation operation : abandoned) {
+            logger.warn("  abandoned: {} (in flight {} ms)", operation, operation.age(now).toMillis());
+        }
+        for (String failure : closeFailures) {
+            logger.warn("  close failed: {}", failure);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.lifecycle;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.durationProperty;
+
+public record ShutdownSettings(Duration drainTimeout) {
+
+    public ShutdownSettings {
+        if (drainTimeout.isNegative()) {
+            throw new IllegalArgumentException("drainTimeout must be >= 0");
+        }
+    }
+
+    public static ShutdownSettings defaults() {
+        return new ShutdownSettings(Duration.ofSeconds(30));
+    }
+
+    public static ShutdownSettings fromSystemProperties() {
+        return new ShutdownSettings(durationProperty("SHUTDOWN_DRAIN_TIMEOUT_MS", defaults().drainTimeout()));
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.load;
+
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.PipelineLatencyTracker;
+
+import java.io.PrintStream;
+import java.util.List;
+
+public record LoadReport(double elapsedSeconds,
+                         List<ProducerLine> producers,
+                         long consumed,
+                         long consumeErrors,
+                         List<RouteLine> routes,
+                         long cpuNanos,
+                         long allocatedBytes) {
+
+    public record ProducerLine(String name, int targetRate, long sent, long failed, long dropped,
+                               LatencyHistogram.Snapshot latencyMicros) {
+    }
+
+    public record RouteLine(String route, LatencyHistogram.Snapshot endToEndMillis) {
+    }
+
+    static LoadReport from(MeasurementWindow window, LoadSettings settings, long endNanos, ResourceUsage endUsage) {
+        List<ProducerLine> producers = List.of(
+                producerLine(window.sqs(), settings.sqsRate()),
+                producerLine(window.sns(), settings.snsRate()),
+                producerLine(window.eventBridge(), settings.eventBridgeRate())
+        );
+        List<RouteLine> routes = window.pipeline().routes().stream()
+                .map(route -> new RouteLine(route.getRoute(), route.endToEnd()))
+                .toList();
+        ResourceUsage used = endUsage.minus(window.getStartUsage());
+        return new LoadReport(
+                (endNanos - window.getStartedAtNanos()) / 1e9,
+                producers,
+                window.getConsumed(),
+                window.getConsumeErrors(),
+                routes,
+                used.cpuNanos(),
+                used.allocatedBytes()
+        );
+    }
+
+    private static ProducerLine producerLine(ProducerStats stats, int targetRate) {
+        return new ProducerLine(stats.getName(), targetRate, stats.getSent(), stats.getFailed(),
+                stats.getDropped(), stats.latencyMicros());
+    }
+
+    public long totalSent() {
+        return producers.stream().mapToLong(ProducerLine::sent).sum();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nLoad test results over %.1f s%n", elapsedSeconds);
+        out.printf("%-12s %8s %10s %8s %8s %8s %9s %9s %9s %9s%n",
+                "producer", "target/s", "sent/s", "err %", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (ProducerLine line : producers) {
+            long attempts = line.sent() + line.failed();
+            LatencyHistogram.Snapshot latency = line.latencyMicros();
+            out.printf("%-12s %8d %10.1f %8.2f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    line.name(),
+                    line.targetRate(),
+                    line.sent() / elapsedSeconds,
+                    attempts == 0 ? 0.0 : 100.0 * line.failed() / attempts,
+                    line.dropped(),
+                    latency.valueAtPercentile(50) / 1_000.0,
+                    latency.valueAtPercentile(90) / 1_000.0,
+                    latency.valueAtPercentile(99) / 1_000.0,
+                    latency.valueAtPercentile(99.9) / 1_000.0,
+                    latency.getMax() / 1_000.0);
+        }
+
+        out.printf("%nconsumed: %.1f msg/s (%d messages, %d receive errors)%n",
+                consumed / elapsedSeconds, consumed, consumeErrors);
+        for (RouteLine route : routes) {
+            LatencyHistogram.Snapshot latency = route.endToEndMillis();
+            out.printf("  %-40s n=%-8d p50=%dms p99=%dms max=%dms%n",
+                    route.route(),
+                    latency.getCount(),
+                    latency.valueAtPercentile(50),
+                    latency.valueAtPercentile(99),
+                    latency.getMax());
+        }
+
+        long messages = totalSent() + consumed;
+        out.printf("%ncpu: %.1f us/message, allocation: %.1f KB/message (%d messages sent + consumed)%n",
+                messages == 0 ? 0.0 : cpuNanos / 1_000.0 / messages,
+                messages == 0 ? 0.0 : allocatedBytes / 1_024.0 / messages,
+                messages);
+    }
+}
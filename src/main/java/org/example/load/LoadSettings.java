@@ -0,0 +1,62 @@
+package org.example.load;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.booleanProperty;
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+public record LoadSettings(Duration warmUp,
+                           Duration duration,
+                           int sqsRate,
+                           int snsRate,
+                           int eventBridgeRate,
+                           int consumers,
+                           int payloadBytes,
+                           int maxInFlight,
+                           boolean outbox) {
+
+    public LoadSettings {
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("duration must be > 0");
+        }
+        if (sqsRate < 0 || snsRate < 0 || eventBridgeRate < 0) {
+            throw new IllegalArgumentException("producer rates must be >= 0");
+        }
+        if (consumers <= 0) {
+            throw new IllegalArgumentException("consumers must be > 0");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be > 0");
+        }
+    }
+
+    public static LoadSettings defaults() {
+        return new LoadSettings(
+                Duration.ofSeconds(10),
+                Duration.ofSeconds(60),
+                200,
+                100,
+                100,
+                4,
+                256,
+                1_000,
+                false
+        );
+    }
+
+    public static LoadSettings fromSystemProperties() {
+        LoadSettings defaults = defaults();
+        return new LoadSettings(
+                durationProperty("LOAD_WARMUP_MS", defaults.warmUp()),
+                durationProperty("LOAD_DURATION_MS", defaults.duration()),
+                intProperty("LOAD_SQS_RATE", defaults.sqsRate()),
+                intProperty("LOAD_SNS_RATE", defaults.snsRate()),
+                intProperty("LOAD_EVENTBRIDGE_RATE", defaults.eventBridgeRate()),
+                intProperty("LOAD_CONSUMERS", defaults.consumers()),
+                intProperty("LOAD_PAYLOAD_BYTES", defaults.payloadBytes()),
+                intProperty("LOAD_MAX_IN_FLIGHT", defaults.maxInFlight()),
+                booleanProperty("LOAD_OUTBOX", defaults.outbox())
+        );
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.load;
+
+import org.example.outbox.OutboxService;
+import org.example.service.EventBridgeService;
+import org.example.service.SnsService;
+import org.example.service.SqsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadTestRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+    static final String QUEUE_NAME = "load-queue";
+    static final String TOPIC_NAME = "load-topic";
+    static final String EVENT_BUS_NAME = "load-bus";
+    static final String RULE_NAME = "load-sqs-rule";
+    static final String EVENT_SOURCE = "com.example.app";
+    static final String DETAIL_TYPE = "load sqs rule";
+    private static final long DRAIN_TIMEOUT_SECONDS = 30L;
+
+    private final SqsService sqsService;
+    private final SnsService snsService;
+    private final EventBridgeService eventBridgeService;
+    private final OutboxService outboxService;
+    private final LoadSettings settings;
+    private volatile MeasurementWindow window;
+
+    public LoadTestRunner(SqsService sqsService, SnsService snsService, EventBridgeService eventBridgeService,
+                          LoadSettings settings) {
+        this(sqsService, snsService, eventBridgeService, null, settings);
+    }
+
+    public LoadTestRunner(SqsService sqsService, SnsService snsService, EventBridgeService eventBridgeService,
+                          OutboxService outboxService, LoadSettings settings) {
+        if (settings.outbox() && outboxService == null) {
+            throw new IllegalArgumentException("outbox mode requires an OutboxService");
+        }
+        this.sqsService = sqsService;
+        this.snsService = snsService;
+        this.eventBridgeService = eventBridgeService;
+        this.outboxService = outboxService;
+        this.settings = settings;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        Topology topology = provision();
+        String queueUrl = topology.queueUrl();
+        String topicArn = topology.topicArn();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, settings.consumers()), daemonThreads());
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        window = new MeasurementWindow();
+
+        List<OpenLoopProducer> producers = List.of(
+                new OpenLoopProducer("sqs", settings.sqsRate(), settings.payloadBytes(), inFlight,
+                        this::currentWindow, MeasurementWindow::sqs,
+                        body -> settings.outbox()
+                                ? outboxService.sendMessage(queueUrl, body)
+                                : sqsService.sendMessage(queueUrl, body)),
+                new OpenLoopProducer("sns", settings.snsRate(), settings.payloadBytes(), inFlight,
+                        this::currentWindow, MeasurementWindow::sns,
+                        body -> settings.outbox()
+                                ? outboxService.publishMessage(topicArn, body)
+                                : snsService.publishMessage(topicArn, body)),
+                new OpenLoopProducer("eventbridge", settings.eventBridgeRate(), settings.payloadBytes(), inFlight,
+                        this::currentWindow, MeasurementWindow::eventBridge,
+                        body -> settings.outbox()
+                                ? outboxService.sendEventToEventBridge(EVENT_BUS_NAME, EVENT_SOURCE, DETAIL_TYPE, body)
+                                : eventBridgeService.sendEventToEventBridge(EVENT_BUS_NAME, EVENT_SOURCE,
+                                        DETAIL_TYPE, body))
+        );
+        List<QueueConsumer> consumers = new ArrayList<>();
+        for (int i = 0; i < settings.consumers(); i++) {
+            consumers.add(new QueueConsumer(sqsService, queueUrl, this::currentWindow, scheduler));
+        }
+
+        try {
+            consumers.forEach(QueueConsumer::start);
+            producers.forEach(producer -> producer.start(scheduler));
+
+            logger.info("Warming up for {} ms", settings.warmUp().toMillis());
+            TimeUnit.MILLISECONDS.sleep(settings.warmUp().toMillis());
+            window = new MeasurementWindow();
+
+            logger.info("Measuring for {} ms", settings.duration().toMillis());
+            TimeUnit.MILLISECONDS.sleep(settings.duration().toMillis());
+            MeasurementWindow measured = window;
+            LoadReport report = LoadReport.from(measured, settings, System.nanoTime(), ResourceUsage.capture());
+            window = new MeasurementWindow();
+            return report;
+        } finally {
+            producers.forEach(OpenLoopProducer::stop);
+            if (!inFlight.tryAcquire(settings.maxInFlight(), DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for in-flight sends to complete");
+            }
+            stopConsumers(consumers);
+            scheduler.shutdownNow();
+            sqsService.purgeQueue(queueUrl).join();
+        }
+    }
+
+    private Topology provision() {
+        CompletableFuture<String> queueUrl = sqsService.createQueue(QUEUE_NAME);
+        CompletableFuture<String> queueArn = queueUrl.thenCompose(sqsService::getQueueArn);
+        CompletableFuture<String> topic = snsService.createTopic(TOPIC_NAME);
+
+        CompletableFuture<String> subscription = topic.thenCombine(queueArn, snsService::subscribeSqsToTopic)
+                .thenCompose(future -> future);
+        CompletableFuture<Void> rule = eventBridgeService.createEventBus(EVENT_BUS_NAME)
+                .thenCombine(queueArn, (ignored, arn) ->
+                        eventBridgeService.putEventWithSqsTarget(EVENT_BUS_NAME, RULE_NAME, arn))
+                .thenCompose(future -> future);
+
+        CompletableFuture.allOf(subscription, rule).join();
+        return new Topology(queueUrl.join(), topic.join());
+    }
+
+    private static void stopConsumers(List<QueueConsumer> consumers) {
+        CompletableFuture<?>[] stopped = consumers.stream()
+                .map(QueueConsumer::stop)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(stopped).get(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Timed out waiting for consumers to stop");
+        } catch (Exception e) {
+            logger.warn("Consumer failed while stopping: {}", e.getMessage());
+        }
+    }
+
+    private MeasurementWindow currentWindow() {
+        return window;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "load-generator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Topology(String queueUrl, String topicArn) {
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.load;
+
+import org.example.metrics.PipelineLatencyTracker;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Everything recorded during one phase of a run. Producers and consumers always write to
+ * the current window, so swapping it at the end of warm-up discards warm-up samples.
+ */
+final class MeasurementWindow {
+    private final ProducerStats sqs = new ProducerStats("sqs");
+    private final ProducerStats sns = new ProducerStats("sns");
+    private final ProducerStats eventBridge = new ProducerStats("eventbridge");
+    private final PipelineLatencyTracker pipeline = new PipelineLatencyTracker();
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder consumeErrors = new LongAdder();
+    private final long startedAtNanos = System.nanoTime();
+    private final ResourceUsage startUsage = ResourceUsage.capture();
+
+    ProducerStats sqs() {
+        return sqs;
+    }
+
+    ProducerStats sns() {
+        return sns;
+    }
+
+    ProducerStats eventBridge() {
+        return eventBridge;
+    }
+
+    List<ProducerStats> producers() {
+        return List.of(sqs, sns, eventBridge);
+    }
+
+    PipelineLatencyTracker pipeline() {
+        return pipeline;
+    }
+
+    void recordConsumed(int count) {
+        consumed.add(count);
+    }
+
+    void recordConsumeError() {
+        consumeErrors.increment();
+    }
+
+    long getConsumed() {
+        return consumed.sum();
+    }
+
+    long getConsumeErrors() {
+        return consumeErrors.sum();
+    }
+
+    long getStartedAtNanos() {
+        return startedAtNanos;
+    }
+
+    ResourceUsage getStartUsage() {
+        return startUsage;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.load;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Issues messages on a fixed schedule regardless of how fast earlier sends complete, and
+ * measures latency from each message's intended start time, so a stalled target shows up
+ * as latency rather than as a silently lower send rate. When {@code maxInFlight} sends are
+ * outstanding further messages are counted as dropped instead of queued.
+ */
+final class OpenLoopProducer {
+    private static final long TICK_MILLIS = 5L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final String name;
+    private final int ratePerSecond;
+    private final Function<String, CompletableFuture<?>> send;
+    private final Function<MeasurementWindow, ProducerStats> statsOf;
+    private final Supplier<MeasurementWindow> window;
+    private final Semaphore inFlight;
+    private final String padding;
+    private long startNanos;
+    private long issued;
+    private ScheduledFuture<?> task;
+
+    OpenLoopProducer(String name,
+                     int ratePerSecond,
+                     int payloadBytes,
+                     Semaphore inFlight,
+                     Supplier<MeasurementWindow> window,
+                     Function<MeasurementWindow, ProducerStats> statsOf,
+                     Function<String, CompletableFuture<?>> send) {
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.inFlight = inFlight;
+        this.window = window;
+        this.statsOf = statsOf;
+        this.send = send;
+        this.padding = "x".repeat(Math.max(0, payloadBytes - 48));
+    }
+
+    void start(ScheduledExecutorService scheduler) {
+        if (ratePerSecond == 0) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        task = scheduler.scheduleAtFixedRate(this::tick, 0L, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private void tick() {
+        long due = (System.nanoTime() - startNanos) * ratePerSecond / NANOS_PER_SECOND;
+        while (issued < due) {
+            long intendedNanos = startNanos + issued * NANOS_PER_SECOND / ratePerSecond;
+            long sequence = issued++;
+            ProducerStats stats = statsOf.apply(window.get());
+            if (!inFlight.tryAcquire()) {
+                stats.recordDropped();
+                continue;
+            }
+            CompletableFuture<?> future;
+            try {
+                future = send.apply(payload(sequence));
+            } catch (RuntimeException e) {
+                inFlight.release();
+                stats.recordFailed();
+                continue;
+            }
+            future.whenComplete((ignored, throwable) -> {
+                inFlight.release();
+                if (throwable == null) {
+                    stats.recordSent(System.nanoTime() - intendedNanos);
+                } else {
+                    stats.recordFailed();
+                }
+            });
+        }
+    }
+
+    private String payload(long sequence) {
+        return "{\"producer\":\"" + name + "\",\"seq\":" + sequence + ",\"pad\":\"" + padding + "\"}";
+    }
+}
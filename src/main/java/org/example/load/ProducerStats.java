@@ -0,0 +1,50 @@
+package org.example.load;
+
+import org.example.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ProducerStats {
+    private final String name;
+    private final LatencyHistogram latencyMicros = new LatencyHistogram();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ProducerStats(String name) {
+        this.name = name;
+    }
+
+    void recordSent(long latencyNanos) {
+        sent.increment();
+        latencyMicros.record(latencyNanos / 1_000L);
+    }
+
+    void recordFailed() {
+        failed.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public LatencyHistogram.Snapshot latencyMicros() {
+        return latencyMicros.snapshot();
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.load;
+
+import org.example.service.SqsService;
+import org.example.tracing.TraceExtractor;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+final class QueueConsumer {
+    private static final int MAX_MESSAGES = 10;
+    private static final int WAIT_TIME_SECONDS = 1;
+    private static final long ERROR_BACKOFF_MILLIS = 100L;
+
+    private final SqsService sqsService;
+    private final String queueUrl;
+    private final Supplier<MeasurementWindow> window;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<Void> stopped = new CompletableFuture<>();
+    private volatile boolean running;
+
+    QueueConsumer(SqsService sqsService, String queueUrl, Supplier<MeasurementWindow> window,
+                  ScheduledExecutorService scheduler) {
+        this.sqsService = sqsService;
+        this.queueUrl = queueUrl;
+        this.window = window;
+        this.scheduler = scheduler;
+    }
+
+    void start() {
+        running = true;
+        scheduler.execute(this::poll);
+    }
+
+    CompletableFuture<Void> stop() {
+        running = false;
+        return stopped;
+    }
+
+    private void poll() {
+        if (!running) {
+            stopped.complete(null);
+            return;
+        }
+        sqsService.receiveMessages(queueUrl, MAX_MESSAGES, WAIT_TIME_SECONDS)
+                .thenCompose(this::consume)
+                .whenComplete((count, throwable) -> {
+                    if (throwable == null) {
+                        window.get().recordConsumed(count);
+                        scheduler.execute(this::poll);
+                    } else {
+                        window.get().recordConsumeError();
+                        scheduler.schedule(this::poll, ERROR_BACKOFF_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                });
+    }
+
+    private CompletableFuture<Integer> consume(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+        long receivedAt = System.currentTimeMillis();
+        MeasurementWindow current = window.get();
+        CompletableFuture<?>[] deletes = new CompletableFuture<?>[messages.size()];
+        for (int i = 0; i < deletes.length; i++) {
+            Message message = messages.get(i);
+            TraceExtractor.extract(message, queueUrl)
+                    .ifPresent(trace -> current.pipeline().record(trace, receivedAt));
+            deletes[i] = sqsService.deleteMessage(queueUrl, message.receiptHandle());
+        }
+        return CompletableFuture.allOf(deletes).thenApply(ignored -> messages.size());
+    }
+}
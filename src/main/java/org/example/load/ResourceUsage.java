@@ -0,0 +1,40 @@
+package org.example.load;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Process CPU time and bytes allocated by live threads at one instant. Allocation by
+ * threads that died in between is not counted, which is fine for the long-lived
+ * event loop and scheduler threads that do the work here.
+ */
+record ResourceUsage(long cpuNanos, long allocatedBytes) {
+
+    static ResourceUsage capture() {
+        return new ResourceUsage(processCpuNanos(), liveThreadAllocatedBytes());
+    }
+
+    ResourceUsage minus(ResourceUsage earlier) {
+        return new ResourceUsage(cpuNanos - earlier.cpuNanos, allocatedBytes - earlier.allocatedBytes);
+    }
+
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return Math.max(0L, os.getProcessCpuTime());
+        }
+        return 0L;
+    }
+
+    private static long liveThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            long total = 0L;
+            for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+                if (allocated > 0L) {
+                    total += allocated;
+                }
+            }
+            return total;
+        }
+        return 0L;
+    }
+}
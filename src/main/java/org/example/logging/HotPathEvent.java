@@ -0,0 +1,21 @@
+package org.example.logging;
+
+public enum HotPathEvent {
+    SENT("sent"),
+    PUBLISHED("published"),
+    EVENT_SENT("events"),
+    RECEIVED("received"),
+    EMPTY_RECEIVE("emptyReceives"),
+    PROCESSED("processed"),
+    DELETED("deleted");
+
+    private final String label;
+
+    HotPathEvent(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.logging;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+public record HotPathLogSettings(Mode mode, int sampleEvery, Duration summaryInterval) {
+
+    public enum Mode {
+        VERBOSE,
+        SAMPLED
+    }
+
+    public HotPathLogSettings {
+        if (sampleEvery < 0) {
+            throw new IllegalArgumentException("sampleEvery must be >= 0 (0 = never sample)");
+        }
+        if (summaryInterval.isZero() || summaryInterval.isNegative()) {
+            throw new IllegalArgumentException("summaryInterval must be > 0");
+        }
+    }
+
+    public static HotPathLogSettings verbose() {
+        return new HotPathLogSettings(Mode.VERBOSE, 1_000, Duration.ofSeconds(10));
+    }
+
+    public static HotPathLogSettings fromSystemProperties() {
+        HotPathLogSettings defaults = verbose();
+        String mode = System.getProperty("HOT_PATH_LOG_MODE");
+        return new HotPathLogSettings(
+                mode == null ? defaults.mode() : Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT)),
+                intProperty("HOT_PATH_LOG_SAMPLE_EVERY", defaults.sampleEvery()),
+                durationProperty("HOT_PATH_LOG_SUMMARY_MS", defaults.summaryInterval())
+        );
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.logging;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.lifecycle.LifecycleManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-message logging policy for the send/receive/delete paths. In {@code VERBOSE} mode
+ * {@link #record} returns true and callers log as before. In {@code SAMPLED} mode it only
+ * bumps a striped counter, logs roughly one in {@code sampleEvery} events without payload,
+ * and a periodic summary reports the counts per resource. Payloads are only written by
+ * {@link #payload} when DEBUG is enabled for that resource's logger,
+ * {@code org.example.hotpath.<resource name>}.
+ */
+@Singleton
+public class HotPathLogging implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger("org.example.hotpath");
+    private static final HotPathEvent[] EVENTS = HotPathEvent.values();
+
+    private final HotPathLogSettings settings;
+    private final ConcurrentMap<String, ResourceLog> resources = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    @Inject
+    public HotPathLogging(HotPathLogSettings settings, LifecycleManager lifecycle) {
+        this(settings);
+        lifecycle.onShutdown("hot-path-logging", this);
+    }
+
+    /** Unmanaged: the caller closes it, which stops the summary in {@code SAMPLED} mode. */
+    HotPathLogging(HotPathLogSettings settings) {
+        this.settings = settings;
+        if (settings.mode() == HotPathLogSettings.Mode.SAMPLED) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "hot-path-log-summary");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = settings.summaryInterval().toMillis();
+            scheduler.scheduleAtFixedRate(this::logSummary, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public static HotPathLogging verbose() {
+        return new HotPathLogging(HotPathLogSettings.verbose());
+    }
+
+    public boolean isVerbose() {
+        return settings.mode() == HotPathLogSettings.Mode.VERBOSE;
+    }
+
+    public boolean record(HotPathEvent event, String resource, String id) {
+        if (isVerbose()) {
+            return true;
+        }
+        ResourceLog log = resource(resource);
+        log.counts[event.ordinal()].increment();
+        int sampleEvery = settings.sampleEvery();
+        if (sampleEvery > 0 && log.logger.isInfoEnabled()
+                && (sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0)) {
+            log.logger.info("sampled {} id={}", event.label(), id);
+        }
+        return false;
+    }
+
+    public void payload(String resource, String id, String payload) {
+        if (isVerbose()) {
+            return;
+        }
+        Logger resourceLogger = resource(resource).logger;
+        if (resourceLogger.isDebugEnabled()) {
+            resourceLogger.debug("payload id={}: {}", id, payload);
+        }
+    }
+
+    public Map<HotPathEvent, Long> counts(String resource) {
+        ResourceLog log = resources.get(resourceKey(resource));
+        Map<HotPathEvent, Long> counts = new EnumMap<>(HotPathEvent.class);
+        if (log != null) {
+            for (HotPathEvent event : EVENTS) {
+                counts.put(event, log.counts[event.ordinal()].sum());
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            logSummary();
+        }
+    }
+
+    void logSummary() {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        resources.forEach((resource, log) -> {
+            StringBuilder line = null;
+            for (HotPathEvent event : EVENTS) {
+                long count = log.counts[event.ordinal()].sumThenReset();
+                if (count == 0L) {
+                    continue;
+                }
+                line = line == null ? new StringBuilder() : line.append(' ');
+                line.append(event.label()).append('=').append(count);
+            }
+            if (line != null) {
+                logger.info("{} in last {} ms: {}", resource, settings.summaryInterval().toMillis(), line);
+            }
+        });
+    }
+
+    private ResourceLog resource(String resource) {
+        String key = resourceKey(resource);
+        ResourceLog log = resources.get(key);
+        if (log == null) {
+            log = resources.computeIfAbsent(key, ResourceLog::new);
+        }
+        return log;
+    }
+
+    private static String resourceKey(String resource) {
+        return resource == null ? "*" : resource;
+    }
+
+    private static final class ResourceLog {
+        private final Logger logger;
+        private final LongAdder[] counts = new LongAdder[EVENTS.length];
+
+        private ResourceLog(String resource) {
+            this.logger = LoggerFactory.getLogger("org.example.hotpath." + loggerSuffix(resource));
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        private static String loggerSuffix(String resource) {
+            int slash = resource.lastIndexOf('/');
+            int colon = resource.lastIndexOf(':');
+            return resource.substring(Math.max(slash, colon) + 1).replace('.', '_');
+        }
+    }
+}
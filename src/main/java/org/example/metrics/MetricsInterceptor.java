@@ -0,0 +1,106 @@
+package org.example.metrics;
+
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpHeaders;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+
+import java.util.Locale;
+
+public class MetricsInterceptor implements ExecutionInterceptor {
+    private static final ExecutionAttribute<Long> START_NANOS = new ExecutionAttribute<>("MetricsStartNanos");
+    private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>("MetricsAttempts");
+    private static final ExecutionAttribute<Long> REQUEST_BYTES = new ExecutionAttribute<>("MetricsRequestBytes");
+    private static final ExecutionAttribute<Long> RESPONSE_BYTES = new ExecutionAttribute<>("MetricsResponseBytes");
+
+    private final MetricsRegistry registry;
+
+    public MetricsInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        attributes.putAttribute(START_NANOS, System.nanoTime());
+        attributes.putAttribute(ATTEMPTS, 0);
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes attributes) {
+        Integer attempts = attributes.getAttribute(ATTEMPTS);
+        attributes.putAttribute(ATTEMPTS, attempts == null ? 1 : attempts + 1);
+        attributes.putAttribute(REQUEST_BYTES, contentLength(context.httpRequest()));
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes attributes) {
+        attributes.putAttribute(RESPONSE_BYTES, contentLength(context.httpResponse()));
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        record(context.request(), attributes, false);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+        record(context.request(), attributes, true);
+    }
+
+    private void record(SdkRequest request, ExecutionAttributes attributes, boolean failed) {
+        Long start = attributes.getAttribute(START_NANOS);
+        if (start == null) {
+            return;
+        }
+        String service = serviceName(attributes);
+        String operation = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        String resource = resourceOf(request);
+
+        registry.recordCall(service, operation, resource, System.nanoTime() - start, failed,
+                valueOrZero(attributes.getAttribute(REQUEST_BYTES)),
+                valueOrZero(attributes.getAttribute(RESPONSE_BYTES)));
+
+        Integer attempts = attributes.getAttribute(ATTEMPTS);
+        if (attempts != null && attempts > 1) {
+            registry.recordRetries(service, operation, resource, attempts - 1);
+        }
+    }
+
+    static String serviceName(ExecutionAttributes attributes) {
+        String name = attributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME);
+        return name == null ? "unknown" : name.toLowerCase(Locale.ROOT);
+    }
+
+    public static String resourceOf(SdkRequest request) {
+        if (request instanceof PutEventsRequest putEvents) {
+            return putEvents.entries().isEmpty() ? null : putEvents.entries().get(0).eventBusName();
+        }
+        for (String field : new String[]{"QueueUrl", "TopicArn", "EventBusName", "QueueName"}) {
+            String value = request.getValueForField(field, String.class).orElse(null);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static long contentLength(SdkHttpHeaders headers) {
+        return headers.firstMatchingHeader("Content-Length")
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value.trim());
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+
+    private static long valueOrZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
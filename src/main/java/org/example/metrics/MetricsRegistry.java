@@ -0,0 +1,120 @@
+package org.example.metrics;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Singleton
+public class MetricsRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+    static final String OTHER_RESOURCES = "other";
+    private static final int DEFAULT_MAX_RESOURCES = 1_000;
+
+    private final ConcurrentMap<OperationKey, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final Set<String> knownResources = ConcurrentHashMap.newKeySet();
+    private final int maxResources;
+    private final MBeanServer mBeanServer;
+
+    @Inject
+    public MetricsRegistry() {
+        this(DEFAULT_MAX_RESOURCES, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public MetricsRegistry(int maxResources, MBeanServer mBeanServer) {
+        this.maxResources = maxResources;
+        this.mBeanServer = mBeanServer;
+    }
+
+    public static MetricsRegistry withoutJmx() {
+        return new MetricsRegistry(DEFAULT_MAX_RESOURCES, null);
+    }
+
+    public void recordCall(String service, String operation, String resource,
+                           long latencyNanos, boolean failed, long requestBytes, long responseBytes) {
+        metricsFor(service, operation, OperationKey.ALL_RESOURCES)
+                .recordCall(latencyNanos, failed, requestBytes, responseBytes);
+        if (resource != null) {
+            metricsFor(service, operation, boundedResource(resource))
+                    .recordCall(latencyNanos, failed, requestBytes, responseBytes);
+        }
+    }
+
+    public void recordRetries(String service, String operation, String resource, int retries) {
+        if (retries <= 0) {
+            return;
+        }
+        metricsFor(service, operation, OperationKey.ALL_RESOURCES).recordRetries(retries);
+        if (resource != null) {
+            metricsFor(service, operation, boundedResource(resource)).recordRetries(retries);
+        }
+    }
+
+    public Optional<OperationMetrics> find(String service, String operation, String resource) {
+        return Optional.ofNullable(operations.get(new OperationKey(service, operation, resource)));
+    }
+
+    public Collection<OperationMetrics> operations() {
+        List<OperationMetrics> sorted = new ArrayList<>(operations.values());
+        sorted.sort(Comparator.comparing((OperationMetrics metrics) -> metrics.getKey().service())
+                .thenComparing(metrics -> metrics.getKey().operation())
+                .thenComparing(metrics -> metrics.getKey().resource()));
+        return sorted;
+    }
+
+    private String boundedResource(String resource) {
+        if (knownResources.contains(resource)) {
+            return resource;
+        }
+        if (knownResources.size() >= maxResources) {
+            return OTHER_RESOURCES;
+        }
+        knownResources.add(resource);
+        return resource;
+    }
+
+    private OperationMetrics metricsFor(String service, String operation, String resource) {
+        OperationKey key = new OperationKey(service, operation, resource);
+        OperationMetrics metrics = operations.get(key);
+        if (metrics != null) {
+            return metrics;
+        }
+        return operations.computeIfAbsent(key, this::register);
+    }
+
+    private OperationMetrics register(OperationKey key) {
+        OperationMetrics metrics = new OperationMetrics(key);
+        if (mBeanServer == null) {
+            return metrics;
+        }
+        try {
+            ObjectName name = new ObjectName("org.example.metrics:type=AwsOperation"
+                    + ",service=" + ObjectName.quote(key.service())
+                    + ",operation=" + ObjectName.quote(key.operation())
+                    + ",resource=" + ObjectName.quote(key.resource()));
+            try {
+                mBeanServer.unregisterMBean(name);
+            } catch (InstanceNotFoundException ignored) {
+                // first registration of this key in the JVM
+            }
+            mBeanServer.registerMBean(metrics, name);
+        } catch (JMException e) {
+            logger.warn("Could not register JMX bean for {}: {}", key, e.getMessage());
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.metrics;
+
+public record OperationKey(String service, String operation, String resource) {
+    public static final String ALL_RESOURCES = "*";
+}
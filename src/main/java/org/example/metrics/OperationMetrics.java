@@ -0,0 +1,86 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationMetrics implements OperationMetricsMXBean {
+    private final OperationKey key;
+    private final LatencyHistogram latencyMicros = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+
+    OperationMetrics(OperationKey key) {
+        this.key = key;
+    }
+
+    public OperationKey getKey() {
+        return key;
+    }
+
+    void recordCall(long latencyNanos, boolean failed, long requestSize, long responseSize) {
+        latencyMicros.record(latencyNanos / 1_000L);
+        if (failed) {
+            errors.increment();
+        }
+        if (requestSize > 0) {
+            requestBytes.add(requestSize);
+        }
+        if (responseSize > 0) {
+            responseBytes.add(responseSize);
+        }
+    }
+
+    void recordRetries(int count) {
+        retries.add(count);
+    }
+
+    public LatencyHistogram.Snapshot latencySnapshot() {
+        return latencyMicros.snapshot();
+    }
+
+    @Override
+    public long getCallCount() {
+        return latencyMicros.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    @Override
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    @Override
+    public long getP50Micros() {
+        return latencyMicros.snapshot().valueAtPercentile(50.0);
+    }
+
+    @Override
+    public long getP99Micros() {
+        return latencyMicros.snapshot().valueAtPercentile(99.0);
+    }
+
+    @Override
+    public long getP999Micros() {
+        return latencyMicros.snapshot().valueAtPercentile(99.9);
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return latencyMicros.snapshot().getMax();
+    }
+}
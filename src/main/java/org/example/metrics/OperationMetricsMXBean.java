@@ -0,0 +1,21 @@
+package org.example.metrics;
+
+public interface OperationMetricsMXBean {
+    long getCallCount();
+
+    long getErrorCount();
+
+    long getRetryCount();
+
+    long getRequestBytes();
+
+    long getResponseBytes();
+
+    long getP50Micros();
+
+    long getP99Micros();
+
+    long getP999Micros();
+
+    long getMaxMicros();
+}
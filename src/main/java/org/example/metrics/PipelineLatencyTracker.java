@@ -0,0 +1,70 @@
+package org.example.metrics;
+
+import com.google.inject.Singleton;
+import org.example.tracing.PipelineTrace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Singleton
+public class PipelineLatencyTracker {
+    private final ConcurrentMap<String, RouteLatency> routes = new ConcurrentHashMap<>();
+
+    public void record(PipelineTrace trace, long receivedAtMillis) {
+        String route = trace.route();
+        RouteLatency latency = routes.get(route);
+        if (latency == null) {
+            latency = routes.computeIfAbsent(route, ignored -> new RouteLatency(route, trace.hops()));
+        }
+        latency.record(trace, receivedAtMillis);
+    }
+
+    public Collection<RouteLatency> routes() {
+        List<RouteLatency> sorted = new ArrayList<>(routes.values());
+        sorted.sort(Comparator.comparing(RouteLatency::getRoute));
+        return sorted;
+    }
+
+    public static final class RouteLatency {
+        private final String route;
+        private final List<String> hopNames;
+        private final LatencyHistogram endToEndMillis = new LatencyHistogram();
+        private final LatencyHistogram[] hopMillis;
+
+        private RouteLatency(String route, List<PipelineTrace.Hop> hops) {
+            this.route = route;
+            this.hopNames = hops.stream().map(PipelineTrace.Hop::name).toList();
+            this.hopMillis = new LatencyHistogram[hops.size()];
+            for (int i = 0; i < hopMillis.length; i++) {
+                hopMillis[i] = new LatencyHistogram();
+            }
+        }
+
+        private void record(PipelineTrace trace, long receivedAtMillis) {
+            endToEndMillis.record(Math.max(0L, receivedAtMillis - trace.producedAtMillis()));
+            for (int i = 0; i < hopMillis.length; i++) {
+                hopMillis[i].record(trace.hopDurationMillis(i, receivedAtMillis));
+            }
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        public List<String> getHopNames() {
+            return hopNames;
+        }
+
+        public LatencyHistogram.Snapshot endToEnd() {
+            return endToEndMillis.snapshot();
+        }
+
+        public LatencyHistogram.Snapshot hop(int index) {
+            return hopMillis[index].snapshot();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.metrics;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.sun.net.httpserver.HttpServer;
+import org.example.monitoring.QueueHealth;
+import org.example.monitoring.QueueHealthMonitor;
+import org.example.monitoring.QueueSnapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+@Singleton
+public class PrometheusExporter {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final MetricsRegistry registry;
+    private final PipelineLatencyTracker pipelineLatencyTracker;
+    private final QueueHealthMonitor queueHealthMonitor;
+
+    @Inject
+    public PrometheusExporter(MetricsRegistry registry, PipelineLatencyTracker pipelineLatencyTracker,
+                              QueueHealthMonitor queueHealthMonitor) {
+        this.registry = registry;
+        this.pipelineLatencyTracker = pipelineLatencyTracker;
+        this.queueHealthMonitor = queueHealthMonitor;
+    }
+
+    public PrometheusExporter(MetricsRegistry registry, PipelineLatencyTracker pipelineLatencyTracker) {
+        this(registry, pipelineLatencyTracker, null);
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+
+        out.append("# HELP aws_client_request_duration_seconds Latency of AWS SDK calls.\n");
+        out.append("# TYPE aws_client_request_duration_seconds summary\n");
+        for (OperationMetrics metrics : registry.operations()) {
+            LatencyHistogram.Snapshot snapshot = metrics.latencySnapshot();
+            String labels = labels(metrics.getKey());
+            for (double quantile : QUANTILES) {
+                out.append("aws_client_request_duration_seconds{").append(labels)
+                        .append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(snapshot.valueAtPercentile(quantile * 100.0))).append('\n');
+            }
+            out.append("aws_client_request_duration_seconds_sum{").append(labels).append("} ")
+                    .append(seconds(snapshot.getSum())).append('\n');
+            out.append("aws_client_request_duration_seconds_count{").append(labels).append("} ")
+                    .append(snapshot.getCount()).append('\n');
+        }
+
+        counter(out, "aws_client_errors_total", "Failed AWS SDK calls.", Counter.ERRORS);
+        counter(out, "aws_client_retries_total", "Retried AWS SDK call attempts.", Counter.RETRIES);
+        counter(out, "aws_client_request_bytes_total", "Request payload bytes sent.", Counter.REQUEST_BYTES);
+        counter(out, "aws_client_response_bytes_total", "Response payload bytes received.", Counter.RESPONSE_BYTES);
+        pipeline(out);
+        if (queueHealthMonitor != null) {
+            queues(out, queueHealthMonitor.health());
+        }
+        return out.toString();
+    }
+
+    private static void queues(StringBuilder out, List<QueueHealth> queues) {
+        out.append("# HELP sqs_queue_messages Approximate messages per queue and state, from the last health snapshot.\n");
+        out.append("# TYPE sqs_queue_messages gauge\n");
+        for (QueueHealth health : queues) {
+            String queue = "queue=\"" + escape(health.queueUrl()) + "\"";
+            QueueSnapshot latest = health.latest();
+            out.append("sqs_queue_messages{").append(queue).append(",state=\"visible\"} ")
+                    .append(latest.visible()).append('\n');
+            out.append("sqs_queue_messages{").append(queue).append(",state=\"in_flight\"} ")
+                    .append(latest.inFlight()).append('\n');
+            out.append("sqs_queue_messages{").append(queue).append(",state=\"delayed\"} ")
+                    .append(latest.delayed()).append('\n');
+        }
+
+        out.append("# HELP sqs_queue_visible_rate_per_second Trend of the visible backlog over the retained snapshots.\n");
+        out.append("# TYPE sqs_queue_visible_rate_per_second gauge\n");
+        for (QueueHealth health : queues) {
+            out.append("sqs_queue_visible_rate_per_second{queue=\"").append(escape(health.queueUrl())).append("\"} ")
+                    .append(String.format(Locale.ROOT, "%.3f", health.visibleRatePerSecond())).append('\n');
+        }
+
+        out.append("# HELP sqs_queue_estimated_drain_seconds Time to empty a shrinking backlog at its current rate.\n");
+        out.append("# TYPE sqs_queue_estimated_drain_seconds gauge\n");
+        for (QueueHealth health : queues) {
+            health.estimatedDrainTime().ifPresent(drain -> out.append("sqs_queue_estimated_drain_seconds{queue=\"")
+                    .append(escape(health.queueUrl())).append("\"} ")
+                    .append(String.format(Locale.ROOT, "%.3f", drain.toMillis() / 1_000.0)).append('\n'));
+        }
+    }
+
+    private void pipeline(StringBuilder out) {
+        out.append("# HELP pipeline_end_to_end_latency_seconds Producer-to-consumer lag per route.\n");
+        out.append("# TYPE pipeline_end_to_end_latency_seconds summary\n");
+        for (PipelineLatencyTracker.RouteLatency route : pipelineLatencyTracker.routes()) {
+            summary(out, "pipeline_end_to_end_latency_seconds",
+                    "route=\"" + escape(route.getRoute()) + "\"", route.endToEnd());
+        }
+
+        out.append("# HELP pipeline_hop_latency_seconds Time spent in each hop of a route.\n");
+        out.append("# TYPE pipeline_hop_latency_seconds summary\n");
+        for (PipelineLatencyTracker.RouteLatency route : pipelineLatencyTracker.routes()) {
+            List<String> hops = route.getHopNames();
+            for (int i = 0; i < hops.size(); i++) {
+                summary(out, "pipeline_hop_latency_seconds",
+                        "route=\"" + escape(route.getRoute()) + "\",hop=\"" + escape(hops.get(i)) + "\"",
+                        route.hop(i));
+            }
+        }
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, LatencyHistogram.Snapshot millis) {
+        for (double quantile : QUANTILES) {
+            out.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                    .append(String.format(Locale.ROOT, "%.3f", millis.valueAtPercentile(quantile * 100.0) / 1_000.0))
+                    .append('\n');
+        }
+        out.append(name).append("_sum{").append(labels).append("} ")
+                .append(String.format(Locale.ROOT, "%.3f", millis.getSum() / 1_000.0)).append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").append(millis.getCount()).append('\n');
+    }
+
+    public HttpServer startHttpServer(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream stream = exchange.getResponseBody()) {
+                stream.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private enum Counter { ERRORS, RETRIES, REQUEST_BYTES, RESPONSE_BYTES }
+
+    private void counter(StringBuilder out, String name, String help, Counter counter) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (OperationMetrics metrics : registry.operations()) {
+            long value = switch (counter) {
+                case ERRORS -> metrics.getErrorCount();
+                case RETRIES -> metrics.getRetryCount();
+                case REQUEST_BYTES -> metrics.getRequestBytes();
+                case RESPONSE_BYTES -> metrics.getResponseBytes();
+            };
+            out.append(name).append('{').append(labels(metrics.getKey())).append("} ").append(value).append('\n');
+        }
+    }
+
+    static String labels(OperationKey key) {
+        return "service=\"" + escape(key.service())
+                + "\",operation=\"" + escape(key.operation())
+                + "\",resource=\"" + escape(key.resource()) + "\"";
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.monitoring;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * @param visibleRatePerSecond least-squares slope of the visible count over the retained history
+ * @param trend                whether the backlog grew or shrank by at least one message over that history
+ * @param estimatedDrainTime   time until the visible backlog reaches zero at the current slope; empty
+ *                             unless the backlog is shrinking. GetQueueAttributes has no age of the
+ *                             oldest message (that is a CloudWatch-only metric), so this is the lag
+ *                             signal available from the control plane.
+ */
+public record QueueHealth(QueueSnapshot latest,
+                          double visibleRatePerSecond,
+                          Trend trend,
+                          Optional<Duration> estimatedDrainTime) {
+
+    public enum Trend { GROWING, STABLE, SHRINKING }
+
+    public String queueUrl() {
+        return latest.queueUrl();
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.monitoring;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.lifecycle.LifecycleManager;
+import org.example.service.SqsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Refreshes the message counts of every known queue in the background, all queues in parallel,
+ * and keeps the last {@code historySize} snapshots of each in memory. Readers get the cached
+ * history and the rates derived from it without making control-plane calls of their own.
+ */
+@Singleton
+public class QueueHealthMonitor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(QueueHealthMonitor.class);
+    private static final List<QueueAttributeName> COUNTS = List.of(
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE,
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED);
+
+    private final QueueMonitorSettings settings;
+    private final SqsService sqsService;
+    private final Set<String> watched = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, Deque<QueueSnapshot>> history = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private CompletableFuture<Void> currentRefresh = CompletableFuture.completedFuture(null);
+
+    @Inject
+    public QueueHealthMonitor(QueueMonitorSettings settings, SqsService sqsService, LifecycleManager lifecycle) {
+        this.settings = settings;
+        this.sqsService = sqsService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "queue-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lifecycle.onShutdown("queue-monitor", this);
+    }
+
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            long intervalMillis = settings.interval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::refreshInBackground, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void watch(String queueUrl) {
+        watched.add(queueUrl);
+    }
+
+    public void unwatch(String queueUrl) {
+        watched.remove(queueUrl);
+        history.remove(queueUrl);
+    }
+
+    /**
+     * Takes one snapshot of every known queue. Refreshes never overlap: while one is running,
+     * callers get that one.
+     */
+    public synchronized CompletableFuture<Void> refresh() {
+        if (!currentRefresh.isDone()) {
+            return currentRefresh;
+        }
+        CompletableFuture<Collection<String>> queues = settings.discover()
+                ? sqsService.listQueueUrls().thenApply(discovered -> {
+                    Set<String> all = new LinkedHashSet<>(watched);
+                    all.addAll(discovered);
+                    return all;
+                })
+                : CompletableFuture.completedFuture(List.copyOf(watched));
+
+        currentRefresh = queues.thenCompose(queueUrls -> CompletableFuture.allOf(queueUrls.stream()
+                .map(this::sample)
+                .toArray(CompletableFuture[]::new)));
+        return currentRefresh;
+    }
+
+    public Optional<QueueHealth> health(String queueUrl) {
+        List<QueueSnapshot> snapshots = history(queueUrl);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(health(snapshots));
+    }
+
+    public List<QueueHealth> health() {
+        return history.keySet().stream()
+                .sorted()
+                .map(this::health)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    public List<QueueSnapshot> history(String queueUrl) {
+        Deque<QueueSnapshot> snapshots = history.get(queueUrl);
+        if (snapshots == null) {
+            return List.of();
+        }
+        synchronized (snapshots) {
+            return List.copyOf(snapshots);
+        }
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh().join();
+        } catch (CompletionException e) {
+            logger.warn("Queue health refresh failed: {}", e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Queue health refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private CompletableFuture<Void> sample(String queueUrl) {
+        return sqsService.getQueueAttributes(queueUrl, COUNTS)
+                .thenAccept(attributes -> record(new QueueSnapshot(queueUrl, System.currentTimeMillis(),
+                        count(attributes, QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES),
+                        count(attributes, QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE),
+                        count(attributes, QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED))))
+                .exceptionally(throwable -> {
+                    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    if (cause instanceof QueueDoesNotExistException) {
+                        logger.info("Queue {} no longer exists, dropping it from the health monitor", queueUrl);
+                        unwatch(queueUrl);
+                    } else {
+                        logger.debug("Could not sample {}: {}", queueUrl, cause.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    private void record(QueueSnapshot snapshot) {
+        Deque<QueueSnapshot> snapshots = history.computeIfAbsent(snapshot.queueUrl(), ignored -> new ArrayDeque<>());
+        synchronized (snapshots) {
+            if (snapshots.size() == settings.historySize()) {
+                snapshots.removeFirst();
+            }
+            snapshots.addLast(snapshot);
+        }
+    }
+
+    private static long count(Map<QueueAttributeName, String> attributes, QueueAttributeName name) {
+        String value = attributes.get(name);
+        return value == null ? 0L : Long.parseLong(value);
+    }
+
+    static QueueHealth health(List<QueueSnapshot> snapshots) {
+        QueueSnapshot latest = snapshots.get(snapshots.size() - 1);
+        double slope = slopePerSecond(snapshots);
+        double spanSeconds = (latest.timestampMillis() - snapshots.get(0).timestampMillis()) / 1_000.0;
+        double change = slope * spanSeconds;
+
+        QueueHealth.Trend trend = change >= 1.0 ? QueueHealth.Trend.GROWING
+                : change <= -1.0 ? QueueHealth.Trend.SHRINKING
+                : QueueHealth.Trend.STABLE;
+        Optional<Duration> drainTime = slope < 0 && trend == QueueHealth.Trend.SHRINKING
+                ? Optional.of(Duration.ofMillis((long) (latest.visible() / -slope * 1_000.0)))
+                : Optional.empty();
+        return new QueueHealth(latest, slope, trend, drainTime);
+    }
+
+    private static double slopePerSecond(List<QueueSnapshot> snapshots) {
+        if (snapshots.size() < 2) {
+            return 0.0;
+        }
+        long origin = snapshots.get(0).timestampMillis();
+        double meanX = 0.0;
+        double meanY = 0.0;
+        for (QueueSnapshot snapshot : snapshots) {
+            meanX += (snapshot.timestampMillis() - origin) / 1_000.0;
+            meanY += snapshot.visible();
+        }
+        meanX /= snapshots.size();
+        meanY /= snapshots.size();
+
+        double covariance = 0.0;
+        double variance = 0.0;
+        for (QueueSnapshot snapshot : snapshots) {
+            double x = (snapshot.timestampMillis() - origin) / 1_000.0 - meanX;
+            covariance += x * (snapshot.visible() - meanY);
+            variance += x * x;
+        }
+        return variance == 0.0 ? 0.0 : covariance / variance;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.monitoring;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.booleanProperty;
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+/**
+ * @param interval    time between refreshes
+ * @param historySize snapshots kept per queue for rates and trends
+ * @param discover    also monitor every queue returned by ListQueues, not just watched ones
+ */
+public record QueueMonitorSettings(Duration interval, int historySize, boolean discover) {
+
+    public QueueMonitorSettings {
+        if (interval.toMillis() <= 0) {
+            throw new IllegalArgumentException("interval must be >= 1ms");
+        }
+        if (historySize < 2) {
+            throw new IllegalArgumentException("historySize must be >= 2");
+        }
+    }
+
+    public static QueueMonitorSettings defaults() {
+        return new QueueMonitorSettings(Duration.ofSeconds(15), 40, true);
+    }
+
+    public static QueueMonitorSettings fromSystemProperties() {
+        QueueMonitorSettings defaults = defaults();
+        return new QueueMonitorSettings(
+                durationProperty("MONITOR_INTERVAL_MS", defaults.interval()),
+                intProperty("MONITOR_HISTORY", defaults.historySize()),
+                booleanProperty("MONITOR_DISCOVER", defaults.discover())
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.monitoring;
+
+public record QueueSnapshot(String queueUrl, long timestampMillis, long visible, long inFlight, long delayed) {
+
+    public long total() {
+        return visible + inFlight + delayed;
+    }
+}
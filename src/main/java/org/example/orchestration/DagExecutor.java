@@ -0,0 +1,204 @@
+package org.example.orchestration;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs a {@link StepGraph}: every step whose dependencies have succeeded is started, up to
+ * {@code maxConcurrency} at a time. When a step fails, everything that transitively depends
+ * on it is cancelled without running, while independent branches carry on. The returned
+ * future always completes with a report; use {@link DagReport#throwIfFailed()} to turn
+ * failures into an exception. Steps are started on {@code executor}, never on the thread that
+ * completed a dependency, so a step does not run on an SDK completion thread and a long chain
+ * of steps that complete synchronously does not grow the stack.
+ */
+public class DagExecutor {
+    private final int maxConcurrency;
+    private final Executor executor;
+
+    public DagExecutor(int maxConcurrency) {
+        this(maxConcurrency, ForkJoinPool.commonPool());
+    }
+
+    public DagExecutor(int maxConcurrency, Executor executor) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be > 0");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<DagReport> execute(StepGraph graph) {
+        return new Execution(graph.steps()).start();
+    }
+
+    private final class Execution {
+        private final List<Step<?>> steps;
+        private final Map<Step<?>, List<Step<?>>> dependents = new IdentityHashMap<>();
+        private final Map<Step<?>, Integer> pendingDependencies = new IdentityHashMap<>();
+        private final Map<Step<?>, StepResult> results = new IdentityHashMap<>();
+        private final Map<Step<?>, Object> outputs = new ConcurrentHashMap<>();
+        private final Map<Step<?>, Long> startedAtNanos = new HashMap<>();
+        private final ArrayDeque<Step<?>> ready = new ArrayDeque<>();
+        private final CompletableFuture<DagReport> report = new CompletableFuture<>();
+        private final long startNanos = System.nanoTime();
+        private int running;
+
+        private Execution(List<Step<?>> steps) {
+            this.steps = steps;
+            for (Step<?> step : steps) {
+                dependents.put(step, new ArrayList<>());
+            }
+            for (Step<?> step : steps) {
+                pendingDependencies.put(step, step.getDependencies().size());
+                step.getDependencies().forEach(dependency -> dependents.get(dependency).add(step));
+                if (step.getDependencies().isEmpty()) {
+                    ready.add(step);
+                }
+            }
+        }
+
+        private CompletableFuture<DagReport> start() {
+            if (steps.isEmpty()) {
+                report.complete(new DagReport(List.of(), List.of(), Duration.ZERO));
+            } else {
+                pump();
+            }
+            return report;
+        }
+
+        private void pump() {
+            List<Step<?>> toStart = new ArrayList<>();
+            synchronized (this) {
+                while (running < maxConcurrency && !ready.isEmpty()) {
+                    Step<?> step = ready.poll();
+                    running++;
+                    startedAtNanos.put(step, System.nanoTime());
+                    toStart.add(step);
+                }
+            }
+            toStart.forEach(this::launch);
+        }
+
+        private void launch(Step<?> step) {
+            try {
+                executor.execute(() -> run(step));
+            } catch (RejectedExecutionException e) {
+                onComplete(step, null, e);
+            }
+        }
+
+        private void run(Step<?> step) {
+            CompletableFuture<?> future;
+            try {
+                future = step.run(new StepContext(step, outputs));
+                if (future == null) {
+                    throw new IllegalStateException("Step '" + step.getName() + "' returned no future");
+                }
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((output, throwable) -> onComplete(step, output, throwable));
+        }
+
+        private void onComplete(Step<?> step, Object output, Throwable throwable) {
+            boolean finished;
+            synchronized (this) {
+                running--;
+                long started = startedAtNanos.get(step);
+                Duration startedAt = Duration.ofNanos(started - startNanos);
+                Duration duration = Duration.ofNanos(System.nanoTime() - started);
+                if (throwable == null) {
+                    if (output != null) {
+                        outputs.put(step, output);
+                    }
+                    results.put(step, new StepResult(step.getName(), StepResult.Status.SUCCEEDED,
+                            startedAt, duration, null));
+                    for (Step<?> dependent : dependents.get(step)) {
+                        if (pendingDependencies.merge(dependent, -1, Integer::sum) == 0
+                                && !results.containsKey(dependent)) {
+                            ready.add(dependent);
+                        }
+                    }
+                } else {
+                    Throwable cause = unwrap(throwable);
+                    results.put(step, new StepResult(step.getName(), StepResult.Status.FAILED,
+                            startedAt, duration, cause));
+                    cancelDependents(step, startedAt.plus(duration));
+                }
+                finished = results.size() == steps.size();
+            }
+            if (finished) {
+                report.complete(buildReport());
+            } else {
+                pump();
+            }
+        }
+
+        private void cancelDependents(Step<?> failed, Duration at) {
+            ArrayDeque<Step<?>> toCancel = new ArrayDeque<>(dependents.get(failed));
+            while (!toCancel.isEmpty()) {
+                Step<?> step = toCancel.poll();
+                if (results.containsKey(step)) {
+                    continue;
+                }
+                results.put(step, new StepResult(step.getName(), StepResult.Status.CANCELLED, at, Duration.ZERO,
+                        new CancellationException("Dependency '" + failed.getName() + "' failed")));
+                ready.remove(step);
+                toCancel.addAll(dependents.get(step));
+            }
+        }
+
+        private synchronized DagReport buildReport() {
+            List<StepResult> ordered = steps.stream().map(results::get).toList();
+            return new DagReport(ordered, criticalPath(), Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+
+        private List<String> criticalPath() {
+            Step<?> last = null;
+            for (Step<?> step : steps) {
+                if (ran(step) && (last == null || endOf(step).compareTo(endOf(last)) > 0)) {
+                    last = step;
+                }
+            }
+            ArrayDeque<String> path = new ArrayDeque<>();
+            while (last != null) {
+                path.addFirst(last.getName());
+                Step<?> previous = null;
+                for (Step<?> dependency : last.getDependencies()) {
+                    if (ran(dependency) && (previous == null || endOf(dependency).compareTo(endOf(previous)) > 0)) {
+                        previous = dependency;
+                    }
+                }
+                last = previous;
+            }
+            return List.copyOf(path);
+        }
+
+        private boolean ran(Step<?> step) {
+            return results.get(step).status() != StepResult.Status.CANCELLED;
+        }
+
+        private Duration endOf(Step<?> step) {
+            return results.get(step).endedAt();
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.orchestration;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+public record DagReport(List<StepResult> results, List<String> criticalPath, Duration total) {
+
+    public boolean isSuccessful() {
+        return results.stream().allMatch(result -> result.status() == StepResult.Status.SUCCEEDED);
+    }
+
+    public List<StepResult> failures() {
+        return results.stream()
+                .filter(result -> result.status() == StepResult.Status.FAILED)
+                .toList();
+    }
+
+    public DagReport throwIfFailed() {
+        List<StepResult> failures = failures();
+        if (!failures.isEmpty()) {
+            CompletionException exception = new CompletionException(
+                    "Step '" + failures.get(0).name() + "' failed", failures.get(0).failure());
+            failures.stream().skip(1).forEach(result -> exception.addSuppressed(result.failure()));
+            throw exception;
+        }
+        return this;
+    }
+
+    public void log(Logger logger) {
+        logger.info("Executed {} steps in {} ms", results.size(), total.toMillis());
+        for (StepResult result : results) {
+            logger.info("  {} {} start=+{} ms took={} ms", result.name(), result.status(),
+                    result.startedAt().toMillis(), result.duration().toMillis());
+        }
+        logger.info("Critical path: {}", criticalPath.stream().collect(Collectors.joining(" -> ")));
+    }
+}
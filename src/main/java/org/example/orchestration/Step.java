@@ -0,0 +1,34 @@
+package org.example.orchestration;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public final class Step<T> {
+    private final String name;
+    private final List<Step<?>> dependencies;
+    private final Function<StepContext, CompletableFuture<T>> action;
+
+    Step(String name, List<Step<?>> dependencies, Function<StepContext, CompletableFuture<T>> action) {
+        this.name = name;
+        this.dependencies = List.copyOf(dependencies);
+        this.action = action;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Step<?>> getDependencies() {
+        return dependencies;
+    }
+
+    CompletableFuture<T> run(StepContext context) {
+        return action.apply(context);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.orchestration;
+
+import java.util.Map;
+
+public final class StepContext {
+    private final Step<?> step;
+    private final Map<Step<?>, Object> outputs;
+
+    StepContext(Step<?> step, Map<Step<?>, Object> outputs) {
+        this.step = step;
+        this.outputs = outputs;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Step<T> dependency) {
+        if (!step.getDependencies().contains(dependency)) {
+            throw new IllegalArgumentException(
+                    "Step '" + step.getName() + "' does not declare a dependency on '" + dependency.getName() + "'");
+        }
+        return (T) outputs.get(dependency);
+    }
+}
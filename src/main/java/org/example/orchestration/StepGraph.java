@@ -0,0 +1,41 @@
+package org.example.orchestration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Steps can only depend on steps already added to the graph, so every graph is acyclic
+ * by construction and insertion order is a valid topological order.
+ */
+public class StepGraph {
+    private final List<Step<?>> steps = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+
+    public <T> Step<T> step(String name, Function<StepContext, CompletableFuture<T>> action) {
+        return step(name, List.of(), action);
+    }
+
+    public <T> Step<T> step(String name, List<Step<?>> dependencies,
+                            Function<StepContext, CompletableFuture<T>> action) {
+        if (!names.add(name)) {
+            throw new IllegalArgumentException("Duplicate step name: " + name);
+        }
+        for (Step<?> dependency : dependencies) {
+            if (!steps.contains(dependency)) {
+                throw new IllegalArgumentException(
+                        "Step '" + name + "' depends on '" + dependency.getName() + "' which is not in this graph");
+            }
+        }
+        Step<T> step = new Step<>(name, dependencies, action);
+        steps.add(step);
+        return step;
+    }
+
+    public List<Step<?>> steps() {
+        return List.copyOf(steps);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.orchestration;
+
+import java.time.Duration;
+
+public record StepResult(String name, Status status, Duration startedAt, Duration duration, Throwable failure) {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    public Duration endedAt() {
+        return startedAt.plus(duration);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.outbox;
+
+import org.example.tracing.TraceContext;
+import org.example.tracing.TraceStamper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public record OutboxMessage(Destination destination,
+                            String target,
+                            String subject,
+                            String detailType,
+                            String body,
+                            TraceContext trace) {
+
+    public enum Destination {
+        SQS,
+        SNS,
+        EVENTBRIDGE
+    }
+
+    public static OutboxMessage sqs(String queueUrl, String body) {
+        return new OutboxMessage(Destination.SQS, queueUrl, null, null, body, TraceContext.start("sqs"));
+    }
+
+    public static OutboxMessage sns(String topicArn, String subject, String body) {
+        return new OutboxMessage(Destination.SNS, topicArn, subject, null, body, TraceContext.start("sns"));
+    }
+
+    /**
+     * For EventBridge {@code target} is the event bus and {@code subject} carries the event source.
+     * The detail is trace-stamped here so the recorded production time is the append, not the shipment.
+     */
+    public static OutboxMessage eventBridge(String eventBusName, String source, String detailType, String detail) {
+        TraceContext trace = TraceContext.start("eventbridge");
+        return new OutboxMessage(Destination.EVENTBRIDGE, eventBusName, source, detailType,
+                TraceStamper.stampDetail(detail, trace, eventBusName), trace);
+    }
+
+    byte[] encode() {
+        byte[][] fields = {
+                bytes(target), bytes(subject), bytes(detailType), bytes(body), bytes(trace.traceId())
+        };
+        int size = 1 + Long.BYTES;
+        for (byte[] field : fields) {
+            size += Integer.BYTES + (field == null ? 0 : field.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) destination.ordinal());
+        buffer.putLong(trace.producedAtMillis());
+        for (byte[] field : fields) {
+            if (field == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(field.length);
+                buffer.put(field);
+            }
+        }
+        return buffer.array();
+    }
+
+    static OutboxMessage decode(ByteBuffer buffer) {
+        Destination destination = Destination.values()[buffer.get()];
+        long producedAtMillis = buffer.getLong();
+        String target = string(buffer);
+        String subject = string(buffer);
+        String detailType = string(buffer);
+        String body = string(buffer);
+        String traceId = string(buffer);
+        return new OutboxMessage(destination, target, subject, detailType, body,
+                new TraceContext(traceId, producedAtMillis, destination.name().toLowerCase(Locale.ROOT)));
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.outbox;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.config.LocalStackConfig;
+import org.example.lifecycle.LifecycleManager;
+import org.example.resilience.ServiceGuards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Producer-side outbox. Sends are appended to a local {@link WriteAheadLog} and complete with
+ * their sequence number once the next group fsync makes them durable, which happens every
+ * {@code fsyncInterval} or as soon as {@code fsyncBatchSize} appends are waiting. A background
+ * {@link OutboxShipper} delivers them to SQS, SNS or EventBridge. Records not shipped before
+ * shutdown stay in the log and are shipped after the next start; records that keep failing are
+ * moved to a dead-letter log under {@code directory/dead-letter}.
+ */
+@Singleton
+public class OutboxService implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+    private static final long CLOSE_TIMEOUT_SECONDS = 5L;
+    private static final String DEAD_LETTER_DIRECTORY = "dead-letter";
+
+    private final OutboxSettings settings;
+    private final LifecycleManager lifecycle;
+    private final WriteAheadLog log;
+    private final WriteAheadLog deadLetters;
+    private final OutboxShipper shipper;
+    private final ScheduledExecutorService fsyncScheduler;
+    private final ScheduledExecutorService shipperScheduler;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    @Inject
+    public OutboxService(OutboxSettings settings, LocalStackConfig config, ServiceGuards guards,
+                         LifecycleManager lifecycle) {
+        this.settings = settings;
+        this.lifecycle = lifecycle;
+        try {
+            this.log = WriteAheadLog.open(settings.directory(), settings.segmentBytes());
+            this.deadLetters = WriteAheadLog.open(settings.directory().resolve(DEAD_LETTER_DIRECTORY),
+                    settings.segmentBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open outbox at " + settings.directory(), e);
+        }
+        this.fsyncScheduler = Executors.newSingleThreadScheduledExecutor(daemonThread("outbox-fsync"));
+        this.shipperScheduler = Executors.newSingleThreadScheduledExecutor(daemonThread("outbox-shipper"));
+        this.shipper = new OutboxShipper(log, deadLetters, settings, config, guards, shipperScheduler);
+
+        long fsyncMillis = settings.fsyncInterval().toMillis();
+        fsyncScheduler.scheduleWithFixedDelay(this::sync, fsyncMillis, fsyncMillis, TimeUnit.MILLISECONDS);
+        lifecycle.onShutdown("outbox", this);
+        if (pending() > 0) {
+            logger.info("Outbox recovered {} unshipped records from {}", pending(), settings.directory());
+        }
+        shipper.start();
+    }
+
+    public CompletableFuture<Long> sendMessage(String queueUrl, String messageBody) {
+        return append(OutboxMessage.sqs(queueUrl, messageBody));
+    }
+
+    public CompletableFuture<Long> publishMessage(String topicArn, String message) {
+        return publishMessage(topicArn, null, message);
+    }
+
+    public CompletableFuture<Long> publishMessage(String topicArn, String subject, String message) {
+        return append(OutboxMessage.sns(topicArn, subject, message));
+    }
+
+    public CompletableFuture<Long> sendEventToEventBridge(String eventBusName, String source,
+                                                          String detailType, String detail) {
+        return append(OutboxMessage.eventBridge(eventBusName, source, detailType, detail));
+    }
+
+    public CompletableFuture<Long> append(OutboxMessage message) {
+        return lifecycle.track("outbox", "Append", message.target(), () -> {
+            byte[] payload = message.encode();
+            CompletableFuture<Long> durable = new CompletableFuture<>();
+            boolean batchFull;
+            synchronized (waiters) {
+                waiters.add(new Waiter(log.append(payload), durable));
+                batchFull = waiters.size() >= settings.fsyncBatchSize();
+            }
+            if (batchFull) {
+                fsyncScheduler.execute(this::sync);
+            }
+            return durable;
+        });
+    }
+
+    public long pending() {
+        return log.lastSequence() - log.checkpointed();
+    }
+
+    public long shippedCount() {
+        return shipper.shippedCount();
+    }
+
+    public long failedCount() {
+        return shipper.failedCount();
+    }
+
+    public long deadLetteredCount() {
+        return shipper.deadLetteredCount();
+    }
+
+    private void sync() {
+        List<Waiter> ready = new ArrayList<>();
+        try {
+            long durable = log.sync();
+            synchronized (waiters) {
+                while (!waiters.isEmpty() && waiters.peek().sequence() <= durable) {
+                    ready.add(waiters.poll());
+                }
+            }
+            ready.forEach(waiter -> waiter.future().complete(waiter.sequence()));
+        } catch (RuntimeException e) {
+            logger.error("Outbox fsync failed: {}", e.getMessage());
+            synchronized (waiters) {
+                ready.addAll(waiters);
+                waiters.clear();
+            }
+            ready.forEach(waiter -> waiter.future().completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            shipper.stop().get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Outbox shipment still running at shutdown: {}", e.getMessage());
+        }
+        shipperScheduler.shutdownNow();
+        fsyncScheduler.shutdownNow();
+        sync();
+        if (pending() > 0) {
+            logger.info("Outbox closed with {} records left for the next start", pending());
+        }
+        log.close();
+        deadLetters.close();
+    }
+
+    private static ThreadFactory daemonThread(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Waiter(long sequence, CompletableFuture<Long> future) {
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.outbox;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+/**
+ * @param directory where the log segments and dead letters live; defaults to {@code ~/.outbox}
+ *                  so unshipped messages survive a {@code gradle clean}
+ */
+public record OutboxSettings(Path directory,
+                             int segmentBytes,
+                             Duration fsyncInterval,
+                             int fsyncBatchSize,
+                             int shipBatchSize,
+                             Duration shipInterval,
+                             int maxShipAttempts) {
+
+    public OutboxSettings {
+        if (segmentBytes < 4_096) {
+            throw new IllegalArgumentException("segmentBytes must be >= 4096");
+        }
+        if (fsyncInterval.isZero() || fsyncInterval.isNegative()) {
+            throw new IllegalArgumentException("fsyncInterval must be > 0");
+        }
+        if (fsyncBatchSize <= 0) {
+            throw new IllegalArgumentException("fsyncBatchSize must be > 0");
+        }
+        if (shipBatchSize <= 0) {
+            throw new IllegalArgumentException("shipBatchSize must be > 0");
+        }
+        if (shipInterval.isZero() || shipInterval.isNegative()) {
+            throw new IllegalArgumentException("shipInterval must be > 0");
+        }
+        if (maxShipAttempts <= 0) {
+            throw new IllegalArgumentException("maxShipAttempts must be > 0");
+        }
+    }
+
+    public static OutboxSettings defaults() {
+        return new OutboxSettings(Path.of(System.getProperty("user.home"), ".outbox"), 16 * 1024 * 1024, Duration.ofMillis(5), 256,
+                100, Duration.ofMillis(50), 10);
+    }
+
+    public static OutboxSettings fromSystemProperties() {
+        OutboxSettings defaults = defaults();
+        String directory = System.getProperty("OUTBOX_DIR");
+        return new OutboxSettings(
+                directory == null || directory.isBlank() ? defaults.directory() : Path.of(directory.trim()),
+                intProperty("OUTBOX_SEGMENT_BYTES", defaults.segmentBytes()),
+                durationProperty("OUTBOX_FSYNC_INTERVAL_MS", defaults.fsyncInterval()),
+                intProperty("OUTBOX_FSYNC_BATCH", defaults.fsyncBatchSize()),
+                intProperty("OUTBOX_SHIP_BATCH", defaults.shipBatchSize()),
+                durationProperty("OUTBOX_SHIP_INTERVAL_MS", defaults.shipInterval()),
+                intProperty("OUTBOX_MAX_SHIP_ATTEMPTS", defaults.maxShipAttempts())
+        );
+    }
+}
@@ -0,0 +1,301 @@
+package org.example.outbox;
+
+import org.example.config.LocalStackConfig;
+import org.example.resilience.ServiceGuards;
+import org.example.tracing.TraceStamper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the write-ahead log in sequence order. Each round reads up to {@code shipBatchSize}
+ * records past the checkpoint, groups the ones not yet shipped by destination into calls of at
+ * most ten entries, and advances the checkpoint to just before the first record still failing.
+ * Records shipped behind a failure are remembered and skipped on later rounds. A record that
+ * fails {@code maxShipAttempts} times is appended to the dead-letter log and no longer holds
+ * back the checkpoint. Shipped records are only forgotten on restart, so delivery is at-least-once.
+ * Clients come from {@link LocalStackConfig} on the first call to each service, so an outbox that
+ * only ever ships to SQS never builds the SNS or EventBridge client.
+ */
+final class OutboxShipper {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxShipper.class);
+    private static final int MAX_ENTRIES_PER_CALL = 10;
+    private static final int MAX_BYTES_PER_CALL = 256 * 1024;
+
+    private final WriteAheadLog log;
+    private final WriteAheadLog deadLetters;
+    private final OutboxSettings settings;
+    private final LocalStackConfig config;
+    private final ServiceGuards guards;
+    private final ScheduledExecutorService scheduler;
+    private final LongAdder shipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final Set<Long> resolved = new HashSet<>();
+    private final Map<Long, Integer> attempts = new HashMap<>();
+    private volatile boolean running;
+    private volatile CompletableFuture<Integer> currentRound = CompletableFuture.completedFuture(0);
+
+    OutboxShipper(WriteAheadLog log, WriteAheadLog deadLetters, OutboxSettings settings,
+                  LocalStackConfig config, ServiceGuards guards, ScheduledExecutorService scheduler) {
+        this.log = log;
+        this.deadLetters = deadLetters;
+        this.settings = settings;
+        this.config = config;
+        this.guards = guards;
+        this.scheduler = scheduler;
+    }
+
+    void start() {
+        running = true;
+        scheduler.execute(this::shipNext);
+    }
+
+    CompletableFuture<Integer> stop() {
+        running = false;
+        return currentRound;
+    }
+
+    long shippedCount() {
+        return shipped.sum();
+    }
+
+    long failedCount() {
+        return failed.sum();
+    }
+
+    long deadLetteredCount() {
+        return deadLettered.sum();
+    }
+
+    private void shipNext() {
+        if (!running) {
+            return;
+        }
+        CompletableFuture<Integer> round = shipBatch();
+        currentRound = round;
+        round.whenComplete((count, throwable) -> {
+            if (throwable != null) {
+                logger.warn("Outbox shipment failed: {}", throwable.getMessage());
+            }
+            if (running) {
+                boolean more = throwable == null && count == settings.shipBatchSize();
+                scheduler.schedule(this::shipNext, more ? 0L : settings.shipInterval().toMillis(),
+                        TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    CompletableFuture<Integer> shipBatch() {
+        List<WriteAheadLog.LogRecord> records = log.read(log.checkpointed() + 1, settings.shipBatchSize());
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        List<WriteAheadLog.LogRecord> unshipped = records.stream()
+                .filter(record -> !resolved.contains(record.sequence()))
+                .toList();
+        List<CompletableFuture<List<Long>>> calls = new ArrayList<>();
+        for (List<Entry> call : plan(unshipped)) {
+            List<Long> sequences = call.stream().map(Entry::sequence).toList();
+            calls.add(send(call).exceptionally(throwable -> {
+                logger.warn("Outbox call to {} failed: {}", call.get(0).message().target(), throwable.getMessage());
+                return sequences;
+            }));
+        }
+
+        long first = records.get(0).sequence();
+        long last = records.get(records.size() - 1).sequence();
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                .thenApplyAsync(ignored -> {
+                    Set<Long> failures = new HashSet<>();
+                    for (CompletableFuture<List<Long>> call : calls) {
+                        failures.addAll(call.join());
+                    }
+                    long firstFailure = Long.MAX_VALUE;
+                    for (WriteAheadLog.LogRecord record : unshipped) {
+                        if (!failures.contains(record.sequence())) {
+                            resolved.add(record.sequence());
+                            shipped.increment();
+                        } else if (deadLetterIfExhausted(record)) {
+                            resolved.add(record.sequence());
+                        } else {
+                            firstFailure = Math.min(firstFailure, record.sequence());
+                        }
+                    }
+                    long checkpoint = firstFailure == Long.MAX_VALUE ? last : firstFailure - 1;
+                    log.checkpoint(checkpoint);
+                    resolved.removeIf(sequence -> sequence <= checkpoint);
+                    attempts.keySet().removeIf(sequence -> sequence <= checkpoint);
+                    return firstFailure == Long.MAX_VALUE ? records.size() : (int) (checkpoint - first + 1);
+                }, scheduler);
+    }
+
+    private boolean deadLetterIfExhausted(WriteAheadLog.LogRecord record) {
+        int attempt = attempts.merge(record.sequence(), 1, Integer::sum);
+        if (attempt == 1) {
+            failed.increment();
+        }
+        if (attempt < settings.maxShipAttempts()) {
+            return false;
+        }
+        OutboxMessage message = OutboxMessage.decode(ByteBuffer.wrap(record.payload()));
+        try {
+            deadLetters.append(record.payload());
+            deadLetters.sync();
+        } catch (RuntimeException e) {
+            logger.error("Could not dead-letter outbox record {}: {}", record.sequence(), e.getMessage());
+            return false;
+        }
+        attempts.remove(record.sequence());
+        deadLettered.increment();
+        logger.error("Outbox record {} to {} {} dead-lettered after {} attempts", record.sequence(),
+                message.destination(), message.target(), attempt);
+        return true;
+    }
+
+    private static List<List<Entry>> plan(List<WriteAheadLog.LogRecord> records) {
+        Map<String, List<Entry>> open = new LinkedHashMap<>();
+        Map<String, Integer> openBytes = new LinkedHashMap<>();
+        List<List<Entry>> calls = new ArrayList<>();
+        for (WriteAheadLog.LogRecord record : records) {
+            OutboxMessage message = OutboxMessage.decode(ByteBuffer.wrap(record.payload()));
+            String key = message.destination() + " " + message.target();
+            int bytes = entryBytes(message);
+            List<Entry> call = open.get(key);
+            if (call != null && (call.size() == MAX_ENTRIES_PER_CALL || openBytes.get(key) + bytes > MAX_BYTES_PER_CALL)) {
+                calls.add(call);
+                call = null;
+            }
+            if (call == null) {
+                call = new ArrayList<>(MAX_ENTRIES_PER_CALL);
+                open.put(key, call);
+                openBytes.put(key, 0);
+            }
+            call.add(new Entry(record.sequence(), message));
+            openBytes.merge(key, bytes, Integer::sum);
+        }
+        calls.addAll(open.values());
+        return calls;
+    }
+
+    /**
+     * What the entry counts against the per-call size limit: the body plus the subject and trace
+     * attributes it is sent with, or for EventBridge the source, detail type and bus name.
+     */
+    private static int entryBytes(OutboxMessage message) {
+        int bytes = utf8Length(message.body());
+        return switch (message.destination()) {
+            case SQS -> bytes + TraceStamper.sqsAttributes(message.trace()).entrySet().stream()
+                    .mapToInt(attribute -> utf8Length(attribute.getKey()) + utf8Length(attribute.getValue().dataType())
+                            + utf8Length(attribute.getValue().stringValue()))
+                    .sum();
+            case SNS -> bytes + utf8Length(message.subject()) + TraceStamper.snsAttributes(message.trace()).entrySet()
+                    .stream()
+                    .mapToInt(attribute -> utf8Length(attribute.getKey()) + utf8Length(attribute.getValue().dataType())
+                            + utf8Length(attribute.getValue().stringValue()))
+                    .sum();
+            case EVENTBRIDGE -> bytes + utf8Length(message.subject()) + utf8Length(message.detailType())
+                    + utf8Length(message.target());
+        };
+    }
+
+    private static int utf8Length(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private CompletableFuture<List<Long>> send(List<Entry> call) {
+        OutboxMessage first = call.get(0).message();
+        return switch (first.destination()) {
+            case SQS -> sendToQueue(first.target(), call);
+            case SNS -> publishToTopic(first.target(), call);
+            case EVENTBRIDGE -> putEvents(first.target(), call);
+        };
+    }
+
+    private CompletableFuture<List<Long>> sendToQueue(String queueUrl, List<Entry> call) {
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(call.stream()
+                        .map(entry -> SendMessageBatchRequestEntry.builder()
+                                .id(Long.toString(entry.sequence()))
+                                .messageBody(entry.message().body())
+                                .messageAttributes(TraceStamper.sqsAttributes(entry.message().trace()))
+                                .build())
+                        .toList())
+                .build();
+
+        return guards.sqs().execute("SendMessageBatch", queueUrl, call.size(),
+                        () -> config.getSqsAsyncClient().sendMessageBatch(request))
+                .thenApply(response -> response.failed().stream()
+                        .map(failure -> Long.parseLong(failure.id()))
+                        .toList());
+    }
+
+    private CompletableFuture<List<Long>> publishToTopic(String topicArn, List<Entry> call) {
+        PublishBatchRequest request = PublishBatchRequest.builder()
+                .topicArn(topicArn)
+                .publishBatchRequestEntries(call.stream()
+                        .map(entry -> PublishBatchRequestEntry.builder()
+                                .id(Long.toString(entry.sequence()))
+                                .subject(entry.message().subject())
+                                .message(entry.message().body())
+                                .messageAttributes(TraceStamper.snsAttributes(entry.message().trace()))
+                                .build())
+                        .toList())
+                .build();
+
+        return guards.sns().execute("PublishBatch", topicArn, call.size(),
+                        () -> config.getSnsAsyncClient().publishBatch(request))
+                .thenApply(response -> response.failed().stream()
+                        .map(failure -> Long.parseLong(failure.id()))
+                        .toList());
+    }
+
+    private CompletableFuture<List<Long>> putEvents(String eventBusName, List<Entry> call) {
+        PutEventsRequest request = PutEventsRequest.builder()
+                .entries(call.stream()
+                        .map(entry -> PutEventsRequestEntry.builder()
+                                .eventBusName(eventBusName)
+                                .source(entry.message().subject())
+                                .detailType(entry.message().detailType())
+                                .detail(entry.message().body())
+                                .build())
+                        .toList())
+                .build();
+
+        return guards.eventBridge().execute("PutEvents", eventBusName, call.size(),
+                        () -> config.getEventBridgeAsyncClient().putEvents(request))
+                .thenApply(response -> {
+                    List<Long> failures = new ArrayList<>();
+                    for (int i = 0; i < response.entries().size(); i++) {
+                        if (response.entries().get(i).errorCode() != null) {
+                            failures.add(call.get(i).sequence());
+                        }
+                    }
+                    return failures;
+                });
+    }
+
+    private record Entry(long sequence, OutboxMessage message) {
+    }
+}
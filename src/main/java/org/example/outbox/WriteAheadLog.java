@@ -0,0 +1,324 @@
+package org.example.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log made of fixed-size memory-mapped segments named after their first sequence.
+ * Each record is framed as {@code [int length][int crc32c][long sequence][payload]}; fresh
+ * segments are zero-filled, so a zero length marks the end of written data and a bad checksum
+ * marks a torn write, which recovery discards. Appends only touch the mapping; {@link #sync()}
+ * forces the dirty range of the active segment so callers can batch fsyncs. A separate
+ * checkpoint file holds the last shipped sequence, and segments entirely below it are deleted.
+ */
+final class WriteAheadLog implements AutoCloseable {
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final List<Segment> segments = new ArrayList<>();
+    private long nextSequence;
+    private long checkpoint;
+    private int syncedPosition;
+    private Cursor cursor;
+
+    private WriteAheadLog(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    static WriteAheadLog open(Path directory, int segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        WriteAheadLog log = new WriteAheadLog(directory, segmentBytes);
+        log.recover();
+        return log;
+    }
+
+    private void recover() throws IOException {
+        checkpoint = readCheckpoint();
+        nextSequence = checkpoint + 1;
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Segment segment = Segment.map(file, Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())),
+                    segmentBytes);
+            segments.add(segment);
+            long last = segment.scan();
+            if (last >= nextSequence) {
+                nextSequence = last + 1;
+            }
+        }
+
+        if (segments.isEmpty()) {
+            segments.add(newSegment(nextSequence));
+        }
+        Segment active = active();
+        active.clearFrom(active.writePosition);
+        syncedPosition = active.writePosition;
+        truncate();
+    }
+
+    synchronized long append(byte[] payload) {
+        int frameBytes = HEADER_BYTES + payload.length;
+        if (frameBytes > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit a "
+                    + segmentBytes + " byte segment");
+        }
+        Segment active = active();
+        if (active.writePosition + frameBytes > segmentBytes) {
+            active.force(syncedPosition, active.writePosition);
+            active = newSegment(nextSequence);
+            segments.add(active);
+            syncedPosition = 0;
+        }
+
+        long sequence = nextSequence++;
+        CRC32C crc = new CRC32C();
+        crc.update(sequenceBytes(sequence));
+        crc.update(payload);
+
+        MappedByteBuffer buffer = active.buffer;
+        int position = active.writePosition;
+        buffer.putLong(position + Integer.BYTES + Integer.BYTES, sequence);
+        buffer.put(position + HEADER_BYTES, payload);
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+        active.writePosition = position + frameBytes;
+        return sequence;
+    }
+
+    synchronized long sync() {
+        Segment active = active();
+        if (active.writePosition > syncedPosition) {
+            active.force(syncedPosition, active.writePosition);
+            syncedPosition = active.writePosition;
+        }
+        return nextSequence - 1;
+    }
+
+    synchronized List<LogRecord> read(long fromSequence, int maxRecords) {
+        List<LogRecord> records = new ArrayList<>(Math.min(maxRecords, 64));
+        if (fromSequence >= nextSequence) {
+            return records;
+        }
+        Cursor position = cursor != null && cursor.nextSequence == fromSequence && segments.contains(cursor.segment)
+                ? cursor
+                : seek(fromSequence);
+
+        Segment segment = position.segment;
+        int offset = position.offset;
+        while (records.size() < maxRecords) {
+            if (offset + HEADER_BYTES > segmentBytes || segment.buffer.getInt(offset) == 0) {
+                int next = segments.indexOf(segment) + 1;
+                if (next >= segments.size()) {
+                    break;
+                }
+                segment = segments.get(next);
+                offset = 0;
+                continue;
+            }
+            int length = segment.buffer.getInt(offset);
+            long sequence = segment.buffer.getLong(offset + Integer.BYTES + Integer.BYTES);
+            if (sequence >= fromSequence) {
+                byte[] payload = new byte[length];
+                segment.buffer.get(offset + HEADER_BYTES, payload);
+                records.add(new LogRecord(sequence, payload));
+            }
+            offset += HEADER_BYTES + length;
+        }
+
+        long next = records.isEmpty() ? fromSequence : records.get(records.size() - 1).sequence() + 1;
+        cursor = new Cursor(segment, offset, next);
+        return records;
+    }
+
+    private Cursor seek(long sequence) {
+        Segment target = segments.get(0);
+        for (Segment segment : segments) {
+            if (segment.firstSequence <= sequence) {
+                target = segment;
+            }
+        }
+        return new Cursor(target, 0, sequence);
+    }
+
+    synchronized void checkpoint(long sequence) {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(sequenceBytes(sequence)));
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        checkpoint = sequence;
+        truncate();
+    }
+
+    private void truncate() {
+        while (segments.size() > 1 && segments.get(1).firstSequence <= checkpoint + 1) {
+            Segment shipped = segments.remove(0);
+            shipped.delete();
+        }
+    }
+
+    synchronized long checkpointed() {
+        return checkpoint;
+    }
+
+    synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        sync();
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private Segment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private Segment newSegment(long firstSequence) {
+        try {
+            return Segment.map(directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX)),
+                    firstSequence, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0L;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0L;
+    }
+
+    private static byte[] sequenceBytes(long sequence) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(sequence).array();
+    }
+
+    record LogRecord(long sequence, byte[] payload) {
+    }
+
+    private record Cursor(Segment segment, int offset, long nextSequence) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long firstSequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, long firstSequence, int segmentBytes) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            return new Segment(path, firstSequence, channel, buffer);
+        }
+
+        long scan() {
+            long last = -1L;
+            int position = 0;
+            while (position + HEADER_BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                    break;
+                }
+                long sequence = buffer.getLong(position + Integer.BYTES + Integer.BYTES);
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                CRC32C crc = new CRC32C();
+                crc.update(sequenceBytes(sequence));
+                crc.update(payload);
+                if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                    break;
+                }
+                last = sequence;
+                position += HEADER_BYTES + length;
+            }
+            writePosition = position;
+            return last;
+        }
+
+        void clearFrom(int position) {
+            if (position + Integer.BYTES > buffer.capacity() || buffer.getInt(position) == 0) {
+                return;
+            }
+            byte[] zeros = new byte[Math.min(64 * 1024, buffer.capacity() - position)];
+            for (int offset = position; offset < buffer.capacity(); offset += zeros.length) {
+                buffer.put(offset, zeros, 0, Math.min(zeros.length, buffer.capacity() - offset));
+            }
+            buffer.force(position, buffer.capacity() - position);
+        }
+
+        void force(int from, int to) {
+            if (to > from) {
+                buffer.force(from, to - from);
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.provisioning;
+
+public record ProvisionedTenant(String tenantId, String queueUrl, String queueArn, String topicArn,
+                                String subscriptionArn) {
+}
@@ -0,0 +1,8 @@
+package org.example.provisioning;
+
+public record ProvisioningProgress(int total, int provisioned, int failed) {
+
+    public int remaining() {
+        return total - provisioned - failed;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.provisioning;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @param provisioned tenants whose queue, topic and subscription all exist, including those
+ *                    carried over from the report a run resumed from
+ * @param failures    error message per tenant that still failed after its retries
+ * @param elapsed     wall-clock time of this run
+ */
+public record ProvisioningReport(List<ProvisionedTenant> provisioned, Map<String, String> failures,
+                                 Duration elapsed) {
+
+    public ProvisioningReport {
+        provisioned = List.copyOf(provisioned);
+        failures = Map.copyOf(failures);
+    }
+
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.provisioning;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.doubleProperty;
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+/**
+ * @param parallelism      tenants provisioned concurrently
+ * @param tenantsPerSecond rate at which new tenants are started, to stay under control-plane API limits
+ * @param maxAttempts      attempts per tenant, each resuming from the first step that has not succeeded;
+ *                         every attempt's calls also get the service guard's {@code RETRY_MAX_ATTEMPTS}
+ * @param retryBackoff     delay before the second attempt, doubled for every further one
+ */
+public record ProvisioningSettings(int parallelism, double tenantsPerSecond, int maxAttempts,
+                                   Duration retryBackoff) {
+
+    public ProvisioningSettings {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1");
+        }
+        if (tenantsPerSecond <= 0.0) {
+            throw new IllegalArgumentException("tenantsPerSecond must be > 0");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be >= 1");
+        }
+        if (retryBackoff.isNegative()) {
+            throw new IllegalArgumentException("retryBackoff must be >= 0");
+        }
+    }
+
+    public static ProvisioningSettings defaults() {
+        return new ProvisioningSettings(32, 50.0, 4, Duration.ofMillis(500));
+    }
+
+    public static ProvisioningSettings fromSystemProperties() {
+        ProvisioningSettings defaults = defaults();
+        return new ProvisioningSettings(
+                intProperty("PROVISIONING_PARALLELISM", defaults.parallelism()),
+                doubleProperty("PROVISIONING_TENANTS_PER_SECOND", defaults.tenantsPerSecond()),
+                intProperty("PROVISIONING_MAX_ATTEMPTS", defaults.maxAttempts()),
+                durationProperty("PROVISIONING_RETRY_BACKOFF_MS", defaults.retryBackoff())
+        );
+    }
+}
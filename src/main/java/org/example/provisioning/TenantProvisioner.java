@@ -0,0 +1,289 @@
+package org.example.provisioning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.lifecycle.LifecycleManager;
+import org.example.resilience.TokenBucketRateLimiter;
+import org.example.service.SnsService;
+import org.example.service.SqsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates a topic, a queue that the topic may deliver to, and the subscription between them
+ * for every tenant of a batch. A fixed number of tenants are in flight at once and new ones
+ * start at a bounded rate. A failed tenant is retried from the step that failed, and a later
+ * run can resume from the report of an earlier one, skipping tenants that are already done.
+ * Each call already goes through the service guard's own retries, so these retries only start
+ * once the guard has given up: a step may be sent up to {@code maxAttempts} times
+ * {@code RETRY_MAX_ATTEMPTS} times. Closing the provisioner fails any run still in progress.
+ *
+ * <p>The queue ARN is derived from the topic ARN, so the delivery policy is set by CreateQueue
+ * itself and each tenant takes three calls. Every call is idempotent for identical arguments.
+ */
+@Singleton
+public class TenantProvisioner implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TenantProvisioner.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ProvisioningSettings settings;
+    private final SqsService sqsService;
+    private final SnsService snsService;
+    private final ScheduledExecutorService scheduler;
+    private final Set<Run> runs = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public TenantProvisioner(ProvisioningSettings settings, SqsService sqsService, SnsService snsService,
+                             LifecycleManager lifecycle) {
+        this.settings = settings;
+        this.sqsService = sqsService;
+        this.snsService = snsService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tenant-provisioner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lifecycle.onShutdown("tenant-provisioner", this);
+    }
+
+    public CompletableFuture<ProvisioningReport> provision(List<TenantSpec> tenants) {
+        return provision(tenants, null, progress -> {
+        });
+    }
+
+    /**
+     * @param previous report of an earlier run over the same tenants, or {@code null}
+     * @param progress called after every tenant that finishes or gives up
+     */
+    public CompletableFuture<ProvisioningReport> provision(List<TenantSpec> tenants, ProvisioningReport previous,
+                                                           Consumer<ProvisioningProgress> progress) {
+        List<ProvisionedTenant> done = previous == null ? List.of() : previous.provisioned();
+        Set<String> doneIds = done.stream().map(ProvisionedTenant::tenantId).collect(Collectors.toSet());
+        List<TenantSpec> pending = tenants.stream()
+                .filter(tenant -> !doneIds.contains(tenant.tenantId()))
+                .toList();
+        return new Run(pending, done, progress).start();
+    }
+
+    static String queueArn(String topicArn, String queueName) {
+        String[] parts = topicArn.split(":", 6);
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Not a topic ARN: " + topicArn);
+        }
+        return String.join(":", parts[0], parts[1], "sqs", parts[3], parts[4], queueName);
+    }
+
+    static String deliveryPolicy(String queueArn, String topicArn) {
+        ObjectNode statement = MAPPER.createObjectNode()
+                .put("Sid", "AllowTopicDelivery")
+                .put("Effect", "Allow")
+                .put("Action", "sqs:SendMessage")
+                .put("Resource", queueArn);
+        statement.putObject("Principal").put("Service", "sns.amazonaws.com");
+        statement.putObject("Condition").putObject("ArnEquals").put("aws:SourceArn", topicArn);
+
+        ObjectNode policy = MAPPER.createObjectNode().put("Version", "2012-10-17");
+        policy.putArray("Statement").add(statement);
+        return policy.toString();
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        return cause instanceof SdkServiceException serviceException
+                && (serviceException.statusCode() >= 500 || serviceException.isThrottlingException());
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        IllegalStateException closed = new IllegalStateException("Tenant provisioner is closed");
+        runs.forEach(run -> run.abort(closed));
+    }
+
+    private final class Run {
+        private final List<TenantSpec> tenants;
+        private final int total;
+        private final Consumer<ProvisioningProgress> progress;
+        private final ConcurrentLinkedQueue<ProvisionedTenant> provisioned;
+        private final Map<String, String> failures = new ConcurrentHashMap<>();
+        private final TokenBucketRateLimiter rate = new TokenBucketRateLimiter(settings.tenantsPerSecond(), 1,
+                Long.MAX_VALUE);
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger lanes = new AtomicInteger();
+        private final int logEvery;
+        private final long startNanos = System.nanoTime();
+        private final CompletableFuture<ProvisioningReport> result = new CompletableFuture<>();
+
+        private Run(List<TenantSpec> tenants, List<ProvisionedTenant> done, Consumer<ProvisioningProgress> progress) {
+            this.tenants = tenants;
+            this.total = tenants.size() + done.size();
+            this.progress = progress;
+            this.provisioned = new ConcurrentLinkedQueue<>(done);
+            this.logEvery = Math.max(1, total / 10);
+        }
+
+        private CompletableFuture<ProvisioningReport> start() {
+            int parallelism = Math.min(settings.parallelism(), tenants.size());
+            if (parallelism == 0) {
+                finish();
+                return result;
+            }
+            lanes.set(parallelism);
+            runs.add(this);
+            for (int i = 0; i < parallelism; i++) {
+                execute(this::nextTenant);
+            }
+            return result;
+        }
+
+        private void nextTenant() {
+            int index = next.getAndIncrement();
+            if (index >= tenants.size()) {
+                if (lanes.decrementAndGet() == 0) {
+                    finish();
+                }
+                return;
+            }
+            TenantSpec tenant = tenants.get(index);
+            long delayNanos = rate.reserve();
+            schedule(() -> attempt(new TenantState(tenant), 1), delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void attempt(TenantState tenant, int attempt) {
+            CompletableFuture<ProvisionedTenant> step;
+            try {
+                step = tenant.advance();
+            } catch (RuntimeException e) {
+                step = CompletableFuture.failedFuture(e);
+            }
+            step.whenComplete((provisionedTenant, throwable) -> {
+                if (throwable == null) {
+                    provisioned.add(provisionedTenant);
+                    report();
+                    execute(this::nextTenant);
+                    return;
+                }
+                Throwable cause = unwrap(throwable);
+                if (attempt < settings.maxAttempts() && isRetryable(cause)) {
+                    long backoffMillis = settings.retryBackoff().toMillis() << Math.min(attempt - 1, 20);
+                    logger.debug("Retrying tenant {} in {} ms: {}", tenant.spec.tenantId(), backoffMillis,
+                            cause.getMessage());
+                    schedule(() -> attempt(tenant, attempt + 1), backoffMillis, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                logger.warn("Provisioning tenant {} failed after {} attempts: {}", tenant.spec.tenantId(), attempt,
+                        cause.getMessage());
+                failures.put(tenant.spec.tenantId(), String.valueOf(cause.getMessage()));
+                report();
+                execute(this::nextTenant);
+            });
+        }
+
+        private void report() {
+            ProvisioningProgress current = new ProvisioningProgress(total, provisioned.size(), failures.size());
+            int finished = current.provisioned() + current.failed();
+            if (finished % logEvery == 0) {
+                logger.info("Provisioned {} of {} tenants ({} failed)", current.provisioned(), total, current.failed());
+            }
+            try {
+                progress.accept(current);
+            } catch (RuntimeException e) {
+                logger.warn("Provisioning progress listener failed: {}", e.getMessage());
+            }
+        }
+
+        private void execute(Runnable task) {
+            schedule(task, 0L, TimeUnit.NANOSECONDS);
+        }
+
+        private void schedule(Runnable task, long delay, TimeUnit unit) {
+            try {
+                scheduler.schedule(task, delay, unit);
+            } catch (RejectedExecutionException e) {
+                abort(new IllegalStateException("Tenant provisioner is closed", e));
+            }
+        }
+
+        private void abort(Throwable cause) {
+            runs.remove(this);
+            if (result.completeExceptionally(cause)) {
+                logger.warn("Provisioning aborted with {} of {} tenants provisioned: {}", provisioned.size(), total,
+                        cause.getMessage());
+            }
+        }
+
+        private void finish() {
+            runs.remove(this);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            logger.info("Provisioning finished in {} ms: {} tenants provisioned, {} failed", elapsed.toMillis(),
+                    provisioned.size(), failures.size());
+            result.complete(new ProvisioningReport(new ArrayList<>(provisioned), failures, elapsed));
+        }
+    }
+
+    /** Resources created so far for one tenant; a retry continues from the first missing one. */
+    private final class TenantState {
+        private final TenantSpec spec;
+        private volatile String topicArn;
+        private volatile String queueUrl;
+        private volatile String subscriptionArn;
+
+        private TenantState(TenantSpec spec) {
+            this.spec = spec;
+        }
+
+        private CompletableFuture<ProvisionedTenant> advance() {
+            if (topicArn == null) {
+                return snsService.createTopic(spec.topicName()).thenCompose(arn -> {
+                    topicArn = arn;
+                    return advance();
+                });
+            }
+            String queueArn = queueArn(topicArn, spec.queueName());
+            if (queueUrl == null) {
+                Map<QueueAttributeName, String> attributes =
+                        Map.of(QueueAttributeName.POLICY, deliveryPolicy(queueArn, topicArn));
+                return sqsService.createQueue(spec.queueName(), attributes).thenCompose(url -> {
+                    queueUrl = url;
+                    return advance();
+                });
+            }
+            if (subscriptionArn == null) {
+                return snsService.subscribeSqsToTopic(topicArn, queueArn).thenCompose(arn -> {
+                    subscriptionArn = arn;
+                    return advance();
+                });
+            }
+            return CompletableFuture.completedFuture(
+                    new ProvisionedTenant(spec.tenantId(), queueUrl, queueArn, topicArn, subscriptionArn));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.provisioning;
+
+/**
+ * @param tenantId  unique tenant key, used to resume a partially provisioned batch
+ * @param queueName SQS queue the tenant consumes from
+ * @param topicName SNS topic the tenant's events are published to
+ */
+public record TenantSpec(String tenantId, String queueName, String topicName) {
+
+    public TenantSpec {
+        if (tenantId == null || tenantId.isBlank()) {
+            throw new IllegalArgumentException("tenantId must not be blank");
+        }
+        if (queueName == null || queueName.isBlank()) {
+            throw new IllegalArgumentException("queueName must not be blank");
+        }
+        if (topicName == null || topicName.isBlank()) {
+            throw new IllegalArgumentException("topicName must not be blank");
+        }
+    }
+
+    public static TenantSpec of(String tenantId) {
+        return new TenantSpec(tenantId, tenantId + "-queue", tenantId + "-events");
+    }
+}
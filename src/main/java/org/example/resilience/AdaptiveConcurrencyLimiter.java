@@ -0,0 +1,199 @@
+package org.example.resilience;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limiter with a latency signal: the limit grows by one for every
+ * successful sample taken while at least half utilised, and shrinks by
+ * {@code backoffRatio} on throttling or when a sample exceeds
+ * {@code latencyTolerance} times the minimum RTT seen in the current window.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final String name;
+    private final ConcurrencyLimiterSettings settings;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<CompletableFuture<Permit>> waiters = new ConcurrentLinkedQueue<>();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long rttWindowStartNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimiterSettings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.estimatedLimit = settings.initialLimit();
+        this.limit = settings.initialLimit();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(current + 1));
+            }
+        }
+    }
+
+    public CompletableFuture<Permit> acquireAsync() {
+        Optional<Permit> permit = tryAcquire();
+        if (permit.isPresent()) {
+            return CompletableFuture.completedFuture(permit.get());
+        }
+
+        if (queued.incrementAndGet() > settings.maxQueuedAcquires()) {
+            queued.decrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Concurrency limiter '" + name + "' has " + settings.maxQueuedAcquires() + " queued acquires"));
+        }
+
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        drainWaiters();
+        return waiter;
+    }
+
+    public Permit acquire() throws InterruptedException {
+        CompletableFuture<Permit> waiter = acquireAsync();
+        try {
+            return waiter.get();
+        } catch (InterruptedException e) {
+            abandon(waiter);
+            throw e;
+        } catch (ExecutionException e) {
+            throw unwrapRejection(e);
+        }
+    }
+
+    public Optional<Permit> acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        CompletableFuture<Permit> waiter = acquireAsync();
+        try {
+            return Optional.of(waiter.get(timeout, unit));
+        } catch (TimeoutException e) {
+            abandon(waiter);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            abandon(waiter);
+            throw e;
+        } catch (ExecutionException e) {
+            throw unwrapRejection(e);
+        }
+    }
+
+    private static RuntimeException unwrapRejection(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private void abandon(CompletableFuture<Permit> waiter) {
+        if (!waiter.cancel(false)) {
+            Permit granted = waiter.getNow(null);
+            if (granted != null) {
+                granted.onIgnore();
+            }
+        }
+    }
+
+    private void drainWaiters() {
+        while (!waiters.isEmpty()) {
+            Optional<Permit> permit = tryAcquire();
+            if (permit.isEmpty()) {
+                return;
+            }
+            CompletableFuture<Permit> waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            if (!waiter.complete(permit.get())) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private synchronized void adjust(long rttNanos, int inFlightAtAcquire, boolean dropped) {
+        long now = System.nanoTime();
+        if (now - rttWindowStartNanos > settings.minRttWindow().toNanos()) {
+            minRttNanos = Long.MAX_VALUE;
+            rttWindowStartNanos = now;
+        }
+
+        boolean tooSlow = false;
+        if (rttNanos > 0) {
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+            tooSlow = rttNanos > minRttNanos * settings.latencyTolerance();
+        }
+
+        if (dropped || tooSlow) {
+            estimatedLimit = Math.max(settings.minLimit(), estimatedLimit * settings.backoffRatio());
+        } else if (inFlightAtAcquire * 2 >= estimatedLimit) {
+            estimatedLimit = Math.min(settings.maxLimit(), estimatedLimit + 1);
+        }
+        limit = (int) estimatedLimit;
+    }
+
+    public final class Permit {
+        private final long acquiredAtNanos = System.nanoTime();
+        private final int inFlightAtAcquire;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(int inFlightAtAcquire) {
+            this.inFlightAtAcquire = inFlightAtAcquire;
+        }
+
+        public void onSuccess() {
+            release(System.nanoTime() - acquiredAtNanos, false, true);
+        }
+
+        public void onThrottled() {
+            release(0, true, true);
+        }
+
+        public void onIgnore() {
+            release(0, false, false);
+        }
+
+        private void release(long rttNanos, boolean dropped, boolean sample) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (sample) {
+                adjust(rttNanos, inFlightAtAcquire, dropped);
+            }
+            inFlight.decrementAndGet();
+            drainWaiters();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based sliding-window circuit breaker. Opens when the failure rate over the
+ * last {@code slidingWindowSize} calls reaches the threshold, fails fast for
+ * {@code openDuration}, then lets {@code halfOpenPermits} trial calls through and
+ * closes only if all of them succeed.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final CircuitBreakerSettings settings;
+    private final LongSupplier clock;
+    private final boolean[] window;
+
+    private volatile State state = State.CLOSED;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failuresInWindow;
+    private long openedAtNanos;
+    private int halfOpenIssued;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, CircuitBreakerSettings settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerSettings settings, LongSupplier clock) {
+        this.name = name;
+        this.settings = settings;
+        this.clock = clock;
+        this.window = new boolean[settings.slidingWindowSize()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return recordedCalls == 0 ? 0.0 : (double) failuresInWindow / recordedCalls;
+    }
+
+    public void acquirePermission() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                long remainingNanos = openedAtNanos + settings.openDuration().toNanos() - clock.getAsLong();
+                if (remainingNanos > 0) {
+                    throw new CircuitBreakerOpenException("Circuit breaker '" + name + "' is OPEN; failing fast for another "
+                            + (remainingNanos / 1_000_000) + " ms");
+                }
+                state = State.HALF_OPEN;
+                halfOpenIssued = 0;
+                halfOpenSucceeded = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenIssued >= settings.halfOpenPermits()) {
+                    throw new CircuitBreakerOpenException("Circuit breaker '" + name
+                            + "' is HALF_OPEN and all trial calls are in flight");
+                }
+                halfOpenIssued++;
+            }
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenSucceeded++;
+            if (halfOpenSucceeded >= settings.halfOpenPermits()) {
+                transitionToClosed();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionToOpen();
+            return;
+        }
+        record(true);
+    }
+
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenIssued > 0) {
+            halfOpenIssued--;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recordedCalls == window.length) {
+            if (window[windowIndex]) {
+                failuresInWindow--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failuresInWindow++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+
+        if (recordedCalls >= settings.minimumCalls()
+                && failuresInWindow >= settings.failureRateThreshold() * recordedCalls) {
+            transitionToOpen();
+        }
+    }
+
+    private void transitionToOpen() {
+        state = State.OPEN;
+        openedAtNanos = clock.getAsLong();
+    }
+
+    private void transitionToClosed() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        recordedCalls = 0;
+        failuresInWindow = 0;
+    }
+}
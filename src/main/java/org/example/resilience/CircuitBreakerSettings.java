@@ -0,0 +1,41 @@
+package org.example.resilience;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.doubleProperty;
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+public record CircuitBreakerSettings(int slidingWindowSize,
+                                     int minimumCalls,
+                                     double failureRateThreshold,
+                                     Duration openDuration,
+                                     int halfOpenPermits) {
+
+    public CircuitBreakerSettings {
+        if (slidingWindowSize <= 0 || minimumCalls <= 0 || minimumCalls > slidingWindowSize) {
+            throw new IllegalArgumentException("Need 0 < minimumCalls <= slidingWindowSize");
+        }
+        if (failureRateThreshold <= 0.0 || failureRateThreshold > 1.0) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+        }
+        if (halfOpenPermits <= 0) {
+            throw new IllegalArgumentException("halfOpenPermits must be > 0");
+        }
+    }
+
+    public static CircuitBreakerSettings defaults() {
+        return new CircuitBreakerSettings(50, 20, 0.5, Duration.ofSeconds(10), 3);
+    }
+
+    public static CircuitBreakerSettings fromSystemProperties() {
+        CircuitBreakerSettings defaults = defaults();
+        return new CircuitBreakerSettings(
+                intProperty("BREAKER_WINDOW_SIZE", defaults.slidingWindowSize()),
+                intProperty("BREAKER_MINIMUM_CALLS", defaults.minimumCalls()),
+                doubleProperty("BREAKER_FAILURE_RATE", defaults.failureRateThreshold()),
+                durationProperty("BREAKER_OPEN_MS", defaults.openDuration()),
+                intProperty("BREAKER_HALF_OPEN_PERMITS", defaults.halfOpenPermits())
+        );
+    }
+}
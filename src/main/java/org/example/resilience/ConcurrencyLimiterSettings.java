@@ -0,0 +1,57 @@
+package org.example.resilience;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.doubleProperty;
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+public record ConcurrencyLimiterSettings(int initialLimit,
+                                         int minLimit,
+                                         int maxLimit,
+                                         double backoffRatio,
+                                         double latencyTolerance,
+                                         Duration minRttWindow,
+                                         int maxQueuedAcquires,
+                                         int maxLongPolls) {
+
+    public ConcurrencyLimiterSettings {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < minLimit <= maxLimit");
+        }
+        if (initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("initialLimit must be within [minLimit, maxLimit]");
+        }
+        if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1)");
+        }
+        if (latencyTolerance < 1.0) {
+            throw new IllegalArgumentException("latencyTolerance must be >= 1");
+        }
+        if (maxQueuedAcquires < 0) {
+            throw new IllegalArgumentException("maxQueuedAcquires must be >= 0");
+        }
+        if (maxLongPolls < 0) {
+            throw new IllegalArgumentException("maxLongPolls must be >= 0");
+        }
+    }
+
+    public static ConcurrencyLimiterSettings defaults() {
+        return new ConcurrencyLimiterSettings(20, 1, 100, 0.9, 2.0, Duration.ofSeconds(30), 10_000, 100);
+    }
+
+    public static ConcurrencyLimiterSettings fromSystemProperties(int maxLimit) {
+        ConcurrencyLimiterSettings defaults = defaults();
+        int max = intProperty("LIMITER_MAX", maxLimit);
+        return new ConcurrencyLimiterSettings(
+                intProperty("LIMITER_INITIAL", Math.min(defaults.initialLimit(), max)),
+                intProperty("LIMITER_MIN", defaults.minLimit()),
+                max,
+                doubleProperty("LIMITER_BACKOFF_RATIO", defaults.backoffRatio()),
+                doubleProperty("LIMITER_LATENCY_TOLERANCE", defaults.latencyTolerance()),
+                durationProperty("LIMITER_MIN_RTT_WINDOW_MS", defaults.minRttWindow()),
+                intProperty("LIMITER_MAX_QUEUED", defaults.maxQueuedAcquires()),
+                intProperty("LIMITER_MAX_LONG_POLLS", defaults.maxLongPolls())
+        );
+    }
+}
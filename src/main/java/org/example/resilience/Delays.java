@@ -0,0 +1,46 @@
+package org.example.resilience;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delays expressed as futures on a shared scheduler. A delay the scheduler rejects fails at once,
+ * and {@link #failPending()} fails the ones {@code shutdownNow()} dropped, so nothing waiting on a
+ * delay hangs once the scheduler is gone.
+ */
+final class Delays {
+    private final ScheduledExecutorService scheduler;
+    private final Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+
+    Delays(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    CompletableFuture<Void> after(long delayNanos) {
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        pending.add(ready);
+        try {
+            scheduler.schedule(() -> {
+                pending.remove(ready);
+                ready.complete(null);
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.remove(ready);
+            ready.completeExceptionally(e);
+        }
+        return ready;
+    }
+
+    /** Fails every delay that has not fired yet; call after the scheduler has shut down. */
+    void failPending() {
+        RejectedExecutionException closed = new RejectedExecutionException("Scheduler has shut down");
+        for (CompletableFuture<Void> ready : pending) {
+            pending.remove(ready);
+            ready.completeExceptionally(closed);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.example.config.SystemProperties.durationProperty;
+
+public record RateLimitSettings(Map<String, Limit> limitsByApi,
+                                Set<String> perResourceApis,
+                                Duration maxDelay) {
+
+    /**
+     * The batch APIs and {@code PutEvents} are charged one permit per entry, so a limit reads as
+     * messages per second whichever call carries them.
+     */
+    public static final Set<String> RATE_LIMITED_APIS = Set.of("SendMessage", "SendMessageBatch", "ReceiveMessage",
+            "Publish", "PublishBatch", "PutEvents");
+
+    public record Limit(double permitsPerSecond, int burst) {
+        public Limit {
+            if (permitsPerSecond <= 0.0 || burst <= 0) {
+                throw new IllegalArgumentException("Rate limit needs permitsPerSecond > 0 and burst > 0");
+            }
+        }
+
+        static Limit parse(String value) {
+            String[] parts = value.trim().split("/");
+            double rate = Double.parseDouble(parts[0]);
+            int burst = parts.length > 1 ? Integer.parseInt(parts[1]) : (int) Math.max(1, Math.ceil(rate));
+            return new Limit(rate, burst);
+        }
+    }
+
+    public RateLimitSettings {
+        limitsByApi = Map.copyOf(limitsByApi);
+        perResourceApis = Set.copyOf(perResourceApis);
+    }
+
+    public static RateLimitSettings unlimited() {
+        return new RateLimitSettings(Map.of(), Set.of(), Duration.ofSeconds(30));
+    }
+
+    public static RateLimitSettings fromSystemProperties() {
+        Map<String, Limit> limits = RATE_LIMITED_APIS.stream()
+                .filter(api -> System.getProperty("RATE_LIMIT_" + api) != null)
+                .collect(Collectors.toMap(api -> api, api -> Limit.parse(System.getProperty("RATE_LIMIT_" + api))));
+
+        Set<String> perResource = Arrays.stream(System.getProperty("RATE_LIMIT_PER_RESOURCE", "").split(","))
+                .map(String::trim)
+                .filter(api -> !api.isEmpty())
+                .collect(Collectors.toSet());
+
+        return new RateLimitSettings(limits, perResource,
+                durationProperty("RATE_LIMIT_MAX_DELAY_MS", unlimited().maxDelay()));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.resilience;
+
+public class RateLimitedException extends RuntimeException {
+    public RateLimitedException(String message) {
+        super(message);
+    }
+}
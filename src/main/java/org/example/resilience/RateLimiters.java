@@ -0,0 +1,57 @@
+package org.example.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+public class RateLimiters {
+    private static final CompletableFuture<Void> NO_DELAY = CompletableFuture.completedFuture(null);
+
+    private final RateLimitSettings settings;
+    private final ConcurrentMap<String, TokenBucketRateLimiter> buckets = new ConcurrentHashMap<>();
+    private final Delays delays;
+
+    public RateLimiters(RateLimitSettings settings, ScheduledExecutorService scheduler) {
+        this.settings = settings;
+        this.delays = new Delays(scheduler);
+    }
+
+    public CompletableFuture<Void> acquire(String api, String resource) {
+        return acquire(api, resource, 1);
+    }
+
+    /**
+     * Charges {@code permits} at once, one per entry of a batch call.
+     */
+    public CompletableFuture<Void> acquire(String api, String resource, int permits) {
+        RateLimitSettings.Limit limit = settings.limitsByApi().get(api);
+        if (limit == null) {
+            return NO_DELAY;
+        }
+
+        String key = resource != null && settings.perResourceApis().contains(api)
+                ? api + "|" + resource
+                : api;
+        TokenBucketRateLimiter bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucketRateLimiter(
+                    limit.permitsPerSecond(), limit.burst(), settings.maxDelay().toNanos()));
+        }
+
+        long delayNanos = bucket.reserve(permits);
+        if (delayNanos == 0L) {
+            return NO_DELAY;
+        }
+        if (delayNanos < 0L) {
+            return CompletableFuture.failedFuture(new RateLimitedException(
+                    "Rate limit for " + key + " would delay the call beyond " + settings.maxDelay()));
+        }
+
+        return delays.after(delayNanos);
+    }
+
+    void failPending() {
+        delays.failPending();
+    }
+}
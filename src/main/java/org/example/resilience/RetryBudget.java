@@ -0,0 +1,49 @@
+package org.example.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries to a fraction of recent first attempts: every call deposits
+ * {@code retryRatio} of a token and every retry withdraws a whole one. A small
+ * time-based reserve keeps low-traffic clients able to retry at all.
+ */
+public class RetryBudget {
+    private static final long SCALE = 1_000L;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+    private final TokenBucketRateLimiter reserve;
+
+    public RetryBudget(RetrySettings settings) {
+        this.depositPerCall = Math.round(settings.retryRatio() * SCALE);
+        this.maxBalance = Math.max(SCALE, depositPerCall * 1_000L);
+        this.reserve = settings.minRetriesPerSecond() > 0
+                ? new TokenBucketRateLimiter(settings.minRetriesPerSecond(), settings.minRetriesPerSecond(), 0L)
+                : null;
+    }
+
+    public void onCall() {
+        if (depositPerCall == 0L) {
+            return;
+        }
+        balance.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return reserve != null && reserve.reserve() == 0L;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public double getAvailableRetries() {
+        return (double) balance.get() / SCALE;
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.example.resilience;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.doubleProperty;
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+public record RetrySettings(int maxAttempts,
+                            Duration baseBackoff,
+                            Duration maxBackoff,
+                            double retryRatio,
+                            int minRetriesPerSecond) {
+
+    public RetrySettings {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be > 0");
+        }
+        if (retryRatio < 0.0 || minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("retryRatio and minRetriesPerSecond must be >= 0");
+        }
+    }
+
+    public static RetrySettings defaults() {
+        return new RetrySettings(3, Duration.ofMillis(50), Duration.ofSeconds(2), 0.1, 5);
+    }
+
+    public static RetrySettings fromSystemProperties() {
+        RetrySettings defaults = defaults();
+        return new RetrySettings(
+                intProperty("RETRY_MAX_ATTEMPTS", defaults.maxAttempts()),
+                durationProperty("RETRY_BASE_BACKOFF_MS", defaults.baseBackoff()),
+                durationProperty("RETRY_MAX_BACKOFF_MS", defaults.maxBackoff()),
+                doubleProperty("RETRY_BUDGET_RATIO", defaults.retryRatio()),
+                intProperty("RETRY_MIN_PER_SECOND", defaults.minRetriesPerSecond())
+        );
+    }
+}
@@ -0,0 +1,243 @@
+package org.example.resilience;
+
+import org.example.metrics.MetricsRegistry;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class ServiceGuard {
+    private enum Outcome { ENDPOINT_FAILURE, SERVICE_RESPONDED, LOCAL }
+
+    private final String serviceName;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RateLimiters rateLimiters;
+    private final CircuitBreaker circuitBreaker;
+    private final RetrySettings retrySettings;
+    private final RetryBudget retryBudget;
+    private final Delays delays;
+    private final MetricsRegistry metricsRegistry;
+    private final Executor completionExecutor;
+    private final int maxLongPolls;
+    private final AtomicInteger longPollsInFlight = new AtomicInteger();
+
+    public ServiceGuard(String serviceName,
+                        ConcurrencyLimiterSettings limiterSettings,
+                        CircuitBreakerSettings circuitBreakerSettings,
+                        RetrySettings retrySettings,
+                        RateLimiters rateLimiters,
+                        ScheduledExecutorService scheduler,
+                        MetricsRegistry metricsRegistry) {
+        this(serviceName, limiterSettings, circuitBreakerSettings, retrySettings, rateLimiters, scheduler,
+                metricsRegistry, Runnable::run);
+    }
+
+    /**
+     * @param completionExecutor runs everything chained on the returned futures, so that callers'
+     *                           continuations never occupy the SDK's response threads
+     */
+    public ServiceGuard(String serviceName,
+                        ConcurrencyLimiterSettings limiterSettings,
+                        CircuitBreakerSettings circuitBreakerSettings,
+                        RetrySettings retrySettings,
+                        RateLimiters rateLimiters,
+                        ScheduledExecutorService scheduler,
+                        MetricsRegistry metricsRegistry,
+                        Executor completionExecutor) {
+        this.serviceName = serviceName;
+        this.limiter = new AdaptiveConcurrencyLimiter(serviceName, limiterSettings);
+        this.rateLimiters = rateLimiters;
+        this.circuitBreaker = new CircuitBreaker(serviceName, circuitBreakerSettings);
+        this.retrySettings = retrySettings;
+        this.retryBudget = new RetryBudget(retrySettings);
+        this.delays = new Delays(scheduler);
+        this.metricsRegistry = metricsRegistry;
+        this.completionExecutor = completionExecutor;
+        this.maxLongPolls = limiterSettings.maxLongPolls();
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /** Fails the calls waiting out a retry backoff; call after the scheduler has shut down. */
+    void failPendingRetries() {
+        delays.failPending();
+    }
+
+    public <T> CompletableFuture<T> execute(String operation, String resource,
+                                           Supplier<CompletableFuture<T>> call) {
+        return execute(operation, resource, 1, call, false);
+    }
+
+    /**
+     * For batch calls: charges the rate limit one permit per entry rather than one per call.
+     */
+    public <T> CompletableFuture<T> execute(String operation, String resource, int entries,
+                                           Supplier<CompletableFuture<T>> call) {
+        return execute(operation, resource, entries, call, false);
+    }
+
+    /**
+     * Long polls bypass the concurrency limiter: they sit idle server-side for up to twenty seconds,
+     * so they say nothing about service latency, and holding permits for that long would let a few
+     * idle pollers starve every other call once the limit has backed off. Only {@code maxLongPolls}
+     * may bypass at once; any beyond that take a limiter permit like every other call. Callers
+     * should use this only for receives that actually wait.
+     */
+    public <T> CompletableFuture<T> executeLongPoll(String operation, String resource,
+                                                    Supplier<CompletableFuture<T>> call) {
+        return execute(operation, resource, 1, call, true);
+    }
+
+    private <T> CompletableFuture<T> execute(String operation, String resource, int permits,
+                                             Supplier<CompletableFuture<T>> call, boolean longPoll) {
+        retryBudget.onCall();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(operation, resource, permits, call, longPoll, 1, result);
+        return result;
+    }
+
+    private <T> void attempt(String operation, String resource, int permits, Supplier<CompletableFuture<T>> call,
+                             boolean longPoll, int attempt, CompletableFuture<T> result) {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CircuitBreakerOpenException e) {
+            completionExecutor.execute(() -> result.completeExceptionally(e));
+            return;
+        }
+
+        rateLimiters.acquire(operation, resource, permits)
+                .thenCompose(ready -> longPoll && tryBypassLimiter()
+                        ? invokeLongPoll(call)
+                        : limiter.acquireAsync().thenCompose(permit -> invoke(call, permit)))
+                .whenComplete((value, throwable) -> {
+                    if (throwable == null) {
+                        circuitBreaker.onSuccess();
+                        completionExecutor.execute(() -> result.complete(value));
+                        return;
+                    }
+
+                    Throwable cause = unwrap(throwable);
+                    Outcome outcome = classify(cause);
+                    switch (outcome) {
+                        case ENDPOINT_FAILURE -> circuitBreaker.onFailure();
+                        case SERVICE_RESPONDED -> circuitBreaker.onSuccess();
+                        case LOCAL -> circuitBreaker.onIgnored();
+                    }
+
+                    if (outcome == Outcome.ENDPOINT_FAILURE
+                            && attempt < retrySettings.maxAttempts()
+                            && circuitBreaker.getState() == CircuitBreaker.State.CLOSED
+                            && retryBudget.tryWithdraw()) {
+                        metricsRegistry.recordRetries(serviceName, operation, resource, 1);
+                        long delayNanos = backoffNanos(attempt, ThreadLocalRandom.current().nextDouble());
+                        delays.after(delayNanos).whenComplete((ready, rejected) -> {
+                            if (rejected == null) {
+                                attempt(operation, resource, permits, call, longPoll, attempt + 1, result);
+                            } else {
+                                completionExecutor.execute(() -> result.completeExceptionally(cause));
+                            }
+                        });
+                    } else {
+                        completionExecutor.execute(() -> result.completeExceptionally(cause));
+                    }
+                });
+    }
+
+    private static <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> call,
+                                                   AdaptiveConcurrencyLimiter.Permit permit) {
+        CompletableFuture<T> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            permit.onIgnore();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return response.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                permit.onSuccess();
+            } else if (isThrottling(throwable)) {
+                permit.onThrottled();
+            } else {
+                permit.onIgnore();
+            }
+        });
+    }
+
+    private boolean tryBypassLimiter() {
+        if (longPollsInFlight.incrementAndGet() <= maxLongPolls) {
+            return true;
+        }
+        longPollsInFlight.decrementAndGet();
+        return false;
+    }
+
+    private <T> CompletableFuture<T> invokeLongPoll(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            longPollsInFlight.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((value, throwable) -> longPollsInFlight.decrementAndGet());
+    }
+
+    long backoffNanos(int attempt, double jitter) {
+        long base = retrySettings.baseBackoff().toNanos();
+        long cap = retrySettings.maxBackoff().toNanos();
+        long exponential = attempt >= 30 ? cap : Math.min(cap, base << (attempt - 1));
+        return (long) (exponential * jitter) + TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static Outcome classify(Throwable cause) {
+        if (cause instanceof SdkServiceException serviceException) {
+            return serviceException.statusCode() >= 500 || serviceException.isThrottlingException()
+                    ? Outcome.ENDPOINT_FAILURE
+                    : Outcome.SERVICE_RESPONDED;
+        }
+        if (cause instanceof SdkClientException) {
+            return Outcome.ENDPOINT_FAILURE;
+        }
+        return Outcome.LOCAL;
+    }
+
+    static boolean isThrottling(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof SdkServiceException serviceException) {
+            return serviceException.isThrottlingException() || serviceException.statusCode() == 503;
+        }
+        return false;
+    }
+
+    static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.resilience;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.execution.CompletionExecutors;
+import org.example.metrics.MetricsRegistry;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Singleton
+public class ServiceGuards implements AutoCloseable {
+    private final ScheduledExecutorService scheduler;
+    private final RateLimiters rateLimiters;
+    private final ServiceGuard sqs;
+    private final ServiceGuard sns;
+    private final ServiceGuard eventBridge;
+    private final CompletionExecutors ownedCompletionExecutors;
+
+    @Inject
+    public ServiceGuards(ConcurrencyLimiterSettings limiterSettings,
+                         RateLimitSettings rateLimitSettings,
+                         CircuitBreakerSettings circuitBreakerSettings,
+                         RetrySettings retrySettings,
+                         MetricsRegistry metricsRegistry,
+                         CompletionExecutors completionExecutors) {
+        this(limiterSettings, rateLimitSettings, circuitBreakerSettings, retrySettings, metricsRegistry,
+                completionExecutors, false);
+    }
+
+    private ServiceGuards(ConcurrencyLimiterSettings limiterSettings,
+                          RateLimitSettings rateLimitSettings,
+                          CircuitBreakerSettings circuitBreakerSettings,
+                          RetrySettings retrySettings,
+                          MetricsRegistry metricsRegistry,
+                          CompletionExecutors completionExecutors,
+                          boolean ownsCompletionExecutors) {
+        this.ownedCompletionExecutors = ownsCompletionExecutors ? completionExecutors : null;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "service-guard-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rateLimiters = new RateLimiters(rateLimitSettings, scheduler);
+        this.sqs = new ServiceGuard("sqs", limiterSettings, circuitBreakerSettings, retrySettings,
+                rateLimiters, scheduler, metricsRegistry, completionExecutors.sqs());
+        this.sns = new ServiceGuard("sns", limiterSettings, circuitBreakerSettings, retrySettings,
+                rateLimiters, scheduler, metricsRegistry, completionExecutors.sns());
+        this.eventBridge = new ServiceGuard("eventbridge", limiterSettings, circuitBreakerSettings, retrySettings,
+                rateLimiters, scheduler, metricsRegistry, completionExecutors.eventBridge());
+    }
+
+    /** Standalone guards with their own completion executors, which {@link #close()} also shuts down. */
+    public static ServiceGuards withDefaults() {
+        return new ServiceGuards(ConcurrencyLimiterSettings.defaults(), RateLimitSettings.unlimited(),
+                CircuitBreakerSettings.defaults(), RetrySettings.defaults(), MetricsRegistry.withoutJmx(),
+                CompletionExecutors.withDefaults(), true);
+    }
+
+    public ServiceGuard sqs() {
+        return sqs;
+    }
+
+    public ServiceGuard sns() {
+        return sns;
+    }
+
+    public ServiceGuard eventBridge() {
+        return eventBridge;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        rateLimiters.failPending();
+        sqs.failPendingRetries();
+        sns.failPendingRetries();
+        eventBridge.failPendingRetries();
+        if (ownedCompletionExecutors != null) {
+            ownedCompletionExecutors.close();
+        }
+    }
+}
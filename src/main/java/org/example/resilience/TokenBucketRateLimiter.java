@@ -0,0 +1,60 @@
+package org.example.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket expressed as a single "next free slot" timestamp (GCRA).
+ * {@link #reserve()} claims a permit and returns how long the caller must wait
+ * before using it, or {@code -1} if that wait would exceed {@code maxDelayNanos}.
+ * {@link #reserve(int)} claims several at once, for a batch call carrying several entries.
+ */
+public class TokenBucketRateLimiter {
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final long maxDelayNanos;
+    private final AtomicLong nextFreeNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, long maxDelayNanos) {
+        if (permitsPerSecond <= 0.0) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be > 0");
+        }
+        this.nanosPerPermit = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = nanosPerPermit * burst;
+        this.maxDelayNanos = maxDelayNanos;
+        this.nextFreeNanos = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    public long reserve() {
+        return reserve(System.nanoTime(), 1);
+    }
+
+    public long reserve(int permits) {
+        return reserve(System.nanoTime(), permits);
+    }
+
+    long reserve(long nowNanos) {
+        return reserve(nowNanos, 1);
+    }
+
+    long reserve(long nowNanos, int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be > 0");
+        }
+        while (true) {
+            long current = nextFreeNanos.get();
+            long base = Math.max(current, nowNanos - burstNanos);
+            long next = base + nanosPerPermit * permits;
+            long delay = Math.max(0L, next - nowNanos);
+            if (delay > maxDelayNanos) {
+                return -1L;
+            }
+            if (nextFreeNanos.compareAndSet(current, next)) {
+                return delay;
+            }
+        }
+    }
+}
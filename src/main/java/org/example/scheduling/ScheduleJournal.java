@@ -0,0 +1,133 @@
+package org.example.scheduling;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only record of scheduled and removed sends. Opening replays the file, drops the
+ * removed entries and a torn tail, and rewrites the survivors so the file only grows with
+ * sends that are still pending. Each record is flushed to the OS as it is written, which
+ * survives a process restart; {@link #close()} also forces it to disk.
+ */
+final class ScheduleJournal implements AutoCloseable {
+    private static final byte SCHEDULED = 1;
+    private static final byte REMOVED = 2;
+
+    private final Path file;
+    private final FileOutputStream stream;
+    private final DataOutputStream out;
+    private final List<ScheduledSend> recovered;
+
+    private ScheduleJournal(Path file, List<ScheduledSend> recovered) throws IOException {
+        this.file = file;
+        this.recovered = recovered;
+        this.stream = new FileOutputStream(file.toFile(), true);
+        this.out = new DataOutputStream(new BufferedOutputStream(stream));
+    }
+
+    static ScheduleJournal open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        List<ScheduledSend> live = Files.exists(file) ? replay(file) : List.of();
+
+        Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream rewrite = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(compacted)))) {
+            for (ScheduledSend send : live) {
+                writeScheduled(rewrite, send);
+            }
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new ScheduleJournal(file, live);
+    }
+
+    List<ScheduledSend> recovered() {
+        return recovered;
+    }
+
+    void scheduled(ScheduledSend send) {
+        try {
+            writeScheduled(out, send);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal scheduled send " + send.id(), e);
+        }
+    }
+
+    void removed(String id) {
+        try {
+            out.writeByte(REMOVED);
+            out.writeUTF(id);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal removal of " + id, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.flush();
+            stream.getChannel().force(false);
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close schedule journal " + file, e);
+        }
+    }
+
+    private static void writeScheduled(DataOutputStream out, ScheduledSend send) throws IOException {
+        byte[] body = send.body().getBytes(StandardCharsets.UTF_8);
+        out.writeByte(SCHEDULED);
+        out.writeUTF(send.id());
+        out.writeUTF(send.queueUrl());
+        out.writeLong(send.sendAt().toEpochMilli());
+        out.writeInt(body.length);
+        out.write(body);
+    }
+
+    private static List<ScheduledSend> replay(Path file) throws IOException {
+        Map<String, ScheduledSend> live = new LinkedHashMap<>();
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            while (true) {
+                int type = in.read();
+                if (type == SCHEDULED) {
+                    String id = in.readUTF();
+                    String queueUrl = in.readUTF();
+                    Instant sendAt = Instant.ofEpochMilli(in.readLong());
+                    int length = in.readInt();
+                    byte[] body = length < 0 ? null : in.readNBytes(length);
+                    if (body == null || body.length != length) {
+                        break;
+                    }
+                    live.put(id, new ScheduledSend(id, queueUrl, new String(body, StandardCharsets.UTF_8), sendAt));
+                } else if (type == REMOVED) {
+                    live.remove(in.readUTF());
+                } else {
+                    break;
+                }
+            }
+        } catch (EOFException e) {
+            // torn tail from a crash mid-write; everything before it is intact
+        }
+        return new ArrayList<>(live.values());
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.scheduling;
+
+import java.time.Instant;
+
+public record ScheduledSend(String id, String queueUrl, String body, Instant sendAt) {
+}
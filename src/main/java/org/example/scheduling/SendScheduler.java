@@ -0,0 +1,323 @@
+package org.example.scheduling;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.lifecycle.LifecycleManager;
+import org.example.resilience.CircuitBreakerOpenException;
+import org.example.resilience.RateLimitedException;
+import org.example.service.SqsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends SQS messages at an arbitrary future time. A send due within the native window goes
+ * straight out with {@code DelaySeconds}. Anything later is parked in a {@link TimingWheel}
+ * until it is one native window away and is then released in {@code SendMessageBatch} calls,
+ * each entry carrying the delay still left, so SQS does the last stretch to the second.
+ * Pending sends can be cancelled until they are released and, with a journal configured, are
+ * reloaded after a restart. A release that fails server-side or is throttled goes back into the
+ * wheel for another attempt; one SQS rejected as malformed, or that ran out of attempts, is
+ * dead-lettered: logged and, with a journal, appended to a {@code .dead-letter} journal beside it.
+ */
+@Singleton
+public class SendScheduler implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SendScheduler.class);
+    private static final int MAX_ENTRIES_PER_CALL = 10;
+    private static final int MAX_BYTES_PER_CALL = 256 * 1024;
+    private static final int MAX_BODY_BYTES = MAX_BYTES_PER_CALL;
+    private static final String DEAD_LETTER_SUFFIX = ".dead-letter";
+    private static final long CLOSE_TIMEOUT_SECONDS = 5L;
+
+    private final SendSchedulerSettings settings;
+    private final SqsService sqsService;
+    private final LifecycleManager lifecycle;
+    private final TimingWheel<ScheduledSend> wheel;
+    private final Map<String, TimingWheel.Entry<ScheduledSend>> pending = new HashMap<>();
+    private final Map<String, Integer> attempts = new HashMap<>();
+    private final ScheduleJournal journal;
+    private final ScheduleJournal deadLetters;
+    private final ScheduledExecutorService ticker;
+    private final Set<CompletableFuture<Void>> releasing = ConcurrentHashMap.newKeySet();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private boolean closed;
+    private boolean journalClosed;
+
+    @Inject
+    public SendScheduler(SendSchedulerSettings settings, SqsService sqsService, LifecycleManager lifecycle) {
+        this.settings = settings;
+        this.sqsService = sqsService;
+        this.lifecycle = lifecycle;
+        this.wheel = new TimingWheel<>(settings.tick().toMillis(), settings.wheelSize(), System.currentTimeMillis());
+        if (settings.journal() != null) {
+            Path deadLetterFile = settings.journal().resolveSibling(settings.journal().getFileName()
+                    + DEAD_LETTER_SUFFIX);
+            try {
+                this.journal = ScheduleJournal.open(settings.journal());
+                this.deadLetters = ScheduleJournal.open(deadLetterFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open schedule journal " + settings.journal(), e);
+            }
+            journal.recovered().forEach(this::park);
+            if (!journal.recovered().isEmpty()) {
+                logger.info("Recovered {} scheduled sends from {}", journal.recovered().size(), settings.journal());
+            }
+        } else {
+            this.journal = null;
+            this.deadLetters = null;
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "send-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = settings.tick().toMillis();
+        ticker.scheduleWithFixedDelay(this::releaseDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        lifecycle.onShutdown("send-scheduler", this);
+    }
+
+    public CompletableFuture<ScheduledSend> schedule(String queueUrl, String body, Duration delay) {
+        return schedule(queueUrl, body, Instant.now().plus(delay));
+    }
+
+    public CompletableFuture<ScheduledSend> schedule(String queueUrl, String body, Instant sendAt) {
+        return lifecycle.track("scheduler", "Schedule", queueUrl, () -> {
+            int bytes = body.getBytes(StandardCharsets.UTF_8).length;
+            if (bytes > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Body is " + bytes + " bytes; SQS accepts at most "
+                        + MAX_BODY_BYTES);
+            }
+            ScheduledSend send = new ScheduledSend(UUID.randomUUID().toString(), queueUrl, body, sendAt);
+            Duration remaining = Duration.between(Instant.now(), sendAt);
+            if (remaining.compareTo(settings.nativeWindow()) <= 0) {
+                Duration delay = remaining.isNegative() ? Duration.ZERO : remaining;
+                return sqsService.sendMessage(queueUrl, body, delay).thenApply(messageId -> send);
+            }
+            synchronized (wheel) {
+                if (closed) {
+                    throw new IllegalStateException("Send scheduler is closed");
+                }
+                if (journal != null) {
+                    journal.scheduled(send);
+                }
+                park(send);
+            }
+            return CompletableFuture.completedFuture(send);
+        });
+    }
+
+    /**
+     * @return {@code true} if the send was still parked and will not happen
+     */
+    public boolean cancel(String id) {
+        synchronized (wheel) {
+            TimingWheel.Entry<ScheduledSend> entry = pending.remove(id);
+            if (entry == null || !wheel.cancel(entry)) {
+                return false;
+            }
+            attempts.remove(id);
+            if (journal != null) {
+                journal.removed(id);
+            }
+            return true;
+        }
+    }
+
+    public int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    public long releasedCount() {
+        return released.sum();
+    }
+
+    public long deadLetteredCount() {
+        return deadLettered.sum();
+    }
+
+    private void park(ScheduledSend send) {
+        long releaseAt = send.sendAt().minus(settings.nativeWindow()).toEpochMilli();
+        pending.put(send.id(), wheel.schedule(send, releaseAt));
+    }
+
+    private void releaseDue() {
+        List<ScheduledSend> due;
+        synchronized (wheel) {
+            due = wheel.advanceTo(System.currentTimeMillis());
+            due.forEach(send -> pending.remove(send.id()));
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<ScheduledSend>> byQueue = new LinkedHashMap<>();
+        for (ScheduledSend send : due) {
+            byQueue.computeIfAbsent(send.queueUrl(), ignored -> new ArrayList<>()).add(send);
+        }
+        byQueue.forEach((queueUrl, sends) -> calls(sends).forEach(call -> {
+            CompletableFuture<Void> release = release(queueUrl, call);
+            releasing.add(release);
+            release.whenComplete((ignored, throwable) -> releasing.remove(release));
+        }));
+    }
+
+    private static List<List<ScheduledSend>> calls(List<ScheduledSend> sends) {
+        List<List<ScheduledSend>> calls = new ArrayList<>();
+        List<ScheduledSend> call = new ArrayList<>();
+        int callBytes = 0;
+        for (ScheduledSend send : sends) {
+            int bytes = send.body().getBytes(StandardCharsets.UTF_8).length;
+            if (!call.isEmpty() && (call.size() == MAX_ENTRIES_PER_CALL || callBytes + bytes > MAX_BYTES_PER_CALL)) {
+                calls.add(call);
+                call = new ArrayList<>();
+                callBytes = 0;
+            }
+            call.add(send);
+            callBytes += bytes;
+        }
+        calls.add(call);
+        return calls;
+    }
+
+    private CompletableFuture<Void> release(String queueUrl, List<ScheduledSend> call) {
+        Instant now = Instant.now();
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(call.size());
+        for (int i = 0; i < call.size(); i++) {
+            ScheduledSend send = call.get(i);
+            Duration remaining = Duration.between(now, send.sendAt());
+            Duration delay = remaining.isNegative() ? Duration.ZERO : remaining.compareTo(SqsService.MAX_DELAY) > 0
+                    ? SqsService.MAX_DELAY : remaining;
+            entries.add(SendMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .messageBody(send.body())
+                    .delaySeconds(SqsService.delaySeconds(delay))
+                    .build());
+        }
+
+        return sqsService.sendMessageBatch(queueUrl, entries)
+                .handle((failures, throwable) -> {
+                    Throwable cause = unwrap(throwable);
+                    Map<String, BatchResultErrorEntry> failed = new HashMap<>();
+                    if (failures != null) {
+                        failures.forEach(failure -> failed.put(failure.id(), failure));
+                    }
+                    synchronized (wheel) {
+                        for (int i = 0; i < call.size(); i++) {
+                            ScheduledSend send = call.get(i);
+                            BatchResultErrorEntry failure = failed.get(Integer.toString(i));
+                            if (cause == null && failure == null) {
+                                attempts.remove(send.id());
+                                released.increment();
+                                if (journal != null && !journalClosed) {
+                                    journal.removed(send.id());
+                                }
+                            } else if (cause != null) {
+                                retryOrDeadLetter(send, isRetryable(cause), cause.getMessage());
+                            } else {
+                                retryOrDeadLetter(send, !failure.senderFault(), failure.message());
+                            }
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Called with the wheel lock held.
+     */
+    private void retryOrDeadLetter(ScheduledSend send, boolean retryable, String reason) {
+        int attempt = attempts.merge(send.id(), 1, Integer::sum);
+        if (retryable && attempt < settings.maxReleaseAttempts()) {
+            logger.warn("Could not release scheduled send {} to {}, retrying in {}: {}", send.id(), send.queueUrl(),
+                    settings.retryDelay(), reason);
+            pending.put(send.id(), wheel.schedule(send, System.currentTimeMillis() + settings.retryDelay().toMillis()));
+            return;
+        }
+        attempts.remove(send.id());
+        deadLettered.increment();
+        if (journal != null && !journalClosed) {
+            deadLetters.scheduled(send);
+            journal.removed(send.id());
+        }
+        logger.error("Scheduled send {} to {} dead-lettered after {} attempts: {}", send.id(), send.queueUrl(),
+                attempt, reason);
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof SdkServiceException serviceException) {
+            return serviceException.statusCode() >= 500 || serviceException.isThrottlingException();
+        }
+        return cause instanceof RateLimitedException || cause instanceof CircuitBreakerOpenException
+                || cause instanceof RejectedExecutionException;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    @Override
+    public void close() {
+        synchronized (wheel) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        ticker.shutdownNow();
+        try {
+            CompletableFuture.allOf(releasing.toArray(CompletableFuture[]::new))
+                    .get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Scheduled sends still being released at shutdown: {}", e.getMessage());
+        }
+        synchronized (wheel) {
+            if (journal != null) {
+                journal.close();
+                deadLetters.close();
+                journalClosed = true;
+                if (wheel.size() > 0) {
+                    logger.info("Send scheduler closed with {} pending sends kept in {}", wheel.size(),
+                            settings.journal());
+                }
+            } else if (wheel.size() > 0) {
+                logger.warn("Send scheduler closed with {} pending sends that will not be sent", wheel.size());
+            }
+        }
+    }
+}
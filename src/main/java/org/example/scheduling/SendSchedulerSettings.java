@@ -0,0 +1,64 @@
+package org.example.scheduling;
+
+import org.example.service.SqsService;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+/**
+ * @param tick               timing wheel resolution; releases happen up to one tick late, which the
+ *                           remaining native delay absorbs
+ * @param wheelSize          slots per wheel level, a power of two
+ * @param nativeWindow       sends due within this window go straight to SQS with {@code DelaySeconds}
+ * @param retryDelay         how long a release that failed server-side or was throttled waits before
+ *                           the next attempt
+ * @param maxReleaseAttempts releases tried for one send before it is dead-lettered
+ * @param journal            file the pending sends are kept in across restarts, or {@code null} to keep
+ *                           them in memory only
+ */
+public record SendSchedulerSettings(Duration tick,
+                                    int wheelSize,
+                                    Duration nativeWindow,
+                                    Duration retryDelay,
+                                    int maxReleaseAttempts,
+                                    Path journal) {
+
+    public SendSchedulerSettings {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("tick must be >= 1ms");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two >= 2");
+        }
+        if (nativeWindow.isNegative() || nativeWindow.compareTo(SqsService.MAX_DELAY) > 0) {
+            throw new IllegalArgumentException("nativeWindow must be between 0 and " + SqsService.MAX_DELAY);
+        }
+        if (retryDelay.isNegative()) {
+            throw new IllegalArgumentException("retryDelay must be >= 0");
+        }
+        if (maxReleaseAttempts < 1) {
+            throw new IllegalArgumentException("maxReleaseAttempts must be >= 1");
+        }
+    }
+
+    public static SendSchedulerSettings defaults() {
+        return new SendSchedulerSettings(Duration.ofSeconds(1), 512, SqsService.MAX_DELAY, Duration.ofSeconds(5), 10,
+                null);
+    }
+
+    public static SendSchedulerSettings fromSystemProperties() {
+        SendSchedulerSettings defaults = defaults();
+        String journal = System.getProperty("SCHEDULER_JOURNAL");
+        return new SendSchedulerSettings(
+                durationProperty("SCHEDULER_TICK_MS", defaults.tick()),
+                intProperty("SCHEDULER_WHEEL_SIZE", defaults.wheelSize()),
+                durationProperty("SCHEDULER_NATIVE_WINDOW_MS", defaults.nativeWindow()),
+                durationProperty("SCHEDULER_RETRY_DELAY_MS", defaults.retryDelay()),
+                intProperty("SCHEDULER_MAX_RELEASE_ATTEMPTS", defaults.maxReleaseAttempts()),
+                journal == null || journal.isBlank() ? defaults.journal() : Path.of(journal.trim())
+        );
+    }
+}
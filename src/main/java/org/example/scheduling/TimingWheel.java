@@ -0,0 +1,178 @@
+package org.example.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical hashed timing wheel. Level {@code n} has {@code wheelSize} slots, each spanning
+ * {@code wheelSize^n} ticks. An entry sits on the level of the highest base-{@code wheelSize}
+ * digit in which its deadline tick differs from the current tick, in the slot named by that
+ * digit. When the lower digits of the current tick roll over to zero, the matching slot one
+ * level up is cascaded down, so every entry is moved at most once per level. Deadlines past the
+ * top level wrap round it and are cascaded back in on a later rotation instead of being rejected.
+ * <p>
+ * Insert and cancel are O(1); entries are intrusive doubly-linked nodes. Not thread-safe;
+ * callers serialise access.
+ */
+final class TimingWheel<T> {
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int bits;
+    private final int mask;
+    private final Entry<T>[][] slots;
+    private final Entry<T> overdue = Entry.sentinel();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be > 0");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two >= 2");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.slots = (Entry<T>[][]) new Entry<?>[LEVELS][wheelSize];
+        for (Entry<T>[] level : slots) {
+            for (int slot = 0; slot < level.length; slot++) {
+                level[slot] = Entry.sentinel();
+            }
+        }
+    }
+
+    Entry<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        Entry<T> entry = new Entry<>(item, deadlineTick);
+        insert(entry);
+        size++;
+        return entry;
+    }
+
+    boolean cancel(Entry<T> entry) {
+        if (entry.next == null) {
+            return false;
+        }
+        entry.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis} and returns every entry whose deadline has passed.
+     */
+    List<T> advanceTo(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * bits)) - 1)) == 0) {
+                    cascade(slots[level][digit(currentTick, level)]);
+                }
+            }
+            drain(slots[0][digit(currentTick, 0)], expired);
+        }
+        drain(overdue, expired);
+        size -= expired.size();
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void insert(Entry<T> entry) {
+        if (entry.deadlineTick <= currentTick) {
+            entry.linkBefore(overdue);
+            return;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(entry.deadlineTick ^ currentTick);
+        int level = Math.min(highestBit / bits, LEVELS - 1);
+        entry.linkBefore(slots[level][digit(entry.deadlineTick, level)]);
+    }
+
+    private void cascade(Entry<T> head) {
+        Entry<T> entry = head.detachAll();
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            entry.next = null;
+            insert(entry);
+            entry = next;
+        }
+    }
+
+    private static <T> void drain(Entry<T> head, List<T> expired) {
+        Entry<T> entry = head.detachAll();
+        while (entry != null) {
+            expired.add(entry.item);
+            Entry<T> next = entry.next;
+            entry.next = null;
+            entry = next;
+        }
+    }
+
+    private int digit(long tick, int level) {
+        return (int) (tick >>> (level * bits)) & mask;
+    }
+
+    static final class Entry<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private static <T> Entry<T> sentinel() {
+            Entry<T> sentinel = new Entry<>(null, Long.MIN_VALUE);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        T item() {
+            return item;
+        }
+
+        private void linkBefore(Entry<T> head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+
+        /**
+         * Empties this list and returns its former members as a null-terminated chain linked by
+         * {@code next}; {@code prev} is cleared on every member.
+         */
+        private Entry<T> detachAll() {
+            if (next == this) {
+                return null;
+            }
+            Entry<T> first = next;
+            prev.next = null;
+            for (Entry<T> entry = first; entry != null; entry = entry.next) {
+                entry.prev = null;
+            }
+            prev = this;
+            next = this;
+            return first;
+        }
+    }
+}
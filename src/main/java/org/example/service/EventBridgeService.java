@@ -3,29 +3,64 @@ package org.example.service;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.example.config.LocalStackConfig;
+import org.example.jfr.EventBridgeOperationEvent;
+import org.example.lifecycle.LifecycleManager;
+import org.example.logging.HotPathEvent;
+import org.example.logging.HotPathLogging;
+import org.example.resilience.ServiceGuard;
+import org.example.resilience.ServiceGuards;
+import org.example.tracing.TraceContext;
+import org.example.tracing.TraceStamper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
 import software.amazon.awssdk.services.eventbridge.model.CreateEventBusRequest;
+import software.amazon.awssdk.services.eventbridge.model.ListEventBusesRequest;
 import software.amazon.awssdk.services.eventbridge.model.ListRulesRequest;
+import software.amazon.awssdk.services.eventbridge.model.ListTargetsByRuleRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
 import software.amazon.awssdk.services.eventbridge.model.PutRuleRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutRuleResponse;
 import software.amazon.awssdk.services.eventbridge.model.PutTargetsRequest;
+import software.amazon.awssdk.services.eventbridge.model.Rule;
 import software.amazon.awssdk.services.eventbridge.model.RuleState;
 import software.amazon.awssdk.services.eventbridge.model.Target;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Singleton
-public class EventBridgeService {
+public class EventBridgeService implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(EventBridgeService.class);
+    private static final String SERVICE = "eventbridge";
     private final EventBridgeAsyncClient eventBridgeAsyncClient;
+    private final ServiceGuard guard;
+    private final HotPathLogging hotPath;
+    private final LifecycleManager lifecycle;
+    private final ServiceGuards ownedGuards;
 
     @Inject
+    public EventBridgeService(LocalStackConfig config, ServiceGuards guards, HotPathLogging hotPath,
+                              LifecycleManager lifecycle) {
+        this(config, guards, hotPath, lifecycle, false);
+    }
+
+    /** Standalone service with its own guards, which {@link #close()} shuts down. */
     public EventBridgeService(LocalStackConfig config) {
+        this(config, ServiceGuards.withDefaults(), HotPathLogging.verbose(), LifecycleManager.withDefaults(), true);
+    }
+
+    private EventBridgeService(LocalStackConfig config, ServiceGuards guards, HotPathLogging hotPath,
+                               LifecycleManager lifecycle, boolean ownsGuards) {
+        this.ownedGuards = ownsGuards ? guards : null;
         this.eventBridgeAsyncClient = config.getEventBridgeAsyncClient();
+        this.guard = guards.eventBridge();
+        this.hotPath = hotPath;
+        this.lifecycle = lifecycle;
     }
 
     public CompletableFuture<Void> createEventBus(String eventBusName) {
@@ -33,16 +68,23 @@ public class EventBridgeService {
                 .name(eventBusName)
                 .build();
 
-        return eventBridgeAsyncClient.createEventBus(request)
-                .thenAccept(response -> logger.info("EventBus created: {}", eventBusName))
-                .exceptionally(throwable -> {
-                    logger.warn("EventBus might already exist: {}", throwable.getMessage());
-                    return null;
-                });
+        return recorded("createEventBus", eventBusName, null, null, () ->
+                guard.execute("CreateEventBus", eventBusName, () -> eventBridgeAsyncClient.createEventBus(request))
+                        .thenAccept(response -> logger.info("EventBus created: {}", eventBusName))
+                        .exceptionally(throwable -> {
+                            logger.warn("EventBus might already exist: {}", throwable.getMessage());
+                            return null;
+                        }));
     }
 
     public CompletableFuture<Void> putEventWithSnsTarget(String eventBusName, String ruleName,
                                                          String snsTargetArn, String source, String detailType) {
+        return recorded("putEventWithSnsTarget", eventBusName, ruleName, null, () ->
+                createRuleWithSnsTarget(eventBusName, ruleName, snsTargetArn, source, detailType));
+    }
+
+    private CompletableFuture<Void> createRuleWithSnsTarget(String eventBusName, String ruleName,
+                                                            String snsTargetArn, String source, String detailType) {
         String pattern = String.format(
                 "{\"source\":[\"%s\"],\"detail-type\":[\"%s\"]}",
                 source, detailType
@@ -55,7 +97,8 @@ public class EventBridgeService {
                 .state(RuleState.ENABLED)
                 .build();
 
-        CompletableFuture<PutRuleResponse> ruleFuture = eventBridgeAsyncClient.putRule(ruleRequest);
+        CompletableFuture<PutRuleResponse> ruleFuture =
+                guard.execute("PutRule", eventBusName, () -> eventBridgeAsyncClient.putRule(ruleRequest));
 
         return ruleFuture.thenCompose(ruleResponse -> {
             logger.info("Rule created: {}", ruleName);
@@ -71,7 +114,7 @@ public class EventBridgeService {
                     .targets(snsTarget)
                     .build();
 
-            return eventBridgeAsyncClient.putTargets(targetsRequest)
+            return guard.execute("PutTargets", eventBusName, () -> eventBridgeAsyncClient.putTargets(targetsRequest))
                     .thenAccept(targetsResponse ->
                             logger.info("SNS target added to rule: {}", ruleName));
         });
@@ -79,6 +122,12 @@ public class EventBridgeService {
 
     public CompletableFuture<Void> putEventWithSqsTarget(String eventBusName, String ruleName,
                                                          String sqsTargetArn) {
+        return recorded("putEventWithSqsTarget", eventBusName, ruleName, null, () ->
+                createRuleWithSqsTarget(eventBusName, ruleName, sqsTargetArn));
+    }
+
+    private CompletableFuture<Void> createRuleWithSqsTarget(String eventBusName, String ruleName,
+                                                            String sqsTargetArn) {
         String pattern = String.format(
                 "{\"source\":[\"com.example.app\"],\"detail-type\":[\"%s\"]}",
                 ruleName.replace("-", " ")
@@ -91,7 +140,8 @@ public class EventBridgeService {
                 .state(RuleState.ENABLED)
                 .build();
 
-        CompletableFuture<PutRuleResponse> ruleFuture = eventBridgeAsyncClient.putRule(ruleRequest);
+        CompletableFuture<PutRuleResponse> ruleFuture =
+                guard.execute("PutRule", eventBusName, () -> eventBridgeAsyncClient.putRule(ruleRequest));
 
         return ruleFuture.thenCompose(ruleResponse -> {
             logger.info("Rule created: {}", ruleName);
@@ -108,25 +158,27 @@ public class EventBridgeService {
                     .targets(sqsTarget)
                     .build();
 
-            return eventBridgeAsyncClient.putTargets(targetsRequest)
+            return guard.execute("PutTargets", eventBusName, () -> eventBridgeAsyncClient.putTargets(targetsRequest))
                     .thenAccept(targetsResponse -> logger.info("SQS target added to rule: {}", ruleName));
         });
     }
 
     public CompletableFuture<Void> sendEventToEventBridge(String eventBusName, String source,
                                                           String detailType, String detail) {
+        String stampedDetail = TraceStamper.stampDetail(detail, TraceContext.start("eventbridge"), eventBusName);
         PutEventsRequestEntry entry = PutEventsRequestEntry.builder()
                 .eventBusName(eventBusName)
                 .source(source)
                 .detailType(detailType)
-                .detail(detail)
+                .detail(stampedDetail)
                 .build();
 
         PutEventsRequest request = PutEventsRequest.builder()
                 .entries(entry)
                 .build();
 
-        return eventBridgeAsyncClient.putEvents(request)
+        return recorded("sendEventToEventBridge", eventBusName, null, stampedDetail, () ->
+                guard.execute("PutEvents", eventBusName, () -> eventBridgeAsyncClient.putEvents(request)))
                 .thenAccept(response -> {
                     if (response.failedEntryCount() > 0) {
                         logger.error("Failed to send event to EventBridge");
@@ -138,24 +190,115 @@ public class EventBridgeService {
                                 );
                             }
                         });
-                    } else {
+                    } else if (hotPath.record(HotPathEvent.EVENT_SENT, eventBusName, detailType)) {
                         logger.info("Event sent to EventBridge: {} - {}",
                                 detailType, detail);
+                    } else {
+                        hotPath.payload(eventBusName, detailType, detail);
                     }
                 });
     }
 
     public CompletableFuture<Void> listRules(String eventBusName) {
+        return getRules(eventBusName).thenAccept(rules -> {
+            logger.info("Rules for event bus '{}':", eventBusName);
+            rules.forEach(rule -> logger.info("  - {} (State: {})", rule.name(), rule.state()));
+        });
+    }
+
+    public CompletableFuture<List<String>> listEventBusNames() {
+        return recorded("listEventBuses", null, null, null, () -> listEventBusNames(null, new ArrayList<>()));
+    }
+
+    private CompletableFuture<List<String>> listEventBusNames(String nextToken, List<String> names) {
+        ListEventBusesRequest request = ListEventBusesRequest.builder()
+                .nextToken(nextToken)
+                .build();
+
+        return guard.execute("ListEventBuses", null, () -> eventBridgeAsyncClient.listEventBuses(request))
+                .thenCompose(response -> {
+                    response.eventBuses().forEach(bus -> names.add(bus.name()));
+                    if (response.nextToken() == null) {
+                        return CompletableFuture.completedFuture(names);
+                    }
+                    return listEventBusNames(response.nextToken(), names);
+                });
+    }
+
+    public CompletableFuture<List<Rule>> getRules(String eventBusName) {
+        return recorded("listRules", eventBusName, null, null, () -> getRules(eventBusName, null, new ArrayList<>()));
+    }
+
+    private CompletableFuture<List<Rule>> getRules(String eventBusName, String nextToken, List<Rule> rules) {
         ListRulesRequest request = ListRulesRequest.builder()
                 .eventBusName(eventBusName)
+                .nextToken(nextToken)
                 .build();
 
-        return eventBridgeAsyncClient.listRules(request)
-                .thenAccept(response -> {
-                    logger.info("Rules for event bus '{}':", eventBusName);
-                    response.rules().forEach(rule ->
-                            logger.info("  - {} (State: {})", rule.name(), rule.state())
-                    );
+        return guard.execute("ListRules", eventBusName, () -> eventBridgeAsyncClient.listRules(request))
+                .thenCompose(response -> {
+                    rules.addAll(response.rules());
+                    if (response.nextToken() == null) {
+                        return CompletableFuture.completedFuture(rules);
+                    }
+                    return getRules(eventBusName, response.nextToken(), rules);
                 });
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<List<Target>> getTargets(String eventBusName, String ruleName) {
+        return recorded("listTargetsByRule", eventBusName, ruleName, null,
+                () -> getTargets(eventBusName, ruleName, null, new ArrayList<>()));
+    }
+
+    private CompletableFuture<List<Target>> getTargets(String eventBusName, String ruleName, String nextToken,
+                                                       List<Target> targets) {
+        ListTargetsByRuleRequest request = ListTargetsByRuleRequest.builder()
+                .eventBusName(eventBusName)
+                .rule(ruleName)
+                .nextToken(nextToken)
+                .build();
+
+        return guard.execute("ListTargetsByRule", eventBusName,
+                        () -> eventBridgeAsyncClient.listTargetsByRule(request))
+                .thenCompose(response -> {
+                    targets.addAll(response.targets());
+                    if (response.nextToken() == null) {
+                        return CompletableFuture.completedFuture(targets);
+                    }
+                    return getTargets(eventBusName, ruleName, response.nextToken(), targets);
+                });
+    }
+
+    private <T> CompletableFuture<T> recorded(String operation, String eventBusName, String ruleName,
+                                              String detail, Supplier<CompletableFuture<T>> flow) {
+        return lifecycle.track(SERVICE, operation, eventBusName,
+                () -> recordEvent(operation, eventBusName, ruleName, detail, flow));
+    }
+
+    private static <T> CompletableFuture<T> recordEvent(String operation, String eventBusName, String ruleName,
+                                                        String detail, Supplier<CompletableFuture<T>> flow) {
+        EventBridgeOperationEvent event = new EventBridgeOperationEvent();
+        if (!event.isEnabled()) {
+            return flow.get();
+        }
+        event.begin();
+        return flow.get().whenComplete((ignored, throwable) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.eventBusName = eventBusName;
+                event.ruleName = ruleName;
+                event.detailBytes = detail == null ? 0 : detail.getBytes(StandardCharsets.UTF_8).length;
+                event.failed = throwable != null;
+                event.commit();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (ownedGuards != null) {
+            ownedGuards.close();
+        }
+    }
+}
@@ -3,6 +3,13 @@ package org.example.service;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.example.config.LocalStackConfig;
+import org.example.lifecycle.LifecycleManager;
+import org.example.logging.HotPathEvent;
+import org.example.logging.HotPathLogging;
+import org.example.resilience.ServiceGuard;
+import org.example.resilience.ServiceGuards;
+import org.example.tracing.TraceContext;
+import org.example.tracing.TraceStamper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.sns.SnsAsyncClient;
@@ -11,17 +18,40 @@ import software.amazon.awssdk.services.sns.model.ListSubscriptionsByTopicRequest
 import software.amazon.awssdk.services.sns.model.ListTopicsRequest;
 import software.amazon.awssdk.services.sns.model.PublishRequest;
 import software.amazon.awssdk.services.sns.model.SubscribeRequest;
+import software.amazon.awssdk.services.sns.model.Subscription;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 @Singleton
-public class SnsService {
+public class SnsService implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(SnsService.class);
+    private static final String SERVICE = "sns";
     private final SnsAsyncClient snsAsyncClient;
+    private final ServiceGuard guard;
+    private final HotPathLogging hotPath;
+    private final LifecycleManager lifecycle;
+    private final ServiceGuards ownedGuards;
 
     @Inject
+    public SnsService(LocalStackConfig config, ServiceGuards guards, HotPathLogging hotPath,
+                      LifecycleManager lifecycle) {
+        this(config, guards, hotPath, lifecycle, false);
+    }
+
+    /** Standalone service with its own guards, which {@link #close()} shuts down. */
     public SnsService(LocalStackConfig config) {
+        this(config, ServiceGuards.withDefaults(), HotPathLogging.verbose(), LifecycleManager.withDefaults(), true);
+    }
+
+    private SnsService(LocalStackConfig config, ServiceGuards guards, HotPathLogging hotPath,
+                       LifecycleManager lifecycle, boolean ownsGuards) {
+        this.ownedGuards = ownsGuards ? guards : null;
         this.snsAsyncClient = config.getSnsAsyncClient();
+        this.guard = guards.sns();
+        this.hotPath = hotPath;
+        this.lifecycle = lifecycle;
     }
 
     public CompletableFuture<String> createTopic(String topicName) {
@@ -29,11 +59,12 @@ public class SnsService {
                 .name(topicName)
                 .build();
 
-        return snsAsyncClient.createTopic(request)
-                .thenApply(response -> {
-                    logger.info("Topic created: {} (ARN: {})", topicName, response.topicArn());
-                    return response.topicArn();
-                });
+        return lifecycle.track(SERVICE, "CreateTopic", topicName, () ->
+                guard.execute("CreateTopic", topicName, () -> snsAsyncClient.createTopic(request))
+                        .thenApply(response -> {
+                            logger.info("Topic created: {} (ARN: {})", topicName, response.topicArn());
+                            return response.topicArn();
+                        }));
     }
 
     public CompletableFuture<String> publishMessage(String topicArn, String message) {
@@ -43,17 +74,21 @@ public class SnsService {
     public CompletableFuture<String> publishMessage(String topicArn, String subject, String message) {
         PublishRequest.Builder requestBuilder = PublishRequest.builder()
                 .topicArn(topicArn)
-                .message(message);
+                .message(message)
+                .messageAttributes(TraceStamper.snsAttributes(TraceContext.start("sns")));
 
         if (subject != null && !subject.isEmpty()) {
             requestBuilder.subject(subject);
         }
 
-        return snsAsyncClient.publish(requestBuilder.build())
-                .thenApply(response -> {
-                    logger.info("Message published to {}: {}", topicArn, response.messageId());
-                    return response.messageId();
-                });
+        return lifecycle.track(SERVICE, "Publish", topicArn, () ->
+                guard.execute("Publish", topicArn, () -> snsAsyncClient.publish(requestBuilder.build()))
+                        .thenApply(response -> {
+                            if (hotPath.record(HotPathEvent.PUBLISHED, topicArn, response.messageId())) {
+                                logger.info("Message published to {}: {}", topicArn, response.messageId());
+                            }
+                            return response.messageId();
+                        }));
     }
 
     public CompletableFuture<String> subscribeSqsToTopic(String topicArn, String queueArn) {
@@ -63,33 +98,75 @@ public class SnsService {
                 .endpoint(queueArn)
                 .build();
 
-        return snsAsyncClient.subscribe(request)
-                .thenApply(response -> {
-                    logger.info("SQS subscribed to topic. SubscriptionArn: {}", response.subscriptionArn());
-                    return response.subscriptionArn();
-                });
+        return lifecycle.track(SERVICE, "Subscribe", topicArn, () ->
+                guard.execute("Subscribe", topicArn, () -> snsAsyncClient.subscribe(request))
+                        .thenApply(response -> {
+                            logger.info("SQS subscribed to topic. SubscriptionArn: {}", response.subscriptionArn());
+                            return response.subscriptionArn();
+                        }));
     }
 
     public CompletableFuture<Void> listTopics() {
-        ListTopicsRequest request = ListTopicsRequest.builder().build();
+        return listTopicArns().thenAccept(topicArns -> {
+            logger.info("Available SNS topics:");
+            topicArns.forEach(topicArn -> logger.info("  - {}", topicArn));
+        });
+    }
+
+    public CompletableFuture<List<String>> listTopicArns() {
+        return lifecycle.track(SERVICE, "ListTopics", null, () -> listTopicArns(null, new ArrayList<>()));
+    }
 
-        return snsAsyncClient.listTopics(request)
-                .thenAccept(response -> {
-                    logger.info("Available SNS topics:");
-                    response.topics().forEach(topic -> logger.info("  - {}", topic.topicArn()));
+    private CompletableFuture<List<String>> listTopicArns(String nextToken, List<String> topicArns) {
+        ListTopicsRequest request = ListTopicsRequest.builder()
+                .nextToken(nextToken)
+                .build();
+
+        return guard.execute("ListTopics", null, () -> snsAsyncClient.listTopics(request))
+                .thenCompose(response -> {
+                    response.topics().forEach(topic -> topicArns.add(topic.topicArn()));
+                    if (response.nextToken() == null) {
+                        return CompletableFuture.completedFuture(topicArns);
+                    }
+                    return listTopicArns(response.nextToken(), topicArns);
                 });
     }
 
     public CompletableFuture<Void> listSubscriptions(String topicArn) {
+        return getSubscriptions(topicArn).thenAccept(subscriptions -> {
+            logger.info("Subscriptions for topic {}:", topicArn);
+            subscriptions.forEach(subscription ->
+                    logger.info("  - {}: {}", subscription.protocol(), subscription.endpoint()));
+        });
+    }
+
+    public CompletableFuture<List<Subscription>> getSubscriptions(String topicArn) {
+        return lifecycle.track(SERVICE, "ListSubscriptionsByTopic", topicArn,
+                () -> getSubscriptions(topicArn, null, new ArrayList<>()));
+    }
+
+    private CompletableFuture<List<Subscription>> getSubscriptions(String topicArn, String nextToken,
+                                                                   List<Subscription> subscriptions) {
         ListSubscriptionsByTopicRequest request = ListSubscriptionsByTopicRequest.builder()
                 .topicArn(topicArn)
+                .nextToken(nextToken)
                 .build();
 
-        return snsAsyncClient.listSubscriptionsByTopic(request)
-                .thenAccept(response -> {
-                    logger.info("Subscriptions for topic {}:", topicArn);
-                    response.subscriptions().forEach(subscription ->
-                            logger.info("  - {}: {}", subscription.protocol(), subscription.endpoint()));
+        return guard.execute("ListSubscriptionsByTopic", topicArn,
+                        () -> snsAsyncClient.listSubscriptionsByTopic(request))
+                .thenCompose(response -> {
+                    subscriptions.addAll(response.subscriptions());
+                    if (response.nextToken() == null) {
+                        return CompletableFuture.completedFuture(subscriptions);
+                    }
+                    return getSubscriptions(topicArn, response.nextToken(), subscriptions);
                 });
     }
-}
\ No newline at end of file
+
+    @Override
+    public void close() {
+        if (ownedGuards != null) {
+            ownedGuards.close();
+        }
+    }
+}
@@ -2,32 +2,101 @@ package org.example.service;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.example.batch.BatchHandler;
+import org.example.batch.BatchOutcome;
+import org.example.batch.BatchResult;
+import org.example.batch.BatchSettings;
 import org.example.config.LocalStackConfig;
+import org.example.decoding.BodyReader;
+import org.example.decoding.MessageDecodingException;
+import org.example.decoding.TypedMessage;
+import org.example.jfr.MessageAckedEvent;
+import org.example.jfr.MessageHandledEvent;
+import org.example.jfr.MessageReceivedEvent;
+import org.example.lifecycle.LifecycleManager;
+import org.example.logging.HotPathEvent;
+import org.example.logging.HotPathLogging;
+import org.example.metrics.PipelineLatencyTracker;
+import org.example.resilience.ServiceGuard;
+import org.example.resilience.ServiceGuards;
+import org.example.tracing.TraceContext;
+import org.example.tracing.TraceExtractor;
+import org.example.tracing.TraceStamper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
 import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.PurgeQueueRequest;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Singleton
-public class SqsService {
+public class SqsService implements AutoCloseable {
+    public static final Duration MAX_DELAY = Duration.ofMinutes(15);
     private static final Logger logger = LoggerFactory.getLogger(SqsService.class);
+    private static final String SERVICE = "sqs";
+    private static final String SENT_TIMESTAMP = "SentTimestamp";
+    private static final String ALL_MESSAGE_ATTRIBUTES = "All";
+    private static final int MAX_MESSAGES_PER_RECEIVE = 10;
+    private static final int MAX_WAIT_TIME_SECONDS = 20;
+    private static final int MAX_BATCH_ENTRIES = 10;
+    private static final int MAX_QUEUES_PER_PAGE = 1_000;
     private final SqsAsyncClient sqsAsyncClient;
+    private final ServiceGuard guard;
+    private final PipelineLatencyTracker pipelineLatencyTracker;
+    private final HotPathLogging hotPath;
+    private final LifecycleManager lifecycle;
+    private final ServiceGuards ownedGuards;
 
     @Inject
+    public SqsService(LocalStackConfig config, ServiceGuards guards, PipelineLatencyTracker pipelineLatencyTracker,
+                      HotPathLogging hotPath, LifecycleManager lifecycle) {
+        this(config, guards, pipelineLatencyTracker, hotPath, lifecycle, false);
+    }
+
+    /** Standalone service with its own guards, which {@link #close()} shuts down. */
     public SqsService(LocalStackConfig config) {
+        this(config, ServiceGuards.withDefaults(), new PipelineLatencyTracker(), HotPathLogging.verbose(),
+                LifecycleManager.withDefaults(), true);
+    }
+
+    private SqsService(LocalStackConfig config, ServiceGuards guards, PipelineLatencyTracker pipelineLatencyTracker,
+                       HotPathLogging hotPath, LifecycleManager lifecycle, boolean ownsGuards) {
+        this.ownedGuards = ownsGuards ? guards : null;
         this.sqsAsyncClient = config.getSqsAsyncClient();
+        this.guard = guards.sqs();
+        this.pipelineLatencyTracker = pipelineLatencyTracker;
+        this.hotPath = hotPath;
+        this.lifecycle = lifecycle;
     }
 
     public CompletableFuture<String> createQueue(String queueName) {
@@ -42,34 +111,94 @@ public class SqsService {
             builder.attributes(attributes);
         }
 
-        return sqsAsyncClient.createQueue(builder.build())
-                .thenApply(response -> {
-                    logger.info("Queue created: {}", queueName);
-                    return response.queueUrl();
-                });
+        return lifecycle.track(SERVICE, "CreateQueue", queueName, () ->
+                guard.execute("CreateQueue", queueName, () -> sqsAsyncClient.createQueue(builder.build()))
+                        .thenApply(response -> {
+                            logger.info("Queue created: {}", queueName);
+                            return response.queueUrl();
+                        }));
     }
 
     public CompletableFuture<String> getQueueArn(String queueUrl) {
+        return getQueueAttributes(queueUrl, List.of(QueueAttributeName.QUEUE_ARN))
+                .thenApply(attributes -> attributes.get(QueueAttributeName.QUEUE_ARN));
+    }
+
+    public CompletableFuture<Map<QueueAttributeName, String>> getQueueAttributes(String queueUrl,
+                                                                              Collection<QueueAttributeName> names) {
         GetQueueAttributesRequest request = GetQueueAttributesRequest.builder()
                 .queueUrl(queueUrl)
-                .attributeNames(QueueAttributeName.QUEUE_ARN)
+                .attributeNames(names)
                 .build();
 
-        return sqsAsyncClient.getQueueAttributes(request)
-                .thenApply(response -> response.attributes().get(QueueAttributeName.QUEUE_ARN));
+        return lifecycle.track(SERVICE, "GetQueueAttributes", queueUrl, () ->
+                guard.execute("GetQueueAttributes", queueUrl, () -> sqsAsyncClient.getQueueAttributes(request))
+                        .thenApply(GetQueueAttributesResponse::attributes));
     }
 
     public CompletableFuture<String> sendMessage(String queueUrl, String messageBody) {
-        SendMessageRequest request = SendMessageRequest.builder()
+        return send(SendMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .messageBody(messageBody));
+    }
+
+    public CompletableFuture<String> sendMessage(String queueUrl, String messageBody, Duration delay) {
+        return send(SendMessageRequest.builder()
                 .queueUrl(queueUrl)
                 .messageBody(messageBody)
+                .delaySeconds(delaySeconds(delay)));
+    }
+
+    private CompletableFuture<String> send(SendMessageRequest.Builder builder) {
+        SendMessageRequest request = builder
+                .messageAttributes(TraceStamper.sqsAttributes(TraceContext.start("sqs")))
                 .build();
+        String queueUrl = request.queueUrl();
 
-        return sqsAsyncClient.sendMessage(request)
-                .thenApply(response -> {
-                    logger.info("Message sent to SQS: {}", queueUrl);
-                    return response.messageId();
-                });
+        return lifecycle.track(SERVICE, "SendMessage", queueUrl, () ->
+                guard.execute("SendMessage", queueUrl, () -> sqsAsyncClient.sendMessage(request))
+                        .thenApply(response -> {
+                            if (hotPath.record(HotPathEvent.SENT, queueUrl, response.messageId())) {
+                                logger.info("Message sent to SQS: {}", queueUrl);
+                            }
+                            return response.messageId();
+                        }));
+    }
+
+    /**
+     * Sends up to ten entries in one call. Entries without message attributes get a fresh trace
+     * stamp. Completes with the entries SQS rejected.
+     */
+    public CompletableFuture<List<BatchResultErrorEntry>> sendMessageBatch(String queueUrl,
+                                                                           List<SendMessageBatchRequestEntry> entries) {
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries.stream()
+                        .map(entry -> entry.hasMessageAttributes() ? entry : entry.toBuilder()
+                                .messageAttributes(TraceStamper.sqsAttributes(TraceContext.start("sqs")))
+                                .build())
+                        .toList())
+                .build();
+
+        return lifecycle.track(SERVICE, "SendMessageBatch", queueUrl, () ->
+                guard.execute("SendMessageBatch", queueUrl, entries.size(),
+                                () -> sqsAsyncClient.sendMessageBatch(request))
+                        .thenApply(response -> {
+                            response.failed().forEach(failure -> logger.warn("Could not send entry {} to {}: {}",
+                                    failure.id(), queueUrl, failure.message()));
+                            return response.failed();
+                        }));
+    }
+
+    /**
+     * Rounds up to whole seconds, so a delayed message is never delivered early.
+     */
+    public static int delaySeconds(Duration delay) {
+        if (delay.isNegative() || delay.compareTo(MAX_DELAY) > 0) {
+            throw new IllegalArgumentException("delay must be between 0 and " + MAX_DELAY + ", got " + delay);
+        }
+        long seconds = delay.getSeconds();
+        return (int) (delay.getNano() > 0 ? seconds + 1 : seconds);
     }
 
     public CompletableFuture<List<Message>> receiveMessages(String queueUrl) {
@@ -77,74 +206,501 @@ public class SqsService {
     }
 
     public CompletableFuture<List<Message>> receiveMessages(String queueUrl, int maxMessages, int waitTimeSeconds) {
+        return lifecycle.track(SERVICE, "ReceiveMessage", queueUrl,
+                () -> receive(queueUrl, maxMessages, waitTimeSeconds));
+    }
+
+    private CompletableFuture<List<Message>> receive(String queueUrl, int maxMessages, int waitTimeSeconds) {
         ReceiveMessageRequest request = ReceiveMessageRequest.builder()
                 .queueUrl(queueUrl)
                 .maxNumberOfMessages(maxMessages)
                 .waitTimeSeconds(waitTimeSeconds)
+                .attributeNamesWithStrings(SENT_TIMESTAMP)
+                .messageAttributeNames(ALL_MESSAGE_ATTRIBUTES)
                 .build();
 
-        return sqsAsyncClient.receiveMessage(request)
-                .thenApply(ReceiveMessageResponse::messages);
+        CompletableFuture<ReceiveMessageResponse> response = waitTimeSeconds > 0
+                ? guard.executeLongPoll("ReceiveMessage", queueUrl, () -> sqsAsyncClient.receiveMessage(request))
+                : guard.execute("ReceiveMessage", queueUrl, () -> sqsAsyncClient.receiveMessage(request));
+        return response
+                .thenApply(ReceiveMessageResponse::messages)
+                .thenApply(messages -> {
+                    recordPipelineLatency(queueUrl, messages);
+                    recordReceived(queueUrl, messages);
+                    return messages;
+                });
+    }
+
+    public <T> CompletableFuture<List<TypedMessage<T>>> receiveMessages(String queueUrl, int maxMessages,
+                                                                        int waitTimeSeconds, BodyReader<T> reader) {
+        return lifecycle.track(SERVICE, "ReceiveMessage", queueUrl, () ->
+                receive(queueUrl, maxMessages, waitTimeSeconds)
+                        .thenApply(messages -> decode(queueUrl, messages, reader)));
+    }
+
+    private static <T> List<TypedMessage<T>> decode(String queueUrl, List<Message> messages, BodyReader<T> reader) {
+        List<TypedMessage<T>> decoded = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                decoded.add(new TypedMessage<>(message, reader.read(message)));
+            } catch (MessageDecodingException e) {
+                logger.warn("Leaving undecodable message {} in {} for redelivery: {}",
+                        message.messageId(), queueUrl, e.getMessage());
+            }
+        }
+        return decoded;
+    }
+
+    private static void recordReceived(String queueUrl, List<Message> messages) {
+        for (Message message : messages) {
+            MessageReceivedEvent event = new MessageReceivedEvent();
+            if (!event.shouldCommit()) {
+                return;
+            }
+            event.queueUrl = queueUrl;
+            event.messageId = message.messageId();
+            event.bodyBytes = message.body() == null ? 0 : message.body().getBytes(StandardCharsets.UTF_8).length;
+            event.commit();
+        }
+    }
+
+    private void recordPipelineLatency(String queueUrl, List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long receivedAt = System.currentTimeMillis();
+        for (Message message : messages) {
+            TraceExtractor.extract(message, queueUrl)
+                    .ifPresent(trace -> pipelineLatencyTracker.record(trace, receivedAt));
+        }
     }
 
     public CompletableFuture<Void> deleteMessage(String queueUrl, String receiptHandle) {
+        return lifecycle.track(SERVICE, "DeleteMessage", queueUrl, () -> delete(queueUrl, receiptHandle));
+    }
+
+    private CompletableFuture<Void> delete(String queueUrl, String receiptHandle) {
         DeleteMessageRequest request = DeleteMessageRequest.builder()
                 .queueUrl(queueUrl)
                 .receiptHandle(receiptHandle)
                 .build();
 
-        return sqsAsyncClient.deleteMessage(request)
-                .thenAccept(response -> logger.info("Message deleted from queue"));
+        return guard.execute("DeleteMessage", queueUrl, () -> sqsAsyncClient.deleteMessage(request))
+                .thenAccept(response -> {
+                    if (hotPath.record(HotPathEvent.DELETED, queueUrl, receiptHandle)) {
+                        logger.info("Message deleted from queue");
+                    }
+                });
     }
 
     public CompletableFuture<Void> processMessages(String queueUrl) {
-        return receiveMessages(queueUrl)
+        return lifecycle.track(SERVICE, "ProcessMessages", queueUrl, () ->
+                receive(queueUrl, MAX_MESSAGES_PER_RECEIVE, MAX_WAIT_TIME_SECONDS)
+                        .thenCompose(messages -> process(queueUrl, messages)));
+    }
+
+    public CompletableFuture<Void> processMessages(String queueUrl, List<Message> messages) {
+        return lifecycle.track(SERVICE, "ProcessMessages", queueUrl, () -> process(queueUrl, messages));
+    }
+
+    private CompletableFuture<Void> process(String queueUrl, List<Message> messages) {
+        if (messages.isEmpty()) {
+            if (hotPath.record(HotPathEvent.EMPTY_RECEIVE, queueUrl, null)) {
+                logger.info("No messages in queue: {}", queueUrl);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (hotPath.isVerbose()) {
+            logger.info("Processing {} messages from queue: {}", messages.size(), queueUrl);
+        }
+
+        return CompletableFuture.allOf(
+                messages.stream()
+                        .map(message -> {
+                            handle(queueUrl, message);
+                            return acknowledge(queueUrl, message)
+                                    .thenAccept(response -> {
+                                        if (hotPath.record(HotPathEvent.PROCESSED, queueUrl,
+                                                message.messageId())) {
+                                            logger.info("SQS processing is finished");
+                                        }
+                                    });
+                        })
+                        .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Decodes each received body with {@code reader} and hands it to {@code handler}. Messages are
+     * deleted only after the handler returns; undecodable messages and handler failures are left
+     * in flight so the queue's redrive policy decides what happens to them.
+     */
+    public <T> CompletableFuture<Void> processMessages(String queueUrl, BodyReader<T> reader,
+                                                       Consumer<TypedMessage<T>> handler) {
+        return lifecycle.track(SERVICE, "ProcessMessages", queueUrl, () ->
+                receive(queueUrl, MAX_MESSAGES_PER_RECEIVE, MAX_WAIT_TIME_SECONDS)
+                        .thenCompose(messages -> CompletableFuture.allOf(decode(queueUrl, messages, reader).stream()
+                                .filter(typed -> handle(queueUrl, typed, handler))
+                                .map(typed -> acknowledge(queueUrl, typed.message()))
+                                .toArray(CompletableFuture[]::new))));
+    }
+
+    public CompletableFuture<BatchOutcome> processBatch(String queueUrl, BatchSettings settings,
+                                                        BatchHandler<String> handler) {
+        return lifecycle.track(SERVICE, "ProcessBatch", queueUrl,
+                () -> processBatch(queueUrl, settings, Message::body, handler));
+    }
+
+    /**
+     * Receives until {@code maxBatchSize} messages are held or {@code maxWait} has passed, then calls
+     * the handler once with all of them. Messages it reports as succeeded are removed with
+     * DeleteMessageBatch; failed and undecodable ones get their visibility reset to zero in batch so
+     * they are redelivered straight away. Messages stay invisible while the batch accumulates, so
+     * {@code maxWait} should be well below the queue's visibility timeout.
+     */
+    public <T> CompletableFuture<BatchOutcome> processBatch(String queueUrl, BodyReader<T> reader,
+                                                            BatchSettings settings, BatchHandler<T> handler) {
+        return lifecycle.track(SERVICE, "ProcessBatch", queueUrl,
+                () -> processBatch(queueUrl, settings, reader::read, handler));
+    }
+
+    private <T> CompletableFuture<BatchOutcome> processBatch(String queueUrl, BatchSettings settings,
+                                                             Function<Message, T> decoder, BatchHandler<T> handler) {
+        long deadline = System.nanoTime() + settings.maxWait().toNanos();
+        return accumulate(queueUrl, settings.maxBatchSize(), deadline, new ArrayList<>())
                 .thenCompose(messages -> {
                     if (messages.isEmpty()) {
-                        logger.info("No messages in queue: {}", queueUrl);
-                        return CompletableFuture.completedFuture(null);
+                        return CompletableFuture.completedFuture(BatchOutcome.empty());
                     }
+                    List<Message> failed = new ArrayList<>();
+                    List<TypedMessage<T>> batch = new ArrayList<>(messages.size());
+                    for (Message message : messages) {
+                        try {
+                            batch.add(new TypedMessage<>(message, decoder.apply(message)));
+                        } catch (MessageDecodingException e) {
+                            logger.warn("Releasing undecodable message {} in {}: {}",
+                                    message.messageId(), queueUrl, e.getMessage());
+                            failed.add(message);
+                        }
+                    }
+                    return invoke(handler, batch).thenCompose(result -> {
+                        List<Message> succeeded = new ArrayList<>(batch.size());
+                        for (TypedMessage<T> typed : batch) {
+                            (result.succeeded(typed.messageId()) ? succeeded : failed).add(typed.message());
+                        }
+                        return CompletableFuture.allOf(deleteBatch(queueUrl, succeeded), releaseBatch(queueUrl, failed))
+                                .thenApply(ignored -> {
+                                    if (hotPath.isVerbose()) {
+                                        logger.info("Processed batch of {} messages from {}: {} succeeded, {} failed",
+                                                messages.size(), queueUrl, succeeded.size(), failed.size());
+                                    }
+                                    return new BatchOutcome(messages.size(), succeeded.size(), failed.size());
+                                });
+                    });
+                });
+    }
 
-                    logger.info("Processing {} messages from queue: {}", messages.size(), queueUrl);
-
-                    return CompletableFuture.allOf(
-                            messages.stream()
-                                    .map(message -> {
-                                        logger.info("Received message: {}", message.body());
-                                        logger.info("Message ID: {}", message.messageId());
-                                        return deleteMessage(queueUrl, message.receiptHandle())
-                                                .thenAccept(response ->
-                                                        logger.info("SQS processing is finished")
-                                                );
-                                    })
-                                    .toArray(CompletableFuture[]::new));
+    private CompletableFuture<List<Message>> accumulate(String queueUrl, int maxMessages, long deadline,
+                                                        List<Message> batch) {
+        long remainingSeconds = TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime());
+        int waitTimeSeconds = (int) Math.min(MAX_WAIT_TIME_SECONDS, Math.max(1L, remainingSeconds));
+        return receive(queueUrl, Math.min(MAX_MESSAGES_PER_RECEIVE, maxMessages - batch.size()), waitTimeSeconds)
+                .thenCompose(messages -> {
+                    batch.addAll(messages);
+                    if (batch.size() >= maxMessages || deadline - System.nanoTime() < TimeUnit.SECONDS.toNanos(1)) {
+                        return CompletableFuture.completedFuture(batch);
+                    }
+                    return accumulate(queueUrl, maxMessages, deadline, batch);
                 });
     }
 
-    public CompletableFuture<Void> purgeQueue(String queueUrl) {
-        PurgeQueueRequest request = PurgeQueueRequest.builder()
+    private static <T> CompletableFuture<BatchResult> invoke(BatchHandler<T> handler, List<TypedMessage<T>> batch) {
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(BatchResult.success());
+        }
+        CompletableFuture<BatchResult> result;
+        try {
+            result = handler.handle(batch);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.exceptionally(throwable -> {
+            logger.warn("Batch handler failed for {} messages: {}", batch.size(), throwable.getMessage());
+            return BatchResult.failed(batch.stream().map(TypedMessage::messageId).toList());
+        });
+    }
+
+    private CompletableFuture<Void> deleteBatch(String queueUrl, List<Message> messages) {
+        return CompletableFuture.allOf(chunks(messages).stream()
+                .map(chunk -> {
+                    DeleteMessageBatchRequest request = DeleteMessageBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries(chunk, (id, message) -> DeleteMessageBatchRequestEntry.builder()
+                                    .id(id)
+                                    .receiptHandle(message.receiptHandle())
+                                    .build()))
+                            .build();
+                    return guard.execute("DeleteMessageBatch", queueUrl, () -> sqsAsyncClient.deleteMessageBatch(request))
+                            .thenAccept(response -> response.failed().forEach(failure ->
+                                    logger.warn("Could not delete message in {}: {}", queueUrl, failure.message())))
+                            .exceptionally(throwable -> {
+                                logger.warn("Could not delete {} messages in {}: {}", chunk.size(), queueUrl,
+                                        throwable.getMessage());
+                                return null;
+                            });
+                })
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private CompletableFuture<Void> releaseBatch(String queueUrl, List<Message> messages) {
+        return CompletableFuture.allOf(chunks(messages).stream()
+                .map(chunk -> {
+                    ChangeMessageVisibilityBatchRequest request = ChangeMessageVisibilityBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries(chunk, (id, message) -> ChangeMessageVisibilityBatchRequestEntry.builder()
+                                    .id(id)
+                                    .receiptHandle(message.receiptHandle())
+                                    .visibilityTimeout(0)
+                                    .build()))
+                            .build();
+                    return guard.execute("ChangeMessageVisibilityBatch", queueUrl,
+                                    () -> sqsAsyncClient.changeMessageVisibilityBatch(request))
+                            .thenAccept(response -> response.failed().forEach(failure ->
+                                    logger.warn("Could not release message in {}: {}", queueUrl, failure.message())))
+                            .exceptionally(throwable -> {
+                                logger.warn("Could not release {} messages in {}: {}", chunk.size(), queueUrl,
+                                        throwable.getMessage());
+                                return null;
+                            });
+                })
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private static List<List<Message>> chunks(List<Message> messages) {
+        List<List<Message>> chunks = new ArrayList<>((messages.size() + MAX_BATCH_ENTRIES - 1) / MAX_BATCH_ENTRIES);
+        for (int from = 0; from < messages.size(); from += MAX_BATCH_ENTRIES) {
+            chunks.add(messages.subList(from, Math.min(messages.size(), from + MAX_BATCH_ENTRIES)));
+        }
+        return chunks;
+    }
+
+    private static <E> List<E> entries(List<Message> chunk, BiFunction<String, Message, E> entry) {
+        List<E> entries = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            entries.add(entry.apply(Integer.toString(i), chunk.get(i)));
+        }
+        return entries;
+    }
+
+    public CompletableFuture<List<Message>> awaitMessages(String queueUrl, int count, Duration timeout) {
+        return awaitMessages(queueUrl, message -> true, count, timeout);
+    }
+
+    /**
+     * Long-polls until {@code count} messages matching {@code predicate} have been received, and
+     * completes with them still in flight so the caller decides whether to delete them. Messages
+     * that do not match are held invisible while waiting and released when the wait ends. On
+     * timeout everything is released and the future fails with a {@link TimeoutException}.
+     */
+    public CompletableFuture<List<Message>> awaitMessages(String queueUrl, Predicate<Message> predicate,
+                                                         int count, Duration timeout) {
+        return lifecycle.track(SERVICE, "AwaitMessages", queueUrl, () -> await(queueUrl, predicate, count, timeout));
+    }
+
+    private CompletableFuture<List<Message>> await(String queueUrl, Predicate<Message> predicate,
+                                                   int count, Duration timeout) {
+        if (count <= 0) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Message> matched = new ArrayList<>(count);
+        List<Message> skipped = new ArrayList<>();
+        CompletableFuture<List<Message>> result = new CompletableFuture<>();
+        pollUntil(queueUrl, predicate, count, deadline, matched, skipped)
+                .whenComplete((reachedCount, throwable) -> {
+                    List<Message> release = new ArrayList<>(skipped);
+                    if (throwable != null || !reachedCount) {
+                        release.addAll(matched);
+                    }
+                    releaseMessages(queueUrl, release).whenComplete((ignored, releaseFailure) -> {
+                        if (throwable != null) {
+                            result.completeExceptionally(throwable);
+                        } else if (!reachedCount) {
+                            result.completeExceptionally(new TimeoutException(String.format(
+                                    "Received %d of %d matching messages from %s within %d ms",
+                                    matched.size(), count, queueUrl, timeout.toMillis())));
+                        } else {
+                            result.complete(List.copyOf(matched));
+                        }
+                    });
+                });
+        return result;
+    }
+
+    private CompletableFuture<Boolean> pollUntil(String queueUrl, Predicate<Message> predicate, int count,
+                                                 long deadline, List<Message> matched, List<Message> skipped) {
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0L) {
+            return CompletableFuture.completedFuture(false);
+        }
+        int waitTimeSeconds = (int) Math.min(MAX_WAIT_TIME_SECONDS,
+                Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(remainingNanos)));
+        int maxMessages = Math.min(MAX_MESSAGES_PER_RECEIVE, count - matched.size());
+        return receive(queueUrl, maxMessages, waitTimeSeconds)
+                .thenCompose(messages -> {
+                    for (Message message : messages) {
+                        if (matched.size() < count && predicate.test(message)) {
+                            matched.add(message);
+                        } else {
+                            skipped.add(message);
+                        }
+                    }
+                    if (matched.size() >= count) {
+                        return CompletableFuture.completedFuture(true);
+                    }
+                    return pollUntil(queueUrl, predicate, count, deadline, matched, skipped);
+                });
+    }
+
+    private CompletableFuture<Void> releaseMessages(String queueUrl, List<Message> messages) {
+        return CompletableFuture.allOf(messages.stream()
+                .map(message -> changeVisibility(queueUrl, message.receiptHandle(), 0)
+                        .exceptionally(throwable -> {
+                            logger.warn("Could not release message {}: {}", message.messageId(),
+                                    throwable.getMessage());
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    public CompletableFuture<Void> changeMessageVisibility(String queueUrl, String receiptHandle,
+                                                           int visibilityTimeoutSeconds) {
+        return lifecycle.track(SERVICE, "ChangeMessageVisibility", queueUrl,
+                () -> changeVisibility(queueUrl, receiptHandle, visibilityTimeoutSeconds));
+    }
+
+    private CompletableFuture<Void> changeVisibility(String queueUrl, String receiptHandle,
+                                                     int visibilityTimeoutSeconds) {
+        ChangeMessageVisibilityRequest request = ChangeMessageVisibilityRequest.builder()
                 .queueUrl(queueUrl)
+                .receiptHandle(receiptHandle)
+                .visibilityTimeout(visibilityTimeoutSeconds)
                 .build();
 
-        return sqsAsyncClient.purgeQueue(request)
+        return guard.execute("ChangeMessageVisibility", queueUrl, () -> sqsAsyncClient.changeMessageVisibility(request))
                 .thenAccept(response ->
-                        logger.info("Queue purged: {}", queueUrl))
-                .exceptionally(throwable -> {
-                    logger.warn("Could not purge queue: {}", throwable.getMessage());
-                    return null;
+                        logger.debug("Visibility timeout set to {}s for message in {}", visibilityTimeoutSeconds, queueUrl));
+    }
+
+    private void handle(String queueUrl, Message message) {
+        MessageHandledEvent event = new MessageHandledEvent();
+        event.begin();
+        if (hotPath.record(HotPathEvent.RECEIVED, queueUrl, message.messageId())) {
+            logger.info("Received message: {}", message.body());
+            logger.info("Message ID: {}", message.messageId());
+        } else {
+            hotPath.payload(queueUrl, message.messageId(), message.body());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.queueUrl = queueUrl;
+            event.messageId = message.messageId();
+            event.succeeded = true;
+            event.commit();
+        }
+    }
+
+    private <T> boolean handle(String queueUrl, TypedMessage<T> typed, Consumer<TypedMessage<T>> handler) {
+        MessageHandledEvent event = new MessageHandledEvent();
+        event.begin();
+        if (hotPath.record(HotPathEvent.RECEIVED, queueUrl, typed.messageId())) {
+            logger.info("Received {} message: {}", typed.body().getClass().getSimpleName(), typed.messageId());
+        }
+        boolean succeeded = true;
+        try {
+            handler.accept(typed);
+        } catch (RuntimeException e) {
+            succeeded = false;
+            logger.warn("Handler failed for message {} from {}: {}", typed.messageId(), queueUrl, e.getMessage());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.queueUrl = queueUrl;
+            event.messageId = typed.messageId();
+            event.succeeded = succeeded;
+            event.commit();
+        }
+        return succeeded;
+    }
+
+    private CompletableFuture<Void> acknowledge(String queueUrl, Message message) {
+        MessageAckedEvent event = new MessageAckedEvent();
+        if (!event.isEnabled()) {
+            return delete(queueUrl, message.receiptHandle());
+        }
+        event.begin();
+        return delete(queueUrl, message.receiptHandle())
+                .whenComplete((ignored, throwable) -> {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.queueUrl = queueUrl;
+                        event.messageId = message.messageId();
+                        event.succeeded = throwable == null;
+                        event.commit();
+                    }
                 });
     }
 
+    public CompletableFuture<Void> purgeQueue(String queueUrl) {
+        PurgeQueueRequest request = PurgeQueueRequest.builder()
+                .queueUrl(queueUrl)
+                .build();
+
+        return lifecycle.track(SERVICE, "PurgeQueue", queueUrl, () ->
+                guard.execute("PurgeQueue", queueUrl, () -> sqsAsyncClient.purgeQueue(request))
+                        .thenAccept(response ->
+                                logger.info("Queue purged: {}", queueUrl))
+                        .exceptionally(throwable -> {
+                            logger.warn("Could not purge queue: {}", throwable.getMessage());
+                            return null;
+                        }));
+    }
+
     public CompletableFuture<Void> listQueues() {
-        return sqsAsyncClient.listQueues()
-                .thenAccept(response -> {
-                    logger.info("Available SQS queues:");
-                    if (response.queueUrls().isEmpty()) {
-                        logger.info("  No queues found");
-                    } else {
-                        response.queueUrls().forEach(url ->
-                                logger.info("  - {}", url));
+        return listQueueUrls().thenAccept(queueUrls -> {
+            logger.info("Available SQS queues:");
+            if (queueUrls.isEmpty()) {
+                logger.info("  No queues found");
+            } else {
+                queueUrls.forEach(url -> logger.info("  - {}", url));
+            }
+        });
+    }
+
+    public CompletableFuture<List<String>> listQueueUrls() {
+        return lifecycle.track(SERVICE, "ListQueues", null, () -> listQueueUrls(null, new ArrayList<>()));
+    }
+
+    private CompletableFuture<List<String>> listQueueUrls(String nextToken, List<String> queueUrls) {
+        ListQueuesRequest request = ListQueuesRequest.builder()
+                .maxResults(MAX_QUEUES_PER_PAGE)
+                .nextToken(nextToken)
+                .build();
+
+        return guard.execute("ListQueues", null, () -> sqsAsyncClient.listQueues(request))
+                .thenCompose(response -> {
+                    queueUrls.addAll(response.queueUrls());
+                    if (response.nextToken() == null) {
+                        return CompletableFuture.completedFuture(queueUrls);
                     }
+                    return listQueueUrls(response.nextToken(), queueUrls);
                 });
     }
-}
\ No newline at end of file
+
+    @Override
+    public void close() {
+        if (ownedGuards != null) {
+            ownedGuards.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One logical queue backed by physical queues {@code <name>-0 .. <name>-(n-1)}. Keys are mapped
+ * with jump consistent hashing, so growing from {@code n} to {@code m} shards moves only the
+ * {@code (m - n) / m} of keys that must move, and keys never move between two old shards.
+ */
+public final class ShardedQueue {
+    private final String name;
+    private final List<String> shardUrls;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    ShardedQueue(String name, List<String> shardUrls) {
+        if (shardUrls.isEmpty()) {
+            throw new IllegalArgumentException("A sharded queue needs at least one shard");
+        }
+        this.name = name;
+        this.shardUrls = List.copyOf(shardUrls);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getShardUrls() {
+        return shardUrls;
+    }
+
+    public int shardCount() {
+        return shardUrls.size();
+    }
+
+    public String shardFor(String key) {
+        return shardUrls.get(shardIndex(key, shardUrls.size()));
+    }
+
+    /**
+     * Round-robin pick for messages that have no key.
+     */
+    public String nextShard() {
+        return shardUrls.get(Math.floorMod(nextShard.getAndIncrement(), shardUrls.size()));
+    }
+
+    static String shardName(String name, int index) {
+        return name + "-" + index;
+    }
+
+    /**
+     * Lamping and Veach's jump consistent hash over a 64-bit FNV-1a hash of the key.
+     */
+    static int shardIndex(String key, int shards) {
+        long hash = fmix(fnv1a(key));
+        long bucket = -1;
+        long jump = 0;
+        while (jump < shards) {
+            bucket = jump;
+            hash = hash * 2862933555777941757L + 1;
+            jump = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((hash >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    private static long fnv1a(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long fmix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.sharding;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.consumer.FairConsumerSettings;
+import org.example.consumer.WeightedFairConsumer;
+import org.example.consumer.WeightedQueue;
+import org.example.service.SqsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+@Singleton
+public class ShardedQueueService {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedQueueService.class);
+
+    private final SqsService sqsService;
+
+    @Inject
+    public ShardedQueueService(SqsService sqsService) {
+        this.sqsService = sqsService;
+    }
+
+    /**
+     * Creates or resolves all shards of {@code name} in parallel. CreateQueue is idempotent, so
+     * calling this for an existing sharded queue just returns its URLs.
+     */
+    public CompletableFuture<ShardedQueue> createShardedQueue(String name, int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards must be > 0");
+        }
+        List<CompletableFuture<String>> urls = IntStream.range(0, shards)
+                .mapToObj(index -> sqsService.createQueue(ShardedQueue.shardName(name, index)))
+                .toList();
+        return CompletableFuture.allOf(urls.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    logger.info("Sharded queue {} ready with {} shards", name, shards);
+                    return new ShardedQueue(name, urls.stream().map(CompletableFuture::join).toList());
+                });
+    }
+
+    /**
+     * Adds shards to {@code queue}. Only keys that now hash to a new shard move; messages already
+     * sitting in the old shards stay there and are still consumed, so per-key ordering is only
+     * loose across a reshard.
+     */
+    public CompletableFuture<ShardedQueue> reshard(ShardedQueue queue, int shards) {
+        if (shards < queue.shardCount()) {
+            throw new IllegalArgumentException("Cannot shrink " + queue.getName() + " from " + queue.shardCount()
+                    + " to " + shards + " shards; drain and retire it instead");
+        }
+        return createShardedQueue(queue.getName(), shards);
+    }
+
+    public CompletableFuture<String> sendMessage(ShardedQueue queue, String key, String messageBody) {
+        return sqsService.sendMessage(queue.shardFor(key), messageBody);
+    }
+
+    public CompletableFuture<String> sendMessage(ShardedQueue queue, String messageBody) {
+        return sqsService.sendMessage(queue.nextShard(), messageBody);
+    }
+
+    /**
+     * Consumer that polls every shard with equal weight into one handler pool; call
+     * {@link WeightedFairConsumer#start()} to begin.
+     */
+    public WeightedFairConsumer consumer(ShardedQueue queue, FairConsumerSettings settings,
+                                         BiConsumer<WeightedQueue, Message> handler) {
+        return new WeightedFairConsumer(sqsService, queue.getShardUrls().stream()
+                .map(url -> new WeightedQueue(url, 1))
+                .toList(), settings, handler);
+    }
+}
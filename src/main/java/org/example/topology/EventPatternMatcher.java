@@ -0,0 +1,109 @@
+package org.example.topology;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Subset of EventBridge content filtering: nested field matching, exact values, and the
+ * {@code prefix}, {@code suffix}, {@code anything-but}, {@code exists} and {@code numeric}
+ * operators. Every field in the pattern must match; within an array any element may match.
+ */
+public final class EventPatternMatcher {
+    private EventPatternMatcher() {
+    }
+
+    public static boolean matches(JsonNode pattern, JsonNode event) {
+        Iterator<Map.Entry<String, JsonNode>> fields = pattern.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode expected = field.getValue();
+            JsonNode actual = event == null ? null : event.get(field.getKey());
+            if (expected.isObject()) {
+                if (actual == null || !actual.isObject() || !matches(expected, actual)) {
+                    return false;
+                }
+            } else if (expected.isArray()) {
+                if (!matchesAny(expected, actual)) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesAny(JsonNode alternatives, JsonNode actual) {
+        for (JsonNode alternative : alternatives) {
+            if (alternative.isObject() && alternative.has("exists")) {
+                if (alternative.get("exists").asBoolean() == (actual != null && !actual.isNull())) {
+                    return true;
+                }
+                continue;
+            }
+            if (actual == null) {
+                continue;
+            }
+            if (actual.isArray()) {
+                for (JsonNode element : actual) {
+                    if (matchesValue(alternative, element)) {
+                        return true;
+                    }
+                }
+            } else if (matchesValue(alternative, actual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesValue(JsonNode alternative, JsonNode value) {
+        if (!alternative.isObject()) {
+            return alternative.isNumber() && value.isNumber()
+                    ? alternative.decimalValue().compareTo(value.decimalValue()) == 0
+                    : alternative.equals(value);
+        }
+        if (alternative.has("prefix")) {
+            return value.isTextual() && value.asText().startsWith(alternative.get("prefix").asText());
+        }
+        if (alternative.has("suffix")) {
+            return value.isTextual() && value.asText().endsWith(alternative.get("suffix").asText());
+        }
+        if (alternative.has("anything-but")) {
+            JsonNode excluded = alternative.get("anything-but");
+            if (excluded.isArray()) {
+                for (JsonNode candidate : excluded) {
+                    if (matchesValue(candidate, value)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return !matchesValue(excluded, value);
+        }
+        if (alternative.has("numeric")) {
+            return value.isNumber() && matchesNumeric(alternative.get("numeric"), value.doubleValue());
+        }
+        return false;
+    }
+
+    private static boolean matchesNumeric(JsonNode conditions, double value) {
+        for (int i = 0; i + 1 < conditions.size(); i += 2) {
+            double operand = conditions.get(i + 1).asDouble();
+            boolean ok = switch (conditions.get(i).asText()) {
+                case "<" -> value < operand;
+                case "<=" -> value <= operand;
+                case ">" -> value > operand;
+                case ">=" -> value >= operand;
+                case "=" -> value == operand;
+                default -> false;
+            };
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
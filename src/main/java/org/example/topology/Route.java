@@ -0,0 +1,15 @@
+package org.example.topology;
+
+/**
+ * @param eventBus     bus the event is put on
+ * @param rule         rule that matches it
+ * @param target       ARN of the rule target
+ * @param topic        SNS topic the event fans out through, or {@code null} when the target is the destination
+ * @param subscription subscription on {@code topic}, or {@code null} when the target is the destination or
+ *                     the topic's subscriptions are not indexed, in which case the topic is the destination
+ * @param destination  ARN or endpoint the event finally lands on, usually an SQS queue ARN
+ * @param conditional  the rule also filters on fields the query did not supply, so the route may not apply
+ */
+public record Route(String eventBus, String rule, String target, String topic, String subscription,
+                    String destination, boolean conditional) {
+}
@@ -0,0 +1,232 @@
+package org.example.topology;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable view of buses, rules, targets and topic subscriptions. Rules whose pattern lists
+ * exact sources are indexed by source, so a lookup only evaluates the rules that can match
+ * plus those that do not filter on source at all. Answers to header-only queries are cached
+ * for the lifetime of the view; updates produce a new view with an empty cache. An SNS target
+ * whose topic is not in the view yields one conditional route to the topic itself, since its
+ * subscribers are unknown rather than absent.
+ */
+final class Topology {
+    static final Topology EMPTY = new Topology(Map.of(), Map.of(), false);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SOURCE = "source";
+    private static final String DETAIL_TYPE = "detail-type";
+    private static final String DETAIL = "detail";
+    private static final Set<String> HEADER_FIELDS = Set.of(SOURCE, DETAIL_TYPE);
+    private static final Set<String> CONTENT_FIELDS = Set.of(SOURCE, DETAIL_TYPE, DETAIL);
+    private static final String SNS_ARN_PREFIX = "arn:aws:sns:";
+
+    private final Map<String, BusNode> buses;
+    private final Map<String, List<SubscriptionNode>> subscriptions;
+    private final boolean loaded;
+    private final ConcurrentMap<RouteKey, List<Route>> cache = new ConcurrentHashMap<>();
+
+    Topology(Map<String, BusNode> buses, Map<String, List<SubscriptionNode>> subscriptions, boolean loaded) {
+        this.buses = Map.copyOf(buses);
+        this.subscriptions = Map.copyOf(subscriptions);
+        this.loaded = loaded;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    BusNode bus(String name) {
+        return buses.get(name);
+    }
+
+    List<SubscriptionNode> topic(String topicArn) {
+        return subscriptions.get(topicArn);
+    }
+
+    Topology withBus(String name, BusNode bus) {
+        Map<String, BusNode> updated = new HashMap<>(buses);
+        if (bus == null) {
+            updated.remove(name);
+        } else {
+            updated.put(name, bus);
+        }
+        return new Topology(updated, subscriptions, loaded);
+    }
+
+    Topology withTopic(String topicArn, List<SubscriptionNode> topicSubscriptions) {
+        Map<String, List<SubscriptionNode>> updated = new HashMap<>(subscriptions);
+        if (topicSubscriptions == null) {
+            updated.remove(topicArn);
+        } else {
+            updated.put(topicArn, List.copyOf(topicSubscriptions));
+        }
+        return new Topology(buses, updated, loaded);
+    }
+
+    List<Route> routes(String eventBus, String source, String detailType, int maxCached) {
+        RouteKey key = new RouteKey(eventBus, source, detailType);
+        List<Route> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ObjectNode event = MAPPER.createObjectNode().put(SOURCE, source).put(DETAIL_TYPE, detailType);
+        List<Route> routes = resolve(eventBus, source, event, false);
+        if (cache.size() >= maxCached) {
+            cache.clear();
+        }
+        cache.put(key, routes);
+        return routes;
+    }
+
+    List<Route> routes(String eventBus, String source, String detailType, JsonNode detail) {
+        ObjectNode event = MAPPER.createObjectNode().put(SOURCE, source).put(DETAIL_TYPE, detailType);
+        event.set(DETAIL, detail);
+        return resolve(eventBus, source, event, true);
+    }
+
+    private List<Route> resolve(String eventBus, String source, JsonNode event, boolean withDetail) {
+        BusNode bus = buses.get(eventBus);
+        if (bus == null) {
+            return List.of();
+        }
+        List<Route> routes = new ArrayList<>();
+        resolve(bus, bus.bySource.getOrDefault(source, List.of()), event, withDetail, routes);
+        resolve(bus, bus.anySource, event, withDetail, routes);
+        return List.copyOf(routes);
+    }
+
+    private void resolve(BusNode bus, List<RuleNode> candidates, JsonNode event, boolean withDetail,
+                         List<Route> routes) {
+        for (RuleNode rule : candidates) {
+            JsonNode pattern = withDetail ? rule.content : rule.header;
+            if (!EventPatternMatcher.matches(pattern, event)) {
+                continue;
+            }
+            boolean conditional = withDetail ? rule.filtersBeyondContent : rule.filtersBeyondHeader;
+            for (String target : rule.targets) {
+                if (!target.startsWith(SNS_ARN_PREFIX)) {
+                    routes.add(new Route(bus.name, rule.name, target, null, null, target, conditional));
+                    continue;
+                }
+                List<SubscriptionNode> topicSubscriptions = subscriptions.get(target);
+                if (topicSubscriptions == null) {
+                    routes.add(new Route(bus.name, rule.name, target, target, null, target, true));
+                    continue;
+                }
+                for (SubscriptionNode subscription : topicSubscriptions) {
+                    routes.add(new Route(bus.name, rule.name, target, target, subscription.arn(),
+                            subscription.endpoint(), conditional));
+                }
+            }
+        }
+    }
+
+    static RuleNode rule(String name, String eventPattern, List<String> targets) {
+        if (eventPattern == null) {
+            return null;
+        }
+        JsonNode pattern;
+        try {
+            pattern = MAPPER.readTree(eventPattern);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (!pattern.isObject()) {
+            return null;
+        }
+        return new RuleNode(name, eventPattern, project(pattern, HEADER_FIELDS),
+                project(pattern, CONTENT_FIELDS), !covers(pattern, HEADER_FIELDS), !covers(pattern, CONTENT_FIELDS),
+                sources(pattern), List.copyOf(targets));
+    }
+
+    private static JsonNode project(JsonNode pattern, Set<String> fields) {
+        ObjectNode projected = MAPPER.createObjectNode();
+        for (String field : fields) {
+            if (pattern.has(field)) {
+                projected.set(field, pattern.get(field));
+            }
+        }
+        return projected;
+    }
+
+    private static boolean covers(JsonNode pattern, Set<String> fields) {
+        Iterator<String> names = pattern.fieldNames();
+        while (names.hasNext()) {
+            if (!fields.contains(names.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Exact sources the rule is limited to, or {@code null} when it can match any source. */
+    private static List<String> sources(JsonNode pattern) {
+        JsonNode source = pattern.get(SOURCE);
+        if (source == null || !source.isArray()) {
+            return null;
+        }
+        List<String> sources = new ArrayList<>(source.size());
+        for (JsonNode value : source) {
+            if (!value.isTextual()) {
+                return null;
+            }
+            sources.add(value.asText());
+        }
+        return sources;
+    }
+
+    static final class BusNode {
+        private final String name;
+        private final Map<String, RuleNode> rules;
+        private final Map<String, List<RuleNode>> bySource;
+        private final List<RuleNode> anySource;
+
+        BusNode(String name, List<RuleNode> rules) {
+            this.name = name;
+            Map<String, RuleNode> byName = new HashMap<>();
+            Map<String, List<RuleNode>> bySource = new HashMap<>();
+            List<RuleNode> anySource = new ArrayList<>();
+            for (RuleNode rule : rules) {
+                byName.put(rule.name, rule);
+                if (rule.sources == null) {
+                    anySource.add(rule);
+                } else {
+                    rule.sources.forEach(source -> bySource.computeIfAbsent(source, ignored -> new ArrayList<>())
+                            .add(rule));
+                }
+            }
+            bySource.replaceAll((source, sourceRules) -> List.copyOf(sourceRules));
+            this.rules = Map.copyOf(byName);
+            this.bySource = Map.copyOf(bySource);
+            this.anySource = List.copyOf(anySource);
+        }
+
+        RuleNode rule(String ruleName) {
+            return rules.get(ruleName);
+        }
+    }
+
+    record RuleNode(String name, String eventPattern, JsonNode header, JsonNode content,
+                    boolean filtersBeyondHeader, boolean filtersBeyondContent, List<String> sources,
+                    List<String> targets) {
+    }
+
+    record SubscriptionNode(String arn, String protocol, String endpoint) {
+    }
+
+    private record RouteKey(String eventBus, String source, String detailType) {
+    }
+}
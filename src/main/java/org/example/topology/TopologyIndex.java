@@ -0,0 +1,256 @@
+package org.example.topology;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.example.lifecycle.LifecycleManager;
+import org.example.service.EventBridgeService;
+import org.example.service.SnsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.eventbridge.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.eventbridge.model.Rule;
+import software.amazon.awssdk.services.eventbridge.model.RuleState;
+import software.amazon.awssdk.services.eventbridge.model.Target;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+import software.amazon.awssdk.services.sns.model.Subscription;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * In-memory graph of event buses, their enabled rules and targets, and the subscriptions of
+ * every SNS topic, built from the paginated listing APIs. Route queries are answered from the
+ * current view without any network call. Background refreshes are incremental: they list buses,
+ * topics and rules, and only fetch targets and subscriptions for what was added or whose pattern
+ * changed. A target or subscription change under an unchanged rule or topic is picked up by the
+ * periodic full rebuild, or straight away by {@link #refreshBus} and {@link #refreshTopic}. SNS
+ * subscription filter policies are not evaluated.
+ */
+@Singleton
+public class TopologyIndex implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TopologyIndex.class);
+
+    private final TopologySettings settings;
+    private final EventBridgeService eventBridgeService;
+    private final SnsService snsService;
+    private final AtomicReference<Topology> topology = new AtomicReference<>(Topology.EMPTY);
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private CompletableFuture<Void> currentRefresh = CompletableFuture.completedFuture(null);
+    private int refreshesSinceFull;
+
+    @Inject
+    public TopologyIndex(TopologySettings settings, EventBridgeService eventBridgeService, SnsService snsService,
+                         LifecycleManager lifecycle) {
+        this.settings = settings;
+        this.eventBridgeService = eventBridgeService;
+        this.snsService = snsService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "topology-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lifecycle.onShutdown("topology-index", this);
+    }
+
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            long intervalMillis = settings.refreshInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::refreshInBackground, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isLoaded() {
+        return topology.get().isLoaded();
+    }
+
+    /**
+     * Rebuilds the whole graph. Refreshes never overlap: while one is running, callers get
+     * that one. The previous view keeps serving queries until the new one is complete.
+     */
+    public CompletableFuture<Void> refresh() {
+        return refresh(null);
+    }
+
+    /**
+     * Picks up added and removed buses, topics and rules, reusing the targets of rules whose
+     * pattern is unchanged and the subscriptions of topics already indexed. Falls back to a
+     * full rebuild until the first one has completed.
+     */
+    public CompletableFuture<Void> refreshChanges() {
+        Topology current = topology.get();
+        return refresh(current.isLoaded() ? current : null);
+    }
+
+    private synchronized CompletableFuture<Void> refresh(Topology previous) {
+        if (!currentRefresh.isDone()) {
+            return currentRefresh;
+        }
+        CompletableFuture<Map<String, Topology.BusNode>> buses = eventBridgeService.listEventBusNames()
+                .thenCompose(names -> collect(names,
+                        name -> loadBus(name, previous == null ? null : previous.bus(name))));
+        CompletableFuture<Map<String, List<Topology.SubscriptionNode>>> topics = snsService.listTopicArns()
+                .thenCompose(arns -> collect(arns, arn -> {
+                    List<Topology.SubscriptionNode> known = previous == null ? null : previous.topic(arn);
+                    return known == null ? loadTopic(arn) : CompletableFuture.completedFuture(known);
+                }));
+
+        currentRefresh = buses.thenAcceptBoth(topics, (busNodes, subscriptions) -> {
+            topology.set(new Topology(busNodes, subscriptions, true));
+            logger.debug("Topology {}: {} buses, {} topics", previous == null ? "rebuilt" : "updated",
+                    busNodes.size(), subscriptions.size());
+        });
+        return currentRefresh;
+    }
+
+    /** Re-reads the rules and targets of one bus, dropping it when it no longer exists. */
+    public CompletableFuture<Void> refreshBus(String eventBusName) {
+        return loadBus(eventBusName, null)
+                .exceptionally(throwable -> {
+                    if (isNotFound(throwable)) {
+                        return null;
+                    }
+                    throw new CompletionException(unwrap(throwable));
+                })
+                .thenAccept(bus -> topology.updateAndGet(current -> current.withBus(eventBusName, bus)));
+    }
+
+    /** Re-reads the subscriptions of one topic, dropping it when it no longer exists. */
+    public CompletableFuture<Void> refreshTopic(String topicArn) {
+        return loadTopic(topicArn)
+                .exceptionally(throwable -> {
+                    if (isNotFound(throwable)) {
+                        return null;
+                    }
+                    throw new CompletionException(unwrap(throwable));
+                })
+                .thenAccept(subscriptions ->
+                        topology.updateAndGet(current -> current.withTopic(topicArn, subscriptions)));
+    }
+
+    /**
+     * Where an event with this source and detail type ends up. Rules that also filter on the
+     * detail or other fields are reported as {@link Route#conditional() conditional}.
+     */
+    public List<Route> routes(String eventBusName, String source, String detailType) {
+        return topology.get().routes(eventBusName, source, detailType, settings.maxCachedRoutes());
+    }
+
+    /** Like {@link #routes(String, String, String)}, also matching rule patterns against the detail. */
+    public List<Route> routes(String eventBusName, String source, String detailType, JsonNode detail) {
+        return topology.get().routes(eventBusName, source, detailType, detail);
+    }
+
+    /**
+     * Whether an event may reach any destination. Until the first refresh completes every
+     * event is assumed to have a route, so producers that skip unrouted sends never drop
+     * events on a cold index.
+     */
+    public boolean hasRoute(String eventBusName, String source, String detailType) {
+        Topology current = topology.get();
+        return !current.isLoaded()
+                || !current.routes(eventBusName, source, detailType, settings.maxCachedRoutes()).isEmpty();
+    }
+
+    private void refreshInBackground() {
+        boolean full = refreshesSinceFull == 0;
+        refreshesSinceFull = (refreshesSinceFull + 1) % settings.fullRefreshEvery();
+        try {
+            (full ? refresh() : refreshChanges()).join();
+        } catch (RuntimeException e) {
+            logger.warn("Topology refresh failed: {}", unwrap(e).getMessage());
+        }
+    }
+
+    /** Loads a bus, reusing the rules of {@code previous} whose event pattern has not changed. */
+    private CompletableFuture<Topology.BusNode> loadBus(String eventBusName, Topology.BusNode previous) {
+        return eventBridgeService.getRules(eventBusName).thenCompose(rules -> {
+            List<CompletableFuture<Topology.RuleNode>> nodes = rules.stream()
+                    .filter(rule -> rule.state() != RuleState.DISABLED)
+                    .map(rule -> {
+                        Topology.RuleNode known = previous == null ? null : previous.rule(rule.name());
+                        return known != null && Objects.equals(known.eventPattern(), rule.eventPattern())
+                                ? CompletableFuture.completedFuture(known)
+                                : loadRule(eventBusName, rule);
+                    })
+                    .toList();
+            return CompletableFuture.allOf(nodes.toArray(CompletableFuture[]::new))
+                    .thenApply(ignored -> new Topology.BusNode(eventBusName, nodes.stream()
+                            .map(CompletableFuture::join)
+                            .filter(Objects::nonNull)
+                            .toList()));
+        });
+    }
+
+    private CompletableFuture<Topology.RuleNode> loadRule(String eventBusName, Rule rule) {
+        if (rule.eventPattern() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return eventBridgeService.getTargets(eventBusName, rule.name()).thenApply(targets ->
+                Topology.rule(rule.name(), rule.eventPattern(), targets.stream().map(Target::arn).toList()));
+    }
+
+    private CompletableFuture<List<Topology.SubscriptionNode>> loadTopic(String topicArn) {
+        return snsService.getSubscriptions(topicArn).thenApply(subscriptions -> subscriptions.stream()
+                .map(TopologyIndex::subscriptionNode)
+                .toList());
+    }
+
+    private static Topology.SubscriptionNode subscriptionNode(Subscription subscription) {
+        return new Topology.SubscriptionNode(subscription.subscriptionArn(), subscription.protocol(),
+                subscription.endpoint());
+    }
+
+    /** Loads every key, leaving out the ones deleted between the listing and their load. */
+    private static <T> CompletableFuture<Map<String, T>> collect(List<String> keys,
+                                                                 Function<String, CompletableFuture<T>> loader) {
+        Map<String, CompletableFuture<T>> loads = new HashMap<>();
+        keys.forEach(key -> loads.put(key, loader.apply(key).exceptionally(throwable -> {
+            if (isNotFound(throwable)) {
+                return null;
+            }
+            throw new CompletionException(unwrap(throwable));
+        })));
+        return CompletableFuture.allOf(loads.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, T> loaded = new HashMap<>();
+                    loads.forEach((key, load) -> {
+                        T value = load.join();
+                        if (value != null) {
+                            loaded.put(key, value);
+                        }
+                    });
+                    return loaded;
+                });
+    }
+
+    private static boolean isNotFound(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        return cause instanceof NotFoundException
+                || cause instanceof ResourceNotFoundException;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
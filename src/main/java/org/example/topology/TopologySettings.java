@@ -0,0 +1,40 @@
+package org.example.topology;
+
+import java.time.Duration;
+
+import static org.example.config.SystemProperties.durationProperty;
+import static org.example.config.SystemProperties.intProperty;
+
+/**
+ * @param refreshInterval  time between background refreshes of the topology
+ * @param maxCachedRoutes  route answers kept per topology version before the cache starts over
+ * @param fullRefreshEvery every this many background refreshes is a full rebuild; the others only
+ *                         pick up added and removed buses, topics and rules
+ */
+public record TopologySettings(Duration refreshInterval, int maxCachedRoutes, int fullRefreshEvery) {
+
+    public TopologySettings {
+        if (refreshInterval.toMillis() <= 0) {
+            throw new IllegalArgumentException("refreshInterval must be >= 1ms");
+        }
+        if (maxCachedRoutes < 1) {
+            throw new IllegalArgumentException("maxCachedRoutes must be >= 1");
+        }
+        if (fullRefreshEvery < 1) {
+            throw new IllegalArgumentException("fullRefreshEvery must be >= 1");
+        }
+    }
+
+    public static TopologySettings defaults() {
+        return new TopologySettings(Duration.ofMinutes(1), 10_000, 10);
+    }
+
+    public static TopologySettings fromSystemProperties() {
+        TopologySettings defaults = defaults();
+        return new TopologySettings(
+                durationProperty("TOPOLOGY_REFRESH_MS", defaults.refreshInterval()),
+                intProperty("TOPOLOGY_MAX_CACHED_ROUTES", defaults.maxCachedRoutes()),
+                intProperty("TOPOLOGY_FULL_REFRESH_EVERY", defaults.fullRefreshEvery())
+        );
+    }
+}
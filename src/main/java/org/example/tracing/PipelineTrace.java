@@ -0,0 +1,25 @@
+package org.example.tracing;
+
+import java.util.List;
+
+public record PipelineTrace(String traceId, long producedAtMillis, List<Hop> hops) {
+
+    public record Hop(String name, long enteredAtMillis) {
+    }
+
+    public String route() {
+        StringBuilder route = new StringBuilder();
+        for (Hop hop : hops) {
+            if (route.length() > 0) {
+                route.append('>');
+            }
+            route.append(hop.name());
+        }
+        return route.toString();
+    }
+
+    public long hopDurationMillis(int index, long receivedAtMillis) {
+        long end = index + 1 < hops.size() ? hops.get(index + 1).enteredAtMillis() : receivedAtMillis;
+        return Math.max(0L, end - hops.get(index).enteredAtMillis());
+    }
+}
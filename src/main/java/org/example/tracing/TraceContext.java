@@ -0,0 +1,11 @@
+package org.example.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public record TraceContext(String traceId, long producedAtMillis, String origin) {
+
+    public static TraceContext start(String origin) {
+        return new TraceContext(Long.toHexString(ThreadLocalRandom.current().nextLong()),
+                System.currentTimeMillis(), origin);
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.tracing;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.example.tracing.TraceStamper.DETAIL_FIELD;
+import static org.example.tracing.TraceStamper.ORIGIN;
+import static org.example.tracing.TraceStamper.PRODUCER_TIMESTAMP;
+import static org.example.tracing.TraceStamper.TRACE_ID;
+
+/**
+ * Reads the trace a producer stamped on a message. Stamps in SQS message attributes are read
+ * directly; stamps inside the body are bound, like {@code MessageDecoder} does, to small records
+ * naming only the envelope fields and the stamp, so the streaming parser skips the rest of the
+ * payload without building a {@code JsonNode} tree.
+ */
+public final class TraceExtractor {
+    private static final ObjectReader PAYLOAD_READER = new ObjectMapper()
+            .readerFor(Payload.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private TraceExtractor() {
+    }
+
+    public static Optional<PipelineTrace> extract(Message message, String queueUrl) {
+        String queueHop = "sqs:" + lastSegment(queueUrl, '/');
+        long sentAt = parseLong(message.attributesAsStrings().get("SentTimestamp"));
+
+        Map<String, MessageAttributeValue> attributes = message.messageAttributes();
+        MessageAttributeValue traceId = attributes.get(TRACE_ID);
+        if (traceId != null) {
+            long producedAt = parseLong(stringValue(attributes.get(PRODUCER_TIMESTAMP)));
+            if (producedAt < 0) {
+                return Optional.empty();
+            }
+            String origin = stringValue(attributes.get(ORIGIN));
+            List<PipelineTrace.Hop> hops = new ArrayList<>(2);
+            if (origin != null && !"sqs".equals(origin)) {
+                hops.add(new PipelineTrace.Hop(origin, producedAt));
+            }
+            hops.add(new PipelineTrace.Hop(queueHop, hops.isEmpty() || sentAt < 0 ? producedAt : sentAt));
+            return Optional.of(new PipelineTrace(traceId.stringValue(), producedAt, List.copyOf(hops)));
+        }
+
+        String body = message.body();
+        if (body == null || !body.startsWith("{") || !body.contains(DETAIL_FIELD)) {
+            return Optional.empty();
+        }
+        return extractFromBody(body, queueHop, sentAt);
+    }
+
+    private static Optional<PipelineTrace> extractFromBody(String body, String queueHop, long sentAt) {
+        Payload payload = read(body);
+        if (payload == null) {
+            return Optional.empty();
+        }
+
+        String topicHop = null;
+        long publishedAt = -1L;
+        if ("Notification".equals(payload.type()) && payload.topicArn() != null) {
+            topicHop = "sns:" + lastSegment(payload.topicArn(), ':');
+            publishedAt = parseInstant(payload.timestamp());
+
+            SnsAttributes snsAttributes = payload.messageAttributes();
+            if (snsAttributes != null && snsAttributes.traceId() != null) {
+                long producedAt = parseLong(snsAttributes.producedAt() == null
+                        ? null : snsAttributes.producedAt().value());
+                if (producedAt < 0) {
+                    return Optional.empty();
+                }
+                return Optional.of(new PipelineTrace(snsAttributes.traceId().value(), producedAt,
+                        List.of(new PipelineTrace.Hop(topicHop, producedAt),
+                                new PipelineTrace.Hop(queueHop, sentAt < 0 ? producedAt : sentAt))));
+            }
+
+            String inner = payload.message();
+            payload = inner != null && inner.startsWith("{") ? read(inner) : null;
+            if (payload == null) {
+                return Optional.empty();
+            }
+        }
+
+        Stamp stamp = payload.stamp() != null ? payload.stamp()
+                : payload.detail() != null ? payload.detail().stamp() : null;
+        if (stamp == null || stamp.id() == null) {
+            return Optional.empty();
+        }
+
+        long producedAt = stamp.ts() == null ? -1L : stamp.ts();
+        if (producedAt < 0) {
+            return Optional.empty();
+        }
+        List<PipelineTrace.Hop> hops = new ArrayList<>(3);
+        hops.add(new PipelineTrace.Hop("eventbridge:" + Objects.toString(stamp.bus(), ""), producedAt));
+        if (topicHop != null) {
+            hops.add(new PipelineTrace.Hop(topicHop, publishedAt < 0 ? producedAt : publishedAt));
+        }
+        hops.add(new PipelineTrace.Hop(queueHop, sentAt < 0 ? hops.get(hops.size() - 1).enteredAtMillis() : sentAt));
+        return Optional.of(new PipelineTrace(stamp.id(), producedAt, List.copyOf(hops)));
+    }
+
+    private static Payload read(String json) {
+        try {
+            return PAYLOAD_READER.readValue(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String stringValue(MessageAttributeValue value) {
+        return value == null ? null : value.stringValue();
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static long parseInstant(String value) {
+        if (value == null) {
+            return -1L;
+        }
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1L;
+        }
+    }
+
+    static String lastSegment(String value, char separator) {
+        if (value == null) {
+            return "unknown";
+        }
+        int index = value.lastIndexOf(separator);
+        return index < 0 ? value : value.substring(index + 1);
+    }
+
+    /**
+     * The fields of an SNS notification or EventBridge event the extractor looks at; the
+     * {@code detail} of an event only as far as its stamp.
+     */
+    private record Payload(@JsonProperty("Type") String type,
+                           @JsonProperty("TopicArn") String topicArn,
+                           @JsonProperty("Timestamp") String timestamp,
+                           @JsonProperty("Message") String message,
+                           @JsonProperty("MessageAttributes") SnsAttributes messageAttributes,
+                           @JsonProperty(DETAIL_FIELD) Stamp stamp,
+                           Detail detail) {
+    }
+
+    private record SnsAttributes(@JsonProperty(TRACE_ID) SnsAttribute traceId,
+                                 @JsonProperty(PRODUCER_TIMESTAMP) SnsAttribute producedAt) {
+    }
+
+    private record SnsAttribute(@JsonProperty("Value") String value) {
+    }
+
+    private record Detail(@JsonProperty(DETAIL_FIELD) Stamp stamp) {
+    }
+
+    private record Stamp(String id, Long ts, String bus) {
+    }
+}
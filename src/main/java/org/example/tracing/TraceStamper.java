@@ -0,0 +1,68 @@
+package org.example.tracing;
+
+import java.util.Map;
+
+public final class TraceStamper {
+    public static final String TRACE_ID = "x-trace-id";
+    public static final String PRODUCER_TIMESTAMP = "x-producer-ts";
+    public static final String ORIGIN = "x-origin";
+    public static final String DETAIL_FIELD = "x-trace";
+
+    private TraceStamper() {
+    }
+
+    public static Map<String, software.amazon.awssdk.services.sqs.model.MessageAttributeValue> sqsAttributes(
+            TraceContext context) {
+        return Map.of(
+                TRACE_ID, sqsString(context.traceId()),
+                PRODUCER_TIMESTAMP, software.amazon.awssdk.services.sqs.model.MessageAttributeValue.builder()
+                        .dataType("Number")
+                        .stringValue(Long.toString(context.producedAtMillis()))
+                        .build(),
+                ORIGIN, sqsString(context.origin())
+        );
+    }
+
+    public static Map<String, software.amazon.awssdk.services.sns.model.MessageAttributeValue> snsAttributes(
+            TraceContext context) {
+        return Map.of(
+                TRACE_ID, snsString(context.traceId()),
+                PRODUCER_TIMESTAMP, software.amazon.awssdk.services.sns.model.MessageAttributeValue.builder()
+                        .dataType("Number")
+                        .stringValue(Long.toString(context.producedAtMillis()))
+                        .build(),
+                ORIGIN, snsString(context.origin())
+        );
+    }
+
+    public static String stampDetail(String detail, TraceContext context, String eventBusName) {
+        if (detail == null) {
+            return null;
+        }
+        String trimmed = detail.stripLeading();
+        if (!trimmed.startsWith("{") || trimmed.contains("\"" + DETAIL_FIELD + "\"")) {
+            return detail;
+        }
+
+        String rest = trimmed.substring(1).stripLeading();
+        return "{\"" + DETAIL_FIELD + "\":{\"id\":\"" + context.traceId()
+                + "\",\"ts\":" + context.producedAtMillis()
+                + ",\"bus\":\"" + eventBusName + "\"}"
+                + (rest.startsWith("}") ? "" : ",")
+                + rest;
+    }
+
+    private static software.amazon.awssdk.services.sqs.model.MessageAttributeValue sqsString(String value) {
+        return software.amazon.awssdk.services.sqs.model.MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build();
+    }
+
+    private static software.amazon.awssdk.services.sns.model.MessageAttributeValue snsString(String value) {
+        return software.amazon.awssdk.services.sns.model.MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.batch;
+
+import org.example.decoding.MessageDecoder;
+import org.example.decoding.TypedMessage;
+import org.example.integration.InMemoryAwsTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchProcessingTest extends InMemoryAwsTestBase {
+    private String queueUrl;
+
+    record Order(int id) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        queueUrl = sqsService.createQueue("batch").join();
+    }
+
+    @Test
+    void shouldAccumulateSeveralReceivesIntoOneHandlerCall() {
+        IntStream.range(0, 25).forEach(i -> sqsService.sendMessage(queueUrl, "m" + i).join());
+        List<Integer> batchSizes = new ArrayList<>();
+
+        BatchOutcome outcome = sqsService.processBatch(queueUrl, new BatchSettings(25, Duration.ofSeconds(5)),
+                batch -> {
+                    batchSizes.add(batch.size());
+                    return CompletableFuture.completedFuture(BatchResult.success());
+                }).join();
+
+        assertEquals(List.of(25), batchSizes);
+        assertEquals(new BatchOutcome(25, 25, 0), outcome);
+        assertTrue(sqsService.receiveMessages(queueUrl, 10, 0).join().isEmpty());
+    }
+
+    @Test
+    void shouldDeleteSucceededMessagesAndReleaseFailedOnes() {
+        IntStream.range(0, 6).forEach(i -> sqsService.sendMessage(queueUrl, "{\"id\":" + i + "}").join());
+        sqsService.sendMessage(queueUrl, "not json").join();
+
+        BatchOutcome outcome = sqsService.processBatch(queueUrl, new MessageDecoder().reader(Order.class),
+                new BatchSettings(7, Duration.ofSeconds(5)),
+                batch -> CompletableFuture.completedFuture(BatchResult.failed(batch.stream()
+                        .filter(message -> message.body().id() % 2 == 1)
+                        .map(TypedMessage::messageId)
+                        .toList()))).join();
+
+        assertEquals(new BatchOutcome(7, 3, 4), outcome);
+        List<String> redelivered = sqsService.receiveMessages(queueUrl, 10, 0).join().stream()
+                .map(Message::body)
+                .sorted()
+                .toList();
+        assertEquals(List.of("not json", "{\"id\":1}", "{\"id\":3}", "{\"id\":5}"), redelivered);
+    }
+
+    @Test
+    void shouldReleaseTheWholeBatchWhenTheHandlerFails() {
+        IntStream.range(0, 3).forEach(i -> sqsService.sendMessage(queueUrl, "m" + i).join());
+
+        BatchOutcome outcome = sqsService.processBatch(queueUrl, new BatchSettings(3, Duration.ofSeconds(5)),
+                batch -> CompletableFuture.failedFuture(new IllegalStateException("database unavailable"))).join();
+
+        assertEquals(new BatchOutcome(3, 0, 3), outcome);
+        assertEquals(3, sqsService.receiveMessages(queueUrl, 10, 0).join().size());
+    }
+
+    @Test
+    void shouldHandOverAPartialBatchWhenMaxWaitElapses() {
+        sqsService.sendMessage(queueUrl, "only").join();
+
+        long start = System.nanoTime();
+        BatchOutcome outcome = sqsService.processBatch(queueUrl, new BatchSettings(10, Duration.ofSeconds(1)),
+                batch -> CompletableFuture.completedFuture(BatchResult.success())).join();
+
+        assertEquals(new BatchOutcome(1, 1, 0), outcome);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+    }
+}
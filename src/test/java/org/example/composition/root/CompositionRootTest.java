@@ -0,0 +1,25 @@
+package org.example.composition.root;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.example.config.LocalStackConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CompositionRootTest {
+
+    @Test
+    void shouldProvideSingleLocalStackConfigPerInjector() {
+        Injector injector = Guice.createInjector(new CompositionRoot());
+
+        LocalStackConfig first = injector.getInstance(LocalStackConfig.class);
+        LocalStackConfig second = injector.getInstance(LocalStackConfig.class);
+
+        try {
+            assertSame(first, second);
+        } finally {
+            first.shutdown();
+        }
+    }
+}
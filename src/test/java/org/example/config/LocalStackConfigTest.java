@@ -8,9 +8,14 @@ import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
 import software.amazon.awssdk.services.sns.SnsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
 class LocalStackConfigTest {
@@ -56,4 +61,68 @@ class LocalStackConfigTest {
     void shouldShutdownClientsWithoutException() {
         assertDoesNotThrow(() -> config.shutdown());
     }
+
+    @Test
+    void shouldTolerateRepeatedShutdown() {
+        config.shutdown();
+        assertDoesNotThrow(() -> config.shutdown());
+    }
+
+    @Test
+    void shouldExposeHttpClientSettings() {
+        HttpClientSettings settings = new HttpClientSettings(2, 16, 64,
+                Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofSeconds(10), true);
+        LocalStackConfig tuned = new LocalStackConfig("http://localhost:4566", "us-east-1", "test", "test", settings);
+        try {
+            assertEquals(settings, tuned.getHttpClientSettings());
+            assertNotNull(tuned.getSqsAsyncClient());
+        } finally {
+            tuned.shutdown();
+        }
+    }
+
+    @Test
+    void shouldCreateClientsOnlyWhenRequested() {
+        config.getSqsAsyncClient();
+
+        assertTrue(config.getStartupTimings().snapshot().containsKey("sqs-client"));
+        assertFalse(config.getStartupTimings().snapshot().containsKey("sns-client"));
+        assertFalse(config.getStartupTimings().snapshot().containsKey("eventbridge-client"));
+    }
+
+    @Test
+    void shouldRefuseToCreateClientsAfterShutdown() {
+        config.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> config.getSnsAsyncClient());
+    }
+
+    @Test
+    void shouldSkipWarmUpWhenDisabled() {
+        config.getSqsAsyncClient();
+
+        assertTrue(config.warmUp(WarmUpSettings.disabled()).isDone());
+        assertFalse(config.getStartupTimings().snapshot().containsKey("sqs-warm-up"));
+    }
+
+    @Test
+    void shouldWarmUpOnlyCreatedClientsAndRecordTiming() {
+        LocalStackConfig unreachable = new LocalStackConfig("http://127.0.0.1:1", "us-east-1", "test", "test");
+        try {
+            unreachable.getSqsAsyncClient();
+
+            unreachable.warmUp(new WarmUpSettings(true, 2, Duration.ofSeconds(5))).join();
+
+            assertTrue(unreachable.getStartupTimings().snapshot().containsKey("sqs-warm-up"));
+            assertFalse(unreachable.getStartupTimings().snapshot().containsKey("sns-warm-up"));
+        } finally {
+            unreachable.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidHttpClientSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new HttpClientSettings(1, 0, 64,
+                Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofSeconds(10), true));
+    }
 }
\ No newline at end of file
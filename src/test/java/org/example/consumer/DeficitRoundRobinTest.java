@@ -0,0 +1,43 @@
+package org.example.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DeficitRoundRobinTest {
+
+    @Test
+    void shouldServeBackloggedLanesInProportionToWeight() {
+        DeficitRoundRobin<String> scheduler = new DeficitRoundRobin<>(List.of(3, 1));
+        IntStream.range(0, 6).forEach(i -> scheduler.add(0, "high"));
+        IntStream.range(0, 6).forEach(i -> scheduler.add(1, "bulk"));
+
+        assertEquals(List.of("high", "high", "high", "bulk", "high", "high", "high", "bulk"), drain(scheduler, 8));
+    }
+
+    @Test
+    void shouldNotLetAnIdleLaneBankCredit() {
+        DeficitRoundRobin<String> scheduler = new DeficitRoundRobin<>(List.of(4, 1));
+        IntStream.range(0, 3).forEach(i -> scheduler.add(1, "bulk"));
+        assertEquals(List.of("bulk", "bulk"), drain(scheduler, 2));
+
+        IntStream.range(0, 6).forEach(i -> scheduler.add(0, "high"));
+        scheduler.add(1, "bulk");
+
+        assertEquals(List.of("high", "high", "high", "high", "bulk", "high", "high", "bulk"), drain(scheduler, 8));
+        assertNull(scheduler.poll());
+    }
+
+    private static List<String> drain(DeficitRoundRobin<String> scheduler, int count) {
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            order.add(scheduler.poll());
+        }
+        return order;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.consumer;
+
+import org.example.integration.InMemoryAwsTestBase;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeightedFairConsumerTest extends InMemoryAwsTestBase {
+    @Test
+    void shouldKeepServingHighPriorityQueueWhileBulkQueueIsFlooded() {
+        String high = sqsService.createQueue("high").join();
+        String bulk = sqsService.createQueue("bulk").join();
+        IntStream.range(0, 200).forEach(i -> sqsService.sendMessage(bulk, "bulk-" + i).join());
+        IntStream.range(0, 40).forEach(i -> sqsService.sendMessage(high, "high-" + i).join());
+
+        List<String> handled = new CopyOnWriteArrayList<>();
+        AtomicBoolean warmedUp = new AtomicBoolean();
+        WeightedQueue highQueue = new WeightedQueue(high, 4);
+        WeightedQueue bulkQueue = new WeightedQueue(bulk, 1);
+        try (WeightedFairConsumer consumer = new WeightedFairConsumer(sqsService, List.of(highQueue, bulkQueue),
+                new FairConsumerSettings(1, 10, 5), (queue, message) -> {
+                    // Hold the single handler on the first message until both queues have buffered,
+                    // so the share below measures the dispatcher rather than which receive landed first.
+                    if (warmedUp.compareAndSet(false, true)) {
+                        pause(Duration.ofMillis(200));
+                    }
+                    handled.add(message.body());
+                })) {
+            consumer.start();
+            await().atMost(Duration.ofSeconds(10)).until(() -> handled.size() >= 240);
+
+            long highInFirstFifty = handled.subList(0, 50).stream().filter(body -> body.startsWith("high")).count();
+            assertTrue(highInFirstFifty >= 35, "high-priority share of first 50 was " + highInFirstFifty);
+            assertEquals(40L, consumer.handledCounts().get(high));
+            assertEquals(200L, consumer.handledCounts().get(bulk));
+        }
+
+        assertTrue(sqsService.receiveMessages(high, 10, 0).join().isEmpty());
+        assertTrue(sqsService.receiveMessages(bulk, 10, 0).join().isEmpty());
+    }
+
+    @Test
+    void shouldLeaveFailedMessagesForRedelivery() {
+        String queueUrl = sqsService.createQueue("normal", Map.of(QueueAttributeName.VISIBILITY_TIMEOUT, "1")).join();
+        IntStream.range(0, 5).forEach(i -> sqsService.sendMessage(queueUrl, "m" + i).join());
+
+        List<String> attempted = new CopyOnWriteArrayList<>();
+        AtomicBoolean failedOnce = new AtomicBoolean();
+        try (WeightedFairConsumer consumer = new WeightedFairConsumer(sqsService,
+                List.of(new WeightedQueue(queueUrl, 1)), new FairConsumerSettings(2, 10, 1),
+                (queue, message) -> {
+                    attempted.add(message.body());
+                    if ("m2".equals(message.body()) && failedOnce.compareAndSet(false, true)) {
+                        throw new IllegalStateException("transient failure");
+                    }
+                })) {
+            consumer.start();
+            await().atMost(Duration.ofSeconds(5)).until(() -> consumer.handledCounts().get(queueUrl) == 5L);
+        }
+
+        assertEquals(2L, attempted.stream().filter("m2"::equals).count());
+        assertEquals(6, attempted.size());
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.decoding;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessageDecoderTest {
+    private static final String ORDER = "{\"orderId\":\"ORDER-001\",\"customer\":\"Test User\",\"amount\":100.0,"
+            + "\"lines\":[{\"sku\":\"A\",\"quantity\":2},{\"sku\":\"B\",\"quantity\":1}],\"currency\":\"USD\"}";
+
+    record Order(String orderId, String customer, double amount, List<Line> lines, String currency) {
+    }
+
+    record Line(String sku, int quantity) {
+    }
+
+    record OrderRef(String orderId, double amount) {
+    }
+
+    private final MessageDecoder decoder = new MessageDecoder();
+
+    @Test
+    void shouldDecodeTheWholeBodyIntoARecord() {
+        Order order = decoder.reader(Order.class).read(message(ORDER));
+
+        assertEquals("ORDER-001", order.orderId());
+        assertEquals(List.of(new Line("A", 2), new Line("B", 1)), order.lines());
+    }
+
+    @Test
+    void shouldDecodeOnlyTheDeclaredFields() {
+        OrderRef ref = decoder.reader(OrderRef.class).read(message(ORDER));
+
+        assertEquals(new OrderRef("ORDER-001", 100.0), ref);
+    }
+
+    @Test
+    void shouldDecodeASingleFieldThroughAPointer() {
+        assertEquals("B", decoder.reader(String.class, "/lines/1/sku").read(message(ORDER)));
+    }
+
+    @Test
+    void shouldUnwrapEventBridgeDetail() {
+        String event = "{\"version\":\"0\",\"detail-type\":\"order created\",\"source\":\"com.example.app\","
+                + "\"detail\":" + ORDER + "}";
+
+        assertEquals(new OrderRef("ORDER-001", 100.0),
+                decoder.reader(OrderRef.class, Envelope.EVENTBRIDGE_DETAIL).read(message(event)));
+        assertEquals(100.0, decoder.reader(Double.class, Envelope.EVENTBRIDGE_DETAIL, "/amount").read(message(event)));
+    }
+
+    @Test
+    void shouldUnwrapSnsNotifications() {
+        String notification = "{\"Type\":\"Notification\",\"TopicArn\":\"arn:aws:sns:us-east-1:000000000000:orders\","
+                + "\"Message\":\"" + ORDER.replace("\"", "\\\"") + "\"}";
+
+        Order order = decoder.reader(Order.class, Envelope.SNS_NOTIFICATION).read(message(notification));
+
+        assertEquals("USD", order.currency());
+    }
+
+    @Test
+    void shouldCacheReadersPerTypeEnvelopeAndPointer() {
+        assertSame(decoder.reader(Order.class), decoder.reader(Order.class));
+        assertSame(decoder.reader(String.class, "/orderId"), decoder.reader(String.class, Envelope.RAW, "/orderId"));
+    }
+
+    @Test
+    void shouldReportTheMessageIdOfUndecodableBodies() {
+        MessageDecodingException malformed = assertThrows(MessageDecodingException.class,
+                () -> decoder.reader(Order.class).read(message("{\"orderId\":")));
+        MessageDecodingException missing = assertThrows(MessageDecodingException.class,
+                () -> decoder.reader(OrderRef.class, Envelope.EVENTBRIDGE_DETAIL).read(message(ORDER)));
+
+        assertEquals("message-1", malformed.getMessageId());
+        assertEquals("message-1", missing.getMessageId());
+    }
+
+    private static Message message(String body) {
+        return Message.builder().messageId("message-1").body(body).build();
+    }
+}
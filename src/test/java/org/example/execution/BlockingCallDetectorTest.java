@@ -0,0 +1,68 @@
+package org.example.execution;
+
+import org.example.lifecycle.LifecycleManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BlockingCallDetectorTest {
+    private final BlockingCallDetector detector = new BlockingCallDetector(
+            new BlockingDetectorSettings(true, Duration.ofSeconds(1), List.of("sdk-async-response")),
+            LifecycleManager.withDefaults());
+    private final CompletableFuture<Void> release = new CompletableFuture<>();
+
+    @AfterEach
+    void tearDown() {
+        release.complete(null);
+        detector.close();
+    }
+
+    @Test
+    void shouldFlagApplicationCodeBlockingOnAnIoThreadOncePerEpisode() throws Exception {
+        Thread io = blockingThread("sdk-async-response-1-1");
+        Thread worker = blockingThread("sqs-completion-1");
+
+        assertEquals(1, detector.scan());
+        assertEquals(0, detector.scan());
+        assertEquals(1, detector.violations());
+
+        release.complete(null);
+        io.join(5_000);
+        worker.join(5_000);
+        assertEquals(0, detector.scan());
+    }
+
+    @Test
+    void shouldIgnoreIdleIoThreads() throws Exception {
+        Thread[] io = new Thread[1];
+        ExecutorService pool = Executors.newSingleThreadExecutor(runnable -> {
+            io[0] = new Thread(runnable, "sdk-async-response-2-1");
+            return io[0];
+        });
+        pool.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        await().atMost(Duration.ofSeconds(5)).until(() -> io[0].getState() == Thread.State.WAITING);
+
+        assertEquals(0, detector.scan());
+        pool.shutdown();
+    }
+
+    private Thread blockingThread(String name) {
+        Thread thread = new Thread(this::blockingCallback, name);
+        thread.start();
+        await().atMost(Duration.ofSeconds(5)).until(() -> thread.getState() == Thread.State.WAITING);
+        return thread;
+    }
+
+    private void blockingCallback() {
+        release.join();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompletionExecutorTest {
+
+    @Test
+    void shouldRunCallbacksInlineInCallerRunsMode() {
+        CompletionExecutor executor = CompletionExecutor.callerRuns("sqs");
+        String[] thread = new String[1];
+
+        executor.execute(() -> thread[0] = Thread.currentThread().getName());
+
+        assertEquals(Thread.currentThread().getName(), thread[0]);
+        assertEquals(CompletionSettings.Mode.CALLER_RUNS, executor.getMode());
+    }
+
+    @Test
+    void shouldRunCallbacksInlineOnlyWhenThePoolIsSaturated() throws Exception {
+        try (CompletionExecutor executor = new CompletionExecutor("sns",
+                new CompletionSettings(CompletionSettings.Mode.PLATFORM, 1, 1))) {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<String> first = new CompletableFuture<>();
+            executor.execute(() -> {
+                first.complete(Thread.currentThread().getName());
+                await(release);
+            });
+            executor.execute(() -> { });
+            String[] overflow = new String[1];
+            executor.execute(() -> overflow[0] = Thread.currentThread().getName());
+
+            assertEquals("sns-completion-1", first.get(5, TimeUnit.SECONDS));
+            assertEquals(Thread.currentThread().getName(), overflow[0]);
+            assertEquals(1, executor.inlineCount());
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldUseVirtualThreadsWhenTheRuntimeHasThem() throws Exception {
+        try (CompletionExecutor executor = new CompletionExecutor("eventbridge",
+                new CompletionSettings(CompletionSettings.Mode.VIRTUAL, 2, 10))) {
+            CompletableFuture<Boolean> ranElsewhere = new CompletableFuture<>();
+            Thread caller = Thread.currentThread();
+            executor.execute(() -> ranElsewhere.complete(Thread.currentThread() != caller));
+
+            assertTrue(ranElsewhere.get(5, TimeUnit.SECONDS));
+            assertEquals(Runtime.version().feature() >= 21
+                    ? CompletionSettings.Mode.VIRTUAL
+                    : CompletionSettings.Mode.PLATFORM, executor.getMode());
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
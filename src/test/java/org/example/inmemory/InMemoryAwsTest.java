@@ -0,0 +1,208 @@
+package org.example.inmemory;
+
+import org.example.decoding.BodyReader;
+import org.example.decoding.Envelope;
+import org.example.decoding.MessageDecoder;
+import org.example.integration.InMemoryAwsTestBase;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryAwsTest extends InMemoryAwsTestBase {
+    @Test
+    void shouldSendReceiveAndDeleteMessages() {
+        String queueUrl = sqsService.createQueue("orders").join();
+
+        sqsService.sendMessage(queueUrl, "hello").join();
+        List<Message> messages = sqsService.receiveMessages(queueUrl, 10, 0).join();
+
+        assertEquals(1, messages.size());
+        assertEquals("hello", messages.get(0).body());
+        assertTrue(messages.get(0).attributesAsStrings().containsKey("SentTimestamp"));
+        assertTrue(messages.get(0).messageAttributes().containsKey("x-trace-id"));
+
+        sqsService.deleteMessage(queueUrl, messages.get(0).receiptHandle()).join();
+        assertEquals("0", attribute(queueUrl, QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE));
+    }
+
+    @Test
+    void shouldCompleteAwaitAsSoonAsMatchingMessagesArrive() {
+        String queueUrl = sqsService.createQueue("awaited").join();
+        CompletableFuture<List<Message>> awaited =
+                sqsService.awaitMessages(queueUrl, message -> message.body().startsWith("match"), 2, Duration.ofSeconds(10));
+
+        sqsService.sendMessage(queueUrl, "other").join();
+        sqsService.sendMessage(queueUrl, "match-1").join();
+        sqsService.sendMessage(queueUrl, "match-2").join();
+
+        List<Message> messages = awaited.orTimeout(5, TimeUnit.SECONDS).join();
+        assertEquals(List.of("match-1", "match-2"), messages.stream().map(Message::body).sorted().toList());
+
+        List<Message> released = sqsService.receiveMessages(queueUrl, 10, 0).join();
+        assertEquals(List.of("other"), released.stream().map(Message::body).toList());
+    }
+
+    @Test
+    void shouldFailAwaitAndReleaseMessagesWhenTheTimeoutElapses() {
+        String queueUrl = sqsService.createQueue("short").join();
+        sqsService.sendMessage(queueUrl, "only-one").join();
+
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> sqsService.awaitMessages(queueUrl, 2, Duration.ofSeconds(1)).join());
+
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+        assertEquals(1, sqsService.receiveMessages(queueUrl, 10, 0).join().size());
+    }
+
+    @Test
+    void shouldHideReceivedMessagesUntilTheVisibilityTimeoutElapses() {
+        String queueUrl = sqsService.createQueue("work", Map.of(QueueAttributeName.VISIBILITY_TIMEOUT, "1")).join();
+        sqsService.sendMessage(queueUrl, "job").join();
+
+        Message first = sqsService.receiveMessages(queueUrl, 1, 0).join().get(0);
+        assertTrue(sqsService.receiveMessages(queueUrl, 1, 0).join().isEmpty());
+
+        List<Message> redelivered = sqsService.receiveMessages(queueUrl, 1, 5).join();
+        assertEquals(1, redelivered.size());
+        assertEquals(first.messageId(), redelivered.get(0).messageId());
+        assertFalse(first.receiptHandle().equals(redelivered.get(0).receiptHandle()));
+    }
+
+    @Test
+    void shouldReturnMessageImmediatelyWhenVisibilityIsReset() {
+        String queueUrl = sqsService.createQueue("retry").join();
+        sqsService.sendMessage(queueUrl, "job").join();
+        Message received = sqsService.receiveMessages(queueUrl, 1, 0).join().get(0);
+
+        backend.sqs().changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+                .queueUrl(queueUrl)
+                .receiptHandle(received.receiptHandle())
+                .visibilityTimeout(0)
+                .build()).join();
+
+        assertEquals(1, sqsService.receiveMessages(queueUrl, 1, 0).join().size());
+    }
+
+    @Test
+    void shouldCompleteLongPollWhenAMessageArrives() throws Exception {
+        String queueUrl = sqsService.createQueue("long-poll").join();
+
+        CompletableFuture<List<Message>> poll = sqsService.receiveMessages(queueUrl, 10, 20);
+        assertFalse(poll.isDone());
+        sqsService.sendMessage(queueUrl, "wake up").join();
+
+        assertEquals("wake up", poll.get(5, TimeUnit.SECONDS).get(0).body());
+    }
+
+    @Test
+    void shouldMoveMessagesToTheDeadLetterQueueAfterMaxReceives() {
+        String dlqUrl = sqsService.createQueue("orders-dlq").join();
+        String dlqArn = sqsService.getQueueArn(dlqUrl).join();
+        String queueUrl = sqsService.createQueue("orders-main", Map.of(
+                QueueAttributeName.VISIBILITY_TIMEOUT, "0",
+                QueueAttributeName.REDRIVE_POLICY,
+                "{\"deadLetterTargetArn\":\"" + dlqArn + "\",\"maxReceiveCount\":\"1\"}")).join();
+        sqsService.sendMessage(queueUrl, "poison").join();
+
+        assertEquals(1, sqsService.receiveMessages(queueUrl, 1, 0).join().size());
+
+        List<Message> deadLetters = sqsService.receiveMessages(dlqUrl, 1, 5).join();
+        assertEquals("poison", deadLetters.get(0).body());
+        assertTrue(sqsService.receiveMessages(queueUrl, 1, 0).join().isEmpty());
+    }
+
+    @Test
+    void shouldFanOutSnsPublishesToSubscribedQueues() {
+        String first = sqsService.createQueue("fan-out-1").join();
+        String second = sqsService.createQueue("fan-out-2").join();
+        String topicArn = snsService.createTopic("events").join();
+        snsService.subscribeSqsToTopic(topicArn, sqsService.getQueueArn(first).join()).join();
+        snsService.subscribeSqsToTopic(topicArn, sqsService.getQueueArn(second).join()).join();
+
+        snsService.publishMessage(topicArn, "Subject", "{\"n\":1}").join();
+
+        for (String queueUrl : List.of(first, second)) {
+            Message message = sqsService.receiveMessages(queueUrl, 1, 0).join().get(0);
+            assertTrue(message.body().contains("\"Type\":\"Notification\""));
+            assertTrue(message.body().contains("\"TopicArn\":\"" + topicArn + "\""));
+            assertTrue(message.body().contains("x-trace-id"));
+        }
+    }
+
+    @Test
+    void shouldRouteEventsToTargetsOfMatchingRules() {
+        String queueUrl = sqsService.createQueue("routed").join();
+        String queueArn = sqsService.getQueueArn(queueUrl).join();
+        eventBridgeService.createEventBus("bus").join();
+        eventBridgeService.putEventWithSqsTarget("bus", "order-created", queueArn).join();
+
+        eventBridgeService.sendEventToEventBridge("bus", "com.example.app", "order created", "{\"id\":7}").join();
+        eventBridgeService.sendEventToEventBridge("bus", "com.example.app", "order deleted", "{\"id\":8}").join();
+
+        List<Message> messages = sqsService.receiveMessages(queueUrl, 10, 0).join();
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).body().contains("\"id\":7"));
+    }
+
+    @Test
+    void shouldDecodeSnsNotificationsAndDeleteOnlyHandledMessages() {
+        String queueUrl = sqsService.createQueue("typed").join();
+        String topicArn = snsService.createTopic("typed-topic").join();
+        snsService.subscribeSqsToTopic(topicArn, sqsService.getQueueArn(queueUrl).join()).join();
+        snsService.publishMessage(topicArn, "{\"orderId\":\"ORDER-1\",\"amount\":5}").join();
+        snsService.publishMessage(topicArn, "{\"orderId\":\"ORDER-2\",\"amount\":-1}").join();
+        BodyReader<OrderRef> reader = new MessageDecoder().reader(OrderRef.class, Envelope.SNS_NOTIFICATION);
+
+        List<String> handled = new ArrayList<>();
+        sqsService.processMessages(queueUrl, reader, message -> {
+            if (message.body().amount() < 0) {
+                throw new IllegalArgumentException("negative amount");
+            }
+            handled.add(message.body().orderId());
+        }).join();
+
+        assertEquals(List.of("ORDER-1"), handled);
+        assertEquals("1", attribute(queueUrl, QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE));
+    }
+
+    record OrderRef(String orderId, int amount) {
+    }
+
+    @Test
+    void shouldFailWithQueueDoesNotExist() {
+        CompletionException exception = assertThrows(CompletionException.class, () -> backend.sqs()
+                .receiveMessage(ReceiveMessageRequest.builder().queueUrl("http://nowhere/000000000000/missing").build())
+                .join());
+
+        assertInstanceOf(QueueDoesNotExistException.class, exception.getCause());
+    }
+
+    private String attribute(String queueUrl, QueueAttributeName name) {
+        return backend.sqs().getQueueAttributes(GetQueueAttributesRequest.builder()
+                        .queueUrl(queueUrl)
+                        .attributeNames(name)
+                        .build())
+                .join()
+                .attributes()
+                .get(name);
+    }
+}
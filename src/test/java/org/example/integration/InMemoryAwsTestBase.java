@@ -0,0 +1,35 @@
+package org.example.integration;
+
+import org.example.config.LocalStackConfig;
+import org.example.inmemory.InMemoryAws;
+import org.example.service.EventBridgeService;
+import org.example.service.SnsService;
+import org.example.service.SqsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+public abstract class InMemoryAwsTestBase {
+    protected InMemoryAws backend;
+    protected LocalStackConfig config;
+    protected SqsService sqsService;
+    protected SnsService snsService;
+    protected EventBridgeService eventBridgeService;
+
+    @BeforeEach
+    void setUpInMemoryAws() {
+        backend = new InMemoryAws("us-east-1");
+        config = LocalStackConfig.withClients("us-east-1", backend::eventBridge, backend::sns, backend::sqs);
+        sqsService = new SqsService(config);
+        snsService = new SnsService(config);
+        eventBridgeService = new EventBridgeService(config);
+    }
+
+    @AfterEach
+    void tearDownInMemoryAws() {
+        eventBridgeService.close();
+        snsService.close();
+        sqsService.close();
+        config.shutdown();
+        backend.close();
+    }
+}
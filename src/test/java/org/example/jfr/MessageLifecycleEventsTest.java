@@ -0,0 +1,78 @@
+package org.example.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.config.LocalStackConfig;
+import org.example.service.SqsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MessageLifecycleEventsTest {
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/jfr-queue";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldEmitReceivedHandledAndAckedEventsPerMessage() throws Exception {
+        LocalStackConfig config = mock(LocalStackConfig.class);
+        SqsAsyncClient client = mock(SqsAsyncClient.class);
+        when(config.getSqsAsyncClient()).thenReturn(client);
+        when(client.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(Message.builder().messageId("m-1").receiptHandle("r-1").body("hello").build())
+                        .build()));
+        when(client.deleteMessage(any(DeleteMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageResponse.builder().build()));
+
+        Path dump = tempDir.resolve("lifecycle.jfr");
+        try (Recording recording = new Recording(); SqsService sqsService = new SqsService(config)) {
+            recording.enable(MessageReceivedEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(MessageHandledEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(MessageAckedEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            sqsService.processMessages(QUEUE_URL).join();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        RecordedEvent received = single(events, "org.example.MessageReceived");
+        assertEquals(QUEUE_URL, received.getString("queueUrl"));
+        assertEquals("m-1", received.getString("messageId"));
+        assertEquals(5L, received.getLong("bodyBytes"));
+
+        RecordedEvent handled = single(events, "org.example.MessageHandled");
+        assertTrue(handled.getBoolean("succeeded"));
+
+        RecordedEvent acked = single(events, "org.example.MessageAcked");
+        assertEquals("m-1", acked.getString("messageId"));
+        assertTrue(acked.getBoolean("succeeded"));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LifecycleManagerTest {
+
+    @Test
+    void shouldWaitForInFlightWorkBeforeClosingResources() {
+        LifecycleManager lifecycle = new LifecycleManager(new ShutdownSettings(Duration.ofSeconds(5)));
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> tracked = lifecycle.track("sqs", "SendMessage", "queue", () -> pending);
+        List<String> closed = new ArrayList<>();
+        lifecycle.onShutdown("clients", () -> closed.add("clients:" + pending.isDone()));
+
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> pending.complete("id"));
+        ShutdownReport report = lifecycle.shutdown();
+
+        assertEquals("id", tracked.join());
+        assertTrue(report.isClean());
+        assertEquals(1, report.inFlightAtShutdown());
+        assertEquals(1, report.drained());
+        assertEquals(List.of("clients:true"), closed);
+    }
+
+    @Test
+    void shouldRejectNewWorkOnceShutdownStarted() {
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        lifecycle.shutdown();
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> lifecycle.track(
+                "sns", "Publish", "topic", () -> CompletableFuture.completedFuture("id")).join());
+
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertFalse(lifecycle.isAccepting());
+        assertEquals(0, lifecycle.inFlightCount());
+    }
+
+    @Test
+    void shouldReportWorkStillInFlightAtTheDeadline() {
+        LifecycleManager lifecycle = new LifecycleManager(new ShutdownSettings(Duration.ofMillis(50)));
+        lifecycle.track("sqs", "ReceiveMessage", "queue", CompletableFuture::new);
+        lifecycle.track("sqs", "DeleteMessage", "queue", () -> CompletableFuture.completedFuture(null));
+
+        ShutdownReport report = lifecycle.shutdown();
+
+        assertEquals(1, report.abandoned().size());
+        assertEquals("ReceiveMessage", report.abandoned().get(0).operation());
+        assertFalse(report.isClean());
+    }
+
+    @Test
+    void shouldCloseResourcesInReverseOrderAndReportFailures() {
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        List<String> closed = new ArrayList<>();
+        lifecycle.onShutdown("backend", () -> closed.add("backend"));
+        lifecycle.onShutdown("clients", () -> {
+            closed.add("clients");
+            throw new IllegalStateException("boom");
+        });
+
+        ShutdownReport report = lifecycle.shutdown();
+
+        assertEquals(List.of("clients", "backend"), closed);
+        assertEquals(List.of("clients: boom"), report.closeFailures());
+        assertSame(report, lifecycle.shutdown());
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.load;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OpenLoopProducerTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final MeasurementWindow window = new MeasurementWindow();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void shouldSendAtTheConfiguredRate() {
+        OpenLoopProducer producer = new OpenLoopProducer("sqs", 1_000, 64, new Semaphore(100),
+                () -> window, MeasurementWindow::sqs, body -> CompletableFuture.completedFuture(null));
+
+        producer.start(scheduler);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> window.sqs().getSent() >= 200);
+        producer.stop();
+        assertEquals(0, window.sqs().getFailed());
+        assertEquals(0, window.sqs().getDropped());
+    }
+
+    @Test
+    void shouldDropInsteadOfQueueingWhenInFlightLimitIsReached() {
+        OpenLoopProducer producer = new OpenLoopProducer("sns", 1_000, 64, new Semaphore(5),
+                () -> window, MeasurementWindow::sns, body -> new CompletableFuture<>());
+
+        producer.start(scheduler);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> window.sns().getDropped() >= 50);
+        producer.stop();
+        assertEquals(0, window.sns().getSent());
+    }
+
+    @Test
+    void shouldCountSynchronousFailures() {
+        OpenLoopProducer producer = new OpenLoopProducer("eventbridge", 1_000, 64, new Semaphore(5),
+                () -> window, MeasurementWindow::eventBridge, body -> {
+                    throw new IllegalStateException("boom");
+                });
+
+        producer.start(scheduler);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> window.eventBridge().getFailed() >= 50);
+        producer.stop();
+        assertEquals(0, window.eventBridge().getDropped());
+    }
+}
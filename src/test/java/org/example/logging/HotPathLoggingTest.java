@@ -0,0 +1,63 @@
+package org.example.logging;
+
+import org.example.lifecycle.LifecycleManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotPathLoggingTest {
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/orders";
+
+    @Test
+    void shouldDeferToCallerInVerboseMode() {
+        HotPathLogging logging = HotPathLogging.verbose();
+
+        assertTrue(logging.isVerbose());
+        assertTrue(logging.record(HotPathEvent.SENT, QUEUE_URL, "m-1"));
+        assertTrue(logging.counts(QUEUE_URL).isEmpty());
+    }
+
+    @Test
+    void shouldCountPerResourceInsteadOfLoggingInSampledMode() {
+        try (HotPathLogging logging = new HotPathLogging(
+                new HotPathLogSettings(HotPathLogSettings.Mode.SAMPLED, 0, Duration.ofHours(1)))) {
+            for (int i = 0; i < 5; i++) {
+                assertFalse(logging.record(HotPathEvent.SENT, QUEUE_URL, "m-" + i));
+            }
+            logging.record(HotPathEvent.DELETED, QUEUE_URL, "r-1");
+            logging.record(HotPathEvent.PUBLISHED, "arn:aws:sns:us-east-1:000000000000:topic", "m-9");
+
+            assertEquals(5L, logging.counts(QUEUE_URL).get(HotPathEvent.SENT));
+            assertEquals(1L, logging.counts(QUEUE_URL).get(HotPathEvent.DELETED));
+            assertEquals(0L, logging.counts(QUEUE_URL).get(HotPathEvent.PUBLISHED));
+        }
+    }
+
+    @Test
+    void shouldResetCountersWhenSummaryIsLogged() {
+        try (HotPathLogging logging = new HotPathLogging(
+                new HotPathLogSettings(HotPathLogSettings.Mode.SAMPLED, 1, Duration.ofHours(1)))) {
+            logging.record(HotPathEvent.RECEIVED, QUEUE_URL, "m-1");
+
+            logging.logSummary();
+
+            assertEquals(0L, logging.counts(QUEUE_URL).get(HotPathEvent.RECEIVED));
+        }
+    }
+
+    @Test
+    void shouldLogTheLastSummaryWhenTheLifecycleShutsDown() {
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        HotPathLogging logging = new HotPathLogging(
+                new HotPathLogSettings(HotPathLogSettings.Mode.SAMPLED, 0, Duration.ofHours(1)), lifecycle);
+        logging.record(HotPathEvent.SENT, QUEUE_URL, "m-1");
+
+        lifecycle.shutdown();
+
+        assertEquals(0L, logging.counts(QUEUE_URL).get(HotPathEvent.SENT));
+    }
+}
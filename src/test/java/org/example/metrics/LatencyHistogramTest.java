@@ -0,0 +1,43 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldMapEveryValueIntoBucketCoveringIt() {
+        for (long value : new long[]{0, 1, 63, 64, 65, 127, 128, 1_000, 123_456, 987_654_321L}) {
+            int index = LatencyHistogram.indexFor(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    void shouldReportPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(5_000, snapshot.valueAtPercentile(50.0), 5_000 * 0.04);
+        assertEquals(9_900, snapshot.valueAtPercentile(99.0), 9_900 * 0.04);
+    }
+
+    @Test
+    void shouldReturnZeroForEmptyHistogram() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.valueAtPercentile(99.0));
+        assertEquals(0.0, snapshot.getMean());
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrometheusExporterTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry(1, null);
+    private final PrometheusExporter exporter = new PrometheusExporter(registry, new PipelineLatencyTracker());
+
+    @Test
+    void shouldExportPerApiAndPerResourceSeries() {
+        registry.recordCall("sqs", "SendMessage", "queue-a", TimeUnit.MILLISECONDS.toNanos(5), false, 120, 300);
+        registry.recordCall("sqs", "SendMessage", "queue-a", TimeUnit.MILLISECONDS.toNanos(7), true, 120, 0);
+        registry.recordRetries("sqs", "SendMessage", "queue-a", 1);
+
+        String text = exporter.scrape();
+
+        assertTrue(text.contains(
+                "aws_client_request_duration_seconds_count{service=\"sqs\",operation=\"SendMessage\",resource=\"*\"} 2"));
+        assertTrue(text.contains(
+                "aws_client_errors_total{service=\"sqs\",operation=\"SendMessage\",resource=\"queue-a\"} 1"));
+        assertTrue(text.contains(
+                "aws_client_retries_total{service=\"sqs\",operation=\"SendMessage\",resource=\"*\"} 1"));
+        assertTrue(text.contains(
+                "aws_client_request_bytes_total{service=\"sqs\",operation=\"SendMessage\",resource=\"*\"} 240"));
+    }
+
+    @Test
+    void shouldFoldResourcesBeyondCardinalityLimit() {
+        registry.recordCall("sns", "Publish", "topic-a", 1_000, false, 0, 0);
+        registry.recordCall("sns", "Publish", "topic-b", 1_000, false, 0, 0);
+
+        assertEquals(1, registry.find("sns", "Publish", MetricsRegistry.OTHER_RESOURCES)
+                .orElseThrow().getCallCount());
+    }
+
+    @Test
+    void shouldExtractResourceFromRequests() {
+        assertEquals("queue-url", MetricsInterceptor.resourceOf(
+                SendMessageRequest.builder().queueUrl("queue-url").messageBody("x").build()));
+        assertEquals("topic-arn", MetricsInterceptor.resourceOf(
+                PublishRequest.builder().topicArn("topic-arn").message("x").build()));
+        assertEquals("bus", MetricsInterceptor.resourceOf(PutEventsRequest.builder()
+                .entries(PutEventsRequestEntry.builder().eventBusName("bus").build())
+                .build()));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.monitoring;
+
+import org.example.integration.InMemoryAwsTestBase;
+import org.example.lifecycle.LifecycleManager;
+import org.example.metrics.MetricsRegistry;
+import org.example.metrics.PipelineLatencyTracker;
+import org.example.metrics.PrometheusExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueueHealthMonitorTest extends InMemoryAwsTestBase {
+    private QueueHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new QueueHealthMonitor(new QueueMonitorSettings(Duration.ofMinutes(1), 3, true), sqsService,
+                LifecycleManager.withDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    @Test
+    void shouldSnapshotDiscoveredQueuesAndKeepBoundedHistory() {
+        String orders = sqsService.createQueue("orders").join();
+        String audit = sqsService.createQueue("audit").join();
+        IntStream.range(0, 5).forEach(i -> sqsService.sendMessage(orders, "m" + i).join());
+        monitor.refresh().join();
+
+        sqsService.receiveMessages(orders, 2, 0).join();
+        monitor.refresh().join();
+        monitor.refresh().join();
+        monitor.refresh().join();
+
+        QueueSnapshot latest = monitor.health(orders).orElseThrow().latest();
+        assertEquals(3, latest.visible());
+        assertEquals(2, latest.inFlight());
+        assertEquals(3, monitor.history(orders).size());
+        assertEquals(List.of(audit, orders), monitor.health().stream().map(QueueHealth::queueUrl).toList());
+
+        String text = new PrometheusExporter(MetricsRegistry.withoutJmx(), new PipelineLatencyTracker(), monitor)
+                .scrape();
+        assertTrue(text.contains("sqs_queue_messages{queue=\"" + orders + "\",state=\"in_flight\"} 2"));
+    }
+
+    @Test
+    void shouldDeriveRateTrendAndDrainTimeFromHistory() {
+        QueueHealth shrinking = QueueHealthMonitor.health(List.of(
+                new QueueSnapshot("q", 0, 100, 0, 0),
+                new QueueSnapshot("q", 10_000, 80, 0, 0),
+                new QueueSnapshot("q", 20_000, 60, 0, 0)));
+
+        assertEquals(-2.0, shrinking.visibleRatePerSecond(), 1e-9);
+        assertEquals(QueueHealth.Trend.SHRINKING, shrinking.trend());
+        assertEquals(Duration.ofSeconds(30), shrinking.estimatedDrainTime().orElseThrow());
+
+        QueueHealth flat = QueueHealthMonitor.health(List.of(
+                new QueueSnapshot("q", 0, 7, 0, 0),
+                new QueueSnapshot("q", 10_000, 7, 3, 0)));
+        assertEquals(QueueHealth.Trend.STABLE, flat.trend());
+        assertTrue(flat.estimatedDrainTime().isEmpty());
+    }
+}
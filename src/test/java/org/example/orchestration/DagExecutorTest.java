@@ -0,0 +1,143 @@
+package org.example.orchestration;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DagExecutorTest {
+
+    @Test
+    void shouldPassOutputsAlongDependencies() {
+        StepGraph graph = new StepGraph();
+        Step<Integer> left = graph.step("left", ctx -> CompletableFuture.completedFuture(2));
+        Step<Integer> right = graph.step("right", ctx -> CompletableFuture.completedFuture(3));
+        Step<Integer> sum = graph.step("sum", List.of(left, right),
+                ctx -> CompletableFuture.completedFuture(ctx.get(left) + ctx.get(right)));
+        AtomicInteger observed = new AtomicInteger();
+        graph.step("observe", List.of(sum), ctx -> {
+            observed.set(ctx.get(sum));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        DagReport report = new DagExecutor(2).execute(graph).join();
+
+        assertTrue(report.isSuccessful());
+        assertEquals(5, observed.get());
+        assertEquals(List.of("sum", "observe"), report.criticalPath().subList(1, 3));
+    }
+
+    @Test
+    void shouldStartReadyStepsConcurrentlyUpToTheCap() {
+        StepGraph graph = new StepGraph();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Void>> gates = List.of(new CompletableFuture<>(), new CompletableFuture<>(),
+                new CompletableFuture<>());
+        for (int i = 0; i < gates.size(); i++) {
+            CompletableFuture<Void> gate = gates.get(i);
+            graph.step("step-" + i, ctx -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                return gate.whenComplete((ignored, throwable) -> running.decrementAndGet());
+            });
+        }
+
+        CompletableFuture<DagReport> report = new DagExecutor(2).execute(graph);
+        await().atMost(Duration.ofSeconds(5)).until(() -> running.get() == 2);
+        gates.forEach(gate -> gate.complete(null));
+
+        assertTrue(report.join().isSuccessful());
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    void shouldRunALongChainOfSynchronousStepsWithoutGrowingTheStack() {
+        StepGraph graph = new StepGraph();
+        Thread caller = Thread.currentThread();
+        AtomicInteger onCaller = new AtomicInteger();
+        Step<Integer> previous = graph.step("step-0", ctx -> CompletableFuture.completedFuture(0));
+        for (int i = 1; i < 20_000; i++) {
+            Step<Integer> dependency = previous;
+            previous = graph.step("step-" + i, List.of(dependency), ctx -> {
+                if (Thread.currentThread() == caller) {
+                    onCaller.incrementAndGet();
+                }
+                return CompletableFuture.completedFuture(ctx.get(dependency) + 1);
+            });
+        }
+        Step<Integer> last = previous;
+        AtomicInteger observed = new AtomicInteger();
+        graph.step("observe", List.of(last), ctx -> {
+            observed.set(ctx.get(last));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        DagReport report = new DagExecutor(1).execute(graph).join();
+
+        assertTrue(report.isSuccessful());
+        assertEquals(19_999, observed.get());
+        assertEquals(0, onCaller.get());
+    }
+
+    @Test
+    void shouldCancelTransitiveDependentsButFinishIndependentBranches() {
+        StepGraph graph = new StepGraph();
+        Step<Void> broken = graph.step("broken",
+                ctx -> CompletableFuture.failedFuture(new IllegalStateException("boom")));
+        Step<Void> child = graph.step("child", List.of(broken), ctx -> CompletableFuture.completedFuture(null));
+        graph.step("grandchild", List.of(child), ctx -> CompletableFuture.completedFuture(null));
+        AtomicInteger independentRuns = new AtomicInteger();
+        graph.step("independent", ctx -> {
+            independentRuns.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        DagReport report = new DagExecutor(4).execute(graph).join();
+
+        assertFalse(report.isSuccessful());
+        assertEquals(List.of(StepResult.Status.FAILED, StepResult.Status.CANCELLED, StepResult.Status.CANCELLED,
+                        StepResult.Status.SUCCEEDED),
+                report.results().stream().map(StepResult::status).toList());
+        assertEquals(1, independentRuns.get());
+        CompletionException exception = assertThrows(CompletionException.class, report::throwIfFailed);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void shouldTreatSynchronousExceptionsAsStepFailures() {
+        StepGraph graph = new StepGraph();
+        graph.step("throws", ctx -> {
+            throw new IllegalArgumentException("bad input");
+        });
+
+        DagReport report = new DagExecutor(1).execute(graph).join();
+
+        assertEquals(StepResult.Status.FAILED, report.results().get(0).status());
+    }
+
+    @Test
+    void shouldRejectUndeclaredDependencyAccessAndForeignSteps() {
+        StepGraph graph = new StepGraph();
+        Step<String> first = graph.step("first", ctx -> CompletableFuture.completedFuture("a"));
+        graph.step("second", ctx -> CompletableFuture.completedFuture(ctx.get(first)));
+
+        DagReport report = new DagExecutor(1).execute(graph).join();
+        assertInstanceOf(IllegalArgumentException.class, report.failures().get(0).failure());
+
+        Step<String> foreign = new StepGraph().step("foreign", ctx -> CompletableFuture.completedFuture("x"));
+        assertThrows(IllegalArgumentException.class,
+                () -> graph.step("third", List.of(foreign), ctx -> CompletableFuture.completedFuture(null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> graph.step("first", ctx -> CompletableFuture.completedFuture(null)));
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.outbox;
+
+import org.example.config.LocalStackConfig;
+import org.example.integration.InMemoryAwsTestBase;
+import org.example.lifecycle.LifecycleManager;
+import org.example.resilience.ServiceGuards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OutboxServiceTest extends InMemoryAwsTestBase {
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(5);
+
+    @TempDir
+    Path directory;
+
+    private ServiceGuards guards;
+
+    @BeforeEach
+    void setUp() {
+        guards = ServiceGuards.withDefaults();
+    }
+
+    @AfterEach
+    void tearDown() {
+        guards.close();
+    }
+
+    @Test
+    void shouldCompleteAppendsOnceDurableAndShipThemToEveryDestination() {
+        String queueUrl = sqsService.createQueue("outbox-target").join();
+        String queueArn = sqsService.getQueueArn(queueUrl).join();
+        String topicArn = snsService.createTopic("outbox-topic").join();
+        snsService.subscribeSqsToTopic(topicArn, queueArn).join();
+        eventBridgeService.createEventBus("outbox-bus").join();
+        eventBridgeService.putEventWithSqsTarget("outbox-bus", "order-created", queueArn).join();
+
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        OutboxService outbox = new OutboxService(settings(3), config, guards, lifecycle);
+        long first = outbox.sendMessage(queueUrl, "direct").join();
+        long second = outbox.publishMessage(topicArn, "via-topic").join();
+        long third = outbox.sendEventToEventBridge("outbox-bus", "com.example.app", "order created", "{\"id\":7}").join();
+
+        assertEquals(List.of(1L, 2L, 3L), List.of(first, second, third));
+        List<Message> messages = sqsService.awaitMessages(queueUrl, 3, DELIVERY_TIMEOUT).join();
+        assertTrue(messages.stream().anyMatch(message -> message.body().equals("direct")
+                && message.messageAttributes().containsKey("x-trace-id")));
+        assertTrue(messages.stream().anyMatch(message -> message.body().contains("via-topic")));
+        assertTrue(messages.stream().anyMatch(message -> message.body().contains("\"id\":7")));
+
+        await().atMost(DELIVERY_TIMEOUT).until(() -> outbox.pending() == 0L);
+        assertEquals(3L, outbox.shippedCount());
+        assertTrue(lifecycle.shutdown().isClean());
+    }
+
+    @Test
+    void shouldOnlyCreateTheClientsOfDestinationsItShipsTo() {
+        String queueUrl = sqsService.createQueue("sqs-only").join();
+        AtomicInteger snsClients = new AtomicInteger();
+        AtomicInteger eventBridgeClients = new AtomicInteger();
+        LocalStackConfig lazy = LocalStackConfig.withClients("us-east-1",
+                () -> {
+                    eventBridgeClients.incrementAndGet();
+                    return backend.eventBridge();
+                },
+                () -> {
+                    snsClients.incrementAndGet();
+                    return backend.sns();
+                },
+                backend::sqs);
+
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        OutboxService outbox = new OutboxService(settings(3), lazy, guards, lifecycle);
+        outbox.sendMessage(queueUrl, "direct").join();
+
+        await().atMost(DELIVERY_TIMEOUT).until(() -> outbox.pending() == 0L);
+        assertEquals(0, snsClients.get());
+        assertEquals(0, eventBridgeClients.get());
+        lifecycle.shutdown();
+        lazy.shutdown();
+    }
+
+    @Test
+    void shouldCountTraceAttributesAgainstTheCallSizeLimit() {
+        String queueUrl = sqsService.createQueue("large-bodies").join();
+        SqsAsyncClient sqs = spy(backend.sqs());
+        LocalStackConfig counting = LocalStackConfig.withClients("us-east-1", backend::eventBridge, backend::sns,
+                () -> sqs);
+        OutboxSettings slowShipping = new OutboxSettings(directory, 1024 * 1024, Duration.ofMillis(2), 16, 50,
+                Duration.ofMillis(500), 3);
+
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        OutboxService outbox = new OutboxService(slowShipping, counting, guards, lifecycle);
+        String half = "x".repeat(128 * 1024 - 16);
+        outbox.sendMessage(queueUrl, half).join();
+        outbox.sendMessage(queueUrl, half).join();
+
+        await().atMost(DELIVERY_TIMEOUT).until(() -> outbox.pending() == 0L);
+        verify(sqs, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
+        lifecycle.shutdown();
+        counting.shutdown();
+    }
+
+    @Test
+    void shouldKeepUnshippedRecordsAcrossRestarts() {
+        String queueUrl = sqsService.createQueue("recreated").join();
+        backend.sqs().deleteQueue(DeleteQueueRequest.builder().queueUrl(queueUrl).build()).join();
+
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        OutboxService outbox = new OutboxService(settings(Integer.MAX_VALUE), config, guards, lifecycle);
+        outbox.sendMessage(queueUrl, "survives").join();
+        await().atMost(DELIVERY_TIMEOUT).until(() -> outbox.failedCount() > 0L);
+        lifecycle.shutdown();
+
+        assertEquals(queueUrl, sqsService.createQueue("recreated").join());
+        LifecycleManager restarted = LifecycleManager.withDefaults();
+        OutboxService recovered = new OutboxService(settings(Integer.MAX_VALUE), config, guards, restarted);
+
+        List<Message> messages = sqsService.awaitMessages(queueUrl, 1, DELIVERY_TIMEOUT).join();
+        assertEquals("survives", messages.get(0).body());
+        await().atMost(DELIVERY_TIMEOUT).until(() -> recovered.pending() == 0L);
+        restarted.shutdown();
+    }
+
+    @Test
+    void shouldDeadLetterAPermanentlyFailingRecordWithoutHoldingBackTheRest() throws IOException {
+        String missingUrl = sqsService.createQueue("missing").join();
+        backend.sqs().deleteQueue(DeleteQueueRequest.builder().queueUrl(missingUrl).build()).join();
+        String healthyUrl = sqsService.createQueue("healthy").join();
+
+        LifecycleManager lifecycle = LifecycleManager.withDefaults();
+        OutboxService outbox = new OutboxService(settings(3), config, guards, lifecycle);
+        outbox.sendMessage(missingUrl, "undeliverable").join();
+        for (int i = 0; i < 5; i++) {
+            outbox.sendMessage(healthyUrl, "healthy-" + i).join();
+        }
+
+        await().atMost(DELIVERY_TIMEOUT).until(() -> outbox.pending() == 0L);
+        assertEquals(5L, outbox.shippedCount());
+        assertEquals(1L, outbox.failedCount());
+        assertEquals(1L, outbox.deadLetteredCount());
+        assertEquals(5, sqsService.awaitMessages(healthyUrl, 5, DELIVERY_TIMEOUT).join().size());
+        assertTrue(sqsService.receiveMessages(healthyUrl, 10, 0).join().isEmpty());
+        lifecycle.shutdown();
+
+        try (WriteAheadLog deadLetters = WriteAheadLog.open(directory.resolve("dead-letter"), 64 * 1024)) {
+            List<WriteAheadLog.LogRecord> records = deadLetters.read(1, 10);
+            assertEquals(1, records.size());
+            OutboxMessage message = OutboxMessage.decode(ByteBuffer.wrap(records.get(0).payload()));
+            assertEquals(missingUrl, message.target());
+            assertEquals("undeliverable", message.body());
+        }
+    }
+
+    private OutboxSettings settings(int maxShipAttempts) {
+        return new OutboxSettings(directory, 64 * 1024, Duration.ofMillis(2), 16, 50, Duration.ofMillis(20),
+                maxShipAttempts);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteAheadLogTest {
+    private static final int SEGMENT_BYTES = 4_096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadAppendedRecordsInSequenceOrder() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_BYTES)) {
+            assertEquals(1L, log.append(bytes("a")));
+            assertEquals(2L, log.append(bytes("b")));
+            assertEquals(3L, log.append(bytes("c")));
+
+            assertEquals(List.of("a", "b"), bodies(log.read(1L, 2)));
+            assertEquals(List.of("c"), bodies(log.read(3L, 10)));
+            assertEquals(List.of("b", "c"), bodies(log.read(2L, 10)));
+            assertTrue(log.read(4L, 10).isEmpty());
+        }
+    }
+
+    @Test
+    void shouldRollSegmentsAndRecoverEverythingAfterReopen() throws IOException {
+        String body = "x".repeat(1_000);
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_BYTES)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(bytes(body + i));
+            }
+            assertTrue(log.segmentCount() > 1);
+            log.sync();
+        }
+
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_BYTES)) {
+            assertEquals(10L, log.lastSequence());
+            List<WriteAheadLog.LogRecord> records = log.read(1L, 100);
+            assertEquals(10, records.size());
+            assertEquals(body + 9, new String(records.get(9).payload(), StandardCharsets.UTF_8));
+            assertEquals(11L, log.append(bytes("next")));
+        }
+    }
+
+    @Test
+    void shouldTruncateShippedSegmentsAndResumeFromCheckpoint() throws IOException {
+        String body = "y".repeat(1_000);
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_BYTES)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(bytes(body));
+            }
+            int segments = log.segmentCount();
+            log.checkpoint(8L);
+
+            assertTrue(log.segmentCount() < segments);
+            assertEquals(log.segmentCount(), segmentFiles());
+        }
+
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_BYTES)) {
+            assertEquals(8L, log.checkpointed());
+            assertEquals(List.of(9L, 10L), log.read(log.checkpointed() + 1, 100).stream()
+                    .map(WriteAheadLog.LogRecord::sequence)
+                    .toList());
+        }
+    }
+
+    @Test
+    void shouldDiscardATornRecordOnRecovery() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_BYTES)) {
+            log.append(bytes("kept"));
+            log.append(bytes("torn"));
+            log.sync();
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".wal")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 16 + 4 + 16 + 2);
+        }
+
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_BYTES)) {
+            assertEquals(List.of("kept"), bodies(log.read(1L, 10)));
+            assertEquals(2L, log.append(bytes("replacement")));
+            assertEquals(List.of("kept", "replacement"), bodies(log.read(1L, 10)));
+        }
+    }
+
+    @Test
+    void shouldRejectRecordsLargerThanASegment() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_BYTES)) {
+            assertThrows(IllegalArgumentException.class, () -> log.append(new byte[SEGMENT_BYTES]));
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> bodies(List<WriteAheadLog.LogRecord> records) {
+        return records.stream().map(record -> new String(record.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.provisioning;
+
+import org.example.integration.InMemoryAwsTestBase;
+import org.example.lifecycle.LifecycleManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TenantProvisionerTest extends InMemoryAwsTestBase {
+    private static final ProvisioningSettings SETTINGS = new ProvisioningSettings(8, 10_000.0, 3, Duration.ofMillis(1));
+
+    private TenantProvisioner provisioner;
+
+    @BeforeEach
+    void setUp() {
+        snsService = spy(snsService);
+        provisioner = new TenantProvisioner(SETTINGS, sqsService, snsService, LifecycleManager.withDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        provisioner.close();
+    }
+
+    @Test
+    void shouldProvisionEveryTenantWithADeliverableQueue() {
+        List<TenantSpec> tenants = tenants(200);
+        AtomicInteger updates = new AtomicInteger();
+
+        ProvisioningReport report = provisioner.provision(tenants, null, progress -> updates.incrementAndGet())
+                .orTimeout(30, TimeUnit.SECONDS)
+                .join();
+
+        assertTrue(report.isComplete());
+        assertEquals(200, report.provisioned().size());
+        assertEquals(200, updates.get());
+        ProvisionedTenant tenant = report.provisioned().stream()
+                .filter(provisioned -> provisioned.tenantId().equals("tenant-7"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(sqsService.getQueueArn(tenant.queueUrl()).join(), tenant.queueArn());
+        String policy = sqsService.getQueueAttributes(tenant.queueUrl(), List.of(QueueAttributeName.POLICY)).join()
+                .get(QueueAttributeName.POLICY);
+        assertTrue(policy.contains("\"aws:SourceArn\":\"" + tenant.topicArn() + "\""));
+
+        snsService.publishMessage(tenant.topicArn(), "hello").join();
+        List<Message> received = sqsService.receiveMessages(tenant.queueUrl(), 10, 1).join();
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void shouldRetryTransientFailuresAndResumeAfterPermanentOnes() {
+        AtomicInteger transientFailures = new AtomicInteger();
+        doAnswer(invocation -> {
+            String topicArn = invocation.getArgument(0);
+            if (topicArn.endsWith(":tenant-3-events") && transientFailures.getAndIncrement() == 0) {
+                return CompletableFuture.failedFuture(AwsServiceException.builder().statusCode(500).build());
+            }
+            if (topicArn.endsWith(":tenant-5-events")) {
+                return CompletableFuture.failedFuture(new IllegalArgumentException("rejected"));
+            }
+            return invocation.callRealMethod();
+        }).when(snsService).subscribeSqsToTopic(anyString(), anyString());
+
+        ProvisioningReport first = provisioner.provision(tenants(10)).orTimeout(30, TimeUnit.SECONDS).join();
+
+        assertFalse(first.isComplete());
+        assertEquals(Map.of("tenant-5", "rejected"), first.failures());
+        assertEquals(9, first.provisioned().size());
+        assertEquals(2, transientFailures.get());
+
+        doAnswer(invocation -> invocation.callRealMethod()).when(snsService).subscribeSqsToTopic(anyString(), anyString());
+        ProvisioningReport resumed = provisioner.provision(tenants(10), first, progress -> { })
+                .orTimeout(30, TimeUnit.SECONDS)
+                .join();
+
+        assertTrue(resumed.isComplete());
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "tenant-" + i).collect(Collectors.toSet()),
+                resumed.provisioned().stream().map(ProvisionedTenant::tenantId).collect(Collectors.toSet()));
+        verify(snsService, times(2)).createTopic(eq("tenant-5-events"));
+        verify(snsService, times(1)).createTopic(eq("tenant-3-events"));
+    }
+
+    @Test
+    void shouldFailTenantsThatThrowOrAreRejectedWithoutRetrying() {
+        doThrow(new IllegalStateException("client closed")).when(snsService).createTopic(eq("tenant-2-events"));
+        doAnswer(invocation -> {
+            String topicArn = invocation.getArgument(0);
+            if (topicArn.endsWith(":tenant-4-events")) {
+                return CompletableFuture.failedFuture(AwsServiceException.builder().message("denied").statusCode(403)
+                        .build());
+            }
+            return invocation.callRealMethod();
+        }).when(snsService).subscribeSqsToTopic(anyString(), anyString());
+
+        ProvisioningReport report = provisioner.provision(tenants(6)).orTimeout(30, TimeUnit.SECONDS).join();
+
+        assertEquals(Set.of("tenant-2", "tenant-4"), report.failures().keySet());
+        assertEquals(4, report.provisioned().size());
+        verify(snsService, times(1)).createTopic(eq("tenant-2-events"));
+        verify(snsService, times(1)).subscribeSqsToTopic(endsWith(":tenant-4-events"), anyString());
+    }
+
+    @Test
+    void shouldFailARunInProgressWhenClosed() {
+        TenantProvisioner slow = new TenantProvisioner(new ProvisioningSettings(1, 0.5, 3, Duration.ofMillis(1)),
+                sqsService, snsService, LifecycleManager.withDefaults());
+        CompletableFuture<ProvisioningReport> run = slow.provision(tenants(5));
+
+        slow.close();
+
+        CompletionException thrown = assertThrows(CompletionException.class,
+                () -> run.orTimeout(5, TimeUnit.SECONDS).join());
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+
+    @Test
+    void shouldDeriveTheQueueArnFromTheTopicArn() {
+        assertEquals("arn:aws-cn:sqs:cn-north-1:123456789012:orders",
+                TenantProvisioner.queueArn("arn:aws-cn:sns:cn-north-1:123456789012:orders-events", "orders"));
+    }
+
+    private static List<TenantSpec> tenants(int count) {
+        return IntStream.range(0, count).mapToObj(i -> TenantSpec.of("tenant-" + i)).toList();
+    }
+}
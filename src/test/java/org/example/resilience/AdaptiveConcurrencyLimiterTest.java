@@ -0,0 +1,96 @@
+package org.example.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static ConcurrencyLimiterSettings settings(int initial, int max, int maxQueued) {
+        return new ConcurrencyLimiterSettings(initial, 1, max, 0.5, 1000.0, Duration.ofMinutes(1), maxQueued, 0);
+    }
+
+    @Test
+    void shouldRejectTryAcquireAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", settings(2, 10, 10));
+
+        assertTrue(limiter.tryAcquire().isPresent());
+        assertTrue(limiter.tryAcquire().isPresent());
+        assertTrue(limiter.tryAcquire().isEmpty());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldHandOverReleasedPermitToAsyncWaiter() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", settings(1, 1, 10));
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire().orElseThrow();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiter = limiter.acquireAsync();
+        assertFalse(waiter.isDone());
+        assertEquals(1, limiter.getQueued());
+
+        first.onIgnore();
+
+        assertTrue(waiter.isDone());
+        assertEquals(0, limiter.getQueued());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldRejectWhenWaitQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", settings(1, 1, 0));
+        limiter.tryAcquire().orElseThrow();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> rejected = limiter.acquireAsync();
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertThrows(RejectedExecutionException.class, () -> limiter.acquire(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldTimeOutBlockingAcquireAndReleaseQueueSlot() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", settings(1, 1, 10));
+        limiter.tryAcquire().orElseThrow();
+
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.acquire(20, TimeUnit.MILLISECONDS);
+
+        assertTrue(permit.isEmpty());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldIncreaseLimitOnSuccessAndBackOffOnThrottling() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", settings(4, 10, 10));
+
+        AdaptiveConcurrencyLimiter.Permit a = limiter.tryAcquire().orElseThrow();
+        AdaptiveConcurrencyLimiter.Permit b = limiter.tryAcquire().orElseThrow();
+        AdaptiveConcurrencyLimiter.Permit c = limiter.tryAcquire().orElseThrow();
+        a.onSuccess();
+        b.onSuccess();
+        c.onSuccess();
+        assertEquals(6, limiter.getLimit());
+
+        limiter.tryAcquire().orElseThrow().onThrottled();
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void shouldIgnoreDuplicateRelease() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", settings(2, 10, 10));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+
+        permit.onIgnore();
+        permit.onIgnore();
+
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker("test",
+            new CircuitBreakerSettings(4, 4, 0.5, Duration.ofSeconds(1), 2), clock::get);
+
+    @Test
+    void shouldStayClosedBelowMinimumCalls() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateReachesThreshold() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+    }
+
+    @Test
+    void shouldSlideOldOutcomesOutOfWindow() {
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(0.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulTrialCalls() {
+        openBreaker();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertDoesNotThrow(breaker::acquirePermission);
+        assertDoesNotThrow(breaker::acquirePermission);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, breaker::acquirePermission);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldReopenWhenTrialCallFails() {
+        openBreaker();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        breaker.acquirePermission();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitersTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private RateLimiters rateLimiters;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void shouldAllowBurstThenSpacePermits() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucketRateLimiter bucket = new TokenBucketRateLimiter(10.0, 2, second);
+        long now = System.nanoTime() + second;
+
+        assertEquals(0L, bucket.reserve(now));
+        assertEquals(0L, bucket.reserve(now));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve(now));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve(now));
+    }
+
+    @Test
+    void shouldChargeABatchOnePermitPerEntry() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucketRateLimiter bucket = new TokenBucketRateLimiter(10.0, 2, second);
+        long now = System.nanoTime() + second;
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), bucket.reserve(now, 5));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(400), bucket.reserve(now));
+        assertEquals(-1L, bucket.reserve(now, 10));
+    }
+
+    @Test
+    void shouldRefuseReservationBeyondMaxDelay() {
+        TokenBucketRateLimiter bucket = new TokenBucketRateLimiter(1.0, 1, TimeUnit.MILLISECONDS.toNanos(10));
+        long now = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+        assertEquals(0L, bucket.reserve(now));
+        assertEquals(-1L, bucket.reserve(now));
+    }
+
+    @Test
+    void shouldNotDelayApisWithoutLimit() {
+        rateLimiters = new RateLimiters(RateLimitSettings.unlimited(), scheduler);
+
+        assertTrue(rateLimiters.acquire("SendMessage", "queue").isDone());
+    }
+
+    @Test
+    void shouldDelayAsynchronouslyOnceBurstIsSpent() {
+        rateLimiters = new RateLimiters(new RateLimitSettings(
+                Map.of("Publish", new RateLimitSettings.Limit(20.0, 1)), Set.of(), Duration.ofSeconds(5)), scheduler);
+
+        assertTrue(rateLimiters.acquire("Publish", "topic").isDone());
+        CompletableFuture<Void> delayed = rateLimiters.acquire("Publish", "topic");
+
+        assertFalse(delayed.isDone());
+        delayed.orTimeout(2, TimeUnit.SECONDS).join();
+    }
+
+    @Test
+    void shouldDelayABatchThatSpendsMoreThanTheBurst() {
+        rateLimiters = new RateLimiters(new RateLimitSettings(
+                Map.of("SendMessageBatch", new RateLimitSettings.Limit(20.0, 10)), Set.of(), Duration.ofSeconds(5)),
+                scheduler);
+
+        assertTrue(rateLimiters.acquire("SendMessageBatch", "queue", 10).isDone());
+        assertFalse(rateLimiters.acquire("SendMessageBatch", "queue", 1).isDone());
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerResourceWhenConfigured() {
+        rateLimiters = new RateLimiters(new RateLimitSettings(
+                Map.of("SendMessage", new RateLimitSettings.Limit(1.0, 1)), Set.of("SendMessage"),
+                Duration.ofSeconds(5)), scheduler);
+
+        assertTrue(rateLimiters.acquire("SendMessage", "queue-a").isDone());
+        assertTrue(rateLimiters.acquire("SendMessage", "queue-b").isDone());
+        assertFalse(rateLimiters.acquire("SendMessage", "queue-a").isDone());
+    }
+
+    @Test
+    void shouldFailFastWhenDelayExceedsMaximum() {
+        rateLimiters = new RateLimiters(new RateLimitSettings(
+                Map.of("PutEvents", new RateLimitSettings.Limit(1.0, 1)), Set.of(), Duration.ofMillis(10)), scheduler);
+
+        rateLimiters.acquire("PutEvents", "bus").join();
+        CompletableFuture<Void> rejected = rateLimiters.acquire("PutEvents", "bus");
+
+        assertTrue(rejected.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.resilience;
+
+import org.example.execution.CompletionExecutor;
+import org.example.execution.CompletionExecutors;
+import org.example.execution.CompletionSettings;
+import org.example.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServiceGuardTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final MetricsRegistry metricsRegistry = MetricsRegistry.withoutJmx();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private ServiceGuard guard(int maxAttempts, CircuitBreakerSettings breakerSettings) {
+        return new ServiceGuard("sqs", ConcurrencyLimiterSettings.defaults(), breakerSettings,
+                new RetrySettings(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), 0.1, 100),
+                new RateLimiters(RateLimitSettings.unlimited(), scheduler), scheduler, metricsRegistry);
+    }
+
+    @Test
+    void shouldRetryEndpointFailuresWithinBudget() {
+        ServiceGuard guard = guard(3, CircuitBreakerSettings.defaults());
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = guard.execute("SendMessage", "queue", () -> calls.incrementAndGet() < 3
+                        ? CompletableFuture.<String>failedFuture(SdkClientException.create("connection reset"))
+                        : CompletableFuture.completedFuture("ok"))
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join();
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, metricsRegistry.find("sqs", "SendMessage", "queue").orElseThrow().getRetryCount());
+    }
+
+    @Test
+    void shouldKeepLongPollsOutOfTheConcurrencyLimit() {
+        ServiceGuard guard = new ServiceGuard("sqs", new ConcurrencyLimiterSettings(1, 1, 1, 0.9, 2.0,
+                Duration.ofSeconds(30), 10, 2), CircuitBreakerSettings.defaults(),
+                new RetrySettings(1, Duration.ofMillis(1), Duration.ofMillis(5), 0.1, 100),
+                new RateLimiters(RateLimitSettings.unlimited(), scheduler), scheduler, metricsRegistry);
+        CompletableFuture<String> parked = new CompletableFuture<>();
+
+        guard.executeLongPoll("ReceiveMessage", "queue", () -> parked);
+        guard.executeLongPoll("ReceiveMessage", "queue", () -> parked);
+
+        assertEquals(0, guard.getLimiter().getInFlight());
+        assertEquals("ok", guard.execute("DeleteMessage", "queue", () -> CompletableFuture.completedFuture("ok"))
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join());
+        parked.complete("done");
+    }
+
+    @Test
+    void shouldSendLongPollsBeyondTheBypassBoundThroughTheLimiter() {
+        ServiceGuard guard = new ServiceGuard("sqs", new ConcurrencyLimiterSettings(1, 1, 1, 0.9, 2.0,
+                Duration.ofSeconds(30), 10, 1), CircuitBreakerSettings.defaults(),
+                new RetrySettings(1, Duration.ofMillis(1), Duration.ofMillis(5), 0.1, 100),
+                new RateLimiters(RateLimitSettings.unlimited(), scheduler), scheduler, metricsRegistry);
+        CompletableFuture<String> parked = new CompletableFuture<>();
+
+        guard.executeLongPoll("ReceiveMessage", "queue", () -> parked);
+        assertEquals(0, guard.getLimiter().getInFlight());
+        CompletableFuture<String> second = guard.executeLongPoll("ReceiveMessage", "queue", () -> parked);
+        assertEquals(1, guard.getLimiter().getInFlight());
+
+        parked.complete("done");
+        assertEquals("done", second.orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals(0, guard.getLimiter().getInFlight());
+    }
+
+    @Test
+    void shouldNotRetryServiceErrors() {
+        ServiceGuard guard = guard(3, CircuitBreakerSettings.defaults());
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = guard.execute("GetQueueAttributes", "queue", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(QueueDoesNotExistException.builder().statusCode(400).build());
+        });
+
+        CompletionException thrown = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(QueueDoesNotExistException.class, thrown.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldFailFastOnceBreakerOpens() {
+        ServiceGuard guard = guard(1, new CircuitBreakerSettings(2, 2, 0.5, Duration.ofMinutes(1), 1));
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            guard.execute("SendMessage", "queue", () -> {
+                calls.incrementAndGet();
+                return CompletableFuture.failedFuture(SdkClientException.create("timeout"));
+            });
+        }
+
+        CompletableFuture<Object> rejected = guard.execute("SendMessage", "queue", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        CompletionException thrown = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(CircuitBreakerOpenException.class, thrown.getCause());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldRunContinuationsOnTheCompletionExecutor() {
+        CompletionExecutor completion = new CompletionExecutor("sqs",
+                new CompletionSettings(CompletionSettings.Mode.PLATFORM, 1, 10));
+        ServiceGuard guard = new ServiceGuard("sqs", ConcurrencyLimiterSettings.defaults(),
+                CircuitBreakerSettings.defaults(),
+                new RetrySettings(1, Duration.ofMillis(1), Duration.ofMillis(5), 0.1, 100),
+                new RateLimiters(RateLimitSettings.unlimited(), scheduler), scheduler, metricsRegistry, completion);
+        CompletableFuture<String> response = new CompletableFuture<>();
+
+        CompletableFuture<String> callbackThread = guard.execute("SendMessage", "queue", () -> response)
+                .thenApply(ignored -> Thread.currentThread().getName());
+        Thread io = new Thread(() -> response.complete("ok"), "sdk-async-response-0-1");
+        io.start();
+
+        assertEquals("sqs-completion-1", callbackThread.orTimeout(5, TimeUnit.SECONDS).join());
+        completion.close();
+    }
+
+    @Test
+    void shouldRejectOnTheCompletionExecutorOnceBreakerOpens() {
+        CompletionExecutor completion = new CompletionExecutor("sqs",
+                new CompletionSettings(CompletionSettings.Mode.PLATFORM, 1, 10));
+        ServiceGuard guard = new ServiceGuard("sqs", ConcurrencyLimiterSettings.defaults(),
+                new CircuitBreakerSettings(2, 2, 0.5, Duration.ofMinutes(1), 1),
+                new RetrySettings(1, Duration.ofMillis(1), Duration.ofMillis(5), 0.1, 100),
+                new RateLimiters(RateLimitSettings.unlimited(), scheduler), scheduler, metricsRegistry, completion);
+        for (int i = 0; i < 2; i++) {
+            guard.execute("SendMessage", "queue",
+                            () -> CompletableFuture.<String>failedFuture(SdkClientException.create("timeout")))
+                    .exceptionally(ignored -> null)
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+        }
+
+        CountDownLatch busy = new CountDownLatch(1);
+        completion.execute(() -> awaitQuietly(busy));
+        CompletableFuture<String> callbackThread = guard.execute("SendMessage", "queue",
+                        () -> CompletableFuture.completedFuture("ok"))
+                .handle((ignored, throwable) -> {
+                    assertInstanceOf(CircuitBreakerOpenException.class, throwable);
+                    return Thread.currentThread().getName();
+                });
+        busy.countDown();
+
+        assertEquals("sqs-completion-1", callbackThread.orTimeout(5, TimeUnit.SECONDS).join());
+        completion.close();
+    }
+
+    @Test
+    void shouldFailCallsWaitingOnARetryOrRateLimitWhenGuardsClose() {
+        CompletionExecutors completion = CompletionExecutors.withDefaults();
+        ServiceGuards guards = new ServiceGuards(ConcurrencyLimiterSettings.defaults(),
+                new RateLimitSettings(Map.of("SendMessage", new RateLimitSettings.Limit(0.1, 1)), Set.of(),
+                        Duration.ofMinutes(1)),
+                CircuitBreakerSettings.defaults(),
+                new RetrySettings(3, Duration.ofMinutes(1), Duration.ofMinutes(1), 0.1, 100),
+                metricsRegistry, completion);
+        CompletableFuture<String> retrying = guards.sqs().execute("DeleteMessage", "queue",
+                () -> CompletableFuture.failedFuture(SdkClientException.create("timeout")));
+        guards.sqs().execute("SendMessage", "queue", () -> CompletableFuture.completedFuture("first")).join();
+        CompletableFuture<String> delayed = guards.sqs().execute("SendMessage", "queue",
+                () -> CompletableFuture.completedFuture("second"));
+
+        guards.close();
+
+        CompletionException retryFailure = assertThrows(CompletionException.class,
+                () -> retrying.orTimeout(5, TimeUnit.SECONDS).join());
+        assertInstanceOf(SdkClientException.class, retryFailure.getCause());
+        CompletionException delayFailure = assertThrows(CompletionException.class,
+                () -> delayed.orTimeout(5, TimeUnit.SECONDS).join());
+        assertInstanceOf(RejectedExecutionException.class, delayFailure.getCause());
+        completion.close();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.scheduling;
+
+import org.example.integration.InMemoryAwsTestBase;
+import org.example.lifecycle.LifecycleManager;
+import org.example.service.SqsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SendSchedulerTest extends InMemoryAwsTestBase {
+    @TempDir
+    Path directory;
+
+    private String queueUrl;
+
+    @BeforeEach
+    void setUp() {
+        queueUrl = sqsService.createQueue("scheduled").join();
+    }
+
+    @Test
+    void shouldReleaseParkedSendsInBatchesAndHonourCancellation() {
+        try (SendScheduler scheduler = scheduler(null)) {
+            Instant sendAt = Instant.now().plusSeconds(3);
+            List<ScheduledSend> sends = IntStream.range(0, 12)
+                    .mapToObj(i -> scheduler.schedule(queueUrl, "m" + i, sendAt).join())
+                    .toList();
+            assertEquals(12, scheduler.pending());
+            assertTrue(scheduler.cancel(sends.get(0).id()));
+            assertTrue(sqsService.receiveMessages(queueUrl, 10, 0).join().isEmpty());
+
+            List<String> bodies = new ArrayList<>();
+            await().atMost(Duration.ofSeconds(10)).until(() -> {
+                sqsService.receiveMessages(queueUrl, 10, 1).join().stream().map(Message::body).forEach(bodies::add);
+                return bodies.size() >= 11;
+            });
+
+            assertTrue(Instant.now().isAfter(sendAt.minusMillis(1_000)));
+            assertEquals(11, bodies.size());
+            assertFalse(bodies.contains("m0"));
+            assertEquals(11L, scheduler.releasedCount());
+            assertFalse(scheduler.cancel(sends.get(1).id()));
+        }
+    }
+
+    @Test
+    void shouldSendWithinTheNativeWindowDirectly() {
+        try (SendScheduler scheduler = scheduler(null)) {
+            scheduler.schedule(queueUrl, "soon", Duration.ofMillis(200)).join();
+
+            assertEquals(0, scheduler.pending());
+            assertEquals("soon", sqsService.awaitMessages(queueUrl, 1, Duration.ofSeconds(5)).join().get(0).body());
+        }
+    }
+
+    @Test
+    void shouldRecoverPendingSendsFromTheJournal() {
+        Path journal = directory.resolve("schedule.journal");
+        String cancelledId;
+        try (SendScheduler scheduler = scheduler(journal)) {
+            scheduler.schedule(queueUrl, "kept", Duration.ofHours(2)).join();
+            cancelledId = scheduler.schedule(queueUrl, "cancelled", Duration.ofHours(3)).join().id();
+            assertTrue(scheduler.cancel(cancelledId));
+        }
+
+        try (SendScheduler restarted = scheduler(journal)) {
+            assertEquals(1, restarted.pending());
+            assertFalse(restarted.cancel(cancelledId));
+        }
+    }
+
+    @Test
+    void shouldDeadLetterASendOnceItsReleaseAttemptsRunOut() throws IOException {
+        SqsService failing = spy(sqsService);
+        doReturn(CompletableFuture.failedFuture(AwsServiceException.builder().statusCode(500).message("boom").build()))
+                .when(failing).sendMessageBatch(eq(queueUrl), anyList());
+        Path journal = directory.resolve("schedule.journal");
+
+        try (SendScheduler scheduler = scheduler(failing, journal)) {
+            ScheduledSend send = scheduler.schedule(queueUrl, "doomed", Duration.ofMillis(1_100)).join();
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> scheduler.deadLetteredCount() == 1L);
+            verify(failing, times(3)).sendMessageBatch(eq(queueUrl), anyList());
+            assertEquals(0, scheduler.pending());
+            assertEquals(0L, scheduler.releasedCount());
+            assertFalse(scheduler.cancel(send.id()));
+        }
+
+        try (SendScheduler restarted = scheduler(journal)) {
+            assertEquals(0, restarted.pending());
+        }
+        try (ScheduleJournal deadLetters = ScheduleJournal.open(directory.resolve("schedule.journal.dead-letter"))) {
+            assertEquals(List.of("doomed"), deadLetters.recovered().stream().map(ScheduledSend::body).toList());
+        }
+    }
+
+    @Test
+    void shouldNotRetryAnEntrySqsRejectedAsMalformed() {
+        SqsService rejecting = spy(sqsService);
+        doReturn(CompletableFuture.completedFuture(List.of(BatchResultErrorEntry.builder()
+                .id("0").code("InvalidMessageContents").senderFault(true).message("bad").build())))
+                .when(rejecting).sendMessageBatch(eq(queueUrl), anyList());
+
+        try (SendScheduler scheduler = scheduler(rejecting, null)) {
+            scheduler.schedule(queueUrl, "malformed", Duration.ofMillis(1_100)).join();
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> scheduler.deadLetteredCount() == 1L);
+            verify(rejecting, times(1)).sendMessageBatch(eq(queueUrl), anyList());
+            assertEquals(0, scheduler.pending());
+        }
+    }
+
+    @Test
+    void shouldRejectABodyTooLargeForSqs() {
+        try (SendScheduler scheduler = scheduler(null)) {
+            CompletionException thrown = assertThrows(CompletionException.class,
+                    () -> scheduler.schedule(queueUrl, "x".repeat(256 * 1024 + 1), Duration.ofHours(1)).join());
+
+            assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+            assertEquals(0, scheduler.pending());
+        }
+    }
+
+    private SendScheduler scheduler(Path journal) {
+        return scheduler(sqsService, journal);
+    }
+
+    private SendScheduler scheduler(SqsService sqs, Path journal) {
+        return new SendScheduler(new SendSchedulerSettings(Duration.ofMillis(50), 64, Duration.ofSeconds(1),
+                Duration.ofMillis(100), 3, journal), sqs, LifecycleManager.withDefaults());
+    }
+}
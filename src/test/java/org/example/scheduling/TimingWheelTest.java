@@ -0,0 +1,78 @@
+package org.example.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void shouldExpireEntriesOnTheirTickAcrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 4, 0);
+        long[] deadlines = {5, 10, 39, 40, 41, 160, 161, 639, 640, 2_570, 50_000};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 0; now <= 50_000; now += 10) {
+            for (long deadline : wheel.advanceTo(now)) {
+                assertTrue(deadline <= now && now - deadline < 10, deadline + " expired at " + now);
+                expired.add(deadline);
+            }
+        }
+
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldExpireRandomDeadlinesNoEarlierThanScheduledWhenAdvancedInJumps() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 8, 1_000);
+        Random random = new Random(42);
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            long deadline = 1_000 + random.nextInt(200_000);
+            wheel.schedule(deadline, deadline);
+        }
+
+        int expired = 0;
+        for (long now = 1_000; now <= 202_000; now += 1 + random.nextInt(500)) {
+            for (long deadline : wheel.advanceTo(now)) {
+                assertTrue(deadline <= now, deadline + " expired early at " + now);
+                expired++;
+            }
+        }
+        expired += wheel.advanceTo(202_000).size();
+
+        assertEquals(count, expired);
+    }
+
+    @Test
+    void shouldCancelPendingEntriesOnly() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 16, 0);
+        TimingWheel.Entry<String> kept = wheel.schedule("kept", 100);
+        TimingWheel.Entry<String> cancelled = wheel.schedule("cancelled", 5_000);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(List.of("kept"), wheel.advanceTo(10_000));
+        assertFalse(wheel.cancel(kept));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldReleaseOverdueEntriesOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 16, 1_000);
+        wheel.advanceTo(2_000);
+        wheel.schedule("late", 500);
+
+        assertEquals(List.of("late"), wheel.advanceTo(2_000));
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.service;
 
 import org.example.config.LocalStackConfig;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,9 +23,11 @@ import software.amazon.awssdk.services.eventbridge.model.Rule;
 import software.amazon.awssdk.services.eventbridge.model.RuleState;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,6 +49,11 @@ class EventBridgeServiceTest {
         eventBridgeService = new EventBridgeService(config);
     }
 
+    @AfterEach
+    void tearDown() {
+        eventBridgeService.close();
+    }
+
     @Test
     void shouldCreateEventBusSuccessfully() {
         String eventBusName = "test-bus";
@@ -170,6 +178,17 @@ class EventBridgeServiceTest {
         verify(eventBridgeAsyncClient).putEvents(any(PutEventsRequest.class));
     }
 
+    @Test
+    void shouldReturnFailedFutureForNullDetail() {
+        when(eventBridgeAsyncClient.putEvents(any(PutEventsRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Detail is required")));
+
+        CompletableFuture<Void> result = assertDoesNotThrow(() -> eventBridgeService.sendEventToEventBridge(
+                "test-bus", "test-source", "test-detail-type", null));
+
+        assertThrows(CompletionException.class, result::join);
+    }
+
     @Test
     void shouldListRules() {
         String eventBusName = "test-bus";
@@ -1,6 +1,7 @@
 package org.example.service;
 
 import org.example.config.LocalStackConfig;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +33,11 @@ class SnsServiceTest {
         snsService = new SnsService(config);
     }
 
+    @AfterEach
+    void tearDown() {
+        snsService.close();
+    }
+
     @Test
     void shouldCreateTopicSuccessfully() {
         String topicName = "test-topic";
@@ -1,9 +1,12 @@
 package org.example.service;
 
 import org.example.config.LocalStackConfig;
+import org.example.tracing.TraceStamper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
@@ -13,6 +16,7 @@ import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
 import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.PurgeQueueRequest;
@@ -30,8 +34,10 @@ import java.util.concurrent.CompletableFuture;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -52,6 +58,11 @@ class SqsServiceTest {
         sqsService = new SqsService(config);
     }
 
+    @AfterEach
+    void tearDown() {
+        sqsService.close();
+    }
+
     @Test
     void shouldCreateQueueWithoutAttributes() {
         String queueName = "test-queue";
@@ -131,6 +142,20 @@ class SqsServiceTest {
         verify(sqsAsyncClient).sendMessage(any(SendMessageRequest.class));
     }
 
+    @Test
+    void shouldStampTraceAttributesOnSend() {
+        String queueUrl = "http://localhost:4566/000000000000/test-queue";
+        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageResponse.builder().messageId("id").build()));
+
+        sqsService.sendMessage(queueUrl, "Test message").join();
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsAsyncClient).sendMessage(captor.capture());
+        assertTrue(captor.getValue().messageAttributes().containsKey(TraceStamper.TRACE_ID));
+        assertTrue(captor.getValue().messageAttributes().containsKey(TraceStamper.PRODUCER_TIMESTAMP));
+    }
+
     @Test
     void shouldReceiveMessages() {
         String queueUrl = "http://localhost:4566/000000000000/test-queue";
@@ -240,13 +265,28 @@ class SqsServiceTest {
                 .queueUrls("http://localhost:4566/000000000000/test-queue")
                 .build();
 
-        when(sqsAsyncClient.listQueues())
+        when(sqsAsyncClient.listQueues(any(ListQueuesRequest.class)))
                 .thenReturn(CompletableFuture.completedFuture(response));
 
         CompletableFuture<Void> result = sqsService.listQueues();
 
         assertNotNull(result);
         assertDoesNotThrow(result::join);
-        verify(sqsAsyncClient).listQueues();
+        verify(sqsAsyncClient).listQueues(any(ListQueuesRequest.class));
+    }
+
+    @Test
+    void shouldFollowListQueuesPages() {
+        when(sqsAsyncClient.listQueues(any(ListQueuesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ListQueuesResponse.builder()
+                        .queueUrls("queue-a")
+                        .nextToken("page-2")
+                        .build()))
+                .thenReturn(CompletableFuture.completedFuture(ListQueuesResponse.builder()
+                        .queueUrls("queue-b")
+                        .build()));
+
+        assertEquals(List.of("queue-a", "queue-b"), sqsService.listQueueUrls().join());
+        verify(sqsAsyncClient, times(2)).listQueues(any(ListQueuesRequest.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package org.example.sharding;
+
+import org.example.consumer.FairConsumerSettings;
+import org.example.consumer.WeightedFairConsumer;
+import org.example.integration.InMemoryAwsTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedQueueServiceTest extends InMemoryAwsTestBase {
+    private ShardedQueueService shardedQueueService;
+
+    @BeforeEach
+    void setUp() {
+        shardedQueueService = new ShardedQueueService(sqsService);
+    }
+
+    @Test
+    void shouldSpreadKeysEvenlyAndMoveOnlyKeysForNewShardsWhenGrowing() {
+        int keys = 20_000;
+        int[] perShard = new int[4];
+        int moved = 0;
+        for (int i = 0; i < keys; i++) {
+            String key = "customer-" + i;
+            int before = ShardedQueue.shardIndex(key, 4);
+            int after = ShardedQueue.shardIndex(key, 5);
+            perShard[before]++;
+            if (before != after) {
+                assertEquals(4, after, key + " moved between old shards");
+                moved++;
+            }
+        }
+
+        for (int count : perShard) {
+            assertTrue(Math.abs(count - keys / 4) < keys / 20, "uneven shard size " + count);
+        }
+        assertTrue(Math.abs(moved - keys / 5) < keys / 50, "moved " + moved + " keys");
+    }
+
+    @Test
+    void shouldRouteKeysConsistentlyAndConsumeAllShards() {
+        ShardedQueue queue = shardedQueueService.createShardedQueue("orders", 4).join();
+        assertEquals(4, queue.shardCount());
+        assertEquals(queue.getShardUrls(), shardedQueueService.createShardedQueue("orders", 4).join().getShardUrls());
+
+        IntStream.range(0, 20).forEach(i -> shardedQueueService.sendMessage(queue, "customer-7", "keyed-" + i).join());
+        IntStream.range(0, 20).forEach(i -> shardedQueueService.sendMessage(queue, "spread-" + i).join());
+
+        Set<String> keyedShards = ConcurrentHashMap.newKeySet();
+        Set<String> spreadShards = ConcurrentHashMap.newKeySet();
+        Set<String> bodies = ConcurrentHashMap.newKeySet();
+        try (WeightedFairConsumer consumer = shardedQueueService.consumer(queue, new FairConsumerSettings(2, 10, 4),
+                (shard, message) -> {
+                    bodies.add(message.body());
+                    (message.body().startsWith("keyed") ? keyedShards : spreadShards).add(shard.queueUrl());
+                })) {
+            consumer.start();
+            await().atMost(Duration.ofSeconds(10)).until(() -> bodies.size() == 40);
+        }
+
+        assertEquals(Set.of(queue.shardFor("customer-7")), keyedShards);
+        assertEquals(Set.copyOf(queue.getShardUrls()), spreadShards);
+    }
+
+    @Test
+    void shouldGrowButNotShrinkOnReshard() {
+        ShardedQueue queue = shardedQueueService.createShardedQueue("events", 2).join();
+
+        ShardedQueue grown = shardedQueueService.reshard(queue, 3).join();
+
+        assertEquals(queue.getShardUrls(), grown.getShardUrls().subList(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> shardedQueueService.reshard(grown, 1));
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.topology;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventPatternMatcherTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String EVENT = "{\"source\":\"com.example.app\",\"detail-type\":\"order created\","
+            + "\"detail\":{\"amount\":120,\"currency\":\"USD\",\"tags\":[\"vip\",\"eu\"]}}";
+
+    @Test
+    void shouldMatchExactValuesAndNestedFields() {
+        assertTrue(matches("{\"source\":[\"com.example.app\"],\"detail\":{\"currency\":[\"USD\",\"EUR\"]}}"));
+        assertFalse(matches("{\"source\":[\"com.other\"]}"));
+        assertFalse(matches("{\"detail\":{\"missing\":[\"x\"]}}"));
+    }
+
+    @Test
+    void shouldMatchAnyElementOfArrayValues() {
+        assertTrue(matches("{\"detail\":{\"tags\":[\"eu\"]}}"));
+        assertFalse(matches("{\"detail\":{\"tags\":[\"us\"]}}"));
+    }
+
+    @Test
+    void shouldSupportContentFilterOperators() {
+        assertTrue(matches("{\"detail-type\":[{\"prefix\":\"order\"}]}"));
+        assertTrue(matches("{\"detail\":{\"currency\":[{\"anything-but\":[\"EUR\"]}]}}"));
+        assertFalse(matches("{\"detail\":{\"currency\":[{\"anything-but\":\"USD\"}]}}"));
+        assertTrue(matches("{\"detail\":{\"amount\":[{\"numeric\":[\">\",100,\"<=\",200]}]}}"));
+        assertFalse(matches("{\"detail\":{\"amount\":[{\"numeric\":[\"<\",100]}]}}"));
+        assertTrue(matches("{\"detail\":{\"discount\":[{\"exists\":false}]}}"));
+        assertFalse(matches("{\"detail\":{\"amount\":[{\"exists\":false}]}}"));
+    }
+
+    private static boolean matches(String pattern) {
+        try {
+            JsonNode event = MAPPER.readTree(EVENT);
+            return EventPatternMatcher.matches(MAPPER.readTree(pattern), event);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
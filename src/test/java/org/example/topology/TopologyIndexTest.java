@@ -0,0 +1,184 @@
+package org.example.topology;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.integration.InMemoryAwsTestBase;
+import org.example.lifecycle.LifecycleManager;
+import org.example.service.SnsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.model.PutRuleRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutTargetsRequest;
+import software.amazon.awssdk.services.eventbridge.model.RuleState;
+import software.amazon.awssdk.services.eventbridge.model.Target;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+class TopologyIndexTest extends InMemoryAwsTestBase {
+    private static final String BUS = "orders-bus";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TopologyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TopologyIndex(new TopologySettings(Duration.ofMinutes(1), 100, 10), eventBridgeService, snsService,
+                LifecycleManager.withDefaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void shouldResolveRoutesThroughRulesTopicsAndSubscriptions() throws Exception {
+        String created = queueArn("order-created");
+        String shipped = queueArn("order-shipped");
+        String audit = queueArn("audit");
+        String topic = snsService.createTopic("shipping").join();
+        String subscription = snsService.subscribeSqsToTopic(topic, shipped).join();
+
+        eventBridgeService.createEventBus(BUS).join();
+        eventBridgeService.putEventWithSqsTarget(BUS, "order-created", created).join();
+        eventBridgeService.putEventWithSnsTarget(BUS, "shipping", topic, "com.example.shipping", "order shipped")
+                .join();
+        putRule("large-orders", "{\"detail-type\":[{\"prefix\":\"order\"}],"
+                + "\"detail\":{\"amount\":[{\"numeric\":[\">\",100]}]}}", RuleState.ENABLED, audit);
+        putRule("paused", "{\"source\":[\"com.example.app\"]}", RuleState.DISABLED, audit);
+
+        assertFalse(index.isLoaded());
+        assertTrue(index.hasRoute(BUS, "com.example.app", "anything"));
+        index.refresh().join();
+
+        assertEquals(Set.of(
+                        new Route(BUS, "order-created", created, null, null, created, false),
+                        new Route(BUS, "large-orders", audit, null, null, audit, true)),
+                Set.copyOf(index.routes(BUS, "com.example.app", "order created")));
+        assertEquals(List.of(new Route(BUS, "order-created", created, null, null, created, false)),
+                index.routes(BUS, "com.example.app", "order created", MAPPER.readTree("{\"amount\":50}")));
+        assertEquals(Set.of(created, audit), destinations(
+                index.routes(BUS, "com.example.app", "order created", MAPPER.readTree("{\"amount\":150}"))));
+
+        assertEquals(Set.of(
+                        new Route(BUS, "shipping", topic, topic, subscription, shipped, false),
+                        new Route(BUS, "large-orders", audit, null, null, audit, true)),
+                Set.copyOf(index.routes(BUS, "com.example.shipping", "order shipped")));
+
+        assertFalse(index.hasRoute(BUS, "com.example.app", "user signed up"));
+        assertFalse(index.hasRoute("missing-bus", "com.example.app", "order created"));
+    }
+
+    @Test
+    void shouldRefreshSingleBusesAndTopics() {
+        String shipped = queueArn("order-shipped");
+        String tracking = queueArn("tracking");
+        String topic = snsService.createTopic("shipping").join();
+        snsService.subscribeSqsToTopic(topic, shipped).join();
+        eventBridgeService.createEventBus(BUS).join();
+        index.refresh().join();
+        assertFalse(index.hasRoute(BUS, "com.example.shipping", "order shipped"));
+
+        eventBridgeService.putEventWithSnsTarget(BUS, "shipping", topic, "com.example.shipping", "order shipped")
+                .join();
+        index.refreshBus(BUS).join();
+        assertEquals(Set.of(shipped), destinations(index.routes(BUS, "com.example.shipping", "order shipped")));
+
+        snsService.subscribeSqsToTopic(topic, tracking).join();
+        index.refreshTopic(topic).join();
+        assertEquals(Set.of(shipped, tracking),
+                destinations(index.routes(BUS, "com.example.shipping", "order shipped")));
+
+        index.refreshBus("missing-bus").join();
+        assertFalse(index.hasRoute("missing-bus", "com.example.shipping", "order shipped"));
+    }
+
+    @Test
+    void shouldRouteToTopicsMissingFromTheIndexAsConditional() {
+        String unknownTopic = "arn:aws:sns:us-east-1:210987654321:partner-events";
+        eventBridgeService.createEventBus(BUS).join();
+        putRule("partner", "{\"source\":[\"com.example.partner\"]}", RuleState.ENABLED, unknownTopic);
+        index.refresh().join();
+
+        assertEquals(List.of(new Route(BUS, "partner", unknownTopic, unknownTopic, null, unknownTopic, true)),
+                index.routes(BUS, "com.example.partner", "order created"));
+        assertTrue(index.hasRoute(BUS, "com.example.partner", "order created"));
+    }
+
+    @Test
+    void shouldLeaveOutTopicsDeletedDuringARefresh() {
+        String shipped = queueArn("order-shipped");
+        String topic = snsService.createTopic("shipping").join();
+        snsService.subscribeSqsToTopic(topic, shipped).join();
+        eventBridgeService.createEventBus(BUS).join();
+        eventBridgeService.putEventWithSnsTarget(BUS, "shipping", topic, "com.example.shipping", "order shipped")
+                .join();
+        SnsService racing = spy(snsService);
+        doReturn(CompletableFuture.failedFuture(NotFoundException.builder().message("Topic does not exist").build()))
+                .when(racing).getSubscriptions(topic);
+
+        try (TopologyIndex racingIndex = new TopologyIndex(new TopologySettings(Duration.ofMinutes(1), 100, 10),
+                eventBridgeService, racing, LifecycleManager.withDefaults())) {
+            racingIndex.refresh().join();
+
+            assertTrue(racingIndex.isLoaded());
+            assertEquals(List.of(new Route(BUS, "shipping", topic, topic, null, topic, true)),
+                    racingIndex.routes(BUS, "com.example.shipping", "order shipped"));
+        }
+    }
+
+    @Test
+    void shouldPickUpNewBusesTopicsAndRulesIncrementally() {
+        String created = queueArn("order-created");
+        String shipped = queueArn("order-shipped");
+        String tracking = queueArn("tracking");
+        String topic = snsService.createTopic("shipping").join();
+        snsService.subscribeSqsToTopic(topic, shipped).join();
+        eventBridgeService.createEventBus(BUS).join();
+        eventBridgeService.putEventWithSqsTarget(BUS, "order-created", created).join();
+        index.refresh().join();
+
+        eventBridgeService.createEventBus("returns-bus").join();
+        eventBridgeService.putEventWithSqsTarget("returns-bus", "order-returned", created).join();
+        eventBridgeService.putEventWithSnsTarget(BUS, "shipping", topic, "com.example.shipping", "order shipped")
+                .join();
+        snsService.subscribeSqsToTopic(topic, tracking).join();
+        index.refreshChanges().join();
+
+        assertEquals(Set.of(created), destinations(index.routes("returns-bus", "com.example.app", "order returned")));
+        assertEquals(Set.of(created), destinations(index.routes(BUS, "com.example.app", "order created")));
+        assertEquals(Set.of(shipped), destinations(index.routes(BUS, "com.example.shipping", "order shipped")));
+
+        index.refresh().join();
+        assertEquals(Set.of(shipped, tracking),
+                destinations(index.routes(BUS, "com.example.shipping", "order shipped")));
+    }
+
+    private String queueArn(String name) {
+        return sqsService.getQueueArn(sqsService.createQueue(name).join()).join();
+    }
+
+    private void putRule(String name, String pattern, RuleState state, String targetArn) {
+        EventBridgeAsyncClient client = config.getEventBridgeAsyncClient();
+        client.putRule(PutRuleRequest.builder().eventBusName(BUS).name(name).eventPattern(pattern).state(state)
+                .build()).join();
+        client.putTargets(PutTargetsRequest.builder().eventBusName(BUS).rule(name)
+                .targets(Target.builder().id(name).arn(targetArn).build()).build()).join();
+    }
+
+    private static Set<String> destinations(List<Route> routes) {
+        return routes.stream().map(Route::destination).collect(Collectors.toSet());
+    }
+}
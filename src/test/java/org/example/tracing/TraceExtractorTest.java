@@ -0,0 +1,124 @@
+package org.example.tracing;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceExtractorTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/demo-queue";
+
+    @Test
+    void shouldExtractTraceFromDirectSqsAttributes() {
+        TraceContext context = new TraceContext("abc", 1_000L, "sqs");
+        Message message = Message.builder()
+                .body("hello")
+                .messageAttributes(TraceStamper.sqsAttributes(context))
+                .attributes(Map.of(MessageSystemAttributeName.SENT_TIMESTAMP, "1010"))
+                .build();
+
+        PipelineTrace trace = TraceExtractor.extract(message, QUEUE_URL).orElseThrow();
+
+        assertEquals("abc", trace.traceId());
+        assertEquals("sqs:demo-queue", trace.route());
+        assertEquals(40L, trace.hopDurationMillis(0, 1_040L));
+    }
+
+    @Test
+    void shouldExtractTraceFromSnsEnvelopeAttributes() {
+        String envelope = "{\"Type\":\"Notification\",\"TopicArn\":\"arn:aws:sns:us-east-1:000000000000:demo-topic\","
+                + "\"Timestamp\":\"1970-01-01T00:00:01.005Z\",\"Message\":\"hi\","
+                + "\"MessageAttributes\":{\"x-trace-id\":{\"Type\":\"String\",\"Value\":\"t-1\"},"
+                + "\"x-producer-ts\":{\"Type\":\"Number\",\"Value\":\"1000\"}}}";
+        Message message = Message.builder()
+                .body(envelope)
+                .attributes(Map.of(MessageSystemAttributeName.SENT_TIMESTAMP, "1020"))
+                .build();
+
+        PipelineTrace trace = TraceExtractor.extract(message, QUEUE_URL).orElseThrow();
+
+        assertEquals("t-1", trace.traceId());
+        assertEquals("sns:demo-topic>sqs:demo-queue", trace.route());
+        assertEquals(20L, trace.hopDurationMillis(0, 1_050L));
+        assertEquals(30L, trace.hopDurationMillis(1, 1_050L));
+    }
+
+    @Test
+    void shouldExtractTraceFromEventBridgeInputPathDetail() {
+        String detail = TraceStamper.stampDetail("{\"orderId\":\"1\"}", new TraceContext("eb-1", 2_000L, "eventbridge"),
+                "demo-bus");
+        Message message = Message.builder()
+                .body(detail)
+                .attributes(Map.of(MessageSystemAttributeName.SENT_TIMESTAMP, "2100"))
+                .build();
+
+        PipelineTrace trace = TraceExtractor.extract(message, QUEUE_URL).orElseThrow();
+
+        assertEquals("eventbridge:demo-bus>sqs:demo-queue", trace.route());
+        assertEquals(100L, trace.hopDurationMillis(0, 2_500L));
+        assertEquals(400L, trace.hopDurationMillis(1, 2_500L));
+    }
+
+    @Test
+    void shouldExtractTraceFromEventBridgeEventInsideSnsEnvelope() {
+        String detail = TraceStamper.stampDetail("{}", new TraceContext("eb-2", 3_000L, "eventbridge"), "demo-bus");
+        String event = "{\"detail-type\":\"sns event\",\"detail\":" + detail + "}";
+        String envelope = "{\"Type\":\"Notification\",\"TopicArn\":\"arn:aws:sns:us-east-1:000000000000:demo-topic\","
+                + "\"Timestamp\":\"1970-01-01T00:00:03.200Z\",\"Message\":" + quote(event) + "}";
+        Message message = Message.builder()
+                .body(envelope)
+                .attributes(Map.of(MessageSystemAttributeName.SENT_TIMESTAMP, "3300"))
+                .build();
+
+        PipelineTrace trace = TraceExtractor.extract(message, QUEUE_URL).orElseThrow();
+
+        assertEquals("eb-2", trace.traceId());
+        assertEquals("eventbridge:demo-bus>sns:demo-topic>sqs:demo-queue", trace.route());
+        assertEquals(200L, trace.hopDurationMillis(0, 3_400L));
+        assertEquals(100L, trace.hopDurationMillis(1, 3_400L));
+        assertEquals(100L, trace.hopDurationMillis(2, 3_400L));
+    }
+
+    @Test
+    void shouldIgnoreUntracedMessages() {
+        Message message = Message.builder().body("{\"plain\":true}").build();
+
+        assertTrue(TraceExtractor.extract(message, QUEUE_URL).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreTracesWithoutAUsableProductionTime() {
+        Message unparseable = Message.builder()
+                .body("hello")
+                .messageAttributes(Map.of(
+                        TraceStamper.TRACE_ID, MessageAttributeValue.builder().dataType("String").stringValue("a").build(),
+                        TraceStamper.PRODUCER_TIMESTAMP,
+                        MessageAttributeValue.builder().dataType("Number").stringValue("soon").build()))
+                .build();
+        Message missing = Message.builder()
+                .body("{\"x-trace\":{\"id\":\"eb-3\",\"bus\":\"demo-bus\"}}")
+                .build();
+
+        assertTrue(TraceExtractor.extract(unparseable, QUEUE_URL).isEmpty());
+        assertTrue(TraceExtractor.extract(missing, QUEUE_URL).isEmpty());
+    }
+
+    @Test
+    void shouldStampEmptyAndNonObjectDetails() {
+        TraceContext context = new TraceContext("id", 5L, "eventbridge");
+
+        assertEquals("{\"x-trace\":{\"id\":\"id\",\"ts\":5,\"bus\":\"bus\"}}",
+                TraceStamper.stampDetail("{}", context, "bus"));
+        assertEquals("[1,2]", TraceStamper.stampDetail("[1,2]", context, "bus"));
+    }
+
+    private static String quote(String json) {
+        return "\"" + json.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}